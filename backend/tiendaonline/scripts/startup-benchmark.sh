@@ -0,0 +1,96 @@
+#!/usr/bin/env sh
+# ============================================
+# Benchmark de arranque: imagen estándar vs optimizada (Spring AOT + AppCDS) vs nativa
+# ============================================
+# Mide el tiempo hasta la primera respuesta 200 de GET /tienda/api/health,
+# desde "docker run" (incluye crear el contenedor, igual para todas las imágenes),
+# y la memoria residente (RSS) del contenedor justo después de esa respuesta.
+#
+# USO (desde backend/tiendaonline):
+#   ./scripts/startup-benchmark.sh [repeticiones]
+#   WITH_NATIVE=true ./scripts/startup-benchmark.sh   (incluye la imagen nativa; compilar tarda)
+#
+# Requiere: docker, curl. Levanta su propio MySQL en una red temporal.
+set -eu
+
+RUNS="${1:-5}"
+IMAGES="tienda-backend:standard tienda-backend:optimized"
+NETWORK="tienda-bench"
+DB="tienda-bench-db"
+APP="tienda-bench-app"
+PORT="18080"
+TIMEOUT_SECONDS=120
+
+cleanup() {
+    docker rm -f "$APP" "$DB" >/dev/null 2>&1 || true
+    docker network rm "$NETWORK" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+echo ">> Construyendo imágenes (standard y optimized)"
+docker build -q --target standard -t tienda-backend:standard . >/dev/null
+docker build -q --target optimized -t tienda-backend:optimized . >/dev/null
+if [ "${WITH_NATIVE:-false}" = "true" ]; then
+    echo ">> Construyendo imagen nativa"
+    docker build -q --target native -t tienda-backend:native . >/dev/null
+    IMAGES="$IMAGES tienda-backend:native"
+fi
+
+echo ">> Levantando MySQL"
+docker network create "$NETWORK" >/dev/null
+docker run -d --name "$DB" --network "$NETWORK" \
+    -e MYSQL_ROOT_PASSWORD=123456 -e MYSQL_DATABASE=tienda_online \
+    -e MYSQL_USER=rafarxs -e MYSQL_PASSWORD=123456 \
+    mysql:8.0 >/dev/null
+until docker exec "$DB" mysqladmin ping -h localhost -u root -p123456 --silent >/dev/null 2>&1; do
+    sleep 1
+done
+
+# Primer arranque sin medir: crea el esquema (ddl-auto=update) para que todas las corridas partan igual
+run_app() {
+    docker run -d --name "$APP" --network "$NETWORK" -p "$PORT:8080" \
+        -e DATABASE_URL="jdbc:mysql://$DB:3306/tienda_online?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC" \
+        -e DATABASE_USER=rafarxs -e DATABASE_PASSWORD=123456 \
+        -e SPRING_DATASOURCE_DRIVER_CLASS_NAME=com.mysql.cj.jdbc.Driver \
+        -e SPRING_JPA_PROPERTIES_HIBERNATE_DIALECT=org.hibernate.dialect.MySQLDialect \
+        "$1" >/dev/null
+}
+
+# Imprime "ms rss" tras la primera respuesta 200 (o falla por timeout)
+time_to_first_request() {
+    start=$(now_ms)
+    run_app "$1"
+    deadline=$(( start + TIMEOUT_SECONDS * 1000 ))
+    until curl -sf -o /dev/null "http://localhost:$PORT/tienda/api/health"; do
+        if [ "$(now_ms)" -gt "$deadline" ]; then
+            docker logs "$APP" >&2
+            echo "Timeout esperando a $1" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss=$(docker stats --no-stream --format '{{.MemUsage}}' "$APP" | cut -d/ -f1 | tr -d ' ')
+    echo "$elapsed $rss"
+    docker rm -f "$APP" >/dev/null
+}
+
+time_to_first_request tienda-backend:standard >/dev/null
+
+for image in $IMAGES; do
+    results=""
+    last_rss=""
+    i=1
+    while [ "$i" -le "$RUNS" ]; do
+        set -- $(time_to_first_request "$image")
+        results="$results $1"
+        last_rss="$2"
+        i=$(( i + 1 ))
+    done
+    median=$(echo "$results" | tr ' ' '\n' | sed '/^$/d' | sort -n | awk '{a[NR]=$1} END {print a[int((NR+1)/2)]}')
+    echo "$image -> mediana ${median} ms, RSS ${last_rss} (corridas:${results})"
+done
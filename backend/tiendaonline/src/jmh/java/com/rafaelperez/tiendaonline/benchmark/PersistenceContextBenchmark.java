@@ -0,0 +1,184 @@
+package com.rafaelperez.tiendaonline.benchmark;
+
+import com.rafaelperez.tiendaonline.persistenceLayer.entity.ProductEntity;
+import com.rafaelperez.tiendaonline.persistenceLayer.entity.SellerEntity;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del contexto de persistencia con las entidades mejoradas (plugin org.hibernate.orm)
+ *
+ * OBJETIVO: medir lo que cuesta una página de actualizaciones de stock (el camino de
+ * ProductDAO.update y de los lotes de la importación CSV):
+ * - loadAndUpdateStock: cargar la página sin description, cambiar stock y hacer flush
+ * - flush: solo el flush de la página, con description sin cargar (lazy) o cargada (loaded)
+ * - Memoria retenida por el contexto, por entidad, en ambos casos: se imprime en el @Setup
+ *
+ * NOTA: H2 en memoria (solo en el classpath de jmh) con la configuración por defecto
+ * de Hibernate, como la aplicación. Las entidades son las de main, ya mejoradas por el build.
+ * Cada iteración hace rollback: los datos no cambian entre mediciones.
+ *
+ * Ejecutar: ./gradlew jmh -PjmhInclude=PersistenceContextBenchmark
+ * (con -prof gc, gc.alloc.rate.norm da los bytes asignados por página)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class PersistenceContextBenchmark {
+    private static final String PAGE_QUERY = "from ProductEntity p where p.id <= :max order by p.id";
+
+    @Param({"1000"})
+    private int pageSize;
+
+    @Param({"4096"})
+    private int descriptionChars;
+
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(SellerEntity.class)
+                .addAnnotatedClass(ProductEntity.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:persistence-context;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .buildSessionFactory();
+        seed();
+
+        for (String mode : List.of("lazy", "loaded")) {
+            long bytes = retainedBytes("loaded".equals(mode));
+            System.out.printf("%n[%s] contexto con %d productos = %d KB (%d bytes por entidad)%n",
+                    mode, pageSize, bytes / 1024, bytes / pageSize);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public int loadAndUpdateStock() {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            List<ProductEntity> page = loadPage(session, false);
+            page.forEach(product -> product.setStock(product.getStock() + 1));
+            session.flush();
+            session.getTransaction().rollback();
+            return page.size();
+        }
+    }
+
+    @Benchmark
+    public void flush(LoadedContext context) {
+        context.session.flush();
+    }
+
+    /**
+     * Página ya cargada y modificada: el @Setup por invocación queda fuera de la medición
+     */
+    @State(Scope.Thread)
+    public static class LoadedContext {
+        @Param({"lazy", "loaded"})
+        private String description;
+
+        private Session session;
+
+        @Setup(Level.Invocation)
+        public void load(PersistenceContextBenchmark benchmark) {
+            session = benchmark.sessionFactory.openSession();
+            session.beginTransaction();
+            benchmark.loadPage(session, "loaded".equals(description))
+                    .forEach(product -> product.setStock(product.getStock() + 1));
+        }
+
+        @TearDown(Level.Invocation)
+        public void rollback() {
+            session.getTransaction().rollback();
+            session.close();
+        }
+    }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    /**
+     * MÉTODO PRIVADO: Cargar la página como ProductDAO.update (entidad sin description);
+     * con withDescription se fuerza la carga del atributo LAZY
+     */
+    private List<ProductEntity> loadPage(Session session, boolean withDescription) {
+        List<ProductEntity> page = session.createSelectionQuery(PAGE_QUERY, ProductEntity.class)
+                .setParameter("max", (long) pageSize)
+                .getResultList();
+        if (withDescription) {
+            page.forEach(ProductEntity::getDescription);
+        }
+        return page;
+    }
+
+    /**
+     * MÉTODO PRIVADO: Memoria que retiene un contexto con la página cargada
+     * (aproximada: heap usado tras GC, con y sin el contexto vivo)
+     */
+    private long retainedBytes(boolean withDescription) {
+        long before = usedHeapAfterGc();
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            List<ProductEntity> page = loadPage(session, withDescription);
+            long after = usedHeapAfterGc();
+            session.getTransaction().rollback();
+            return page.isEmpty() ? 0 : after - before;
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * MÉTODO PRIVADO: Un vendedor y pageSize productos con description de descriptionChars
+     * (la columna se amplía: el DDL generado la deja en VARCHAR(255))
+     */
+    private void seed() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 19, 8, 0);
+        String text = "Descripción larga del producto con detalles de inventario. ".repeat(descriptionChars / 60 + 1)
+                .substring(0, descriptionChars);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.beginTransaction();
+            session.createNativeMutationQuery(
+                    "alter table products alter column description set data type varchar(" + descriptionChars + ")")
+                    .executeUpdate();
+
+            SellerEntity seller = new SellerEntity();
+            seller.setName("Vendedor benchmark");
+            seller.setEmail("bench@tienda.com");
+            seller.setCreatedAt(now);
+            session.insert(seller);
+
+            for (int i = 1; i <= pageSize; i++) {
+                ProductEntity product = new ProductEntity();
+                product.setName("Producto " + i);
+                product.setDescription(text);
+                product.setPrice(BigDecimal.valueOf(100_000 + i * 37L, 2));
+                product.setStock(i % 250);
+                product.setSellerEntity(seller);
+                product.setCreatedAt(now);
+                session.insert(product);
+            }
+            session.getTransaction().commit();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.rafaelperez.tiendaonline.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de serialización de listas de productos: JSON vs Smile vs CBOR
+ *
+ * OBJETIVO: medir el coste de escribir y leer una respuesta de 10.000 ProductDTO
+ * (GET /api/v1/products para consumidores servicio a servicio) con cada formato.
+ * Los mappers se construyen igual que en BinaryFormatsConfig.
+ * El tamaño en bytes de cada formato se imprime en el @Setup (bytes en la red)
+ *
+ * Ejecutar: ./gradlew jmh -PjmhInclude=ProductSerializationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ProductSerializationBenchmark {
+    private static final TypeReference<List<ProductDTO>> PRODUCT_LIST = new TypeReference<>() { };
+
+    @Param({"10000"})
+    private int products;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private List<ProductDTO> payload;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        mapper = switch (format) {
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            default -> builder.build();
+        };
+
+        payload = new ArrayList<>(products);
+        LocalDateTime now = LocalDateTime.of(2026, 10, 19, 8, 0);
+        for (int i = 1; i <= products; i++) {
+            payload.add(new ProductDTO((long) i, "Producto " + i,
+                    "Descripción del producto " + i + " con detalles de inventario",
+                    BigDecimal.valueOf(100_000 + i * 37L, 2), i % 250, (long) (i % 50 + 1), now, now));
+        }
+        encoded = mapper.writeValueAsBytes(payload);
+        System.out.printf("%n[%s] %d productos = %d bytes%n", format, products, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return mapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public List<ProductDTO> deserialize() throws Exception {
+        return mapper.readValue(encoded, PRODUCT_LIST);
+    }
+}
@@ -0,0 +1,116 @@
+package com.rafaelperez.tiendaonline.benchmark;
+
+import com.rafaelperez.tiendaonline.business.ratelimit.RateLimiter;
+import com.rafaelperez.tiendaonline.config.RateLimitProperties;
+import com.rafaelperez.tiendaonline.presentationLayer.filter.RateLimitFilter;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del filtro de rate limiting
+ *
+ * OBJETIVO: demostrar que el filtro no añade latencia medible a 20k req/s
+ * (presupuesto por petición: 50 µs por núcleo). Se compara la cadena sin
+ * filtro (baseline) con la cadena con filtro, con varios hilos compitiendo:
+ * - hotClient: todos los hilos sobre el mismo bucket (máxima contención CAS)
+ * - manyClients: 20.000 clientes distintos (mapa grande, accesos dispersos)
+ * - overflowClients: los mismos 20.000 sobre una regla limitada a 1.000 clientes;
+ *   el resto va al bucket compartido de desbordamiento (sin purgar en la petición)
+ *
+ * Ejecutar: ./gradlew jmh -PjmhInclude=RateLimitFilterBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RateLimitFilterBenchmark {
+    private static final int CLIENTS = 20_000;
+    private static final int OVERFLOW_MAX_CLIENTS = 1_000;
+
+    private RateLimitFilter filter;
+    private RateLimitFilter overflowFilter;
+    private RateLimiter rateLimiter;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        // Ráfaga de ~2 s: un hilo desalojado con un 'now' antiguo no recibe 429
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.Rule list = new RateLimitProperties.Rule();
+        list.setMethods(List.of("GET"));
+        list.setPath("/api/v1/products");
+        list.setCapacity(Integer.MAX_VALUE);
+        list.setRefillPerSecond(1_000_000_000);
+        RateLimitProperties.Rule rest = new RateLimitProperties.Rule();
+        rest.setPath("/api/v1/**");
+        rest.setCapacity(Integer.MAX_VALUE);
+        rest.setRefillPerSecond(1_000_000_000);
+        properties.setRules(List.of(list, rest));
+        // MockHttpServletRequest llega desde 127.0.0.1: se cree X-Real-IP (un cliente por IP)
+        properties.setTrustedProxies(List.of("127.0.0.1"));
+
+        rateLimiter = new RateLimiter(properties);
+        filter = new RateLimitFilter(rateLimiter, properties);
+        // Regla llena: 19 de cada 20 clientes comparten el bucket de desbordamiento
+        properties.setMaxClientsPerRule(OVERFLOW_MAX_CLIENTS);
+        overflowFilter = new RateLimitFilter(new RateLimiter(properties), properties);
+        chain = (request, response) -> { };
+    }
+
+    @State(Scope.Thread)
+    public static class Requests {
+        private MockHttpServletRequest[] requests;
+        private MockHttpServletResponse response;
+        private int next;
+
+        @Setup
+        public void setUp() {
+            requests = new MockHttpServletRequest[CLIENTS];
+            for (int i = 0; i < CLIENTS; i++) {
+                MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tienda/api/v1/products/" + i);
+                request.setContextPath("/tienda");
+                request.addHeader("X-Real-IP", "10.0." + (i / 256) + "." + (i % 256));
+                requests[i] = request;
+            }
+            response = new MockHttpServletResponse();
+            next = ThreadLocalRandom.current().nextInt(CLIENTS);
+        }
+
+        MockHttpServletRequest nextRequest() {
+            next = next + 1 == CLIENTS ? 0 : next + 1;
+            return requests[next];
+        }
+    }
+
+    @Benchmark
+    public void baseline(Requests requests) throws Exception {
+        chain.doFilter(requests.nextRequest(), requests.response);
+    }
+
+    @Benchmark
+    public void filterManyClients(Requests requests) throws Exception {
+        filter.doFilter(requests.nextRequest(), requests.response, chain);
+    }
+
+    @Benchmark
+    public void filterOverflowClients(Requests requests) throws Exception {
+        overflowFilter.doFilter(requests.nextRequest(), requests.response, chain);
+    }
+
+    @Benchmark
+    public void filterHotClient(Requests requests) throws Exception {
+        filter.doFilter(requests.requests[0], requests.response, chain);
+    }
+
+    @Benchmark
+    public void limiterOnly(Requests requests, Blackhole blackhole) {
+        blackhole.consume(rateLimiter.tryAcquire("GET", "/api/v1/products/1", "ip:10.0.0.1"));
+    }
+}
@@ -2,12 +2,17 @@ package com.rafaelperez.tiendaonline;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class TiendaonlineApplication {
+	// Pasos de arranque que se conservan (actuator /startup y /startupreport)
+	public static final int STARTUP_STEPS_CAPACITY = 10000;
 
 	public static void main(String[] args) {
-		SpringApplication.run(TiendaonlineApplication.class, args);
+		SpringApplication application = new SpringApplication(TiendaonlineApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,188 @@
+package com.rafaelperez.tiendaonline.business.alert;
+
+import com.rafaelperez.tiendaonline.business.dto.CatalogItemDTO;
+import com.rafaelperez.tiendaonline.business.dto.LowStockAlertDTO;
+import com.rafaelperez.tiendaonline.business.dto.LowStockAlertEventDTO;
+import com.rafaelperez.tiendaonline.business.invalidation.ProductChangeListener;
+import com.rafaelperez.tiendaonline.business.invalidation.ProductChangeStream;
+import com.rafaelperez.tiendaonline.config.LowStockAlertProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Motor de alertas de stock bajo (detección incremental, sin recorrer el catálogo)
+ *
+ * FLUJO (por cada cambio de producto recibido del ProductChangeStream):
+ * 1. El producto confirmado llega ya recargado (cubre updateProduct, createProduct,
+ *    la importación CSV y los cambios hechos en otros nodos)
+ * 2. Resolver su umbral: producto > vendedor > default (búsquedas O(1))
+ * 3. Comparar con el estado de ESE producto (abierta / no abierta):
+ *    - stock <= umbral y sin alerta          -> OPENED
+ *    - stock > umbral + histéresis con alerta -> RESOLVED
+ *    - cualquier otro caso: sin evento (de-duplicación), solo se actualiza el stock
+ * 4. Las transiciones se encolan con secuencia creciente (cola acotada)
+ *
+ * NOTA: Al arrancar se evalúa la carga inicial del stream (compartida con el read model
+ * y los reportes: snapshot o una sola pasada por la BD) para reconstruir las alertas
+ * abiertas; después el coste por cambio es O(1), independiente del tamaño del catálogo
+ */
+@Component
+@ConditionalOnProperty(name = "tienda.alerts.low-stock.enabled", havingValue = "true")
+@Slf4j
+public class LowStockAlertEngine implements ProductChangeListener {
+    public static final int MAX_LIMIT = 1000;
+
+    private final LowStockAlertProperties properties;
+    private final Clock clock;
+
+    // Solo los productos con alerta abierta: el resto no ocupa memoria
+    private final ConcurrentHashMap<Long, LowStockAlertDTO> openAlerts = new ConcurrentHashMap<>();
+
+    // Cola de transiciones (protegida por synchronized sobre sí misma)
+    private final ArrayDeque<LowStockAlertEventDTO> events = new ArrayDeque<>();
+    private long sequence;
+
+    public LowStockAlertEngine(ProductChangeStream changeStream,
+                               LowStockAlertProperties properties,
+                               MeterRegistry meterRegistry) {
+        this(changeStream, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    LowStockAlertEngine(ProductChangeStream changeStream, LowStockAlertProperties properties,
+                        MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        changeStream.subscribeWithInitialLoad(this);
+        Gauge.builder("tienda.alerts.low_stock.open", openAlerts, ConcurrentHashMap::size)
+                .description("Alertas de stock bajo abiertas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carga inicial: reconstruir las alertas abiertas
+     */
+    @Override
+    public void onLoad(List<CatalogItemDTO> items) {
+        items.forEach(this::evaluate);
+    }
+
+    @Override
+    public void onLoadCompleted() {
+        log.info("Alertas de stock bajo inicializadas: {} abiertas", openAlerts.size());
+    }
+
+    @Override
+    public void onProductChanged(Long productId, CatalogItemDTO item) {
+        if (item == null) {
+            resolveDeleted(productId);
+        } else {
+            evaluate(item);
+        }
+    }
+
+    /**
+     * Evaluar el stock actual de un producto contra su umbral (O(1))
+     */
+    public void evaluate(CatalogItemDTO product) {
+        if (product.getStock() == null) {
+            return;
+        }
+        int stock = product.getStock();
+        int threshold = thresholdFor(product);
+        openAlerts.compute(product.getId(), (id, current) -> {
+            if (current == null) {
+                if (stock > threshold) {
+                    return null;
+                }
+                LowStockAlertDTO opened = new LowStockAlertDTO(id, product.getSellerId(), stock, threshold,
+                        clock.instant());
+                enqueue(LowStockAlertEventDTO.Type.OPENED, id, product.getSellerId(), stock, threshold);
+                return opened;
+            }
+            if (stock > current.getThreshold() + properties.getHysteresis()) {
+                enqueue(LowStockAlertEventDTO.Type.RESOLVED, id, product.getSellerId(), stock, current.getThreshold());
+                return null;
+            }
+            return current.getStock() == stock ? current : current.withStock(stock);
+        });
+    }
+
+    // ---------- CONSULTAS ----------
+
+    /**
+     * Alertas abiertas (opcionalmente de un vendedor), el menor stock primero
+     */
+    public List<LowStockAlertDTO> getOpenAlerts(Long sellerId, int limit) {
+        validateLimit(limit);
+        return openAlerts.values().stream()
+                .filter(alert -> sellerId == null || sellerId.equals(alert.getSellerId()))
+                .sorted(Comparator.comparingInt(LowStockAlertDTO::getStock)
+                        .thenComparing(LowStockAlertDTO::getProductId))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Transiciones con secuencia mayor a 'since', en orden
+     */
+    public List<LowStockAlertEventDTO> getEvents(long since, int limit) {
+        validateLimit(limit);
+        List<LowStockAlertEventDTO> result = new ArrayList<>();
+        synchronized (events) {
+            for (LowStockAlertEventDTO event : events) {
+                if (event.getSequence() > since) {
+                    result.add(event);
+                    if (result.size() == limit) {
+                        break;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * MÉTODO PRIVADO: Umbral del producto: propio > vendedor > default
+     */
+    private int thresholdFor(CatalogItemDTO product) {
+        Integer threshold = properties.getProducts().get(product.getId());
+        if (threshold == null && product.getSellerId() != null) {
+            threshold = properties.getSellers().get(product.getSellerId());
+        }
+        return threshold != null ? threshold : properties.getDefaultThreshold();
+    }
+
+    private void resolveDeleted(Long id) {
+        openAlerts.computeIfPresent(id, (key, current) -> {
+            enqueue(LowStockAlertEventDTO.Type.RESOLVED, id, current.getSellerId(), null, current.getThreshold());
+            return null;
+        });
+    }
+
+    private void enqueue(LowStockAlertEventDTO.Type type, Long productId, Long sellerId, Integer stock, int threshold) {
+        synchronized (events) {
+            events.addLast(new LowStockAlertEventDTO(++sequence, type, productId, sellerId, stock, threshold,
+                    clock.instant()));
+            while (events.size() > properties.getEventCapacity()) {
+                events.removeFirst();
+            }
+        }
+        log.info("Alerta de stock bajo {}: producto {} (stock {}, umbral {})", type, productId, stock, threshold);
+    }
+
+    private static void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_LIMIT);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.rafaelperez.tiendaonline.business.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.event.OutboxEventListener;
+import com.rafaelperez.tiendaonline.business.invalidation.Invalidation;
+import com.rafaelperez.tiendaonline.business.invalidation.InvalidationBus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caché de fragmentos JSON pre-serializados de ProductDTO
+ *
+ * ¿POR QUÉ?
+ * - GET /api/v1/products y /{id} repiten carga de entity + MapStruct + Jackson
+ *   sobre datos que casi nunca cambian
+ * - Aquí guardamos directamente los bytes JSON de cada producto
+ * - Un hit solo copia bytes al stream de respuesta (sin mapear ni serializar)
+ *
+ * CONSISTENCIA:
+ * - Cada invalidación incrementa una versión global (generation)
+ * - Una carga solo se publica si la versión no cambió mientras se cargaba,
+ *   así una lectura lenta no puede re-insertar datos ya invalidados
+ * - Se invalida con el InvalidationBus (después del commit, en todos los nodos)
+ *
+ * TAMAÑO ACOTADO (maxEntries):
+ * - Al superar el límite se desalojan fragmentos con un reloj (segunda oportunidad):
+ *   un hit marca el fragmento y el barrido solo quita los no usados desde su pasada anterior
+ * - Un hit no toma locks ni reordena nada (a diferencia de un LRU con LinkedHashMap);
+ *   el barrido lo hace un solo hilo a la vez (tryLock) y los demás siguen sin esperar
+ * - Con un catálogo mayor que maxEntries el listado sigue funcionando: los fragmentos
+ *   desalojados se recargan con un solo IN por petición (se avisa en el log)
+ */
+@Component
+@Slf4j
+public class ProductJsonCache {
+
+    private static final byte[] EMPTY_LIST = {'[', ']'};
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int maxEntries;
+
+    // ID -> bytes JSON del ProductDTO (con su bit de uso para el reloj)
+    private final ConcurrentHashMap<Long, Fragment> fragments = new ConcurrentHashMap<>();
+
+    // Manecilla del reloj: sigue donde quedó el barrido anterior
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private Iterator<Map.Entry<Long, Fragment>> clockHand;
+
+    // Versión global de invalidaciones de fragmentos
+    private final AtomicLong generation = new AtomicLong();
+
+    // IDs del listado completo (en el orden que devuelve el servicio)
+    private volatile Long[] listingIds;
+    private final AtomicLong listingGeneration = new AtomicLong();
+
+    public ProductJsonCache(ObjectMapper objectMapper,
+                            InvalidationBus invalidationBus,
+                            @Value("${tienda.cache.product-json.enabled:true}") boolean enabled,
+                            @Value("${tienda.cache.product-json.max-entries:10000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        invalidationBus.subscribe(OutboxEventListener.AGGREGATE_PRODUCT, this::onInvalidation);
+    }
+
+    /**
+     * READ - JSON de un producto, cargándolo con el loader si no está en caché
+     *
+     * @param loader normalmente productService::getProductById (lanza si no existe)
+     */
+    public byte[] getProductJson(Long id, Function<Long, ProductDTO> loader) {
+        byte[] cached = enabled ? cachedJson(id) : null;
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = generation.get();
+        byte[] json = serialize(loader.apply(id));
+        putFragment(id, json, version);
+        return json;
+    }
+
+    /**
+     * READ ALL - Escribe el listado completo concatenando fragmentos
+     *
+     * FLUJO:
+     * 1. Si el listado de IDs está cacheado, reunir sus fragmentos
+     * 2. Fragmentos faltantes (productos actualizados) se cargan en un solo IN
+     * 3. Si algo no cuadra (producto borrado en paralelo) se recarga todo
+     * 4. Escribir '[' + fragmentos separados por ',' + ']' directo al stream
+     */
+    public void writeProductList(OutputStream out,
+                                 Supplier<List<ProductDTO>> listLoader,
+                                 Function<List<Long>, List<ProductDTO>> batchLoader) throws IOException {
+        byte[][] parts = enabled ? assembleFromCache(batchLoader) : null;
+        if (parts == null) {
+            parts = loadListing(listLoader);
+        }
+
+        if (parts.length == 0) {
+            out.write(EMPTY_LIST);
+            return;
+        }
+        out.write('[');
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(parts[i]);
+        }
+        out.write(']');
+    }
+
+    /**
+     * INVALIDACIÓN - Mensaje del bus (la escritura ya confirmó, en este u otro nodo)
+     *
+     * - UPDATED: solo cambia el fragmento (el listado de IDs sigue igual)
+     * - CREATED/DELETED: además cambia el listado de IDs
+     */
+    public void onInvalidation(Invalidation invalidation) {
+        invalidate(invalidation.entityId());
+        if (invalidation.membershipChanged()) {
+            invalidateListing();
+        }
+    }
+
+    public void invalidate(Long id) {
+        generation.incrementAndGet();
+        fragments.remove(id);
+        log.debug("Fragmento JSON invalidado para producto ID: {}", id);
+    }
+
+    public void invalidateListing() {
+        listingGeneration.incrementAndGet();
+        listingIds = null;
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        fragments.clear();
+        invalidateListing();
+    }
+
+    public int size() {
+        return fragments.size();
+    }
+
+    /**
+     * MÉTODO PRIVADO: Reúne los fragmentos del listado cacheado
+     *
+     * @return null si no hay listado cacheado o no se pudo completar
+     */
+    private byte[][] assembleFromCache(Function<List<Long>, List<ProductDTO>> batchLoader) {
+        Long[] ids = listingIds;
+        if (ids == null) {
+            return null;
+        }
+
+        byte[][] parts = new byte[ids.length][];
+        List<Long> missing = null;
+        for (int i = 0; i < ids.length; i++) {
+            parts[i] = cachedJson(ids[i]);
+            if (parts[i] == null) {
+                if (missing == null) {
+                    missing = new ArrayList<>();
+                }
+                missing.add(ids[i]);
+            }
+        }
+        if (missing == null) {
+            return parts;
+        }
+
+        // Cargar solo los faltantes en una consulta
+        long version = generation.get();
+        List<ProductDTO> loaded = batchLoader.apply(missing);
+        if (loaded.size() != missing.size()) {
+            return null;
+        }
+        Map<Long, byte[]> loadedJson = new HashMap<>();
+        for (ProductDTO dto : loaded) {
+            byte[] json = serialize(dto);
+            loadedJson.put(dto.getId(), json);
+            putFragment(dto.getId(), json, version);
+        }
+        for (int i = 0; i < ids.length; i++) {
+            if (parts[i] == null) {
+                parts[i] = loadedJson.get(ids[i]);
+                if (parts[i] == null) {
+                    return null;
+                }
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * MÉTODO PRIVADO: Carga el listado completo y lo deja cacheado
+     */
+    private byte[][] loadListing(Supplier<List<ProductDTO>> listLoader) {
+        long version = generation.get();
+        long listVersion = listingGeneration.get();
+
+        List<ProductDTO> products = listLoader.get();
+        if (enabled && products.size() > maxEntries) {
+            log.warn("El listado ({} productos) supera tienda.cache.product-json.max-entries ({}): " +
+                    "cada petición recargará los fragmentos desalojados", products.size(), maxEntries);
+        }
+        byte[][] parts = new byte[products.size()][];
+        Long[] ids = new Long[products.size()];
+        for (int i = 0; i < parts.length; i++) {
+            ProductDTO dto = products.get(i);
+            parts[i] = serialize(dto);
+            ids[i] = dto.getId();
+            putFragment(dto.getId(), parts[i], version);
+        }
+
+        if (enabled && listingGeneration.get() == listVersion) {
+            listingIds = ids;
+            // Re-chequeo: si se invalidó mientras publicábamos, descartar
+            if (listingGeneration.get() != listVersion) {
+                listingIds = null;
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * MÉTODO PRIVADO: Bytes cacheados de un producto (marca el fragmento como usado)
+     */
+    private byte[] cachedJson(Long id) {
+        Fragment fragment = fragments.get(id);
+        if (fragment == null) {
+            return null;
+        }
+        if (!fragment.referenced) {
+            fragment.referenced = true; // Solo se escribe si cambia: un hit repetido no ensucia la línea de caché
+        }
+        return fragment.json;
+    }
+
+    /**
+     * MÉTODO PRIVADO: Publica un fragmento solo si nadie invalidó durante la carga
+     *
+     * El re-chequeo después del put cierra la carrera con invalidate()
+     * (incrementa versión -> remove), sin necesidad de locks
+     */
+    private void putFragment(Long id, byte[] json, long version) {
+        if (!enabled || generation.get() != version) {
+            return;
+        }
+        Fragment fragment = new Fragment(json);
+        fragments.put(id, fragment);
+        if (generation.get() != version) {
+            fragments.remove(id, fragment);
+            return;
+        }
+        if (fragments.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    /**
+     * MÉTODO PRIVADO: Barrido del reloj hasta volver a maxEntries
+     *
+     * - Fragmento marcado: se desmarca (segunda oportunidad) y se sigue
+     * - Fragmento sin marcar: se desaloja
+     * - Si otro hilo ya está barriendo no se espera: ese barrido libera el espacio
+     * - Como mucho dos vueltas: en la segunda ya no queda nada marcado
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int budget = 2 * fragments.size();
+            while (fragments.size() > maxEntries && budget-- > 0) {
+                if (clockHand == null || !clockHand.hasNext()) {
+                    clockHand = fragments.entrySet().iterator();
+                    if (!clockHand.hasNext()) {
+                        return;
+                    }
+                }
+                Map.Entry<Long, Fragment> entry = clockHand.next();
+                Fragment fragment = entry.getValue();
+                if (fragment.referenced) {
+                    fragment.referenced = false;
+                } else {
+                    fragments.remove(entry.getKey(), fragment);
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private byte[] serialize(ProductDTO dto) {
+        try {
+            return objectMapper.writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el producto ID: " + dto.getId(), e);
+        }
+    }
+
+    /**
+     * Fragmento cacheado con su bit de uso (lo pone un hit, lo limpia el reloj)
+     */
+    private static final class Fragment {
+        private final byte[] json;
+        private volatile boolean referenced;
+
+        private Fragment(byte[] json) {
+            this.json = json;
+        }
+    }
+}
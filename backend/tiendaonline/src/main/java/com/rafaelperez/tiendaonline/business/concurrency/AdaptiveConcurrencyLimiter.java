@@ -0,0 +1,205 @@
+package com.rafaelperez.tiendaonline.business.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite de concurrencia adaptativo (algoritmo de gradiente)
+ *
+ * IDEA: el número sano de peticiones en vuelo no se configura, se aprende de la latencia.
+ * - RTT corto: latencia media de la última ventana (por defecto 100 ms)
+ * - RTT largo: media exponencial de muchas ventanas (la latencia "normal")
+ * - gradiente = tolerancia * RTT largo / RTT corto, acotado a [0.5, 1]
+ * - nuevo límite = límite * gradiente + sqrt(límite)   (suavizado)
+ * Si MySQL se ralentiza, el RTT corto sube, el gradiente baja de 1 y el límite
+ * se reduce; con latencia normal, el término sqrt(límite) lo hace crecer poco a poco.
+ *
+ * PRIORIDAD: las escrituras pueden usar todo el límite; las lecturas solo
+ * (1 - writeReserve), así que bajo sobrecarga se descartan primero las lecturas.
+ *
+ * MÉTRICAS: tienda.concurrency.limit, tienda.concurrency.inflight,
+ * tienda.concurrency.rejected{priority=read|write}
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int MIN_SAMPLES_PER_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double writeReserve;
+    private final long windowNanos;
+    private final LongSupplier clock;
+    private final long origin;
+
+    private volatile double limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Ventana actual (se acumula sin locks; un único hilo la cierra)
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final AtomicLong windowStart;
+    private double longRttNanos;
+
+    private final Counter rejectedReads;
+    private final Counter rejectedWrites;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${tienda.concurrency.enabled:true}") boolean enabled,
+                                      @Value("${tienda.concurrency.initial-limit:50}") int initialLimit,
+                                      @Value("${tienda.concurrency.min-limit:10}") int minLimit,
+                                      @Value("${tienda.concurrency.max-limit:500}") int maxLimit,
+                                      @Value("${tienda.concurrency.rtt-tolerance:1.5}") double rttTolerance,
+                                      @Value("${tienda.concurrency.write-reserve:0.2}") double writeReserve,
+                                      @Value("${tienda.concurrency.window:PT0.1S}") Duration window) {
+        this(meterRegistry, enabled, initialLimit, minLimit, maxLimit, rttTolerance, writeReserve, window, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry, boolean enabled, int initialLimit, int minLimit,
+                               int maxLimit, double rttTolerance, double writeReserve, Duration window,
+                               LongSupplier nanoClock) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Límites de concurrencia inválidos: min <= inicial <= max");
+        }
+        this.enabled = enabled;
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.writeReserve = writeReserve;
+        this.windowNanos = window.toNanos();
+        this.clock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+        this.windowStart = new AtomicLong(now());
+
+        Gauge.builder("tienda.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Límite de concurrencia adaptativo actual").register(meterRegistry);
+        Gauge.builder("tienda.concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("Peticiones en vuelo").register(meterRegistry);
+        this.rejectedReads = Counter.builder("tienda.concurrency.rejected").tag("priority", "read")
+                .description("Peticiones rechazadas por sobrecarga").register(meterRegistry);
+        this.rejectedWrites = Counter.builder("tienda.concurrency.rejected").tag("priority", "write")
+                .description("Peticiones rechazadas por sobrecarga").register(meterRegistry);
+    }
+
+    /**
+     * Intentar entrar
+     *
+     * @param write true para escrituras (prioridad alta)
+     * @return instante de entrada (pasarlo a release), o -1 si se rechaza
+     */
+    public long tryAcquire(boolean write) {
+        if (!enabled) {
+            return now();
+        }
+        double current = limit;
+        int allowed = write ? (int) current : Math.max(1, (int) (current * (1 - writeReserve)));
+        while (true) {
+            int now = inFlight.get();
+            if (now >= allowed) {
+                (write ? rejectedWrites : rejectedReads).increment();
+                return -1;
+            }
+            if (inFlight.compareAndSet(now, now + 1)) {
+                windowMaxInFlight.accumulateAndGet(now + 1, Math::max);
+                return now();
+            }
+        }
+    }
+
+    /**
+     * Salir y registrar la latencia observada
+     *
+     * @param startNanos valor devuelto por tryAcquire
+     */
+    public void release(long startNanos) {
+        if (!enabled) {
+            return;
+        }
+        inFlight.decrementAndGet();
+        long now = now();
+        windowRttSum.add(now - startNanos);
+        windowSamples.increment();
+
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowSamples.sum() >= minSamplesPerWindow()
+                && windowStart.compareAndSet(start, now)) {
+            long samples = windowSamples.sumThenReset();
+            long rttSum = windowRttSum.sumThenReset();
+            int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+            if (samples > 0) {
+                updateLimit((double) rttSum / samples, maxInFlight);
+            }
+        }
+    }
+
+    /**
+     * MÉTODO PRIVADO: Muestras necesarias para cerrar una ventana
+     *
+     * NOTA: Escala con el límite: con un límite por debajo de MIN_SAMPLES_PER_WINDOW
+     * no caben tantas peticiones por ventana y el gradiente dejaría de actualizarse
+     */
+    private int minSamplesPerWindow() {
+        return Math.min(MIN_SAMPLES_PER_WINDOW, Math.max(1, getLimit() / 2));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private long now() {
+        // Relativo al arranque: siempre >= 0 (negativo queda reservado para "rechazada")
+        return clock.getAsLong() - origin;
+    }
+
+    /**
+     * MÉTODO PRIVADO: Recalcular el límite al cerrar una ventana
+     */
+    private synchronized void updateLimit(double shortRtt, int maxInFlight) {
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+        } else {
+            longRttNanos += (shortRtt - longRttNanos) / LONG_WINDOW;
+            // La latencia mejoró mucho (p. ej. tras recuperarse MySQL): olvidar antes la media antigua
+            if (longRttNanos / shortRtt > 2) {
+                longRttNanos *= 0.95;
+            }
+        }
+
+        double current = limit;
+        // Poca demanda: la latencia no dice nada del límite, no crecer sin uso
+        if (maxInFlight < current / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRttNanos / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        double next = Math.max(minLimit, Math.min(maxLimit, current * (1 - SMOOTHING) + target * SMOOTHING));
+        if ((int) next != (int) current) {
+            log.debug("Límite de concurrencia {} -> {} (rtt corto {} ms, largo {} ms)", (int) current, (int) next,
+                    Math.round(shortRtt / 1e6), Math.round(longRttNanos / 1e6));
+        }
+        limit = next;
+    }
+}
@@ -0,0 +1,154 @@
+package com.rafaelperez.tiendaonline.business.concurrency;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Agrupador de cargas por clave (estilo DataLoader)
+ *
+ * FLUJO:
+ * 1. Cada llamada a load(key) se añade al lote abierto y espera su future
+ * 2. El lote se cierra al pasar la ventana (p. ej. 2 ms) o al llegar a maxBatchSize
+ * 3. Una sola llamada a batchFunction resuelve todas las claves (un IN en la BD)
+ * 4. Cada future se completa con su valor (null si la clave no existe)
+ *
+ * COMPORTAMIENTO:
+ * - Claves repetidas en el mismo lote comparten future (se consultan una vez)
+ * - Error en el lote: todas sus esperas reciben la excepción
+ * - Timeout de espera: la llamada carga su clave sola (nunca falla por el lote)
+ *
+ * MÉTRICAS: tienda.batchloader.batch.size{name} (distribución del tamaño de lote)
+ *
+ * @param <K> Tipo de la clave
+ * @param <V> Tipo del valor
+ */
+@Slf4j
+public class BatchLoader<K, V> implements AutoCloseable {
+    private final String name;
+    private final Function<Set<K>, Map<K, V>> batchFunction;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final long timeoutMillis;
+    private final DistributionSummary batchSizes;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<V>> pending = new HashMap<>();
+
+    public BatchLoader(String name, Function<Set<K>, Map<K, V>> batchFunction, int maxBatchSize,
+                       Duration window, Duration timeout, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.batchFunction = batchFunction;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = window.toNanos();
+        this.timeoutMillis = timeout.toMillis();
+        this.batchSizes = DistributionSummary.builder("tienda.batchloader.batch.size")
+                .tag("name", name)
+                .description("Claves resueltas por consulta")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "batch-loader-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Cargar una clave agrupándola con las demás peticiones de la ventana
+     *
+     * @return valor, o null si la clave no existe
+     */
+    public V load(K key) {
+        CompletableFuture<V> future;
+        Map<K, CompletableFuture<V>> full = null;
+        synchronized (lock) {
+            boolean first = pending.isEmpty();
+            future = pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new HashMap<>();
+            } else if (first) {
+                Map<K, CompletableFuture<V>> batch = pending;
+                timer.schedule(() -> flush(batch), windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            Map<K, CompletableFuture<V>> batch = full;
+            dispatcher.execute(() -> dispatch(batch));
+        }
+        return await(key, future);
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        dispatcher.shutdown();
+    }
+
+    /**
+     * MÉTODO PRIVADO: Cerrar el lote por ventana (si no se cerró ya por tamaño)
+     */
+    private void flush(Map<K, CompletableFuture<V>> batch) {
+        synchronized (lock) {
+            if (pending != batch) {
+                return;
+            }
+            pending = new HashMap<>();
+        }
+        dispatcher.execute(() -> dispatch(batch));
+    }
+
+    /**
+     * MÉTODO PRIVADO: Resolver un lote con una sola llamada
+     */
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        batchSizes.record(batch.size());
+        try {
+            Map<K, V> values = batchFunction.apply(batch.keySet());
+            batch.forEach((key, future) -> future.complete(values.get(key)));
+        } catch (RuntimeException | Error e) {
+            log.warn("Error cargando lote de {} ({} claves): {}", name, batch.size(), e.getMessage());
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * MÉTODO PRIVADO: Esperar el resultado del lote
+     */
+    private V await(K key, CompletableFuture<V> future) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException e) {
+            log.warn("Timeout esperando lote de {} para clave {}, cargando directamente", name, key);
+            return batchFunction.apply(Set.of(key)).get(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando lote de " + name, e);
+        }
+    }
+}
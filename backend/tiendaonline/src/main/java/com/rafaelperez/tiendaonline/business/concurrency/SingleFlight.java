@@ -0,0 +1,112 @@
+package com.rafaelperez.tiendaonline.business.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalescencia de cargas concurrentes ("single flight")
+ *
+ * Si llegan N peticiones a la vez para la misma clave, solo la primera (líder)
+ * ejecuta la carga; el resto espera y recibe el mismo resultado.
+ *
+ * COMPORTAMIENTO:
+ * - Error en la carga: cada espera recibe la misma excepción
+ * - Timeout de espera: la petición deja de esperar y carga por su cuenta
+ *   (nunca se convierte en un error para el cliente)
+ * - No hay caché: en cuanto el líder termina, la siguiente petición vuelve a cargar
+ *
+ * MÉTRICAS: tienda.singleflight.loads{name, result=executed|coalesced|timeout}
+ *
+ * @param <K> Tipo de la clave
+ * @param <V> Tipo del resultado
+ */
+@Slf4j
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final String name;
+    private final long timeoutMillis;
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter timeouts;
+
+    public SingleFlight(String name, Duration timeout, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.timeoutMillis = timeout.toMillis();
+        this.executed = counter(meterRegistry, name, "executed");
+        this.coalesced = counter(meterRegistry, name, "coalesced");
+        this.timeouts = counter(meterRegistry, name, "timeout");
+    }
+
+    /**
+     * Ejecutar la carga o unirse a la que ya está en curso para la misma clave
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            coalesced.increment();
+            return await(key, existing, loader);
+        }
+
+        executed.increment();
+        try {
+            V value = loader.get();
+            leader.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    /**
+     * Número de claves con una carga en curso
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * MÉTODO PRIVADO: Esperar el resultado del líder
+     */
+    private V await(K key, CompletableFuture<V> future, Supplier<V> loader) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            log.warn("Timeout esperando carga compartida de {} para clave {}, cargando directamente", name, key);
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando carga de " + name, e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("tienda.singleflight.loads")
+                .tag("name", name)
+                .tag("result", result)
+                .description("Cargas ejecutadas, coalescidas y con timeout")
+                .register(meterRegistry);
+    }
+}
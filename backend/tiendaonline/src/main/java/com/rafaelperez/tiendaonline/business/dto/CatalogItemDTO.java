@@ -0,0 +1,41 @@
+package com.rafaelperez.tiendaonline.business.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO COMPACTO e INMUTABLE de producto - Para el read model del catálogo
+ *
+ * - Sin descripción: las páginas de navegación no la muestran y es lo que más ocupa
+ * - Inmutable: se usa como clave de los índices ordenados (no puede cambiar dentro de ellos)
+ */
+@Value
+@Schema(description = "Producto en los listados de navegación del catálogo")
+public class CatalogItemDTO {
+
+    @Schema(description = "ID del producto", example = "1")
+    Long id;
+
+    @Schema(description = "Nombre del producto", example = "Laptop ASUS VivoBook 15")
+    String name;
+
+    @Schema(description = "Precio actual", example = "2150000.00")
+    BigDecimal price;
+
+    @Schema(description = "Stock actual", example = "15")
+    Integer stock;
+
+    @Schema(description = "ID del vendedor", example = "1")
+    Long sellerId;
+
+    @Schema(description = "Fecha y hora de última actualización", example = "2025-09-07T15:45:00")
+    LocalDateTime updatedAt;
+
+    public static CatalogItemDTO from(ProductDTO product) {
+        return new CatalogItemDTO(product.getId(), product.getName(), product.getPrice(),
+                product.getStock(), product.getSellerId(), product.getUpdatedAt());
+    }
+}
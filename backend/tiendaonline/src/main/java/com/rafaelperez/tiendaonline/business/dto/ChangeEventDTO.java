@@ -0,0 +1,35 @@
+package com.rafaelperez.tiendaonline.business.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Cambio del catálogo registrado en el outbox")
+public class ChangeEventDTO {
+
+    @Schema(description = "Cursor del evento (monótono creciente)", example = "1024")
+    private Long cursor;
+
+    @Schema(description = "Tipo de agregado", example = "PRODUCT", allowableValues = {"PRODUCT", "SELLER"})
+    private String aggregateType;
+
+    @Schema(description = "ID del producto o vendedor afectado", example = "1")
+    private Long aggregateId;
+
+    @Schema(description = "Tipo de cambio", example = "UPDATED", allowableValues = {"CREATED", "UPDATED", "DELETED"})
+    private String eventType;
+
+    @Schema(description = "Estado del ProductDTO/SellerDTO después del cambio (null en DELETED)")
+    @JsonRawValue
+    private String payload;
+
+    @Schema(description = "Fecha y hora del cambio", example = "2025-09-07T15:45:00")
+    private LocalDateTime createdAt;
+}
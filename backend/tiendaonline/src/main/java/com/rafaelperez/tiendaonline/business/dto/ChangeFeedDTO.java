@@ -0,0 +1,29 @@
+package com.rafaelperez.tiendaonline.business.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página del change feed - Respuesta de GET /api/v1/changes
+ *
+ * USO: el cliente guarda nextCursor y lo envía como ?since= en la siguiente llamada
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de cambios del catálogo")
+public class ChangeFeedDTO {
+
+    @Schema(description = "Cambios posteriores al cursor solicitado, en orden")
+    private List<ChangeEventDTO> events;
+
+    @Schema(description = "Cursor a enviar en la siguiente consulta (?since=)", example = "1024")
+    private Long nextCursor;
+
+    @Schema(description = "true si hay más cambios disponibles inmediatamente")
+    private boolean hasMore;
+}
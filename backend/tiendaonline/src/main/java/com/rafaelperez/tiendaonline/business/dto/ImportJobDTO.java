@@ -0,0 +1,76 @@
+package com.rafaelperez.tiendaonline.business.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO de estado de una importación CSV masiva
+ *
+ * Usado en: POST /products/import (202), GET /products/import/{jobId}
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estado de una importación masiva de productos")
+public class ImportJobDTO {
+
+    @Schema(description = "ID del trabajo de importación", example = "7", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long id;
+
+    @Schema(description = "Nombre del archivo subido", example = "catalogo.csv")
+    private String originalFileName;
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    private String filePath;
+
+    @Schema(description = "Vendedor por defecto para filas sin sellerId", example = "1")
+    private Long sellerId;
+
+    @Schema(description = "Filas confirmadas por transacción", example = "500")
+    private Integer chunkSize;
+
+    @Schema(description = "Estado del trabajo", example = "RUNNING",
+            allowableValues = {"PENDING", "RUNNING", "COMPLETED", "FAILED", "EXPIRED"})
+    private String status;
+
+    @Schema(description = "Total de filas de datos del archivo (null mientras se cuenta)", example = "100000")
+    private Long totalRows;
+
+    @Schema(description = "Filas ya confirmadas (importadas + fallidas); punto de reanudación", example = "42500")
+    private Long committedRows;
+
+    @Schema(description = "Filas importadas correctamente", example = "42480")
+    private Long importedRows;
+
+    @Schema(description = "Filas rechazadas por validación o por la base de datos", example = "20")
+    private Long failedRows;
+
+    @Schema(description = "Filas pendientes por procesar", example = "57500")
+    private Long remainingRows;
+
+    @Schema(description = "Muestra de errores por fila")
+    private List<String> errors;
+
+    @Schema(description = "Motivo de la falla del trabajo (si status = FAILED)")
+    private String errorMessage;
+
+    @Schema(description = "Nodo que ejecuta (o ejecutó) el trabajo y guarda su archivo", example = "tienda-7f9c4")
+    private String ownerNode;
+
+    @Schema(description = "Vencimiento del lease del nodo dueño (se renueva mientras el trabajo corre)",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime leaseExpiresAt;
+
+    @Schema(description = "Fecha y hora de creación", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Fecha y hora de última actualización", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime updatedAt;
+}
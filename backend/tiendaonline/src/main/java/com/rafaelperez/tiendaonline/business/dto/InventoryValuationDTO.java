@@ -0,0 +1,44 @@
+package com.rafaelperez.tiendaonline.business.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Valoración del inventario (suma de precio * stock) - Respuesta de /api/v1/reports
+ */
+@Value
+@Schema(description = "Valoración del inventario total y por vendedor")
+public class InventoryValuationDTO {
+
+    @Schema(description = "Productos considerados", example = "1250000")
+    int productCount;
+
+    @Schema(description = "Unidades en stock", example = "98000000")
+    long totalUnits;
+
+    @Schema(description = "Suma de precio * stock de todos los productos", example = "152340000000.00")
+    BigDecimal totalValuation;
+
+    @Schema(description = "Vendedores ordenados de mayor a menor valoración")
+    List<SellerValuation> sellers;
+
+    @Value
+    @Schema(description = "Valoración del inventario de un vendedor")
+    public static class SellerValuation {
+
+        @Schema(description = "ID del vendedor (null = productos sin vendedor)", example = "1")
+        Long sellerId;
+
+        @Schema(description = "Productos del vendedor", example = "320")
+        int productCount;
+
+        @Schema(description = "Unidades en stock", example = "4500")
+        long totalUnits;
+
+        @Schema(description = "Suma de precio * stock", example = "87500000.00")
+        BigDecimal valuation;
+    }
+}
@@ -0,0 +1,33 @@
+package com.rafaelperez.tiendaonline.business.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Alerta de stock bajo abierta - Respuesta de GET /api/v1/alerts/low-stock
+ */
+@Value
+@Schema(description = "Producto con stock en o por debajo de su umbral")
+public class LowStockAlertDTO {
+
+    @Schema(description = "ID del producto", example = "42")
+    Long productId;
+
+    @Schema(description = "ID del vendedor", example = "1")
+    Long sellerId;
+
+    @Schema(description = "Stock actual", example = "2")
+    int stock;
+
+    @Schema(description = "Umbral aplicado", example = "5")
+    int threshold;
+
+    @Schema(description = "Momento en que se abrió la alerta")
+    Instant openedAt;
+
+    public LowStockAlertDTO withStock(int newStock) {
+        return new LowStockAlertDTO(productId, sellerId, newStock, threshold, openedAt);
+    }
+}
@@ -0,0 +1,37 @@
+package com.rafaelperez.tiendaonline.business.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Transición de una alerta de stock bajo - Respuesta de GET /api/v1/alerts/low-stock/events
+ */
+@Value
+@Schema(description = "Apertura o resolución de una alerta de stock bajo")
+public class LowStockAlertEventDTO {
+
+    public enum Type { OPENED, RESOLVED }
+
+    @Schema(description = "Posición en la cola de este nodo (enviar como ?since=)", example = "17")
+    long sequence;
+
+    @Schema(description = "OPENED o RESOLVED", example = "OPENED")
+    Type type;
+
+    @Schema(description = "ID del producto", example = "42")
+    Long productId;
+
+    @Schema(description = "ID del vendedor", example = "1")
+    Long sellerId;
+
+    @Schema(description = "Stock en el momento de la transición (null si el producto se eliminó)", example = "2")
+    Integer stock;
+
+    @Schema(description = "Umbral aplicado", example = "5")
+    int threshold;
+
+    @Schema(description = "Momento de la transición")
+    Instant occurredAt;
+}
@@ -0,0 +1,27 @@
+package com.rafaelperez.tiendaonline.business.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Percentiles de precio - Respuesta de /api/v1/reports
+ */
+@Value
+@Schema(description = "Percentiles de precio del catálogo (rango más cercano)")
+public class PricePercentilesDTO {
+
+    @Schema(description = "Productos considerados", example = "1250000")
+    int productCount;
+
+    @Schema(description = "Precio mínimo", example = "1500.00")
+    BigDecimal min;
+
+    @Schema(description = "Precio máximo", example = "9800000.00")
+    BigDecimal max;
+
+    @Schema(description = "Percentil -> precio (claves p50, p90, p99.9...)")
+    Map<String, BigDecimal> percentiles;
+}
@@ -0,0 +1,35 @@
+package com.rafaelperez.tiendaonline.business.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO LIGERO de precio/stock - Para el stream SSE GET /api/v1/products/stream
+ *
+ * Solo viaja lo que el storefront necesita para refrescar la vista en vivo
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Actualización en vivo de precio y stock de un producto")
+public class ProductStockUpdateDTO {
+
+    @Schema(description = "ID del producto", example = "1")
+    private Long productId;
+
+    @Schema(description = "ID del vendedor (null si el producto fue eliminado)", example = "1")
+    private Long sellerId;
+
+    @Schema(description = "Precio actual (null si el producto fue eliminado)", example = "2150000.00")
+    private BigDecimal price;
+
+    @Schema(description = "Stock actual (null si el producto fue eliminado)", example = "15")
+    private Integer stock;
+
+    @Schema(description = "true si el producto fue eliminado")
+    private boolean deleted;
+}
@@ -0,0 +1,44 @@
+package com.rafaelperez.tiendaonline.business.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Resumen del arranque de la aplicación - Respuesta de /actuator/startupreport
+ */
+@Value
+@Schema(description = "Tiempos del arranque: total, JPA, OpenAPI y beans más lentos")
+public class StartupReportDTO {
+
+    @Schema(description = "Desde el inicio de la JVM hasta ApplicationReadyEvent", example = "8450")
+    long readyMillis;
+
+    @Schema(description = "Construcción del EntityManagerFactory (metamodelo Hibernate)", example = "2100")
+    long jpaBootstrapMillis;
+
+    @Schema(description = "Beans de springdoc/OpenAPI (el escaneo de controladores ocurre en la primera petición a /api-docs)",
+            example = "350")
+    long openApiMillis;
+
+    @Schema(description = "Pasos registrados (si se alcanzó la capacidad, los últimos faltan)", example = "1840")
+    int recordedSteps;
+
+    @Schema(description = "Beans ordenados por tiempo propio (sin contar sus dependencias)")
+    List<BeanTiming> slowestBeans;
+
+    @Value
+    @Schema(description = "Tiempo de creación de un bean")
+    public static class BeanTiming {
+
+        @Schema(description = "Nombre del bean", example = "entityManagerFactory")
+        String beanName;
+
+        @Schema(description = "Tiempo propio en ms (sin dependencias)", example = "1900")
+        long selfMillis;
+
+        @Schema(description = "Tiempo total en ms (incluye dependencias creadas en cadena)", example = "2100")
+        long totalMillis;
+    }
+}
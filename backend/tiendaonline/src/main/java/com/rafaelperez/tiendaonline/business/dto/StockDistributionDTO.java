@@ -0,0 +1,37 @@
+package com.rafaelperez.tiendaonline.business.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Distribución del stock por rangos - Respuesta de /api/v1/reports
+ */
+@Value
+@Schema(description = "Histograma de productos por cantidad en stock")
+public class StockDistributionDTO {
+
+    @Schema(description = "Productos considerados", example = "1250000")
+    int productCount;
+
+    @Schema(description = "Unidades en stock", example = "98000000")
+    long totalUnits;
+
+    @Schema(description = "Rangos [from, to) en orden ascendente")
+    List<Bucket> buckets;
+
+    @Value
+    @Schema(description = "Rango de stock y cuántos productos caen en él")
+    public static class Bucket {
+
+        @Schema(description = "Stock mínimo (incluido)", example = "10")
+        int from;
+
+        @Schema(description = "Stock máximo (excluido); null = sin límite", example = "50")
+        Integer to;
+
+        @Schema(description = "Productos en el rango", example = "41230")
+        long count;
+    }
+}
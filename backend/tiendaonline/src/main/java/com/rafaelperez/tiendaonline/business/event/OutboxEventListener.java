@@ -0,0 +1,54 @@
+package com.rafaelperez.tiendaonline.business.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.OutboxEventDAO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Escribe cada cambio de producto/vendedor en la tabla outbox
+ *
+ * ¿POR QUÉ BEFORE_COMMIT?
+ * - Se ejecuta todavía DENTRO de la transacción de la escritura
+ * - Si el insert en el outbox falla, la escritura completa hace rollback
+ * - Así nunca hay cambios sin evento ni eventos sin cambio
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxEventListener {
+    public static final String AGGREGATE_PRODUCT = "PRODUCT";
+    public static final String AGGREGATE_SELLER = "SELLER";
+
+    private final OutboxEventDAO outboxEventDAO;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onProductChanged(ProductChangedEvent event) {
+        Long cursor = outboxEventDAO.append(AGGREGATE_PRODUCT, event.getProductId(),
+                event.getType().name(), toJson(event.getProduct()));
+        log.debug("Outbox: {} PRODUCT ID {} -> cursor {}", event.getType(), event.getProductId(), cursor);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onSellerChanged(SellerChangedEvent event) {
+        Long cursor = outboxEventDAO.append(AGGREGATE_SELLER, event.getSellerId(),
+                event.getType().name(), toJson(event.getSeller()));
+        log.debug("Outbox: {} SELLER ID {} -> cursor {}", event.getType(), event.getSellerId(), cursor);
+    }
+
+    private String toJson(Object dto) {
+        if (dto == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento del outbox", e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.rafaelperez.tiendaonline.business.event;
+
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Evento de dominio publicado por ProductServiceImpl en cada escritura
+ *
+ * IMPORTANTE:
+ * - Se publica DENTRO de la transacción de la escritura
+ * - Listeners que necesiten datos confirmados deben usar
+ *   @TransactionalEventListener(phase = AFTER_COMMIT)
+ * - product es null cuando type = DELETED
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ProductChangedEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+
+    private final Long productId;
+
+    private final ProductDTO product;
+}
@@ -0,0 +1,27 @@
+package com.rafaelperez.tiendaonline.business.event;
+
+import com.rafaelperez.tiendaonline.business.dto.SellerDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Evento de dominio publicado por SellerServiceImpl en cada escritura
+ *
+ * Mismas reglas que ProductChangedEvent:
+ * - Se publica DENTRO de la transacción de la escritura
+ * - seller es null cuando type = DELETED
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SellerChangedEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+
+    private final Long sellerId;
+
+    private final SellerDTO seller;
+}
@@ -0,0 +1,305 @@
+package com.rafaelperez.tiendaonline.business.export;
+
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.dto.SellerDTO;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.ProductDAO;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.SellerDAO;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.ToLongFunction;
+
+/**
+ * Exportación del catálogo a archivos columnares Apache Arrow (formato IPC de archivo)
+ *
+ * FLUJO (por tabla):
+ * 1. Leer la tabla por páginas de PK (keyset) desde la base de datos
+ * 2. Copiar cada fila a los vectores columnares del lote actual
+ * 3. Al llegar a tienda.export.batch-rows filas O a tienda.export.batch-bytes de memoria
+ *    en vectores, escribir el lote (record batch) y reutilizar los vectores
+ * 4. Al terminar, escribir el footer del archivo (permite leer lotes al azar)
+ *
+ * MEMORIA: acotada a una página de BD + un lote de vectores, sin importar el número de filas;
+ * cada exportación usa su propio allocator limitado por tienda.export.max-memory.
+ * El corte por bytes importa con textos largos (description): un lote de 65536 filas
+ * podría superar el allocator a mitad del stream, con la respuesta ya enviada en parte.
+ * batch-bytes se acota a max-memory / 4 porque un vector que crece reserva el doble
+ * mientras aún conserva el buffer anterior
+ *
+ * TIPOS: price decimal(38,2), stock int32, IDs int64, fechas timestamp[us] (sin zona,
+ * igual que las columnas DATETIME de origen)
+ */
+@Component
+@Slf4j
+public class CatalogArrowExporter {
+    public static final String MEDIA_TYPE = "application/vnd.apache.arrow.file";
+    private static final int PAGE_SIZE = 1000;
+    private static final int PRICE_PRECISION = 38;
+    private static final int PRICE_SCALE = 2;
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final FieldType TIMESTAMP = FieldType.nullable(new ArrowType.Timestamp(TimeUnit.MICROSECOND, null));
+    private static final FieldType TEXT = FieldType.nullable(ArrowType.Utf8.INSTANCE);
+    private static final FieldType ID = FieldType.notNullable(new ArrowType.Int(64, true));
+
+    static final Schema PRODUCT_SCHEMA = new Schema(List.of(
+            new Field("id", ID, null),
+            new Field("name", TEXT, null),
+            new Field("description", TEXT, null),
+            new Field("price", FieldType.nullable(new ArrowType.Decimal(PRICE_PRECISION, PRICE_SCALE, 128)), null),
+            new Field("stock", FieldType.nullable(new ArrowType.Int(32, true)), null),
+            new Field("seller_id", FieldType.nullable(new ArrowType.Int(64, true)), null),
+            new Field("created_at", TIMESTAMP, null),
+            new Field("updated_at", TIMESTAMP, null)));
+
+    static final Schema SELLER_SCHEMA = new Schema(List.of(
+            new Field("id", ID, null),
+            new Field("name", TEXT, null),
+            new Field("email", TEXT, null),
+            new Field("phone", TEXT, null),
+            new Field("address", TEXT, null),
+            new Field("created_at", TIMESTAMP, null),
+            new Field("updated_at", TIMESTAMP, null)));
+
+    private final ProductDAO productDAO;
+    private final SellerDAO sellerDAO;
+    private final int batchRows;
+    private final long batchBytes;
+    private final long maxMemoryBytes;
+    private final Path directory;
+    private final Semaphore permits;
+
+    public CatalogArrowExporter(ProductDAO productDAO,
+                                SellerDAO sellerDAO,
+                                @Value("${tienda.export.batch-rows:65536}") int batchRows,
+                                @Value("${tienda.export.batch-bytes:16MB}") DataSize batchBytes,
+                                @Value("${tienda.export.max-memory:128MB}") DataSize maxMemory,
+                                @Value("${tienda.export.directory:./data/exports}") Path directory,
+                                @Value("${tienda.export.max-concurrent:2}") int maxConcurrent) {
+        this.productDAO = productDAO;
+        this.sellerDAO = sellerDAO;
+        this.batchRows = batchRows;
+        this.maxMemoryBytes = maxMemory.toBytes();
+        this.batchBytes = Math.min(batchBytes.toBytes(), maxMemoryBytes / 4);
+        if (this.batchBytes < batchBytes.toBytes()) {
+            log.warn("tienda.export.batch-bytes ({}) reducido a max-memory / 4 ({} bytes)", batchBytes, this.batchBytes);
+        }
+        this.directory = directory;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Reservar un turno de exportación (las exportaciones simultáneas están limitadas)
+     *
+     * @return false si ya hay tienda.export.max-concurrent exportaciones en curso
+     */
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Escribir todos los productos en formato Arrow
+     *
+     * @return filas escritas
+     */
+    public long exportProducts(OutputStream out) throws IOException {
+        return export(out, PRODUCT_SCHEMA, productDAO::findPageAfter, ProductDTO::getId,
+                CatalogArrowExporter::writeProduct);
+    }
+
+    /**
+     * Escribir todos los vendedores en formato Arrow
+     *
+     * @return filas escritas
+     */
+    public long exportSellers(OutputStream out) throws IOException {
+        return export(out, SELLER_SCHEMA, sellerDAO::findPageAfter, SellerDTO::getId,
+                CatalogArrowExporter::writeSeller);
+    }
+
+    /**
+     * Exportación programada al directorio local (tienda.export.cron; "-" = desactivada)
+     *
+     * NOTA: cada archivo se escribe a un temporal y se publica con un rename atómico
+     */
+    @Scheduled(cron = "${tienda.export.cron:-}")
+    public void exportToDirectory() {
+        if (!tryAcquire()) {
+            log.warn("Exportación programada omitida: hay exportaciones en curso");
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            String suffix = LocalDateTime.now().format(FILE_TIMESTAMP) + ".arrow";
+            long products = writeFile(directory.resolve("products-" + suffix), this::exportProducts);
+            long sellers = writeFile(directory.resolve("sellers-" + suffix), this::exportSellers);
+            log.info("Catálogo exportado a {}: {} productos, {} vendedores", directory, products, sellers);
+        } catch (IOException | RuntimeException e) {
+            log.error("Error exportando el catálogo a {}: {}", directory, e.getMessage(), e);
+        } finally {
+            release();
+        }
+    }
+
+    // ---------- ESCRITURA GENÉRICA ----------
+
+    @FunctionalInterface
+    private interface PageReader<T> {
+        List<T> page(Long afterId, int size);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(VectorSchemaRoot root, int index, T row);
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        long to(OutputStream out) throws IOException;
+    }
+
+    private <T> long export(OutputStream out, Schema schema, PageReader<T> reader,
+                            ToLongFunction<T> idOf, RowWriter<T> rowWriter) throws IOException {
+        long start = System.currentTimeMillis();
+        try (BufferAllocator allocator = new RootAllocator(maxMemoryBytes);
+             VectorSchemaRoot root = VectorSchemaRoot.create(schema, allocator);
+             ArrowFileWriter writer = new ArrowFileWriter(root, null, Channels.newChannel(out))) {
+            writer.start();
+            root.allocateNew();
+            long rows = 0;
+            long lastId = 0;
+            int index = 0;
+            List<T> page;
+            do {
+                page = reader.page(lastId, PAGE_SIZE);
+                for (T row : page) {
+                    rowWriter.write(root, index++, row);
+                    lastId = idOf.applyAsLong(row);
+                    if (index == batchRows || allocator.getAllocatedMemory() >= batchBytes) {
+                        writeBatch(root, writer, index);
+                        rows += index;
+                        index = 0;
+                    }
+                }
+            } while (page.size() == PAGE_SIZE);
+            if (index > 0 || rows == 0) {
+                writeBatch(root, writer, index);
+                rows += index;
+            }
+            writer.end();
+            log.debug("Exportación Arrow: {} filas en {} ms", rows, System.currentTimeMillis() - start);
+            return rows;
+        }
+    }
+
+    /**
+     * MÉTODO PRIVADO: Cerrar el lote actual y dejar los vectores listos para el siguiente
+     */
+    private static void writeBatch(VectorSchemaRoot root, ArrowFileWriter writer, int rows) throws IOException {
+        root.setRowCount(rows);
+        writer.writeBatch();
+        root.allocateNew();
+    }
+
+    private static long writeFile(Path target, Export export) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            long rows;
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                rows = export.to(out);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return rows;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeProduct(VectorSchemaRoot root, int i, ProductDTO product) {
+        ((BigIntVector) root.getVector("id")).setSafe(i, product.getId());
+        setText(root, "name", i, product.getName());
+        setText(root, "description", i, product.getDescription());
+        DecimalVector price = (DecimalVector) root.getVector("price");
+        if (product.getPrice() == null) {
+            price.setNull(i);
+        } else {
+            price.setSafe(i, product.getPrice().setScale(PRICE_SCALE, RoundingMode.HALF_UP));
+        }
+        IntVector stock = (IntVector) root.getVector("stock");
+        if (product.getStock() == null) {
+            stock.setNull(i);
+        } else {
+            stock.setSafe(i, product.getStock());
+        }
+        BigIntVector sellerId = (BigIntVector) root.getVector("seller_id");
+        if (product.getSellerId() == null) {
+            sellerId.setNull(i);
+        } else {
+            sellerId.setSafe(i, product.getSellerId());
+        }
+        setTimestamp(root, "created_at", i, product.getCreatedAt());
+        setTimestamp(root, "updated_at", i, product.getUpdatedAt());
+    }
+
+    private static void writeSeller(VectorSchemaRoot root, int i, SellerDTO seller) {
+        ((BigIntVector) root.getVector("id")).setSafe(i, seller.getId());
+        setText(root, "name", i, seller.getName());
+        setText(root, "email", i, seller.getEmail());
+        setText(root, "phone", i, seller.getPhone());
+        setText(root, "address", i, seller.getAddress());
+        setTimestamp(root, "created_at", i, seller.getCreatedAt());
+        setTimestamp(root, "updated_at", i, seller.getUpdatedAt());
+    }
+
+    private static void setText(VectorSchemaRoot root, String column, int i, String value) {
+        VarCharVector vector = (VarCharVector) root.getVector(column);
+        if (value == null) {
+            vector.setNull(i);
+        } else {
+            vector.setSafe(i, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void setTimestamp(VectorSchemaRoot root, String column, int i, LocalDateTime value) {
+        TimeStampMicroVector vector = (TimeStampMicroVector) root.getVector(column);
+        if (value == null) {
+            vector.setNull(i);
+        } else {
+            vector.setSafe(i, value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000);
+        }
+    }
+}
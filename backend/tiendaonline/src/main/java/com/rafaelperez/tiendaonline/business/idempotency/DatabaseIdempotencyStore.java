@@ -0,0 +1,92 @@
+package com.rafaelperez.tiendaonline.business.idempotency;
+
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.IdempotencyKeyDAO;
+import com.rafaelperez.tiendaonline.persistenceLayer.entity.IdempotencyKeyEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Almacén de idempotencia en base de datos (varios nodos detrás de nginx)
+ *
+ * La reserva es un INSERT con la clave como PK: exactamente un nodo gana.
+ * Una clave expirada se borra y se vuelve a reservar.
+ *
+ * EXPIRACIÓN:
+ * - IN_PROGRESS: lease corto (in-progress-lease). Si el nodo muere a mitad de la
+ *   petición, la clave queda libre al vencer el lease y no hasta el TTL de 24 h
+ * - COMPLETED: TTL completo (ttl) desde que se guarda la respuesta
+ * - El lease debe ser mayor que la petición más lenta: si vence con la petición
+ *   aún en curso, otro nodo podría volver a ejecutarla
+ */
+@Component
+@ConditionalOnProperty(name = "tienda.idempotency.store", havingValue = "database")
+@Slf4j
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyKeyDAO idempotencyKeyDAO;
+    private final Duration ttl;
+    private final Duration inProgressLease;
+
+    public DatabaseIdempotencyStore(IdempotencyKeyDAO idempotencyKeyDAO,
+                                    @Value("${tienda.idempotency.ttl:PT24H}") Duration ttl,
+                                    @Value("${tienda.idempotency.in-progress-lease:PT2M}") Duration inProgressLease) {
+        this.idempotencyKeyDAO = idempotencyKeyDAO;
+        this.ttl = ttl;
+        this.inProgressLease = inProgressLease;
+    }
+
+    @Override
+    public Lookup reserve(String key, String fingerprint) {
+        try {
+            idempotencyKeyDAO.insertReservation(key, fingerprint, LocalDateTime.now().plus(inProgressLease));
+            return Lookup.of(State.RESERVED);
+        } catch (DataIntegrityViolationException e) {
+            // La clave ya existe: ver en qué estado está
+        }
+
+        Optional<IdempotencyKeyEntity> existing = idempotencyKeyDAO.findByKey(key);
+        if (existing.isEmpty()) {
+            return Lookup.of(State.IN_PROGRESS); // liberada justo ahora: el cliente reintenta
+        }
+        IdempotencyKeyEntity entity = existing.get();
+        if (entity.getExpiresAt().isBefore(LocalDateTime.now())) {
+            idempotencyKeyDAO.deleteByKey(key);
+            return reserve(key, fingerprint);
+        }
+        if (!entity.getFingerprint().equals(fingerprint)) {
+            return Lookup.of(State.MISMATCH);
+        }
+        if (!"COMPLETED".equals(entity.getStatus())) {
+            return Lookup.of(State.IN_PROGRESS);
+        }
+        return new Lookup(State.COMPLETED, new IdempotentResponse(
+                entity.getResponseStatus(), entity.getContentType(), entity.getLocation(), entity.getBody()));
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response) {
+        idempotencyKeyDAO.complete(key, response.getStatus(), response.getContentType(),
+                response.getLocation(), response.getBody(), LocalDateTime.now().plus(ttl));
+    }
+
+    @Override
+    public void release(String key) {
+        idempotencyKeyDAO.deleteByKey(key);
+    }
+
+    @Scheduled(fixedDelayString = "${tienda.idempotency.purge-interval:PT5M}")
+    public void purgeExpired() {
+        int deleted = idempotencyKeyDAO.deleteExpired();
+        if (deleted > 0) {
+            log.debug("Claves de idempotencia expiradas eliminadas: {}", deleted);
+        }
+    }
+}
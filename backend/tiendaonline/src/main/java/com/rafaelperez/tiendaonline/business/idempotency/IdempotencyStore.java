@@ -0,0 +1,44 @@
+package com.rafaelperez.tiendaonline.business.idempotency;
+
+/**
+ * Almacén de claves de idempotencia (Idempotency-Key)
+ *
+ * IMPLEMENTACIONES:
+ * - InMemoryIdempotencyStore: por nodo, acotado y con TTL (por defecto)
+ * - DatabaseIdempotencyStore: tabla compartida, para varios nodos
+ *
+ * Seleccionar con tienda.idempotency.store=memory|database
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Reservar una clave o recuperar su respuesta
+     *
+     * @param key         Clave (ya incluye método y ruta)
+     * @param fingerprint Hash del cuerpo de la petición
+     * @return RESERVED si la reserva es nuestra (ejecutar la petición),
+     *         COMPLETED con la respuesta guardada, IN_PROGRESS si otra petición
+     *         la está ejecutando, o MISMATCH si la clave se usó con otro cuerpo;
+     *         null si el almacén está lleno (ejecutar sin idempotencia)
+     */
+    Lookup reserve(String key, String fingerprint);
+
+    /**
+     * Guardar la respuesta de una clave reservada
+     */
+    void complete(String key, IdempotentResponse response);
+
+    /**
+     * Liberar una clave reservada sin respuesta (error 5xx), permitiendo reintentar
+     */
+    void release(String key);
+
+    enum State { RESERVED, COMPLETED, IN_PROGRESS, MISMATCH }
+
+    record Lookup(State state, IdempotentResponse response) {
+
+        public static Lookup of(State state) {
+            return new Lookup(state, null);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.rafaelperez.tiendaonline.business.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Primera respuesta guardada para una clave de idempotencia
+ *
+ * Se re-envía byte a byte en los reintentos con la misma clave
+ */
+@Getter
+@AllArgsConstructor
+public class IdempotentResponse {
+
+    private final int status;
+
+    private final String contentType;
+
+    // Header Location (si lo hubo)
+    private final String location;
+
+    private final byte[] body;
+}
@@ -0,0 +1,87 @@
+package com.rafaelperez.tiendaonline.business.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Almacén de idempotencia en memoria (un solo nodo)
+ *
+ * - Acotado: como máximo maxEntries claves; si se llena, las peticiones nuevas
+ *   se ejecutan sin idempotencia (se registra un warning) en vez de fallar
+ * - TTL: las claves expiran y se purgan periódicamente
+ */
+@Component
+@ConditionalOnProperty(name = "tienda.idempotency.store", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    public InMemoryIdempotencyStore(@Value("${tienda.idempotency.ttl:PT24H}") Duration ttl,
+                                    @Value("${tienda.idempotency.max-entries:100000}") int maxEntries) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public Lookup reserve(String key, String fingerprint) {
+        long now = System.currentTimeMillis();
+        if (entries.size() >= maxEntries) {
+            purgeExpired();
+            if (entries.size() >= maxEntries) {
+                log.warn("Almacén de idempotencia lleno ({} claves), la petición se ejecuta sin idempotencia", maxEntries);
+                return null;
+            }
+        }
+
+        Entry reserved = new Entry(fingerprint, now + ttlMillis);
+        Entry existing = entries.compute(key, (k, current) ->
+                current == null || current.expiresAt < now ? reserved : current);
+        if (existing == reserved) {
+            return Lookup.of(State.RESERVED);
+        }
+        if (!existing.fingerprint.equals(fingerprint)) {
+            return Lookup.of(State.MISMATCH);
+        }
+        IdempotentResponse response = existing.response;
+        return response == null ? Lookup.of(State.IN_PROGRESS) : new Lookup(State.COMPLETED, response);
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.response = response;
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        entries.remove(key);
+    }
+
+    @Scheduled(fixedDelayString = "${tienda.idempotency.purge-interval:PT5M}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt < now);
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final long expiresAt;
+        private volatile IdempotentResponse response;
+
+        private Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.rafaelperez.tiendaonline.business.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Base de los transportes: registro de suscriptores y control de orden
+ *
+ * ORDEN: las versiones (> 0) son monótonas; un mensaje con versión menor o igual
+ * a la última entregada ya se procesó y se descarta. Las entregas locales
+ * (versión 0) se aplican siempre: desalojar dos veces no cambia el resultado.
+ *
+ * CONCURRENCIA: el lock solo cubre la comprobación de versión. Los suscriptores
+ * síncronos (desalojos baratos) corren en el hilo que publica; los asíncronos
+ * (recargas desde BD) corren en el ejecutor, en orden por entidad: dos cambios
+ * del mismo producto nunca se aplican en paralelo ni desordenados, y escrituras
+ * de productos distintos no se esperan entre sí.
+ */
+@Slf4j
+public abstract class AbstractInvalidationBus implements InvalidationBus {
+    private final ConcurrentHashMap<String, List<Consumer<Invalidation>>> subscribers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, List<Consumer<Invalidation>>> asyncSubscribers = new ConcurrentHashMap<>();
+    // Última entrega asíncrona pendiente por entidad (cola implícita por clave)
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final Executor asyncExecutor;
+    private long lastVersion;
+
+    /**
+     * @param asyncExecutor ejecutor de los suscriptores asíncronos
+     *                      (Runnable::run los entrega en el hilo que publica, p. ej. en tests)
+     */
+    protected AbstractInvalidationBus(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    @Override
+    public void subscribe(String entityType, Consumer<Invalidation> subscriber) {
+        subscribers.computeIfAbsent(entityType, type -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+
+    @Override
+    public void subscribeAsync(String entityType, Consumer<Invalidation> subscriber) {
+        asyncSubscribers.computeIfAbsent(entityType, type -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+
+    @Override
+    public synchronized long lastDeliveredVersion() {
+        return lastVersion;
+    }
+
+    /**
+     * Entregar a los suscriptores del tipo (un fallo no impide entregar al resto)
+     *
+     * @return false si se descartó por versión
+     */
+    protected boolean deliver(Invalidation invalidation) {
+        if (!accept(invalidation.version())) {
+            log.debug("Invalidación descartada por versión {}", invalidation.version());
+            return false;
+        }
+        dispatch(invalidation);
+        return true;
+    }
+
+    /**
+     * Registrar la versión si es nueva (0 = local, siempre se acepta)
+     */
+    protected synchronized boolean accept(long version) {
+        if (version > 0) {
+            if (version <= lastVersion) {
+                return false;
+            }
+            lastVersion = version;
+        }
+        return true;
+    }
+
+    /**
+     * Entregar sin comprobar la versión
+     *
+     * USO: eventos tardíos (huecos re-escaneados) y transportes que ya registraron la versión
+     */
+    protected void dispatch(Invalidation invalidation) {
+        notifySubscribers(subscribers.getOrDefault(invalidation.entityType(), List.of()), invalidation);
+
+        List<Consumer<Invalidation>> async = asyncSubscribers.getOrDefault(invalidation.entityType(), List.of());
+        if (!async.isEmpty()) {
+            dispatchInOrder(invalidation.entityType() + ':' + invalidation.entityId(),
+                    () -> notifySubscribers(async, invalidation));
+        }
+    }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    /**
+     * MÉTODO PRIVADO: Encadenar la tarea detrás de la anterior de la misma clave
+     *
+     * put() es atómico: cada tarea ve a su predecesora exacta, así el orden por
+     * clave es el de publicación. La entrada se borra al terminar si nadie se encoló detrás.
+     */
+    private void dispatchInOrder(String key, Runnable task) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture<Void> previous = tails.put(key, done);
+        Runnable run = () -> {
+            try {
+                task.run();
+            } finally {
+                tails.remove(key, done);
+                done.complete(null);
+            }
+        };
+        if (previous == null) {
+            submit(run);
+        } else {
+            previous.whenComplete((result, error) -> submit(run));
+        }
+    }
+
+    /**
+     * MÉTODO PRIVADO: Ejecutar en el ejecutor o, si lo rechaza (apagado), en este hilo
+     */
+    private void submit(Runnable run) {
+        try {
+            asyncExecutor.execute(run);
+        } catch (RejectedExecutionException e) {
+            run.run();
+        }
+    }
+
+    /**
+     * MÉTODO PRIVADO: Notificar a cada suscriptor aislando sus fallos
+     */
+    private void notifySubscribers(List<Consumer<Invalidation>> targets, Invalidation invalidation) {
+        for (Consumer<Invalidation> subscriber : targets) {
+            try {
+                subscriber.accept(invalidation);
+            } catch (RuntimeException e) {
+                log.error("Error en suscriptor de invalidación {}: {}", invalidation, e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.rafaelperez.tiendaonline.business.invalidation;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transporte en memoria: la publicación se entrega en el mismo hilo
+ * (los suscriptores asíncronos, en el ejecutor de invalidaciones)
+ *
+ * USO: despliegues de un solo nodo y tests
+ */
+@Component
+@ConditionalOnProperty(name = "tienda.invalidation.transport", havingValue = "memory", matchIfMissing = true)
+public class InMemoryInvalidationBus extends AbstractInvalidationBus {
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Todo en el hilo que publica (tests)
+     */
+    public InMemoryInvalidationBus() {
+        this(Runnable::run);
+    }
+
+    @Autowired
+    public InMemoryInvalidationBus(@Qualifier("invalidationExecutor") Executor invalidationExecutor) {
+        super(invalidationExecutor);
+    }
+
+    @Override
+    public void publish(String entityType, Long entityId, String changeType) {
+        // Asignar y registrar la versión juntas; la entrega ya no retiene el lock
+        Invalidation invalidation;
+        synchronized (this) {
+            invalidation = new Invalidation(entityType, entityId, changeType, sequence.incrementAndGet());
+            accept(invalidation.version());
+        }
+        dispatch(invalidation);
+    }
+}
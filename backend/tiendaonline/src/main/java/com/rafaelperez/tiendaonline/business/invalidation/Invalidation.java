@@ -0,0 +1,19 @@
+package com.rafaelperez.tiendaonline.business.invalidation;
+
+/**
+ * Mensaje de invalidación de una entidad cacheada
+ *
+ * @param entityType PRODUCT o SELLER (mismos valores que el outbox)
+ * @param entityId   ID de la entidad que cambió
+ * @param changeType CREATED, UPDATED o DELETED
+ * @param version    Posición del cambio en el bus (monótona); 0 = entrega local sin orden
+ */
+public record Invalidation(String entityType, Long entityId, String changeType, long version) {
+
+    /**
+     * true si el cambio altera qué entidades existen (no solo su contenido)
+     */
+    public boolean membershipChanged() {
+        return !"UPDATED".equals(changeType);
+    }
+}
@@ -0,0 +1,41 @@
+package com.rafaelperez.tiendaonline.business.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Bus de invalidación de cachés entre nodos
+ *
+ * TRANSPORTES (tienda.invalidation.transport):
+ * - memory: entrega dentro del proceso (un solo nodo, tests) - por defecto
+ * - database: cada nodo lee el outbox por polling (varios nodos detrás de nginx)
+ *
+ * CONTRATO:
+ * - publish() se llama DESPUÉS del commit (InvalidationPublisher)
+ * - Los suscriptores solo deben desalojar: una invalidación repetida es inofensiva
+ * - Los mensajes con versión ya entregada se descartan (duplicados o tardíos)
+ */
+public interface InvalidationBus {
+
+    /**
+     * Publicar el cambio de una entidad (ya confirmado)
+     */
+    void publish(String entityType, Long entityId, String changeType);
+
+    /**
+     * Registrar un suscriptor para un tipo de entidad
+     */
+    void subscribe(String entityType, Consumer<Invalidation> subscriber);
+
+    /**
+     * Registrar un suscriptor que se ejecuta fuera del hilo que publica,
+     * en orden por entidad
+     *
+     * USO: suscriptores que recargan desde BD (no deben retener la escritura)
+     */
+    void subscribeAsync(String entityType, Consumer<Invalidation> subscriber);
+
+    /**
+     * Última versión entregada a los suscriptores
+     */
+    long lastDeliveredVersion();
+}
@@ -0,0 +1,30 @@
+package com.rafaelperez.tiendaonline.business.invalidation;
+
+import com.rafaelperez.tiendaonline.business.event.OutboxEventListener;
+import com.rafaelperez.tiendaonline.business.event.ProductChangedEvent;
+import com.rafaelperez.tiendaonline.business.event.SellerChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Publica en el bus los cambios de productos y vendedores DESPUÉS del commit
+ *
+ * NOTA: si la transacción hace rollback no se publica nada
+ */
+@Component
+@RequiredArgsConstructor
+public class InvalidationPublisher {
+    private final InvalidationBus invalidationBus;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidationBus.publish(OutboxEventListener.AGGREGATE_PRODUCT, event.getProductId(), event.getType().name());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSellerChanged(SellerChangedEvent event) {
+        invalidationBus.publish(OutboxEventListener.AGGREGATE_SELLER, event.getSellerId(), event.getType().name());
+    }
+}
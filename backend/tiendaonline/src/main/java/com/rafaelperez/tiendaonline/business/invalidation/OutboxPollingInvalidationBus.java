@@ -0,0 +1,154 @@
+package com.rafaelperez.tiendaonline.business.invalidation;
+
+import com.rafaelperez.tiendaonline.business.dto.ChangeEventDTO;
+import com.rafaelperez.tiendaonline.business.dto.ChangeFeedDTO;
+import com.rafaelperez.tiendaonline.business.service.ChangeFeedService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Transporte por base de datos: cada nodo sigue el outbox del catálogo
+ *
+ * FLUJO:
+ * 1. Al arrancar, empezar desde el cursor actual (las cachés están vacías)
+ * 2. Cada poll-interval leer los eventos nuevos (ChangeFeedService se detiene
+ *    ante huecos RECIENTES de transacciones sin confirmar)
+ * 3. Entregar cada evento con versión = cursor, en orden
+ * 4. Los cursores que faltaban entre dos eventos se recuerdan y se re-consultan
+ *    en cada poll durante gap-rescan-window: si aparece el evento de una
+ *    transacción lenta, se entrega tarde (desalojar no depende del orden)
+ *
+ * NOTA: un hueco que sigue vacío tras la ventana se da por rollback y se olvida;
+ * una transacción que tarde más que eso en confirmar sí dejaría su cambio sin
+ * invalidar en los demás nodos hasta el siguiente cambio del producto.
+ *
+ * El nodo que hace la escritura además desaloja al instante (publish, versión 0),
+ * así lee sus propias escrituras sin esperar al siguiente poll. Cuando el poll
+ * trae su propio evento, el desalojo se repite sin efecto.
+ */
+@Component
+@ConditionalOnProperty(name = "tienda.invalidation.transport", havingValue = "database")
+@Slf4j
+public class OutboxPollingInvalidationBus extends AbstractInvalidationBus {
+    private final ChangeFeedService changeFeedService;
+    private final int batchSize;
+    private final Duration gapRescanWindow;
+    private final int maxPendingGaps;
+    // Cursor saltado -> cuándo se detectó (solo lo usa el hilo de poll)
+    private final TreeMap<Long, Instant> pendingGaps = new TreeMap<>();
+    private volatile long cursor = -1;
+
+    public OutboxPollingInvalidationBus(ChangeFeedService changeFeedService,
+                                        @Qualifier("invalidationExecutor") Executor invalidationExecutor,
+                                        @Value("${tienda.invalidation.batch-size:500}") int batchSize,
+                                        @Value("${tienda.invalidation.gap-rescan-window:PT5M}") Duration gapRescanWindow,
+                                        @Value("${tienda.invalidation.max-pending-gaps:1000}") int maxPendingGaps) {
+        super(invalidationExecutor);
+        this.changeFeedService = changeFeedService;
+        this.batchSize = batchSize;
+        this.gapRescanWindow = gapRescanWindow;
+        this.maxPendingGaps = maxPendingGaps;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        cursor = changeFeedService.getLatestCursor();
+        log.info("Bus de invalidación por outbox iniciado en el cursor {}", cursor);
+    }
+
+    @Override
+    public void publish(String entityType, Long entityId, String changeType) {
+        deliver(new Invalidation(entityType, entityId, changeType, 0));
+    }
+
+    /**
+     * Leer y entregar los cambios de todos los nodos desde el último cursor
+     */
+    @Scheduled(fixedDelayString = "${tienda.invalidation.poll-interval:PT0.5S}")
+    public void poll() {
+        if (cursor < 0) {
+            return; // Aún no arrancó
+        }
+        try {
+            rescanGaps();
+            ChangeFeedDTO page;
+            do {
+                page = changeFeedService.getChanges(cursor, batchSize);
+                long expected = cursor + 1;
+                for (ChangeEventDTO event : page.getEvents()) {
+                    trackGap(expected, event.getCursor());
+                    deliver(toInvalidation(event));
+                    expected = Math.max(expected, event.getCursor() + 1);
+                }
+                cursor = page.getNextCursor();
+            } while (page.isHasMore());
+        } catch (RuntimeException e) {
+            // El cursor no avanza: los eventos se entregarán en el siguiente poll
+            log.warn("Error leyendo el outbox para invalidaciones: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Cantidad de huecos que se siguen re-consultando
+     */
+    int pendingGapCount() {
+        return pendingGaps.size();
+    }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    /**
+     * MÉTODO PRIVADO: Recordar los cursores saltados entre 'expected' y el evento recibido
+     *
+     * NOTA: acotado a max-pending-gaps (se descartan los más antiguos)
+     */
+    private void trackGap(long expected, long received) {
+        if (received <= expected) {
+            return;
+        }
+        Instant now = Instant.now();
+        for (long missing = Math.max(expected, received - maxPendingGaps); missing < received; missing++) {
+            pendingGaps.put(missing, now);
+        }
+        while (pendingGaps.size() > maxPendingGaps) {
+            log.warn("Demasiados huecos en el outbox, se deja de vigilar el cursor {}",
+                    pendingGaps.pollFirstEntry().getKey());
+        }
+    }
+
+    /**
+     * MÉTODO PRIVADO: Entregar los eventos que aparecieron en huecos y olvidar los vencidos
+     *
+     * Se entregan sin comprobar versión: su cursor es menor al último entregado
+     */
+    private void rescanGaps() {
+        if (pendingGaps.isEmpty()) {
+            return;
+        }
+        for (ChangeEventDTO late : changeFeedService.getChangesAt(new ArrayList<>(pendingGaps.keySet()))) {
+            pendingGaps.remove(late.getCursor());
+            log.info("Evento tardío en el outbox (cursor {}), se entrega fuera de orden", late.getCursor());
+            dispatch(toInvalidation(late));
+        }
+
+        Instant expiry = Instant.now().minus(gapRescanWindow);
+        pendingGaps.values().removeIf(detectedAt -> !detectedAt.isAfter(expiry));
+    }
+
+    private Invalidation toInvalidation(ChangeEventDTO event) {
+        return new Invalidation(event.getAggregateType(), event.getAggregateId(),
+                event.getEventType(), event.getCursor());
+    }
+}
@@ -0,0 +1,42 @@
+package com.rafaelperez.tiendaonline.business.invalidation;
+
+import com.rafaelperez.tiendaonline.business.dto.CatalogItemDTO;
+
+import java.util.List;
+
+/**
+ * Consumidor del ProductChangeStream
+ *
+ * - onProductChanged: cambio confirmado de un producto, ya recargado (una sola vez
+ *   para todos los consumidores)
+ * - onLoad*: carga inicial del catálogo, solo para los registrados con
+ *   subscribeWithInitialLoad (vistas en memoria que necesitan el estado completo)
+ */
+@FunctionalInterface
+public interface ProductChangeListener {
+
+    /**
+     * Cambio confirmado de un producto, en orden por producto
+     *
+     * @param item estado actual (sin descripción); null si el producto ya no existe
+     */
+    void onProductChanged(Long productId, CatalogItemDTO item);
+
+    /**
+     * Empieza una carga completa: descartar el estado anterior
+     */
+    default void onLoadStarted() {
+    }
+
+    /**
+     * Lote de la carga completa (la lista solo es válida durante la llamada)
+     */
+    default void onLoad(List<CatalogItemDTO> items) {
+    }
+
+    /**
+     * Carga terminada; los cambios recibidos mientras tanto ya se entregaron
+     */
+    default void onLoadCompleted() {
+    }
+}
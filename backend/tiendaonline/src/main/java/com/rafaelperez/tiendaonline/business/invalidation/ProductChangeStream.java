@@ -0,0 +1,204 @@
+package com.rafaelperez.tiendaonline.business.invalidation;
+
+import com.rafaelperez.tiendaonline.business.dto.CatalogItemDTO;
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.event.OutboxEventListener;
+import com.rafaelperez.tiendaonline.business.snapshot.CatalogSnapshotFile;
+import com.rafaelperez.tiendaonline.business.snapshot.CatalogSnapshotService;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.ProductDAO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Flujo compartido de cambios de producto para las vistas en memoria
+ * (read model, columnas de reportes, alertas de stock, SSE)
+ *
+ * ¿POR QUÉ?
+ * - Cada vista se suscribía al bus y recargaba el producto por su cuenta: un
+ *   SELECT por escritura y por vista, y una pasada completa por vista al arrancar
+ * - Aquí hay UNA suscripción: cada producto cambiado se carga una vez y el mismo
+ *   CatalogItemDTO se entrega a todos los consumidores
+ *
+ * CARGA INICIAL (una sola, compartida por los registrados con subscribeWithInitialLoad):
+ * 1. Snapshot local + cambios del outbox posteriores a su cursor (tienda.snapshot.enabled)
+ * 2. Si no hay snapshot válido: recorrer ProductDAO por páginas
+ * 3. Los cambios recibidos durante la carga se recargan al terminar; mientras tanto
+ *   sus filas de la carga se omiten (pudieron leerse con un valor anterior)
+ *
+ * NOTA: la entrega es en el hilo del bus (subscribeAsync: en orden por producto);
+ * un consumidor que falla no impide la entrega a los demás
+ */
+@Component
+@Slf4j
+public class ProductChangeStream {
+    private static final int PAGE_SIZE = 1000;
+
+    private final ProductDAO productDAO;
+    private final Optional<CatalogSnapshotService> snapshotService;
+    private final List<ProductChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<ProductChangeListener> loadListeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean loading;
+    // IDs cambiados durante la carga: se recargan al terminar
+    private final Set<Long> changedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    public ProductChangeStream(ProductDAO productDAO,
+                               InvalidationBus invalidationBus,
+                               Optional<CatalogSnapshotService> snapshotService) {
+        this.productDAO = productDAO;
+        this.snapshotService = snapshotService;
+        invalidationBus.subscribeAsync(OutboxEventListener.AGGREGATE_PRODUCT, this::onInvalidation);
+    }
+
+    /**
+     * Recibir solo los cambios
+     */
+    public void subscribe(ProductChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Recibir la carga inicial del catálogo y después los cambios
+     */
+    public void subscribeWithInitialLoad(ProductChangeListener listener) {
+        loadListeners.add(listener);
+        listeners.add(listener);
+    }
+
+    /**
+     * Arranque: carga inicial única para todas las vistas que la necesitan
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (loadListeners.isEmpty()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        loading = true;
+        String source;
+        try {
+            Optional<CatalogSnapshotFile.Snapshot> snapshot = snapshotService.flatMap(CatalogSnapshotService::openLatest);
+            if (snapshot.isPresent() && loadSnapshot(snapshot.get())) {
+                source = "snapshot (cursor " + snapshot.get().cursor() + ")";
+            } else {
+                loadFromDatabase();
+                source = "base de datos";
+            }
+        } finally {
+            loading = false;
+        }
+
+        // Cambios recibidos durante la carga: la carga pudo leer un valor anterior
+        int deltas = 0;
+        for (Long id : changedDuringLoad) {
+            if (changedDuringLoad.remove(id)) {
+                publish(id, load(id));
+                deltas++;
+            }
+        }
+        loadListeners.forEach(listener -> deliver(listener, ProductChangeListener::onLoadCompleted));
+        log.info("Carga inicial de productos desde {} para {} vistas: {} cambios recargados en {} ms",
+                source, loadListeners.size(), deltas, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Cambio recibido del bus: recargar una vez y entregar a todos
+     */
+    public void onInvalidation(Invalidation invalidation) {
+        Long id = invalidation.entityId();
+        if (loading) {
+            changedDuringLoad.add(id);
+            if (loading) {
+                return;
+            }
+            // La carga terminó justo ahora: quizá ya no lo recarga initialize()
+            changedDuringLoad.remove(id);
+        }
+        publish(id, "DELETED".equals(invalidation.changeType()) ? null : load(id));
+    }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    /**
+     * MÉTODO PRIVADO: Productos del snapshot + IDs cambiados después de su cursor
+     *
+     * @return false si falló a mitad (se hará la carga desde la base de datos)
+     */
+    private boolean loadSnapshot(CatalogSnapshotFile.Snapshot snapshot) {
+        try {
+            startLoad();
+            List<CatalogItemDTO> batch = new ArrayList<>(PAGE_SIZE);
+            snapshot.forEach(item -> {
+                batch.add(item);
+                if (batch.size() == PAGE_SIZE) {
+                    publishLoad(batch);
+                    batch.clear();
+                }
+            });
+            publishLoad(batch);
+            snapshotService.orElseThrow().replaySince(snapshot.cursor(), event -> {
+                if (OutboxEventListener.AGGREGATE_PRODUCT.equals(event.getAggregateType())) {
+                    changedDuringLoad.add(event.getAggregateId());
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Error cargando el snapshot del catálogo: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * MÉTODO PRIVADO: Recorrer todos los productos por páginas (una sola pasada)
+     */
+    private void loadFromDatabase() {
+        startLoad();
+        long lastId = 0;
+        List<ProductDTO> page;
+        do {
+            page = productDAO.findPageAfter(lastId, PAGE_SIZE);
+            publishLoad(page.stream().map(CatalogItemDTO::from).toList());
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+    }
+
+    private void startLoad() {
+        loadListeners.forEach(listener -> deliver(listener, ProductChangeListener::onLoadStarted));
+    }
+
+    private void publishLoad(List<CatalogItemDTO> items) {
+        List<CatalogItemDTO> current = changedDuringLoad.isEmpty() ? items
+                : items.stream().filter(item -> !changedDuringLoad.contains(item.getId())).toList();
+        if (!current.isEmpty()) {
+            loadListeners.forEach(listener -> deliver(listener, target -> target.onLoad(current)));
+        }
+    }
+
+    private void publish(Long id, CatalogItemDTO item) {
+        listeners.forEach(listener -> deliver(listener, target -> target.onProductChanged(id, item)));
+    }
+
+    private CatalogItemDTO load(Long id) {
+        return productDAO.findById(id).map(CatalogItemDTO::from).orElse(null);
+    }
+
+    private static void deliver(ProductChangeListener listener, Consumer<ProductChangeListener> action) {
+        try {
+            action.accept(listener);
+        } catch (RuntimeException e) {
+            log.warn("Error en consumidor de cambios de producto {}: {}", listener.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+}
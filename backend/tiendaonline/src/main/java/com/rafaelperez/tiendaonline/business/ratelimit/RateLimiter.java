@@ -0,0 +1,153 @@
+package com.rafaelperez.tiendaonline.business.ratelimit;
+
+import com.rafaelperez.tiendaonline.config.RateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Rate limiter de token buckets por cliente y por regla (ruta + métodos)
+ *
+ * IMPLEMENTACIÓN (sin locks):
+ * - Un ConcurrentHashMap por regla: cliente -> bucket
+ * - Cada bucket es un único AtomicLong con el "tiempo teórico de llegada"
+ *   (algoritmo GCRA, equivalente a un token bucket): consumir un token es
+ *   un compareAndSet, sin hilos de recarga ni timestamps adicionales
+ * - Un bucket lleno (TAT en el pasado) equivale a no existir, así que los
+ *   clientes inactivos se eliminan sin cambiar el comportamiento
+ *
+ * LÍMITE DE MEMORIA: con más de maxClientsPerRule clientes activos en una
+ * regla, los nuevos comparten un bucket de desbordamiento de esa regla.
+ * Solo purgeIdleBuckets (programado) libera sitio: la petición nunca recorre
+ * el mapa, así un aluvión de clientes nuevos no paga un barrido por petición
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+    private static final String OVERFLOW_CLIENT = "__overflow__";
+
+    private final boolean enabled;
+    private final int maxClientsPerRule;
+    private final List<CompiledRule> rules;
+    private final LongSupplier clock;
+    private final long origin;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.enabled = properties.isEnabled();
+        this.maxClientsPerRule = properties.getMaxClientsPerRule();
+        this.rules = properties.getRules().stream().map(CompiledRule::new).toList();
+        this.clock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+        log.info("Rate limiting {} con {} reglas", enabled ? "activo" : "desactivado", rules.size());
+    }
+
+    /**
+     * Consumir un token para la petición
+     *
+     * @param method   Método HTTP
+     * @param path     Ruta sin context path
+     * @param clientId API key o IP del cliente
+     * @return 0 si se permite; si no, nanosegundos hasta que haya un token
+     */
+    public long tryAcquire(String method, String path, String clientId) {
+        if (!enabled) {
+            return 0;
+        }
+        for (CompiledRule rule : rules) {
+            if (rule.matches(method, path)) {
+                return rule.tryAcquire(bucketFor(rule, clientId), now());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Eliminar buckets llenos (clientes inactivos)
+     */
+    @Scheduled(fixedDelayString = "${tienda.rate-limit.purge-interval:PT1M}")
+    public void purgeIdleBuckets() {
+        long now = now();
+        for (CompiledRule rule : rules) {
+            rule.buckets.values().removeIf(bucket -> bucket.get() <= now);
+        }
+    }
+
+    int bucketCount() {
+        return rules.stream().mapToInt(rule -> rule.buckets.size()).sum();
+    }
+
+    private AtomicLong bucketFor(CompiledRule rule, String clientId) {
+        AtomicLong bucket = rule.buckets.get(clientId);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (rule.buckets.size() >= maxClientsPerRule) {
+            // Regla llena: bucket compartido hasta la próxima purga
+            return rule.buckets.computeIfAbsent(OVERFLOW_CLIENT, k -> new AtomicLong());
+        }
+        return rule.buckets.computeIfAbsent(clientId, k -> new AtomicLong());
+    }
+
+    private long now() {
+        // Relativo al arranque: siempre positivo, así un bucket nuevo (0) está lleno
+        return clock.getAsLong() - origin + 1;
+    }
+
+    private static final class CompiledRule {
+        private final Set<String> methods;
+        private final String path;
+        private final boolean prefix;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+        private CompiledRule(RateLimitProperties.Rule rule) {
+            if (rule.getPath() == null || rule.getCapacity() < 1 || rule.getRefillPerSecond() <= 0) {
+                throw new IllegalArgumentException("Regla de rate limit inválida: " + rule.getPath());
+            }
+            this.methods = rule.getMethods().stream().map(String::toUpperCase).collect(Collectors.toUnmodifiableSet());
+            this.prefix = rule.getPath().endsWith("/**");
+            this.path = prefix ? rule.getPath().substring(0, rule.getPath().length() - 3) : rule.getPath();
+            this.intervalNanos = Math.max(1, (long) (1_000_000_000L / rule.getRefillPerSecond()));
+            this.burstNanos = intervalNanos * rule.getCapacity();
+        }
+
+        private boolean matches(String method, String requestPath) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            if (!prefix) {
+                return path.equals(requestPath);
+            }
+            return requestPath.startsWith(path)
+                    && (requestPath.length() == path.length() || requestPath.charAt(path.length()) == '/');
+        }
+
+        private long tryAcquire(AtomicLong bucket, long now) {
+            while (true) {
+                long tat = bucket.get();
+                long newTat = Math.max(tat, now) + intervalNanos;
+                long excess = newTat - now - burstNanos;
+                if (excess > 0) {
+                    return excess;
+                }
+                if (bucket.compareAndSet(tat, newTat)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
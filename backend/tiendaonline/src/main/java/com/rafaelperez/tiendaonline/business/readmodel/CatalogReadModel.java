@@ -0,0 +1,301 @@
+package com.rafaelperez.tiendaonline.business.readmodel;
+
+import com.rafaelperez.tiendaonline.business.dto.CatalogItemDTO;
+import com.rafaelperez.tiendaonline.business.invalidation.ProductChangeListener;
+import com.rafaelperez.tiendaonline.business.invalidation.ProductChangeStream;
+import com.rafaelperez.tiendaonline.business.snapshot.CatalogSnapshotService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Read model en memoria del catálogo (lado de lectura CQRS)
+ *
+ * ESTRUCTURA:
+ * - items: ID -> CatalogItemDTO (inmutable)
+ * - Índices ordenados (skip lists concurrentes): por precio, por stock y por vendedor;
+ *   el ID desempata, así cada producto ocupa exactamente una posición
+ *
+ * CONSISTENCIA:
+ * - Se construye con la carga inicial del ProductChangeStream (snapshot local + cambios
+ *   posteriores del outbox, o una pasada por ProductDAO), compartida con otras vistas
+ * - Los snapshots se escriben desde esta misma memoria (snapshotItems), no desde la BD
+ * - Se mantiene con los cambios del ProductChangeStream (después del commit, de
+ *   cualquier nodo): el producto ya recargado se reemplaza en todos los índices
+ * - Las consultas son lecturas optimistas (StampedLock): si una escritura ocurrió
+ *   durante la consulta, se repite con el lock de lectura. Así una consulta nunca ve
+ *   un producto a medio mover entre posiciones (ni duplicado ni ausente)
+ *
+ * MEMORIA: si el tamaño estimado supera tienda.readmodel.max-memory, el read model
+ * se desactiva (las consultas responden 503) en vez de crecer sin límite
+ */
+@Component
+@ConditionalOnProperty(name = "tienda.readmodel.enabled", havingValue = "true")
+@Slf4j
+public class CatalogReadModel implements ProductChangeListener {
+    public static final int MAX_LIMIT = 1000;
+    // Objeto + BigDecimal + wrappers + 4 nodos de índice (aprox.)
+    private static final int ENTRY_OVERHEAD_BYTES = 400;
+
+    private static final Comparator<CatalogItemDTO> BY_PRICE = Comparator
+            .comparing(CatalogItemDTO::getPrice, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(CatalogItemDTO::getId);
+    private static final Comparator<CatalogItemDTO> BY_STOCK = Comparator
+            .comparing(CatalogItemDTO::getStock, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(CatalogItemDTO::getId);
+    private static final Comparator<CatalogItemDTO> BY_SELLER = Comparator
+            .comparing(CatalogItemDTO::getSellerId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(CatalogItemDTO::getId);
+
+    private final long maxBytes;
+
+    private final ConcurrentHashMap<Long, CatalogItemDTO> items = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<CatalogItemDTO> byPrice = new ConcurrentSkipListSet<>(BY_PRICE);
+    private final ConcurrentSkipListSet<CatalogItemDTO> byStock = new ConcurrentSkipListSet<>(BY_STOCK);
+    private final ConcurrentSkipListSet<CatalogItemDTO> bySeller = new ConcurrentSkipListSet<>(BY_SELLER);
+    private final StampedLock lock = new StampedLock();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+
+    private volatile boolean ready;
+    // Superó el presupuesto de memoria: ignora cambios hasta la próxima carga
+    private volatile boolean disabled;
+
+    public CatalogReadModel(ProductChangeStream changeStream,
+                            Optional<CatalogSnapshotService> snapshotService,
+                            @Value("${tienda.readmodel.max-memory:256MB}") DataSize maxMemory) {
+        this.maxBytes = maxMemory.toBytes();
+        changeStream.subscribeWithInitialLoad(this);
+        snapshotService.ifPresent(service -> service.setItemSource(this::snapshotItems));
+    }
+
+    @Override
+    public void onLoadStarted() {
+        ready = false;
+        disabled = false;
+        clear();
+    }
+
+    @Override
+    public void onLoad(List<CatalogItemDTO> newItems) {
+        if (!disabled) {
+            disabled = !upsertItems(newItems);
+        }
+    }
+
+    @Override
+    public void onLoadCompleted() {
+        ready = !disabled && estimatedBytes.get() <= maxBytes;
+        if (ready) {
+            log.info("Read model del catálogo listo: {} productos (~{} KB)", items.size(), estimatedBytes.get() / 1024);
+        }
+    }
+
+    /**
+     * Aplicar un cambio confirmado (producto ya recargado por el stream)
+     */
+    @Override
+    public void onProductChanged(Long productId, CatalogItemDTO item) {
+        if (disabled) {
+            return; // Desactivado por memoria
+        }
+        if (item == null) {
+            remove(productId);
+        } else if (!upsertItems(List.of(item))) {
+            disabled = true;
+        }
+    }
+
+    // ---------- CONSULTAS ----------
+
+    /**
+     * Productos con precio en [min, max], del más barato al más caro
+     */
+    public List<CatalogItemDTO> findByPriceRange(BigDecimal min, BigDecimal max, int limit) {
+        validateLimit(limit);
+        if (min == null || max == null || min.compareTo(max) > 0) {
+            throw new IllegalArgumentException("Rango de precio inválido");
+        }
+        CatalogItemDTO from = new CatalogItemDTO(Long.MIN_VALUE, null, min, null, null, null);
+        CatalogItemDTO to = new CatalogItemDTO(Long.MAX_VALUE, null, max, null, null, null);
+        return read(() -> take(byPrice.subSet(from, true, to, true), limit));
+    }
+
+    /**
+     * Los N productos más baratos (ascending) o más caros
+     */
+    public List<CatalogItemDTO> findTopByPrice(boolean ascending, int limit) {
+        validateLimit(limit);
+        return read(() -> take(ascending ? byPrice : byPrice.descendingSet(), limit));
+    }
+
+    /**
+     * Los N productos con menos stock (ascending) o con más stock
+     */
+    public List<CatalogItemDTO> findTopByStock(boolean ascending, int limit) {
+        validateLimit(limit);
+        return read(() -> take(ascending ? byStock : byStock.descendingSet(), limit));
+    }
+
+    /**
+     * Productos de un vendedor, ordenados por ID
+     */
+    public List<CatalogItemDTO> findBySeller(Long sellerId, int limit) {
+        validateLimit(limit);
+        CatalogItemDTO from = new CatalogItemDTO(Long.MIN_VALUE, null, null, null, sellerId, null);
+        CatalogItemDTO to = new CatalogItemDTO(Long.MAX_VALUE, null, null, null, sellerId, null);
+        return read(() -> take(bySeller.subSet(from, true, to, true), limit));
+    }
+
+    /**
+     * Copia de todos los productos para el snapshot (vacío si no está listo)
+     *
+     * NOTA: se copian solo referencias bajo el lock de lectura (los items son
+     * inmutables); el archivo se escribe fuera del lock sin bloquear recargas
+     */
+    public Optional<List<CatalogItemDTO>> snapshotItems() {
+        if (!ready) {
+            return Optional.empty();
+        }
+        long stamp = lock.readLock();
+        try {
+            return Optional.of(new ArrayList<>(items.values()));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public long estimatedBytes() {
+        return estimatedBytes.get();
+    }
+
+    // ---------- ESCRITURAS ----------
+
+    /**
+     * Insertar o reemplazar productos (una sola sección crítica por lote)
+     *
+     * @return false si se superó el presupuesto de memoria (read model desactivado)
+     */
+    boolean upsertItems(List<CatalogItemDTO> newItems) {
+        long stamp = lock.writeLock();
+        try {
+            for (CatalogItemDTO item : newItems) {
+                CatalogItemDTO previous = items.put(item.getId(), item);
+                if (previous != null) {
+                    unindex(previous);
+                }
+                byPrice.add(item);
+                byStock.add(item);
+                bySeller.add(item);
+                estimatedBytes.addAndGet(estimate(item) - (previous == null ? 0 : estimate(previous)));
+            }
+            if (estimatedBytes.get() > maxBytes) {
+                log.warn("Read model del catálogo supera el presupuesto de memoria ({} bytes > {}), se desactiva",
+                        estimatedBytes.get(), maxBytes);
+                ready = false;
+                clearLocked();
+                return false;
+            }
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void remove(Long id) {
+        long stamp = lock.writeLock();
+        try {
+            CatalogItemDTO previous = items.remove(id);
+            if (previous != null) {
+                unindex(previous);
+                estimatedBytes.addAndGet(-estimate(previous));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * MÉTODO PRIVADO: Consulta optimista; si hubo escrituras, repetir con lock de lectura
+     */
+    private <T> T read(Supplier<T> query) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            T result = query.get();
+            if (lock.validate(stamp)) {
+                return result;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return query.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private static List<CatalogItemDTO> take(NavigableSet<CatalogItemDTO> set, int limit) {
+        List<CatalogItemDTO> result = new ArrayList<>(Math.min(limit, 64));
+        for (CatalogItemDTO item : set) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(item);
+        }
+        return result;
+    }
+
+    private void unindex(CatalogItemDTO item) {
+        byPrice.remove(item);
+        byStock.remove(item);
+        bySeller.remove(item);
+    }
+
+    private void clear() {
+        long stamp = lock.writeLock();
+        try {
+            clearLocked();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void clearLocked() {
+        items.clear();
+        byPrice.clear();
+        byStock.clear();
+        bySeller.clear();
+        estimatedBytes.set(0);
+    }
+
+    private static long estimate(CatalogItemDTO item) {
+        return ENTRY_OVERHEAD_BYTES + (item.getName() == null ? 0 : 2L * item.getName().length());
+    }
+
+    private static void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_LIMIT);
+        }
+    }
+}
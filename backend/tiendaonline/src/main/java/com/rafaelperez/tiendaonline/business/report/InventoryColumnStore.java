@@ -0,0 +1,224 @@
+package com.rafaelperez.tiendaonline.business.report;
+
+import com.rafaelperez.tiendaonline.business.dto.CatalogItemDTO;
+import com.rafaelperez.tiendaonline.business.invalidation.ProductChangeListener;
+import com.rafaelperez.tiendaonline.business.invalidation.ProductChangeStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Copia columnar del inventario para reportes (arrays primitivos, fuera de la BD OLTP)
+ *
+ * ESTRUCTURA (una fila por producto, misma posición en todas las columnas):
+ * - productIds: long[]  - ID del producto
+ * - priceMinor: long[]  - precio en unidades mínimas (centavos, escala 2)
+ * - stock: int[]
+ * - sellerIndex: int[]  - posición en el diccionario de vendedores (0 = sin vendedor)
+ * - rowById: ID -> fila (hash abierto, sin objetos por producto)
+ *
+ * ACTUALIZACIÓN (ProductChangeStream):
+ * - Carga inicial compartida con el read model (snapshot o una sola pasada por la BD)
+ * - Cambios incrementales: el producto ya recargado por el stream reescribe su fila;
+ *   un borrado mueve la última fila al hueco (columnas densas)
+ *
+ * CONCURRENCIA: las agregaciones leen bajo el lock de lectura (varias a la vez);
+ * cada cambio toma el lock de escritura solo para tocar una fila
+ */
+@Component
+@ConditionalOnProperty(name = "tienda.reports.enabled", havingValue = "true")
+@Slf4j
+public class InventoryColumnStore implements ProductChangeListener {
+    public static final int MINOR_UNIT_SCALE = 2;
+    static final int NO_SELLER = 0;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Columnas (protegidas por lock)
+    private long[] productIds = new long[INITIAL_CAPACITY];
+    private long[] priceMinor = new long[INITIAL_CAPACITY];
+    private int[] stock = new int[INITIAL_CAPACITY];
+    private int[] sellerIndex = new int[INITIAL_CAPACITY];
+    private int size;
+    private final LongIntHashMap rowById = new LongIntHashMap(INITIAL_CAPACITY);
+
+    // Diccionario de vendedores: índice -> ID (el índice 0 es "sin vendedor")
+    private long[] sellerIds = new long[16];
+    private int sellerCount = 1;
+    private final LongIntHashMap sellerIndexById = new LongIntHashMap(16);
+
+    // Cambia con cada escritura: permite cachear resultados derivados (ej. precios ordenados)
+    private long version;
+
+    private volatile boolean ready;
+    private long loadStart;
+
+    public InventoryColumnStore(ProductChangeStream changeStream) {
+        changeStream.subscribeWithInitialLoad(this);
+    }
+
+    /**
+     * Vista de solo lectura de las columnas (válida solo dentro de la función)
+     */
+    public record Columns(long[] productIds, long[] priceMinor, int[] stock, int[] sellerIndex, int size,
+                          long[] sellerIds, int sellerCount, long version) {
+    }
+
+    @Override
+    public void onLoadStarted() {
+        loadStart = System.currentTimeMillis();
+        ready = false;
+        clear();
+    }
+
+    @Override
+    public void onLoad(List<CatalogItemDTO> items) {
+        upsertAll(items);
+    }
+
+    @Override
+    public void onLoadCompleted() {
+        ready = true;
+        log.info("Columnas de inventario construidas: {} productos, {} vendedores en {} ms",
+                size, sellerCount - 1, System.currentTimeMillis() - loadStart);
+    }
+
+    /**
+     * Aplicar un cambio confirmado (producto ya recargado por el stream)
+     */
+    @Override
+    public void onProductChanged(Long productId, CatalogItemDTO item) {
+        if (item == null) {
+            remove(productId);
+        } else {
+            upsertAll(List.of(item));
+        }
+    }
+
+    /**
+     * Ejecutar una lectura sobre las columnas bajo el lock de lectura
+     */
+    public <T> T read(Function<Columns, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(new Columns(productIds, priceMinor, stock, sellerIndex, size,
+                    sellerIds, sellerCount, version));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // ---------- ESCRITURAS ----------
+
+    void upsertAll(List<CatalogItemDTO> products) {
+        lock.writeLock().lock();
+        try {
+            for (CatalogItemDTO product : products) {
+                int row = rowById.get(product.getId());
+                if (row == LongIntHashMap.MISSING) {
+                    row = size++;
+                    ensureCapacity(size);
+                    rowById.put(product.getId(), row);
+                }
+                productIds[row] = product.getId();
+                priceMinor[row] = toMinorUnits(product.getPrice());
+                stock[row] = product.getStock() == null ? 0 : product.getStock();
+                sellerIndex[row] = sellerIndexFor(product.getSellerId());
+            }
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            int row = rowById.remove(id);
+            if (row == LongIntHashMap.MISSING) {
+                return;
+            }
+            int last = --size;
+            if (row != last) {
+                productIds[row] = productIds[last];
+                priceMinor[row] = priceMinor[last];
+                stock[row] = stock[last];
+                sellerIndex[row] = sellerIndex[last];
+                rowById.put(productIds[row], row);
+            }
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Precio en unidades mínimas (redondeo comercial a 2 decimales)
+     */
+    public static long toMinorUnits(BigDecimal price) {
+        if (price == null) {
+            return 0;
+        }
+        return price.setScale(MINOR_UNIT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromMinorUnits(long minor) {
+        return BigDecimal.valueOf(minor, MINOR_UNIT_SCALE);
+    }
+
+    private int sellerIndexFor(Long sellerId) {
+        if (sellerId == null) {
+            return NO_SELLER;
+        }
+        int index = sellerIndexById.get(sellerId);
+        if (index == LongIntHashMap.MISSING) {
+            index = sellerCount++;
+            if (index == sellerIds.length) {
+                sellerIds = Arrays.copyOf(sellerIds, sellerIds.length * 2);
+            }
+            sellerIds[index] = sellerId;
+            sellerIndexById.put(sellerId, index);
+        }
+        return index;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= productIds.length) {
+            return;
+        }
+        int capacity = Math.max(required, productIds.length + (productIds.length >> 1));
+        productIds = Arrays.copyOf(productIds, capacity);
+        priceMinor = Arrays.copyOf(priceMinor, capacity);
+        stock = Arrays.copyOf(stock, capacity);
+        sellerIndex = Arrays.copyOf(sellerIndex, capacity);
+    }
+
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            rowById.clear();
+            sellerCount = 1;
+            sellerIndexById.clear();
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
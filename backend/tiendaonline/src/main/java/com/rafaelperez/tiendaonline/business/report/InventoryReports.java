@@ -0,0 +1,233 @@
+package com.rafaelperez.tiendaonline.business.report;
+
+import com.rafaelperez.tiendaonline.business.dto.InventoryValuationDTO;
+import com.rafaelperez.tiendaonline.business.dto.PricePercentilesDTO;
+import com.rafaelperez.tiendaonline.business.dto.StockDistributionDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Agregaciones de inventario sobre InventoryColumnStore
+ *
+ * EJECUCIÓN:
+ * - Las filas se reparten en bloques contiguos procesados en paralelo (ForkJoinPool común)
+ * - Cada bloque acumula en arrays primitivos propios: el bucle por fila no crea objetos
+ *   ni comparte estado; los parciales se suman al final (un array por bloque)
+ * - Con pocas filas se usa un solo bloque (repartir cuesta más que recorrer)
+ *
+ * NOTA: Los percentiles necesitan orden: se ordena una copia de la columna de precios
+ * (Arrays.parallelSort) y se reutiliza mientras las columnas no cambien
+ */
+@Component
+@ConditionalOnProperty(name = "tienda.reports.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class InventoryReports {
+    public static final int MAX_SELLERS = 1000;
+    private static final int MAX_BOUNDS = 32;
+    private static final int MIN_ROWS_PER_BLOCK = 64 * 1024;
+
+    private final InventoryColumnStore store;
+
+    private volatile SortedPrices sortedPrices;
+
+    private record SortedPrices(long version, long[] prices) {
+    }
+
+    public boolean isReady() {
+        return store.isReady();
+    }
+
+    /**
+     * Valoración total y por vendedor (los 'limit' vendedores con mayor valoración)
+     */
+    public InventoryValuationDTO valuation(int limit) {
+        if (limit < 1 || limit > MAX_SELLERS) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_SELLERS);
+        }
+        return store.read(columns -> {
+            int blocks = blockCount(columns.size());
+            SellerTotals totals = IntStream.range(0, blocks).parallel()
+                    .mapToObj(block -> sumBySeller(columns, block, blocks))
+                    .reduce(SellerTotals::merge)
+                    .orElseGet(() -> new SellerTotals(columns.sellerCount()));
+
+            long units = 0;
+            long valuation = 0;
+            for (int s = 0; s < columns.sellerCount(); s++) {
+                units += totals.units[s];
+                valuation = Math.addExact(valuation, totals.valuation[s]);
+            }
+            List<InventoryValuationDTO.SellerValuation> sellers = IntStream.range(0, columns.sellerCount())
+                    .filter(s -> totals.products[s] > 0)
+                    .boxed()
+                    .sorted(Comparator.comparingLong((Integer s) -> totals.valuation[s]).reversed())
+                    .limit(limit)
+                    .map(s -> new InventoryValuationDTO.SellerValuation(
+                            s == InventoryColumnStore.NO_SELLER ? null : columns.sellerIds()[s],
+                            totals.products[s], totals.units[s],
+                            InventoryColumnStore.fromMinorUnits(totals.valuation[s])))
+                    .toList();
+            return new InventoryValuationDTO(columns.size(), units,
+                    InventoryColumnStore.fromMinorUnits(valuation), sellers);
+        });
+    }
+
+    /**
+     * Histograma de stock: rangos [bounds[i], bounds[i+1]) y el último abierto
+     */
+    public StockDistributionDTO stockDistribution(int[] bounds) {
+        validateBounds(bounds);
+        return store.read(columns -> {
+            int blocks = blockCount(columns.size());
+            long[] counts = IntStream.range(0, blocks).parallel()
+                    .mapToObj(block -> countByBucket(columns, bounds, block, blocks))
+                    .reduce(InventoryReports::addInto)
+                    .orElseGet(() -> new long[bounds.length + 1]);
+
+            List<StockDistributionDTO.Bucket> buckets = new ArrayList<>(bounds.length);
+            for (int b = 0; b < bounds.length; b++) {
+                Integer to = b + 1 < bounds.length ? bounds[b + 1] : null;
+                buckets.add(new StockDistributionDTO.Bucket(bounds[b], to, counts[b]));
+            }
+            return new StockDistributionDTO(columns.size(), counts[bounds.length], buckets);
+        });
+    }
+
+    /**
+     * Percentiles de precio por rango más cercano (p en (0, 100])
+     */
+    public PricePercentilesDTO pricePercentiles(double[] percentiles) {
+        for (double p : percentiles) {
+            if (!(p > 0 && p <= 100)) {
+                throw new IllegalArgumentException("Percentil fuera de (0, 100]: " + p);
+            }
+        }
+        return store.read(columns -> {
+            long[] sorted = sortedPrices(columns);
+            Map<String, BigDecimal> result = new LinkedHashMap<>();
+            for (double p : percentiles) {
+                BigDecimal value = null;
+                if (sorted.length > 0) {
+                    int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+                    value = InventoryColumnStore.fromMinorUnits(sorted[Math.max(rank, 1) - 1]);
+                }
+                result.put("p" + BigDecimal.valueOf(p).stripTrailingZeros().toPlainString(), value);
+            }
+            return new PricePercentilesDTO(sorted.length,
+                    sorted.length == 0 ? null : InventoryColumnStore.fromMinorUnits(sorted[0]),
+                    sorted.length == 0 ? null : InventoryColumnStore.fromMinorUnits(sorted[sorted.length - 1]),
+                    result);
+        });
+    }
+
+    // ---------- BUCLES POR BLOQUE ----------
+
+    private static SellerTotals sumBySeller(InventoryColumnStore.Columns columns, int block, int blocks) {
+        SellerTotals totals = new SellerTotals(columns.sellerCount());
+        long[] price = columns.priceMinor();
+        int[] stock = columns.stock();
+        int[] seller = columns.sellerIndex();
+        for (int row = blockStart(columns.size(), block, blocks), end = blockStart(columns.size(), block + 1, blocks);
+             row < end; row++) {
+            int s = seller[row];
+            totals.products[s]++;
+            totals.units[s] += stock[row];
+            totals.valuation[s] = Math.addExact(totals.valuation[s], Math.multiplyExact(price[row], stock[row]));
+        }
+        return totals;
+    }
+
+    /**
+     * @return conteo por rango; la última posición lleva el total de unidades
+     */
+    private static long[] countByBucket(InventoryColumnStore.Columns columns, int[] bounds, int block, int blocks) {
+        long[] counts = new long[bounds.length + 1];
+        int[] stock = columns.stock();
+        for (int row = blockStart(columns.size(), block, blocks), end = blockStart(columns.size(), block + 1, blocks);
+             row < end; row++) {
+            int bucket = Arrays.binarySearch(bounds, stock[row]);
+            if (bucket < 0) {
+                bucket = Math.max(-bucket - 2, 0);
+            }
+            counts[bucket]++;
+            counts[bounds.length] += stock[row];
+        }
+        return counts;
+    }
+
+    /**
+     * MÉTODO PRIVADO: Columna de precios ordenada (reutilizada mientras no cambie la versión)
+     */
+    private long[] sortedPrices(InventoryColumnStore.Columns columns) {
+        SortedPrices cached = sortedPrices;
+        if (cached == null || cached.version() != columns.version()) {
+            long[] prices = Arrays.copyOf(columns.priceMinor(), columns.size());
+            Arrays.parallelSort(prices);
+            cached = new SortedPrices(columns.version(), prices);
+            sortedPrices = cached;
+        }
+        return cached.prices();
+    }
+
+    private static int blockCount(int rows) {
+        int byRows = Math.max(1, rows / MIN_ROWS_PER_BLOCK);
+        return Math.min(byRows, ForkJoinPool.getCommonPoolParallelism() * 4);
+    }
+
+    private static int blockStart(int rows, int block, int blocks) {
+        return (int) ((long) rows * block / blocks);
+    }
+
+    private static long[] addInto(long[] target, long[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += source[i];
+        }
+        return target;
+    }
+
+    private static void validateBounds(int[] bounds) {
+        if (bounds.length == 0 || bounds.length > MAX_BOUNDS || bounds[0] != 0) {
+            throw new IllegalArgumentException("Los rangos deben empezar en 0 (máximo " + MAX_BOUNDS + ")");
+        }
+        for (int i = 1; i < bounds.length; i++) {
+            if (bounds[i] <= bounds[i - 1]) {
+                throw new IllegalArgumentException("Los rangos deben ser estrictamente crecientes");
+            }
+        }
+    }
+
+    /**
+     * Acumuladores por vendedor de un bloque (indexados por posición en el diccionario)
+     */
+    private static final class SellerTotals {
+        private final int[] products;
+        private final long[] units;
+        private final long[] valuation;
+
+        private SellerTotals(int sellerCount) {
+            this.products = new int[sellerCount];
+            this.units = new long[sellerCount];
+            this.valuation = new long[sellerCount];
+        }
+
+        private SellerTotals merge(SellerTotals other) {
+            for (int s = 0; s < products.length; s++) {
+                products[s] += other.products[s];
+                units[s] += other.units[s];
+                valuation[s] = Math.addExact(valuation[s], other.valuation[s]);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.rafaelperez.tiendaonline.business.service;
+
+import com.rafaelperez.tiendaonline.business.dto.ChangeEventDTO;
+import com.rafaelperez.tiendaonline.business.dto.ChangeFeedDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ChangeFeedService {
+
+    /**
+     * Obtener los cambios del catálogo posteriores a un cursor
+     *
+     * GARANTÍAS:
+     * - Eventos en orden estricto de cursor
+     * - Nunca se entrega un cursor menor a uno ya entregado
+     *   (se detiene ante huecos recientes de transacciones aún en curso)
+     *
+     * LÍMITE: un hueco más antiguo que gap-timeout se salta (casi siempre es un
+     * rollback). Si en realidad era una transacción lenta, su evento aparece
+     * DETRÁS del cursor del cliente y esta consulta no lo devuelve: quien necesite
+     * no perder ninguno debe re-consultar los cursores saltados con getChangesAt
+     *
+     * @param since Último cursor procesado por el cliente (0 = desde el inicio)
+     * @param limit Máximo de eventos a devolver
+     * @return Página de cambios con el siguiente cursor
+     * @throws IllegalArgumentException Si since o limit son inválidos
+     */
+    ChangeFeedDTO getChanges(Long since, int limit);
+
+    /**
+     * Obtener los eventos de cursores concretos (los inexistentes se omiten)
+     *
+     * USO: re-escanear huecos saltados por getChanges
+     */
+    List<ChangeEventDTO> getChangesAt(Collection<Long> cursors);
+
+    /**
+     * Obtener el cursor actual (último evento registrado)
+     *
+     * USO: punto de partida para consumidores que solo necesitan cambios futuros
+     */
+    Long getLatestCursor();
+
+    /**
+     * Eliminar eventos más antiguos que la ventana de retención
+     *
+     * @return Cantidad de eventos eliminados
+     */
+    int compactOldEvents();
+}
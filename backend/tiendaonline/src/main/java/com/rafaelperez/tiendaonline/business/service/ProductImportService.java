@@ -0,0 +1,39 @@
+package com.rafaelperez.tiendaonline.business.service;
+
+import com.rafaelperez.tiendaonline.business.dto.ImportJobDTO;
+
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    /**
+     * Iniciar una importación CSV en segundo plano
+     *
+     * FORMATO CSV (con encabezado): name,description,price,stock,sellerId
+     * - sellerId puede omitirse si se indica un vendedor por defecto
+     * - Cada fila se valida con las mismas reglas que POST /api/v1/products
+     *
+     * @param csv Contenido del archivo (se copia a disco en streaming)
+     * @param originalFileName Nombre del archivo subido
+     * @param sellerId Vendedor por defecto (opcional)
+     * @param chunkSize Filas por transacción (opcional)
+     * @return Trabajo creado en estado PENDING
+     * @throws IllegalArgumentException Si los parámetros son inválidos
+     */
+    ImportJobDTO startImport(InputStream csv, String originalFileName, Long sellerId, Integer chunkSize);
+
+    /**
+     * Consultar el progreso de una importación
+     *
+     * @throws RuntimeException Si el trabajo no existe
+     */
+    ImportJobDTO getJob(Long jobId);
+
+    /**
+     * Reanudar una importación fallida desde su último chunk confirmado
+     *
+     * @throws RuntimeException Si el trabajo no existe
+     * @throws IllegalStateException Si el trabajo no está en estado FAILED
+     */
+    ImportJobDTO resumeImport(Long jobId);
+}
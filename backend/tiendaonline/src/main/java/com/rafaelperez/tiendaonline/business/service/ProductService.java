@@ -3,6 +3,7 @@ package com.rafaelperez.tiendaonline.business.service;
 import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
 
 import java.util.List;
+import java.util.Map;
 
 
 public interface ProductService {
@@ -25,7 +26,7 @@ public interface ProductService {
      *
      * @param id ID del producto
      * @return DTO del producto encontrado
-     * @throws RuntimeException Si el producto no existe
+     * @throws java.util.NoSuchElementException Si el producto no existe
      */
     ProductDTO getProductById(Long id);
 
@@ -36,6 +37,40 @@ public interface ProductService {
      */
     List<ProductDTO> getAllProducts();
 
+    /**
+     * Obtener varios productos por sus IDs (una sola consulta IN)
+     *
+     * @param ids IDs de los productos
+     * @return Productos encontrados (los IDs inexistentes se omiten)
+     */
+    List<ProductDTO> getProductsByIds(List<Long> ids);
+
+    /**
+     * Obtener una página keyset de productos, ordenados por ID
+     *
+     * @param afterId Último ID ya leído (0 para empezar)
+     * @param size Tamaño máximo de la página
+     * @return Productos con ID mayor que afterId (vacía al terminar)
+     */
+    List<ProductDTO> getProductsPage(Long afterId, int size);
+
+    /**
+     * Obtener todos los productos solo con los campos indicados (?fields=)
+     *
+     * @param fields Campos separados por comas, validados contra ProductDTO
+     * @return Un mapa campo -> valor por producto, ordenados por ID
+     * @throws IllegalArgumentException Si fields está vacío o tiene campos desconocidos
+     */
+    List<Map<String, Object>> getAllProductFields(String fields);
+
+    /**
+     * Buscar producto por ID solo con los campos indicados (?fields=)
+     *
+     * @throws IllegalArgumentException Si fields está vacío o tiene campos desconocidos
+     * @throws java.util.NoSuchElementException Si el producto no existe
+     */
+    Map<String, Object> getProductFields(Long id, String fields);
+
     /**
      * Actualizar producto existente
      *
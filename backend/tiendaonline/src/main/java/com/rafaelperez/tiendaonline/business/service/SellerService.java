@@ -3,6 +3,7 @@ package com.rafaelperez.tiendaonline.business.service;
 import com.rafaelperez.tiendaonline.business.dto.SellerDTO;
 
 import java.util.List;
+import java.util.Map;
 
 public interface SellerService {
 
@@ -24,7 +25,7 @@ public interface SellerService {
      *
      * @param id ID del vendedor
      * @return DTO del vendedor encontrado
-     * @throws RuntimeException Si el vendedor no existe
+     * @throws java.util.NoSuchElementException Si el vendedor no existe
      */
     SellerDTO getSellerById(Long id);
 
@@ -35,6 +36,40 @@ public interface SellerService {
      */
     List<SellerDTO> getAllSellers();
 
+    /**
+     * Obtener varios vendedores por sus IDs (una sola consulta IN)
+     *
+     * @param ids IDs a buscar
+     * @return Vendedores encontrados (los IDs inexistentes se omiten)
+     */
+    List<SellerDTO> getSellersByIds(List<Long> ids);
+
+    /**
+     * Obtener una página keyset de vendedores, ordenados por ID
+     *
+     * @param afterId Último ID ya leído (0 para empezar)
+     * @param size Tamaño máximo de la página
+     * @return Vendedores con ID mayor que afterId (vacía al terminar)
+     */
+    List<SellerDTO> getSellersPage(Long afterId, int size);
+
+    /**
+     * Obtener todos los vendedores solo con los campos indicados (?fields=)
+     *
+     * @param fields Campos separados por comas, validados contra SellerDTO
+     * @return Un mapa campo -> valor por vendedor, ordenados por ID
+     * @throws IllegalArgumentException Si fields está vacío o tiene campos desconocidos
+     */
+    List<Map<String, Object>> getAllSellerFields(String fields);
+
+    /**
+     * Buscar vendedor por ID solo con los campos indicados (?fields=)
+     *
+     * @throws IllegalArgumentException Si fields está vacío o tiene campos desconocidos
+     * @throws java.util.NoSuchElementException Si el vendedor no existe
+     */
+    Map<String, Object> getSellerFields(Long id, String fields);
+
     /**
      * Actualizar vendedor existente
      *
@@ -0,0 +1,124 @@
+package com.rafaelperez.tiendaonline.business.service.impl;
+
+import com.rafaelperez.tiendaonline.business.dto.ChangeEventDTO;
+import com.rafaelperez.tiendaonline.business.dto.ChangeFeedDTO;
+import com.rafaelperez.tiendaonline.business.service.ChangeFeedService;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.OutboxEventDAO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@Transactional
+@Slf4j
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+    public static final int MAX_LIMIT = 1000;
+
+    private final OutboxEventDAO outboxEventDAO;
+    private final Duration retention;
+    private final Duration gapTimeout;
+
+    public ChangeFeedServiceImpl(OutboxEventDAO outboxEventDAO,
+                                 @Value("${tienda.outbox.retention:P7D}") Duration retention,
+                                 @Value("${tienda.outbox.gap-timeout:PT5S}") Duration gapTimeout) {
+        this.outboxEventDAO = outboxEventDAO;
+        this.retention = retention;
+        this.gapTimeout = gapTimeout;
+    }
+
+    /**
+     * READ - Cambios posteriores al cursor
+     *
+     * FLUJO:
+     * 1. Validar parámetros
+     * 2. Leer limit+1 eventos por PK (id > since) -> costo O(cambios)
+     * 3. Recorrer en orden; si hay un hueco de cursor RECIENTE, detenerse:
+     *    una transacción con ese id puede estar aún sin confirmar
+     *    (los autoincrementales se asignan al insertar, no al confirmar)
+     * 4. Huecos antiguos se saltan: casi siempre son rollbacks (o compactación)
+     *
+     * NOTA: una transacción que confirme más tarde de gap-timeout queda detrás
+     * del cursor devuelto y esta consulta ya no la entrega; los consumidores que
+     * no pueden perder eventos re-consultan los huecos con getChangesAt
+     * (OutboxPollingInvalidationBus lo hace)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ChangeFeedDTO getChanges(Long since, int limit) {
+        if (since == null || since < 0) {
+            throw new IllegalArgumentException("El cursor 'since' no puede ser negativo");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_LIMIT);
+        }
+
+        List<ChangeEventDTO> events = outboxEventDAO.findSince(since, limit + 1);
+        LocalDateTime gapCutoff = LocalDateTime.now().minus(gapTimeout);
+
+        List<ChangeEventDTO> visible = new ArrayList<>(Math.min(events.size(), limit));
+        boolean hasMore = events.size() > limit;
+        long expected = since + 1;
+        for (int i = 0; i < events.size() && i < limit; i++) {
+            ChangeEventDTO event = events.get(i);
+            if (event.getCursor() != expected && event.getCreatedAt().isAfter(gapCutoff)) {
+                log.debug("Hueco reciente en el outbox antes del cursor {}, se reintentará", event.getCursor());
+                hasMore = false;
+                break;
+            }
+            visible.add(event);
+            expected = event.getCursor() + 1;
+        }
+
+        Long nextCursor = visible.isEmpty() ? since : visible.get(visible.size() - 1).getCursor();
+        return new ChangeFeedDTO(visible, nextCursor, hasMore && visible.size() == limit);
+    }
+
+    /**
+     * READ - Eventos de cursores concretos
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ChangeEventDTO> getChangesAt(Collection<Long> cursors) {
+        if (cursors.isEmpty()) {
+            return List.of();
+        }
+        return outboxEventDAO.findByCursors(cursors);
+    }
+
+    /**
+     * READ - Cursor actual
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Long getLatestCursor() {
+        return outboxEventDAO.findLatestCursor();
+    }
+
+    /**
+     * DELETE - Compactación periódica de eventos fuera de la ventana de retención
+     *
+     * NOTA: Clientes con un cursor más antiguo que la retención deben
+     * hacer una sincronización completa (GET /api/v1/products)
+     */
+    @Override
+    @Scheduled(
+            fixedDelayString = "${tienda.outbox.compaction-interval:PT1H}",
+            initialDelayString = "${tienda.outbox.compaction-interval:PT1H}"
+    )
+    public int compactOldEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int deleted = outboxEventDAO.deleteOlderThan(cutoff);
+        if (deleted > 0) {
+            log.info("Outbox compactado: {} eventos anteriores a {} eliminados", deleted, cutoff);
+        }
+        return deleted;
+    }
+}
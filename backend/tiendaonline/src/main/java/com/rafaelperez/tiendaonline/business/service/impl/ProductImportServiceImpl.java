@@ -0,0 +1,472 @@
+package com.rafaelperez.tiendaonline.business.service.impl;
+
+import com.rafaelperez.tiendaonline.business.dto.ImportJobDTO;
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.event.ProductChangedEvent;
+import com.rafaelperez.tiendaonline.business.importer.CsvRecordReader;
+import com.rafaelperez.tiendaonline.business.service.ProductImportService;
+import com.rafaelperez.tiendaonline.business.validation.ProductValidator;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.ImportJobDAO;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.ProductDAO;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.SellerDAO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Importación masiva de productos desde CSV
+ *
+ * FLUJO:
+ * 1. startImport(): copia el CSV a disco en streaming y crea el trabajo (PENDING)
+ * 2. En segundo plano: cuenta filas, luego lee registro por registro
+ * 3. Cada chunk (N filas) se valida y se confirma en UNA transacción, junto con
+ *    el progreso del trabajo -> committedRows siempre coincide con lo insertado
+ * 4. Si la BD rechaza el chunk (restricción violada), se reintenta fila por fila:
+ *    la fila culpable se cuenta como fallida y el progreso avanza igual
+ * 5. Si algo más falla, el trabajo queda FAILED y resumeImport() continúa desde
+ *    committedRows (los chunks confirmados no se repiten)
+ *
+ * ARCHIVOS: el CSV se borra al completar (o si no se pudo encolar); el de un
+ * trabajo FAILED se conserva para reanudar durante failed-retention y luego se
+ * borra y el trabajo pasa a EXPIRED
+ *
+ * VARIOS NODOS: cada trabajo tiene dueño (tienda.import.node-id) y un lease que el
+ * heartbeat renueva. Solo el dueño confirma chunks (ImportJobDAO.recordChunk lo
+ * comprueba con la fila bloqueada), y un trabajo solo se marca FAILED si su dueño
+ * es este nodo recién arrancado o su lease venció. El CSV vive en storage-dir: si
+ * no es compartido, solo el nodo que lo recibió puede reanudar el trabajo
+ *
+ * NOTA: Filas inválidas NO detienen la importación; se cuentan como fallidas
+ */
+@Service
+@Slf4j
+public class ProductImportServiceImpl implements ProductImportService {
+    public static final int MAX_CHUNK_SIZE = 5000;
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "price", "stock");
+
+    private final ImportJobDAO importJobDAO;
+    private final ProductDAO productDAO;
+    private final SellerDAO sellerDAO;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor importTaskExecutor;
+    private final Path storageDir;
+    private final int defaultChunkSize;
+    private final Duration failedRetention;
+    private final String nodeId;
+    private final Duration leaseDuration;
+
+    // Trabajos ejecutándose en este nodo (evita ejecutar dos veces el mismo)
+    private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
+
+    public ProductImportServiceImpl(ImportJobDAO importJobDAO,
+                                    ProductDAO productDAO,
+                                    SellerDAO sellerDAO,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager,
+                                    @Qualifier("importTaskExecutor") TaskExecutor importTaskExecutor,
+                                    @Value("${tienda.import.storage-dir:${java.io.tmpdir}/tienda-imports}") Path storageDir,
+                                    @Value("${tienda.import.chunk-size:500}") int defaultChunkSize,
+                                    @Value("${tienda.import.failed-retention:P1D}") Duration failedRetention,
+                                    @Value("${tienda.import.node-id:${HOSTNAME:${random.uuid}}}") String nodeId,
+                                    @Value("${tienda.import.lease-duration:PT2M}") Duration leaseDuration) {
+        this.importJobDAO = importJobDAO;
+        this.productDAO = productDAO;
+        this.sellerDAO = sellerDAO;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importTaskExecutor = importTaskExecutor;
+        this.storageDir = storageDir;
+        this.defaultChunkSize = defaultChunkSize;
+        this.failedRetention = failedRetention;
+        this.nodeId = nodeId;
+        this.leaseDuration = leaseDuration;
+    }
+
+    @Override
+    public ImportJobDTO startImport(InputStream csv, String originalFileName, Long sellerId, Integer chunkSize) {
+        int effectiveChunkSize = chunkSize == null ? defaultChunkSize : chunkSize;
+        if (effectiveChunkSize < 1 || effectiveChunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("El tamaño de chunk debe estar entre 1 y " + MAX_CHUNK_SIZE);
+        }
+        if (sellerId != null && !sellerDAO.existsById(sellerId)) {
+            throw new IllegalArgumentException("Vendedor no encontrado con ID: " + sellerId);
+        }
+
+        // Copiar a disco en streaming (nunca se carga el archivo completo en memoria)
+        Path target;
+        try {
+            Files.createDirectories(storageDir);
+            target = storageDir.resolve(UUID.randomUUID() + ".csv");
+            Files.copy(csv, target);
+        } catch (IOException e) {
+            throw new RuntimeException("No se pudo guardar el archivo de importación", e);
+        }
+
+        ImportJobDTO job = importJobDAO.create(originalFileName, target.toString(), sellerId, effectiveChunkSize,
+                nodeId, leaseUntil());
+        log.info("Importación CSV creada ID: {} (archivo: {}, chunk: {})", job.getId(), originalFileName, effectiveChunkSize);
+
+        try {
+            submit(job.getId());
+        } catch (RuntimeException e) {
+            deleteFile(target); // El cliente debe volver a subirlo
+            throw e;
+        }
+        return job;
+    }
+
+    @Override
+    public ImportJobDTO getJob(Long jobId) {
+        return importJobDAO.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Importación no encontrada con ID: " + jobId));
+    }
+
+    @Override
+    public ImportJobDTO resumeImport(Long jobId) {
+        ImportJobDTO job = getJob(jobId);
+        if (!"FAILED".equals(job.getStatus())) {
+            throw new IllegalStateException("Solo se pueden reanudar importaciones fallidas (estado actual: " + job.getStatus() + ")");
+        }
+        if (!Files.exists(Path.of(job.getFilePath()))) {
+            if (job.getOwnerNode() != null && !nodeId.equals(job.getOwnerNode())) {
+                throw new IllegalStateException("El archivo de la importación está en el nodo " + job.getOwnerNode()
+                        + ": reanúdela allí o configure tienda.import.storage-dir en almacenamiento compartido");
+            }
+            throw new IllegalStateException("El archivo de la importación ya no está disponible, vuelva a subirlo");
+        }
+        if (!importJobDAO.claim(jobId, nodeId, leaseUntil())) {
+            throw new IllegalStateException("La importación ID: " + jobId + " ya fue reanudada por otro nodo");
+        }
+
+        log.info("Reanudando importación ID: {} en el nodo {} desde la fila {}", jobId, nodeId, job.getCommittedRows());
+        submit(jobId);
+        return getJob(jobId);
+    }
+
+    /**
+     * Al arrancar: los trabajos PENDING/RUNNING de ESTE nodo se interrumpieron con
+     * el reinicio; se marcan FAILED para poder reanudarlos. Los de otros nodos
+     * siguen corriendo allí y solo se marcan si su lease venció
+     *
+     * NOTA: si la base de datos aún no responde no se aborta el arranque; el
+     * heartbeat los marcará cuando venza su lease
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void markInterruptedJobs() {
+        failAbandonedJobs(nodeId);
+    }
+
+    /**
+     * Heartbeat: renovar el lease de los trabajos que corren aquí y marcar FAILED
+     * los de nodos caídos (lease vencido)
+     *
+     * NOTA: lease-duration debe cubrir varios heartbeats, o una pausa corta de la
+     * BD haría perder el lease a trabajos sanos
+     */
+    @Scheduled(
+            fixedDelayString = "${tienda.import.heartbeat-interval:PT30S}",
+            initialDelayString = "${tienda.import.heartbeat-interval:PT30S}"
+    )
+    public void heartbeat() {
+        LocalDateTime lease = leaseUntil();
+        try {
+            for (Long jobId : runningJobs) {
+                if (!importJobDAO.renewLease(jobId, nodeId, lease)) {
+                    log.warn("Importación ID: {} - lease perdido, el siguiente chunk se cancelará", jobId);
+                }
+            }
+        } catch (DataAccessException | TransactionException e) {
+            log.error("No se pudieron renovar los leases de importación: {}", e.getMessage());
+        }
+        failAbandonedJobs(null);
+    }
+
+    /**
+     * Borrar los archivos de trabajos FAILED que nadie reanudó dentro de la retención
+     */
+    @Scheduled(
+            fixedDelayString = "${tienda.import.cleanup-interval:PT1H}",
+            initialDelayString = "${tienda.import.cleanup-interval:PT1H}"
+    )
+    public void expireFailedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(failedRetention);
+        try {
+            for (ImportJobDTO job : importJobDAO.findByStatusUpdatedBefore("FAILED", cutoff)) {
+                Path file = Path.of(job.getFilePath());
+                if (job.getOwnerNode() != null && !nodeId.equals(job.getOwnerNode()) && !Files.exists(file)) {
+                    continue; // El archivo está en otro nodo: lo borra su dueño
+                }
+                deleteFile(file);
+                importJobDAO.updateStatus(job.getId(), "EXPIRED", null, job.getErrorMessage());
+                log.info("Importación ID: {} expirada, archivo eliminado", job.getId());
+            }
+        } catch (DataAccessException | TransactionException e) {
+            log.error("No se pudieron expirar las importaciones fallidas: {}", e.getMessage());
+        }
+    }
+
+    private void submit(Long jobId) {
+        if (!runningJobs.add(jobId)) {
+            throw new IllegalStateException("La importación ID: " + jobId + " ya se está ejecutando");
+        }
+        try {
+            importTaskExecutor.execute(() -> {
+                try {
+                    runJob(jobId);
+                } finally {
+                    runningJobs.remove(jobId);
+                }
+            });
+        } catch (RuntimeException e) {
+            runningJobs.remove(jobId);
+            importJobDAO.updateStatus(jobId, "FAILED", null, "Cola de importaciones llena, reintente más tarde");
+            throw e;
+        }
+    }
+
+    /**
+     * MÉTODO PRIVADO: Ejecución del trabajo (hilo de importación)
+     */
+    void runJob(Long jobId) {
+        ImportJobDTO job = getJob(jobId);
+        Path file = Path.of(job.getFilePath());
+        try {
+            Long totalRows = job.getTotalRows() != null ? job.getTotalRows() : countDataRows(file);
+            if (!importJobDAO.updateOwnedStatus(jobId, nodeId, "RUNNING", totalRows, null)) {
+                log.warn("Importación ID: {} ya no pertenece a este nodo, no se ejecuta", jobId);
+                return;
+            }
+
+            try (CsvRecordReader reader = new CsvRecordReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+                Map<String, Integer> columns = readHeader(reader);
+
+                // Reanudación: saltar filas ya confirmadas
+                long rowNumber = reader.skip(job.getCommittedRows());
+                Map<Long, Boolean> knownSellers = new HashMap<>();
+
+                List<CsvRow> chunk = new ArrayList<>(job.getChunkSize());
+                List<String> record;
+                while ((record = reader.next()) != null) {
+                    chunk.add(new CsvRow(++rowNumber, record));
+                    if (chunk.size() == job.getChunkSize()) {
+                        commitChunk(job, columns, chunk, knownSellers);
+                        chunk.clear();
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    commitChunk(job, columns, chunk, knownSellers);
+                }
+            }
+
+            if (importJobDAO.updateOwnedStatus(jobId, nodeId, "COMPLETED", null, null)) {
+                deleteFile(file);
+                log.info("Importación ID: {} completada", jobId);
+            }
+        } catch (Exception e) {
+            log.error("Importación ID: {} fallida: {}", jobId, e.getMessage());
+            String message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            if (!importJobDAO.updateOwnedStatus(jobId, nodeId, "FAILED", null, abbreviate(message, 500))) {
+                log.warn("Importación ID: {} ya no pertenece a este nodo, se deja su estado", jobId);
+            }
+        }
+    }
+
+    /**
+     * MÉTODO PRIVADO: Confirma un chunk; si la BD lo rechaza, fila por fila
+     *
+     * Sin este reintento una sola fila que viola una restricción (p. ej. un valor
+     * demasiado largo) haría fallar el chunk entero, y al reanudar se repetiría
+     * el mismo chunk para siempre
+     */
+    private void commitChunk(ImportJobDTO job, Map<String, Integer> columns, List<CsvRow> chunk,
+                             Map<Long, Boolean> knownSellers) {
+        try {
+            insertRows(job, columns, chunk, knownSellers);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Importación ID: {} - la BD rechazó el chunk desde la fila {}, se reintenta fila por fila",
+                    job.getId(), chunk.get(0).number());
+            for (CsvRow row : chunk) {
+                try {
+                    insertRows(job, columns, List.of(row), knownSellers);
+                } catch (DataIntegrityViolationException rowError) {
+                    String cause = rowError.getMostSpecificCause().getMessage();
+                    importJobDAO.recordChunk(job.getId(), nodeId, 1, 0, List.of("Fila " + row.number()
+                            + ": rechazada por la base de datos (" + abbreviate(cause, 200) + ")"));
+                }
+            }
+        }
+    }
+
+    /**
+     * MÉTODO PRIVADO: Valida e inserta filas en UNA transacción
+     *
+     * Productos + eventos (outbox) + progreso del trabajo se confirman juntos
+     */
+    private void insertRows(ImportJobDTO job, Map<String, Integer> columns, List<CsvRow> chunk,
+                            Map<Long, Boolean> knownSellers) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<ProductDTO> valid = new ArrayList<>(chunk.size());
+            List<String> rowErrors = new ArrayList<>();
+
+            for (CsvRow row : chunk) {
+                try {
+                    ProductDTO dto = toProduct(columns, row.fields(), job.getSellerId());
+                    ProductValidator.validateForCreate(dto);
+                    boolean sellerExists = knownSellers.computeIfAbsent(dto.getSellerId(), sellerDAO::existsById);
+                    if (!sellerExists) {
+                        throw new IllegalArgumentException("Vendedor no encontrado con ID: " + dto.getSellerId());
+                    }
+                    valid.add(dto);
+                } catch (IllegalArgumentException e) {
+                    rowErrors.add("Fila " + row.number() + ": " + e.getMessage());
+                }
+            }
+
+            List<ProductDTO> saved = productDAO.saveAll(valid);
+            for (ProductDTO product : saved) {
+                eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.CREATED, product.getId(), product));
+            }
+            importJobDAO.recordChunk(job.getId(), nodeId, chunk.size(), saved.size(), rowErrors);
+        });
+        log.debug("Importación ID: {} - chunk confirmado hasta la fila {}", job.getId(), chunk.get(chunk.size() - 1).number());
+    }
+
+    /**
+     * MÉTODO PRIVADO: Lee el encabezado -> índice de cada columna
+     */
+    private static Map<String, Integer> readHeader(CsvRecordReader reader) throws IOException {
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("El archivo CSV está vacío");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1); // BOM de Excel
+            }
+            columns.put(name, i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("Falta la columna obligatoria '" + required + "' en el encabezado");
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * MÉTODO PRIVADO: Convierte un registro CSV en ProductDTO
+     * NumberFormatException es IllegalArgumentException -> cuenta como fila inválida
+     */
+    private static ProductDTO toProduct(Map<String, Integer> columns, List<String> fields, Long defaultSellerId) {
+        ProductDTO dto = new ProductDTO();
+        dto.setName(field(columns, fields, "name"));
+        dto.setDescription(field(columns, fields, "description"));
+
+        String price = field(columns, fields, "price");
+        dto.setPrice(price == null ? null : new BigDecimal(price.trim()));
+
+        String stock = field(columns, fields, "stock");
+        dto.setStock(stock == null ? null : Integer.valueOf(stock.trim()));
+
+        String sellerId = field(columns, fields, "sellerid");
+        dto.setSellerId(sellerId == null ? defaultSellerId : Long.valueOf(sellerId.trim()));
+        return dto;
+    }
+
+    /**
+     * MÉTODO PRIVADO: Marcar FAILED los trabajos PENDING/RUNNING abandonados
+     *
+     * @param restartedNode este nodo al arrancar (sus trabajos se interrumpieron);
+     *                      null = solo los de lease vencido
+     */
+    private void failAbandonedJobs(String restartedNode) {
+        try {
+            for (ImportJobDTO job : importJobDAO.findByStatusIn(List.of("PENDING", "RUNNING"))) {
+                boolean restarted = restartedNode != null && restartedNode.equals(job.getOwnerNode());
+                String reason = restarted
+                        ? "Importación interrumpida por reinicio del servidor"
+                        : "Importación abandonada: el nodo " + job.getOwnerNode() + " dejó de renovar su lease";
+                if (importJobDAO.failIfAbandoned(job.getId(), restartedNode, reason)) {
+                    log.warn("Importación ID: {} marcada FAILED en la fila {}: {}", job.getId(), job.getCommittedRows(), reason);
+                }
+            }
+        } catch (DataAccessException | TransactionException e) {
+            log.error("No se pudieron revisar las importaciones interrumpidas: {}", e.getMessage());
+        }
+    }
+
+    private LocalDateTime leaseUntil() {
+        return LocalDateTime.now().plus(leaseDuration);
+    }
+
+    private static String abbreviate(String text, int maxLength) {
+        if (text == null) {
+            return "";
+        }
+        return text.length() > maxLength ? text.substring(0, maxLength) : text;
+    }
+
+    /**
+     * MÉTODO PRIVADO: Borrar el CSV guardado (un fallo solo se registra)
+     */
+    private static void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("No se pudo borrar el archivo de importación {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String field(Map<String, Integer> columns, List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    /**
+     * MÉTODO PRIVADO: Primera pasada en streaming para conocer el total de filas
+     */
+    private static long countDataRows(Path file) throws IOException {
+        try (CsvRecordReader reader = new CsvRecordReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            long records = reader.skip(Long.MAX_VALUE);
+            return Math.max(0, records - 1); // sin encabezado
+        }
+    }
+
+    private record CsvRow(long number, List<String> fields) {
+    }
+}
@@ -1,16 +1,23 @@
 package com.rafaelperez.tiendaonline.business.service.impl;
 
 import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.event.ProductChangedEvent;
 import com.rafaelperez.tiendaonline.business.service.ProductService;
 import com.rafaelperez.tiendaonline.business.service.SellerService;
+import com.rafaelperez.tiendaonline.business.validation.FieldSelection;
+import com.rafaelperez.tiendaonline.business.validation.ProductValidator;
 import com.rafaelperez.tiendaonline.persistenceLayer.dao.ProductDAO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
-import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 @Service
 @Transactional
@@ -19,6 +26,8 @@ import java.util.List;
 public class ProductServiceImpl implements ProductService {
     private final ProductDAO productDAO;
     private final SellerService sellerService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionOperations transactionOperations;
 
     /**
      * CREATE - Crear nuevo producto
@@ -28,19 +37,33 @@ public class ProductServiceImpl implements ProductService {
      * 2. Verificar que vendedor existe
      * 3. Usar DAO.save() que maneja toda la persistencia
      * 4. DAO retorna ProductDTO con ID generado
+     * 5. Publicar ProductChangedEvent (cachés, feeds, etc.)
+     *
+     * NOTA: SUPPORTS -> la verificación del vendedor se hace antes de abrir la
+     * transacción de escritura, así se agrupa con otras búsquedas en un solo SELECT
+     * (SellerDAO.findById no agrupa dentro de una transacción). El INSERT y el evento
+     * van juntos en su propia transacción; si el vendedor se borra entre medias, la FK
+     * rechaza el INSERT. Si quien llama ya tiene una transacción, todo se une a ella
      */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ProductDTO createProduct(ProductDTO productDTO) {
         log.info("Creando nuevo producto: {}", productDTO.getName());
 
         // 1. Validaciones de negocio
-        validateProductData(productDTO);
+        ProductValidator.validateForCreate(productDTO);
 
         // 2. Verificar que el vendedor existe (lanza excepción si no existe)
         sellerService.getSellerById(productDTO.getSellerId());
 
-        // 3. Crear producto usando DAO (maneja Entity+Mapper internamente)
-        ProductDTO result = productDAO.save(productDTO);
+        ProductDTO result = transactionOperations.execute(status -> {
+            // 3. Crear producto usando DAO (maneja Entity+Mapper internamente)
+            ProductDTO saved = productDAO.save(productDTO);
+
+            // 4. Notificar el cambio (los listeners AFTER_COMMIT solo se ejecutan si la transacción confirma)
+            eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.CREATED, saved.getId(), saved));
+            return saved;
+        });
 
         log.info("Producto creado exitosamente con ID: {}", result.getId());
         /*System.out.println("Creando producto: " +
@@ -50,16 +73,19 @@ public class ProductServiceImpl implements ProductService {
 
     /**
      * READ - Buscar producto por ID
+     *
+     * NOTA: SUPPORTS -> sin transacción propia, para que las peticiones que esperan
+     * una carga compartida (ProductDAO.findById) no retengan una conexión del pool
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ProductDTO getProductById(Long id) {
         log.debug("Buscando producto por ID: {}", id);
 
         return productDAO.findById(id)
                 .orElseThrow(() -> {
                     log.warn("Producto no encontrado con ID: {}", id);
-                    return new RuntimeException("Producto no encontrado con ID: " + id);
+                    return new NoSuchElementException("Producto no encontrado con ID: " + id);
                 });
     }
 
@@ -73,28 +99,84 @@ public class ProductServiceImpl implements ProductService {
         return productDAO.findAll();
     }
 
+    /**
+     * READ BATCH - Obtener varios productos en una sola consulta
+     *
+     * NOTA: IDs inexistentes se omiten (no lanza excepción)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductDTO> getProductsByIds(List<Long> ids) {
+        log.debug("Buscando {} productos por ID", ids.size());
+        return productDAO.findAllById(ids);
+    }
+
+    /**
+     * READ PAGE - Página keyset: los siguientes size productos con ID mayor que afterId
+     *
+     * USO: streams que recorren el catálogo completo (ListProducts/ListSellers gRPC)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductDTO> getProductsPage(Long afterId, int size) {
+        log.debug("Página de productos tras el ID {} ({} filas)", afterId, size);
+        return productDAO.findPageAfter(afterId, size);
+    }
+
+    /**
+     * READ PROJECTION - Todos los productos con solo los campos pedidos
+     *
+     * NOTA: Valida contra el esquema de ProductDTO antes de consultar
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllProductFields(String fields) {
+        List<String> selected = FieldSelection.parse(fields, ProductDTO.class);
+        log.debug("Obteniendo todos los productos con campos {}", selected);
+        return productDAO.findAllFields(selected);
+    }
+
+    /**
+     * READ PROJECTION - Un producto con solo los campos pedidos
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getProductFields(Long id, String fields) {
+        List<String> selected = FieldSelection.parse(fields, ProductDTO.class);
+        return productDAO.findFieldsById(id, selected)
+                .orElseThrow(() -> {
+                    log.warn("Producto no encontrado con ID: {}", id);
+                    return new NoSuchElementException("Producto no encontrado con ID: " + id);
+                });
+    }
+
     /**
      * UPDATE - Actualizar producto existente
      *
      * FLUJO:
-     * 1. Verificar que producto existe
-     * 2. Validar datos de actualización
-     * 3. Usar DAO.update() que maneja @MappingTarget internamente
-     * 4. DAO retorna ProductDTO actualizado
+     * 1. Validar datos de actualización
+     * 2. Usar DAO.update() que maneja @MappingTarget internamente
+     * 3. DAO retorna ProductDTO actualizado (vacío si el producto no existe)
+     * 4. Publicar ProductChangedEvent
+     *
+     * NOTA: La existencia se comprueba con el Optional de DAO.update(), sin una
+     * lectura previa a DTO: esa proyección incluye description y anularía el LAZY
      */
     @Override
     public ProductDTO updateProduct(Long id, ProductDTO productDTO) {
         log.info("Actualizando producto ID: {}", id);
 
-        // 1. Verificar que producto existe (reutilizamos getProductById)
-        getProductById(id);
-
-        // 2. Validar datos de actualización (solo campos no null)
-        validateProductUpdateData(productDTO);
+        // 1. Validar datos de actualización (solo campos no null)
+        ProductValidator.validateForUpdate(productDTO);
 
-        // 3. Actualizar usando DAO (maneja updateEntityFromDTO internamente)
+        // 2. Actualizar usando DAO (carga la entidad sin description)
         ProductDTO result = productDAO.update(id, productDTO)
-                .orElseThrow(() -> new RuntimeException("Error al actualizar producto con ID: " + id));
+                .orElseThrow(() -> {
+                    log.warn("Producto no encontrado con ID: {}", id);
+                    return new NoSuchElementException("Producto no encontrado con ID: " + id);
+                });
+
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, id, result));
 
         log.info("Producto actualizado exitosamente ID: {}", id);
         return result;
@@ -115,71 +197,8 @@ public class ProductServiceImpl implements ProductService {
             throw new RuntimeException("Producto no encontrado con ID: " + id);
         }
 
-        log.info("Producto eliminado exitosamente ID: {}", id);
-    }
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.DELETED, id, null));
 
-    /**
-     * MÉTODO PRIVADO: Validaciones para CREATE
-     * Valida todos los campos obligatorios y reglas de negocio
-     */
-    private void validateProductData(ProductDTO productDTO) {
-        // Nombre obligatorio y no vacío
-        if (productDTO.getName() == null || productDTO.getName().trim().isEmpty()) {
-            throw new IllegalArgumentException("El nombre del producto es obligatorio");
-        }
-
-        // Validar longitud del nombre
-        if (productDTO.getName().length() > 100) {
-            throw new IllegalArgumentException("El nombre no puede exceder 100 caracteres");
-        }
-
-        // Precio obligatorio y positivo
-        if (productDTO.getPrice() == null || productDTO.getPrice().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("El precio debe ser mayor a cero");
-        }
-
-        // Stock no puede ser negativo
-        if (productDTO.getStock() == null || productDTO.getStock() < 0) {
-            throw new IllegalArgumentException("El stock no puede ser negativo");
-        }
-
-        // SellerId obligatorio
-        if (productDTO.getSellerId() == null) {
-            throw new IllegalArgumentException("El vendedor es obligatorio");
-        }
-
-        // duplicado intencional
-        if (productDTO.getName() == null || productDTO.getName().trim().isEmpty()) {
-            throw new IllegalArgumentException("El nombre del producto es obligatorio");
-        }
-
-    }
-
-    /**
-     * MÉTODO PRIVADO: Validaciones para UPDATE
-     * Solo valida campos que NO son null (actualización parcial)
-     */
-    private void validateProductUpdateData(ProductDTO productDTO) {
-        // Si name está presente, validarlo
-        if (productDTO.getName() != null) {
-            if (productDTO.getName().trim().isEmpty()) {
-                throw new IllegalArgumentException("El nombre no puede estar vacío");
-            }
-            if (productDTO.getName().length() > 100) {
-                throw new IllegalArgumentException("El nombre no puede exceder 100 caracteres");
-            }
-        }
-
-        // Si price está presente, validarlo
-        if (productDTO.getPrice() != null && productDTO.getPrice().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("El precio debe ser mayor a cero");
-        }
-
-        // Si stock está presente, validarlo
-        if (productDTO.getStock() != null && productDTO.getStock() < 0) {
-            throw new IllegalArgumentException("El stock no puede ser negativo");
-        }
-
-        // Nota: sellerId se ignora en UPDATE (no se puede cambiar vendedor)
+        log.info("Producto eliminado exitosamente ID: {}", id);
     }
 }
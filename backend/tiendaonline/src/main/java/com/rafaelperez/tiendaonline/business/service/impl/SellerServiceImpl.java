@@ -1,14 +1,21 @@
 package com.rafaelperez.tiendaonline.business.service.impl;
 
 import com.rafaelperez.tiendaonline.business.dto.SellerDTO;
+import com.rafaelperez.tiendaonline.business.event.SellerChangedEvent;
 import com.rafaelperez.tiendaonline.business.service.SellerService;
+import com.rafaelperez.tiendaonline.business.validation.FieldSelection;
 import com.rafaelperez.tiendaonline.persistenceLayer.dao.SellerDAO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 
 @Service
@@ -17,6 +24,7 @@ import java.util.List;
 @Slf4j
 public class SellerServiceImpl implements SellerService {
     private final SellerDAO sellerDAO;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * CREATE - Crear nuevo vendedor
@@ -26,6 +34,7 @@ public class SellerServiceImpl implements SellerService {
      * 2. Verificar email único usando DAO
      * 3. Usar DAO.save() que maneja toda la persistencia
      * 4. DAO retorna SellerDTO con ID generado
+     * 5. Publicar SellerChangedEvent (outbox, cachés, etc.)
      */
     @Override
     public SellerDTO createSeller(SellerDTO sellerDTO) {
@@ -43,22 +52,27 @@ public class SellerServiceImpl implements SellerService {
         // 3. Crear vendedor usando DAO (maneja Entity+Mapper internamente)
         SellerDTO result = sellerDAO.save(sellerDTO);
 
+        eventPublisher.publishEvent(new SellerChangedEvent(SellerChangedEvent.Type.CREATED, result.getId(), result));
+
         log.info("Vendedor creado exitosamente con ID: {}", result.getId());
         return result;
     }
 
     /**
      * READ - Buscar vendedor por ID
+     *
+     * NOTA: SUPPORTS -> sin transacción propia, para que la búsqueda pueda
+     * agruparse con otras en un solo SELECT (SellerDAO.findById)
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public SellerDTO getSellerById(Long id) {
         log.debug("Buscando vendedor por ID: {}", id);
 
         return sellerDAO.findById(id)
                 .orElseThrow(() -> {
                     log.warn("Vendedor no encontrado con ID: {}", id);
-                    return new RuntimeException("Vendedor no encontrado con ID: " + id);
+                    return new NoSuchElementException("Vendedor no encontrado con ID: " + id);
                 });
     }
 
@@ -72,6 +86,57 @@ public class SellerServiceImpl implements SellerService {
         return sellerDAO.findAll();
     }
 
+    /**
+     * READ BATCH - Obtener varios vendedores en una sola consulta
+     *
+     * NOTA: IDs inexistentes se omiten (no lanza excepción)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SellerDTO> getSellersByIds(List<Long> ids) {
+        log.debug("Buscando {} vendedores por ID", ids.size());
+        return new ArrayList<>(sellerDAO.findAllByIdAsMap(ids).values());
+    }
+
+    /**
+     * READ PAGE - Página keyset: los siguientes size vendedores con ID mayor que afterId
+     *
+     * USO: streams que recorren el catálogo completo (ListProducts/ListSellers gRPC)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SellerDTO> getSellersPage(Long afterId, int size) {
+        log.debug("Página de vendedores tras el ID {} ({} filas)", afterId, size);
+        return sellerDAO.findPageAfter(afterId, size);
+    }
+
+    /**
+     * READ PROJECTION - Todos los vendedores con solo los campos pedidos
+     *
+     * NOTA: Valida contra el esquema de SellerDTO antes de consultar
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllSellerFields(String fields) {
+        List<String> selected = FieldSelection.parse(fields, SellerDTO.class);
+        log.debug("Obteniendo todos los vendedores con campos {}", selected);
+        return sellerDAO.findAllFields(selected);
+    }
+
+    /**
+     * READ PROJECTION - Un vendedor con solo los campos pedidos
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getSellerFields(Long id, String fields) {
+        List<String> selected = FieldSelection.parse(fields, SellerDTO.class);
+        return sellerDAO.findFieldsById(id, selected)
+                .orElseThrow(() -> {
+                    log.warn("Vendedor no encontrado con ID: {}", id);
+                    return new NoSuchElementException("Vendedor no encontrado con ID: " + id);
+                });
+    }
+
     /**
      * UPDATE - Actualizar vendedor existente
      *
@@ -80,6 +145,7 @@ public class SellerServiceImpl implements SellerService {
      * 2. Validar datos de actualización
      * 3. Usar DAO.update() que maneja @MappingTarget internamente
      * 4. DAO retorna SellerDTO actualizado
+     * 5. Publicar SellerChangedEvent
      *
      * NOTA: Email NO se puede cambiar (ignorado por el mapper)
      */
@@ -97,6 +163,8 @@ public class SellerServiceImpl implements SellerService {
         SellerDTO result = sellerDAO.update(id, sellerDTO)
                 .orElseThrow(() -> new RuntimeException("Error al actualizar vendedor con ID: " + id));
 
+        eventPublisher.publishEvent(new SellerChangedEvent(SellerChangedEvent.Type.UPDATED, id, result));
+
         log.info("Vendedor actualizado exitosamente ID: {}", id);
         return result;
     }
@@ -129,6 +197,8 @@ public class SellerServiceImpl implements SellerService {
             throw new RuntimeException("Error al eliminar vendedor con ID: " + id);
         }
 
+        eventPublisher.publishEvent(new SellerChangedEvent(SellerChangedEvent.Type.DELETED, id, null));
+
         log.info("Vendedor eliminado exitosamente ID: {}", id);
     }
 
@@ -0,0 +1,280 @@
+package com.rafaelperez.tiendaonline.business.snapshot;
+
+import com.rafaelperez.tiendaonline.business.dto.CatalogItemDTO;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Formato binario del snapshot del catálogo
+ *
+ * CABECERA (44 bytes, big endian):
+ *   magic "TSNP" | versión formato | cursor del change feed | creado (epoch ms)
+ *   | nº de productos | longitud del payload | CRC32C del payload
+ * PAYLOAD: un registro por producto (id, nombre, precio, stock, vendedor, updatedAt)
+ *
+ * ESCRITURA: a un archivo temporal y move atómico -> nunca queda un snapshot a medias
+ * LECTURA: el archivo se mapea en memoria (mmap) y se decodifica directamente desde
+ * el mapeo, sin copiarlo al heap; el CRC se valida antes de entregar ningún registro
+ */
+public final class CatalogSnapshotFile {
+    private static final int MAGIC = 0x54534E50; // "TSNP"
+    private static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 44;
+    private static final int NULL_LENGTH = -1;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private CatalogSnapshotFile() {
+    }
+
+    /**
+     * Crear un snapshot nuevo (se publica en 'target' al llamar a commit())
+     */
+    public static Writer create(Path target, long cursor, Instant createdAt) throws IOException {
+        return new Writer(target, cursor, createdAt);
+    }
+
+    /**
+     * Abrir y validar un snapshot existente
+     *
+     * @throws IOException si no existe, está truncado o el CRC no coincide
+     */
+    public static Snapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Snapshot truncado: " + size + " bytes");
+            }
+            // El mapeo sigue siendo válido después de cerrar el canal
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("No es un snapshot del catálogo");
+            }
+            if (buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Versión de snapshot no soportada: " + buffer.getInt(4));
+            }
+            long cursor = buffer.getLong(8);
+            Instant createdAt = Instant.ofEpochMilli(buffer.getLong(16));
+            int count = buffer.getInt(24);
+            long payloadLength = buffer.getLong(28);
+            long expectedCrc = buffer.getLong(36);
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot demasiado grande para un solo mapeo: " + size + " bytes");
+            }
+            if (payloadLength != size - HEADER_SIZE) {
+                throw new IOException("Longitud de payload inválida: " + payloadLength + " vs " + (size - HEADER_SIZE));
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(HEADER_SIZE, (int) payloadLength));
+            if (crc.getValue() != expectedCrc) {
+                throw new IOException("CRC del snapshot no coincide");
+            }
+            return new Snapshot(cursor, createdAt, count, buffer.slice(HEADER_SIZE, (int) payloadLength));
+        }
+    }
+
+    /**
+     * Snapshot validado y mapeado en memoria
+     */
+    public static final class Snapshot {
+        private final long cursor;
+        private final Instant createdAt;
+        private final int itemCount;
+        private final ByteBuffer payload;
+
+        private Snapshot(long cursor, Instant createdAt, int itemCount, ByteBuffer payload) {
+            this.cursor = cursor;
+            this.createdAt = createdAt;
+            this.itemCount = itemCount;
+            this.payload = payload;
+        }
+
+        public long cursor() {
+            return cursor;
+        }
+
+        public Instant createdAt() {
+            return createdAt;
+        }
+
+        public int itemCount() {
+            return itemCount;
+        }
+
+        /**
+         * Decodificar los productos en orden directamente desde el mapeo
+         */
+        public void forEach(Consumer<CatalogItemDTO> consumer) {
+            ByteBuffer in = payload.duplicate();
+            for (int i = 0; i < itemCount; i++) {
+                Long id = in.getLong();
+                String name = readString(in);
+                BigDecimal price = readDecimal(in);
+                int stock = in.getInt();
+                long sellerId = in.getLong();
+                long updatedSeconds = in.getLong();
+                int updatedNanos = in.getInt();
+                consumer.accept(new CatalogItemDTO(id, name, price,
+                        stock == NULL_INT ? null : stock,
+                        sellerId == NULL_LONG ? null : sellerId,
+                        updatedSeconds == NULL_LONG ? null
+                                : LocalDateTime.ofEpochSecond(updatedSeconds, updatedNanos, ZoneOffset.UTC)));
+            }
+        }
+
+        private static String readString(ByteBuffer in) {
+            int length = in.getInt();
+            if (length == NULL_LENGTH) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private static BigDecimal readDecimal(ByteBuffer in) {
+            int scale = in.getInt();
+            int length = in.getInt();
+            if (length == NULL_LENGTH) {
+                return null;
+            }
+            byte[] unscaled = new byte[length];
+            in.get(unscaled);
+            return new BigDecimal(new BigInteger(unscaled), scale);
+        }
+    }
+
+    /**
+     * Escritor en streaming: la memoria usada no depende del tamaño del catálogo
+     */
+    public static final class Writer implements Closeable {
+        private final Path target;
+        private final Path temp;
+        private final long cursor;
+        private final Instant createdAt;
+        private final FileChannel channel;
+        private final CRC32C crc = new CRC32C();
+        private final CountingOutputStream counter;
+        private final DataOutputStream out;
+        private int count;
+        private boolean committed;
+
+        private Writer(Path target, long cursor, Instant createdAt) throws IOException {
+            this.target = target;
+            this.cursor = cursor;
+            this.createdAt = createdAt;
+            Path dir = target.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            this.temp = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+            this.channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+            channel.position(HEADER_SIZE);
+            this.counter = new CountingOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            this.out = new DataOutputStream(new CheckedOutputStream(counter, crc));
+        }
+
+        public void append(CatalogItemDTO item) throws IOException {
+            out.writeLong(item.getId());
+            writeString(item.getName());
+            writeDecimal(item.getPrice());
+            out.writeInt(item.getStock() == null ? NULL_INT : item.getStock());
+            out.writeLong(item.getSellerId() == null ? NULL_LONG : item.getSellerId());
+            LocalDateTime updatedAt = item.getUpdatedAt();
+            out.writeLong(updatedAt == null ? NULL_LONG : updatedAt.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(updatedAt == null ? 0 : updatedAt.getNano());
+            count++;
+        }
+
+        /**
+         * Escribir la cabecera, forzar a disco y publicar el snapshot atómicamente
+         */
+        public void commit() throws IOException {
+            out.flush();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(cursor)
+                    .putLong(createdAt.toEpochMilli())
+                    .putInt(count)
+                    .putLong(counter.written)
+                    .putLong(crc.getValue())
+                    .flip();
+            channel.write(header, 0);
+            channel.force(true);
+            channel.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(NULL_LENGTH);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeDecimal(BigDecimal value) throws IOException {
+            if (value == null) {
+                out.writeInt(0);
+                out.writeInt(NULL_LENGTH);
+                return;
+            }
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            out.writeInt(value.scale());
+            out.writeInt(unscaled.length);
+            out.write(unscaled);
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long written;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            written++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            written += len;
+        }
+    }
+}
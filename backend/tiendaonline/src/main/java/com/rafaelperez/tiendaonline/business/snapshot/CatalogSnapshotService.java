@@ -0,0 +1,156 @@
+package com.rafaelperez.tiendaonline.business.snapshot;
+
+import com.rafaelperez.tiendaonline.business.dto.CatalogItemDTO;
+import com.rafaelperez.tiendaonline.business.dto.ChangeEventDTO;
+import com.rafaelperez.tiendaonline.business.dto.ChangeFeedDTO;
+import com.rafaelperez.tiendaonline.business.service.ChangeFeedService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Snapshots periódicos del catálogo para arranques en caliente
+ *
+ * ESCRITURA (cada tienda.snapshot.interval):
+ * 1. Avanzar el cursor seguro del change feed (el feed se detiene ante huecos
+ *    de transacciones sin confirmar: todo cambio <= cursor ya está confirmado)
+ *    y guardarlo para la PRÓXIMA pasada
+ * 2. Copiar los productos del read model en memoria (sin leer la base de datos)
+ *    y escribirlos con el cursor de la pasada ANTERIOR: el read model aplica los
+ *    cambios por el bus unos milisegundos después del commit, así que un intervalo
+ *    después ya refleja con seguridad todo lo que había hasta ese cursor
+ * 3. Al restaurar se re-aplican los cambios posteriores a ese cursor; algunos ya
+ *    están en el archivo, pero re-aplicar es idempotente (recarga por ID)
+ *
+ * NOTA: la primera pasada solo registra el cursor; sin read model listo no se escribe
+ *
+ * LECTURA: ver ProductChangeStream.initialize() (snapshot + deltas, o carga completa)
+ */
+@Component
+@ConditionalOnProperty(name = "tienda.snapshot.enabled", havingValue = "true")
+@Slf4j
+public class CatalogSnapshotService {
+    private static final int PAGE_SIZE = 1000;
+    // Al arrancar sin posición previa, se re-leen los últimos N eventos para cubrir huecos recientes
+    private static final int INITIAL_LOOKBACK = 1000;
+
+    private final ChangeFeedService changeFeedService;
+    private final Path path;
+    private final Duration maxAge;
+    private volatile long safeCursor = -1;
+    // Cursor (y momento) de la pasada anterior: posición que se guarda en el archivo
+    private Checkpoint previous;
+    // Productos del read model (vacío si no está listo); lo registra CatalogReadModel
+    private volatile Supplier<Optional<List<CatalogItemDTO>>> itemSource = Optional::empty;
+
+    public CatalogSnapshotService(ChangeFeedService changeFeedService,
+                                  @Value("${tienda.snapshot.path:./data/catalog.snapshot}") Path path,
+                                  @Value("${tienda.outbox.retention:P7D}") Duration maxAge) {
+        this.changeFeedService = changeFeedService;
+        this.path = path;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Escribir un snapshot nuevo (reemplaza el anterior de forma atómica)
+     */
+    @Scheduled(
+            fixedDelayString = "${tienda.snapshot.interval:PT10M}",
+            initialDelayString = "${tienda.snapshot.interval:PT10M}"
+    )
+    public synchronized void writeSnapshot() {
+        long start = System.currentTimeMillis();
+        try {
+            Checkpoint checkpoint = previous;
+            previous = new Checkpoint(advanceSafeCursor(), Instant.now());
+            if (checkpoint == null) {
+                log.debug("Primera pasada de snapshot: cursor {} registrado", previous.cursor());
+                return;
+            }
+            Optional<List<CatalogItemDTO>> items = itemSource.get();
+            if (items.isEmpty()) {
+                log.debug("Read model no disponible, snapshot omitido");
+                return;
+            }
+            try (CatalogSnapshotFile.Writer writer =
+                         CatalogSnapshotFile.create(path, checkpoint.cursor(), checkpoint.at())) {
+                for (CatalogItemDTO item : items.get()) {
+                    writer.append(item);
+                }
+                writer.commit();
+            }
+            log.info("Snapshot del catálogo escrito en {} ({} productos, cursor {}) en {} ms",
+                    path, items.get().size(), checkpoint.cursor(), System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            log.error("No se pudo escribir el snapshot del catálogo: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Registrar de dónde se copian los productos (el read model, al construirse)
+     */
+    public void setItemSource(Supplier<Optional<List<CatalogItemDTO>>> itemSource) {
+        this.itemSource = itemSource;
+    }
+
+    /**
+     * Abrir el último snapshot si es válido y sus deltas siguen en el outbox
+     *
+     * @return vacío si no existe, está corrupto o es más antiguo que la retención
+     */
+    public Optional<CatalogSnapshotFile.Snapshot> openLatest() {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try {
+            CatalogSnapshotFile.Snapshot snapshot = CatalogSnapshotFile.open(path);
+            if (snapshot.createdAt().isBefore(Instant.now().minus(maxAge))) {
+                log.warn("Snapshot del catálogo del {} fuera de la retención del outbox, se ignora", snapshot.createdAt());
+                return Optional.empty();
+            }
+            safeCursor = Math.max(safeCursor, snapshot.cursor());
+            return Optional.of(snapshot);
+        } catch (IOException e) {
+            log.warn("Snapshot del catálogo inválido ({}), se hará una carga completa", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Recorrer los cambios confirmados posteriores a un cursor
+     *
+     * @return último cursor recorrido
+     */
+    public long replaySince(long cursor, Consumer<ChangeEventDTO> consumer) {
+        ChangeFeedDTO page;
+        do {
+            page = changeFeedService.getChanges(cursor, PAGE_SIZE);
+            page.getEvents().forEach(consumer);
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+        return cursor;
+    }
+
+    private record Checkpoint(long cursor, Instant at) {
+    }
+
+    private long advanceSafeCursor() {
+        if (safeCursor < 0) {
+            safeCursor = Math.max(0, changeFeedService.getLatestCursor() - INITIAL_LOOKBACK);
+        }
+        safeCursor = replaySince(safeCursor, event -> { });
+        return safeCursor;
+    }
+}
@@ -0,0 +1,136 @@
+package com.rafaelperez.tiendaonline.business.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Desglose de tiempos de UNA petición (cabecera Server-Timing)
+ *
+ * FLUJO:
+ * 1. ServerTimingFilter abre el temporizador en el hilo de la petición
+ * 2. RequestTimingAspect mide cada fase (controller, service, DAO, mapping)
+ * 3. StatementCountingInspector cuenta las sentencias SQL preparadas
+ * 4. Al terminar, toHeader() genera el valor de Server-Timing
+ *
+ * NOTA:
+ * - Las fases son inclusivas: controller incluye service, que incluye los DAO
+ * - Una fase anidada en sí misma (servicio que llama a otro servicio) se mide una vez
+ * - Sin temporizador abierto (petición no medida, jobs, gRPC) current() es null
+ *   y los aspectos solo hacen esa comprobación
+ * - No es thread-safe: solo se usa desde el hilo de la petición
+ */
+public final class RequestTimer {
+    private static final ThreadLocal<RequestTimer> CURRENT = new ThreadLocal<>();
+
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private int statements;
+    private long responseStartNanos = -1;
+
+    RequestTimer(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Abre un temporizador para la petición del hilo actual
+     */
+    public static RequestTimer start() {
+        RequestTimer timer = new RequestTimer(System::nanoTime);
+        CURRENT.set(timer);
+        return timer;
+    }
+
+    /**
+     * @return temporizador de la petición actual, o null si no se está midiendo
+     */
+    public static RequestTimer current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Ejecuta 'work' acumulando su duración y sentencias SQL en la fase 'name'
+     */
+    public <T> T time(String name, Timed<T> work) throws Throwable {
+        Phase phase = phases.computeIfAbsent(name, key -> new Phase());
+        if (phase.depth > 0) {
+            return work.call();
+        }
+        phase.depth++;
+        int statementsBefore = statements;
+        long start = nanoClock.getAsLong();
+        try {
+            return work.call();
+        } finally {
+            phase.depth--;
+            phase.calls++;
+            phase.nanos += nanoClock.getAsLong() - start;
+            phase.statements += statements - statementsBefore;
+        }
+    }
+
+    /**
+     * El controlador ha devuelto: a partir de aquí se escribe la respuesta (serialización)
+     */
+    public void markResponseStart() {
+        responseStartNanos = nanoClock.getAsLong();
+    }
+
+    public void statementPrepared() {
+        statements++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Valor de la cabecera, p. ej.:
+     * total;dur=12.4, controller;dur=10.9, service;dur=10.2,
+     * ProductDAO.findAll;dur=8.1;desc="1 llamada, 1 SQL", serialization;dur=1.3, sql;desc="1 SQL"
+     */
+    public String toHeader() {
+        long now = nanoClock.getAsLong();
+        StringBuilder header = new StringBuilder();
+        appendMetric(header, "total", now - startNanos, null);
+        phases.forEach((name, phase) -> {
+            String desc = phase.calls + (phase.calls == 1 ? " llamada" : " llamadas")
+                    + (phase.statements > 0 ? ", " + phase.statements + " SQL" : "");
+            appendMetric(header, name, phase.nanos, desc);
+        });
+        if (responseStartNanos >= 0) {
+            appendMetric(header, "serialization", now - responseStartNanos, null);
+        }
+        header.append(", sql;desc=\"").append(statements).append(" SQL\"");
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos, String desc) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0));
+        if (desc != null) {
+            header.append(";desc=\"").append(desc).append('"');
+        }
+    }
+
+    @FunctionalInterface
+    public interface Timed<T> {
+        T call() throws Throwable;
+    }
+
+    private static final class Phase {
+        private int depth;
+        private int calls;
+        private long nanos;
+        private int statements;
+    }
+}
@@ -0,0 +1,67 @@
+package com.rafaelperez.tiendaonline.business.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mide las capas de la aplicación para Server-Timing
+ *
+ * FASES:
+ * - controller: método del controlador (al volver empieza la serialización)
+ * - service: métodos de business.service
+ * - ProductDAO.findById, SellerDAO.update...: una fase por método de DAO, con sus sentencias SQL
+ * - mapping: mappers MapStruct (entity <-> DTO)
+ *
+ * NOTA: Si la petición no se está midiendo el coste es una lectura de ThreadLocal.
+ * ProductValidator es estático (no hay proxy): su tiempo queda dentro de service
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "tienda.server-timing.enabled", havingValue = "true")
+public class RequestTimingAspect {
+
+    @Around("within(com.rafaelperez.tiendaonline.presentationLayer.controller..*) && execution(public * *(..))")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTimer timer = RequestTimer.current();
+        if (timer == null) {
+            return joinPoint.proceed();
+        }
+        try {
+            return timer.time("controller", joinPoint::proceed);
+        } finally {
+            timer.markResponseStart();
+        }
+    }
+
+    @Around("within(com.rafaelperez.tiendaonline.business.service..*) && execution(public * *(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "service");
+    }
+
+    @Around("within(com.rafaelperez.tiendaonline.persistenceLayer.dao..*) && execution(public * *(..))")
+    public Object timeDao(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTimer timer = RequestTimer.current();
+        if (timer == null) {
+            return joinPoint.proceed();
+        }
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        return timer.time(name, joinPoint::proceed);
+    }
+
+    @Around("within(com.rafaelperez.tiendaonline.persistenceLayer.mapper..*) && execution(public * *(..))")
+    public Object timeMapping(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "mapping");
+    }
+
+    private static Object time(ProceedingJoinPoint joinPoint, String phase) throws Throwable {
+        RequestTimer timer = RequestTimer.current();
+        if (timer == null) {
+            return joinPoint.proceed();
+        }
+        return timer.time(phase, joinPoint::proceed);
+    }
+}
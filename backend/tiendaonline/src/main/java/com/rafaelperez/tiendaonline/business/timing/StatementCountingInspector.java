@@ -0,0 +1,21 @@
+package com.rafaelperez.tiendaonline.business.timing;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta las sentencias SQL preparadas por Hibernate en la petición medida
+ *
+ * NOTA: Se registra como hibernate.session_factory.statement_inspector
+ * (ServerTimingConfig). No modifica el SQL
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestTimer timer = RequestTimer.current();
+        if (timer != null) {
+            timer.statementPrepared();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,74 @@
+package com.rafaelperez.tiendaonline.business.validation;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Validación del parámetro ?fields= (sparse fieldsets) contra el esquema de un DTO
+ *
+ * FLUJO:
+ * 1. Separar por comas, quitar espacios y entradas vacías
+ * 2. Cada nombre debe ser un campo del DTO (ProductDTO, SellerDTO...)
+ * 3. Devolver los campos sin duplicados y en el orden en que los declara el DTO,
+ *    así la salida es estable sin importar el orden de la petición
+ *
+ * NOTA: Lanza IllegalArgumentException (400 en los controladores) con los campos permitidos
+ */
+public final class FieldSelection {
+
+    // Campos de cada DTO, calculados una vez por clase
+    private static final ClassValue<List<String>> DTO_FIELDS = new ClassValue<>() {
+        @Override
+        protected List<String> computeValue(Class<?> type) {
+            return Arrays.stream(type.getDeclaredFields())
+                    .filter(field -> !Modifier.isStatic(field.getModifiers()) && !field.isSynthetic())
+                    .map(Field::getName)
+                    .toList();
+        }
+    };
+
+    private FieldSelection() {
+    }
+
+    /**
+     * Campos que admite ?fields= para un DTO
+     */
+    public static List<String> allowedFields(Class<?> dtoType) {
+        return DTO_FIELDS.get(dtoType);
+    }
+
+    /**
+     * Validar y normalizar ?fields=
+     *
+     * @param fields   valor del parámetro, p. ej. "id,name,price,stock"
+     * @param dtoType  DTO cuyo esquema define los campos válidos
+     * @return campos seleccionados en el orden del DTO
+     */
+    public static List<String> parse(String fields, Class<?> dtoType) {
+        if (fields == null || fields.isBlank()) {
+            throw new IllegalArgumentException("El parámetro fields no puede estar vacío");
+        }
+
+        List<String> allowed = allowedFields(dtoType);
+        Set<String> requested = new LinkedHashSet<>();
+        for (String raw : fields.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Campo desconocido '" + name + "' para "
+                        + dtoType.getSimpleName() + ". Permitidos: " + String.join(",", allowed));
+            }
+            requested.add(name);
+        }
+        if (requested.isEmpty()) {
+            throw new IllegalArgumentException("El parámetro fields no puede estar vacío");
+        }
+        return allowed.stream().filter(requested::contains).toList();
+    }
+}
@@ -0,0 +1,84 @@
+package com.rafaelperez.tiendaonline.business.validation;
+
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+
+import java.math.BigDecimal;
+
+/**
+ * Reglas de negocio de validación de productos
+ *
+ * Compartidas por ProductServiceImpl (API REST) y la importación masiva CSV,
+ * así ambos caminos aceptan y rechazan exactamente lo mismo.
+ *
+ * NOTA: Lanzan IllegalArgumentException con el mensaje de la regla incumplida
+ */
+public final class ProductValidator {
+
+    private ProductValidator() {
+    }
+
+    /**
+     * Validaciones para CREATE
+     * Valida todos los campos obligatorios y reglas de negocio
+     */
+    public static void validateForCreate(ProductDTO productDTO) {
+        // Nombre obligatorio y no vacío
+        if (productDTO.getName() == null || productDTO.getName().trim().isEmpty()) {
+            throw new IllegalArgumentException("El nombre del producto es obligatorio");
+        }
+
+        // Validar longitud del nombre
+        if (productDTO.getName().length() > 100) {
+            throw new IllegalArgumentException("El nombre no puede exceder 100 caracteres");
+        }
+
+        // Precio obligatorio y positivo
+        if (productDTO.getPrice() == null || productDTO.getPrice().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("El precio debe ser mayor a cero");
+        }
+
+        // Stock no puede ser negativo
+        if (productDTO.getStock() == null || productDTO.getStock() < 0) {
+            throw new IllegalArgumentException("El stock no puede ser negativo");
+        }
+
+        // SellerId obligatorio
+        if (productDTO.getSellerId() == null) {
+            throw new IllegalArgumentException("El vendedor es obligatorio");
+        }
+
+        // duplicado intencional
+        if (productDTO.getName() == null || productDTO.getName().trim().isEmpty()) {
+            throw new IllegalArgumentException("El nombre del producto es obligatorio");
+        }
+
+    }
+
+    /**
+     * Validaciones para UPDATE
+     * Solo valida campos que NO son null (actualización parcial)
+     */
+    public static void validateForUpdate(ProductDTO productDTO) {
+        // Si name está presente, validarlo
+        if (productDTO.getName() != null) {
+            if (productDTO.getName().trim().isEmpty()) {
+                throw new IllegalArgumentException("El nombre no puede estar vacío");
+            }
+            if (productDTO.getName().length() > 100) {
+                throw new IllegalArgumentException("El nombre no puede exceder 100 caracteres");
+            }
+        }
+
+        // Si price está presente, validarlo
+        if (productDTO.getPrice() != null && productDTO.getPrice().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("El precio debe ser mayor a cero");
+        }
+
+        // Si stock está presente, validarlo
+        if (productDTO.getStock() != null && productDTO.getStock() < 0) {
+            throw new IllegalArgumentException("El stock no puede ser negativo");
+        }
+
+        // Nota: sellerId se ignora en UPDATE (no se puede cambiar vendedor)
+    }
+}
@@ -0,0 +1,197 @@
+package com.rafaelperez.tiendaonline.business.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.validation.ProductValidator;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.ProductDAO;
+import com.rafaelperez.tiendaonline.persistenceLayer.entity.ProductEntity;
+import com.rafaelperez.tiendaonline.persistenceLayer.entity.SellerEntity;
+import com.rafaelperez.tiendaonline.persistenceLayer.mapper.ProductMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Calentamiento del JIT antes de la señal de readiness
+ *
+ * FLUJO (en ApplicationReadyEvent, en el hilo de arranque):
+ * 1. Repetir los caminos calientes de GET/POST /api/v1/products con datos sintéticos:
+ *    mapper (entity -> DTO -> entity), ProductValidator y Jackson (serializar y leer)
+ * 2. Cada query-every iteraciones, una lectura real de solo lectura (findPageAfter);
+ *    si la base de datos falla se sigue solo con datos sintéticos
+ * 3. Parar al llegar a tienda.warmup.iterations o a tienda.warmup.max-duration
+ * 4. Registrar métricas: duración total y latencia de las primeras/últimas iteraciones
+ *
+ * NOTA: Spring Boot publica ReadinessState.ACCEPTING_TRAFFIC después de los listeners de
+ * ApplicationReadyEvent: mientras dura el calentamiento /api/health y
+ * /actuator/health/readiness responden 503, así el balanceador no envía tráfico
+ */
+@Component
+@ConditionalOnProperty(name = "tienda.warmup.enabled", havingValue = "true")
+@Slf4j
+public class JitWarmup {
+    static final int SAMPLE_SIZE = 50;
+    private static final int QUERY_PAGE_SIZE = 20;
+
+    private final ProductMapper productMapper;
+    private final ProductDAO productDAO;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int iterations;
+    private final Duration maxDuration;
+    private final int queryEvery;
+
+    // Evita que el JIT descarte el trabajo como código muerto
+    private long blackhole;
+
+    public JitWarmup(ProductMapper productMapper,
+                     ProductDAO productDAO,
+                     ObjectMapper objectMapper,
+                     MeterRegistry meterRegistry,
+                     @Value("${tienda.warmup.iterations:5000}") int iterations,
+                     @Value("${tienda.warmup.max-duration:PT30S}") Duration maxDuration,
+                     @Value("${tienda.warmup.query-every:10}") int queryEvery) {
+        this.productMapper = productMapper;
+        this.productDAO = productDAO;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.iterations = iterations;
+        this.maxDuration = maxDuration;
+        this.queryEvery = queryEvery;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onReady() {
+        WarmupResult result = run();
+        log.info("Calentamiento JIT: {} iteraciones en {} ms (latencia media {} µs -> {} µs, consultas: {})",
+                result.iterations(), result.duration().toMillis(),
+                result.coldMicros(), result.warmMicros(), result.queriesEnabled() ? "sí" : "no");
+    }
+
+    /**
+     * Ejecutar el calentamiento (paquete: usado por los tests)
+     */
+    WarmupResult run() {
+        Timer cold = iterationTimer("cold");
+        Timer warm = iterationTimer("warm");
+        long[] lastSamples = new long[SAMPLE_SIZE];
+        long coldTotal = 0;
+
+        boolean queries = queryEvery > 0;
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        int done = 0;
+        while (done < iterations && System.nanoTime() < deadline) {
+            long iterationStart = System.nanoTime();
+            exercise(done);
+            if (queries && done % queryEvery == 0) {
+                queries = query();
+            }
+            long elapsed = System.nanoTime() - iterationStart;
+
+            if (done < SAMPLE_SIZE) {
+                cold.record(Duration.ofNanos(elapsed));
+                coldTotal += elapsed;
+            }
+            lastSamples[done % SAMPLE_SIZE] = elapsed;
+            done++;
+        }
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+
+        // Últimas iteraciones (ventana circular): latencia ya compilada
+        int warmCount = Math.min(done, SAMPLE_SIZE);
+        long warmTotal = 0;
+        for (int i = 0; i < warmCount; i++) {
+            warm.record(Duration.ofNanos(lastSamples[i]));
+            warmTotal += lastSamples[i];
+        }
+        Timer.builder("tienda.warmup.duration")
+                .description("Duración del calentamiento JIT al arrancar")
+                .register(meterRegistry)
+                .record(duration);
+        meterRegistry.counter("tienda.warmup.iterations").increment(done);
+
+        int coldCount = Math.min(done, SAMPLE_SIZE);
+        return new WarmupResult(done, duration,
+                coldCount == 0 ? 0 : coldTotal / coldCount / 1000,
+                warmCount == 0 ? 0 : warmTotal / warmCount / 1000,
+                queries);
+    }
+
+    /**
+     * MÉTODO PRIVADO: Una pasada por mapper, validación y Jackson con datos sintéticos
+     */
+    private void exercise(int iteration) {
+        ProductEntity entity = syntheticProduct(iteration);
+        ProductDTO dto = productMapper.toDTO(entity);
+        ProductValidator.validateForCreate(dto);
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(dto);
+            ProductDTO read = objectMapper.readValue(json, ProductDTO.class);
+            ProductEntity mapped = productMapper.toEntity(read);
+            blackhole += json.length + mapped.getStock();
+        } catch (IOException e) {
+            throw new IllegalStateException("Error serializando el producto sintético", e);
+        }
+    }
+
+    /**
+     * MÉTODO PRIVADO: Lectura real (solo lectura) de la primera página de productos
+     *
+     * @return false si la base de datos no responde: no se vuelve a consultar
+     */
+    private boolean query() {
+        try {
+            List<ProductDTO> page = productDAO.findPageAfter(0L, QUERY_PAGE_SIZE);
+            blackhole += objectMapper.writeValueAsBytes(page).length;
+            return true;
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Calentamiento sin consultas: la base de datos no responde ({})", e.getMessage());
+            return false;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializando la página de productos", e);
+        }
+    }
+
+    private Timer iterationTimer(String phase) {
+        return Timer.builder("tienda.warmup.iteration")
+                .description("Latencia de las primeras (cold) y últimas (warm) iteraciones del calentamiento")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    private static ProductEntity syntheticProduct(int iteration) {
+        SellerEntity seller = new SellerEntity();
+        seller.setId(1L + iteration % 7);
+        ProductEntity entity = new ProductEntity();
+        entity.setId((long) iteration);
+        entity.setName("Producto de calentamiento " + iteration);
+        entity.setDescription("Datos sintéticos para compilar los caminos calientes");
+        entity.setPrice(BigDecimal.valueOf(1000 + iteration % 500, 2));
+        entity.setStock(iteration % 100);
+        entity.setCreatedAt(LocalDateTime.now());
+        entity.setUpdatedAt(entity.getCreatedAt());
+        entity.setSellerEntity(seller);
+        return entity;
+    }
+
+    record WarmupResult(int iterations, Duration duration, long coldMicros, long warmMicros, boolean queriesEnabled) {
+    }
+}
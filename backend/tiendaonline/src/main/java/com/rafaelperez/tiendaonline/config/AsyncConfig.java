@@ -0,0 +1,43 @@
+package com.rafaelperez.tiendaonline.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Ejecutores para trabajos en segundo plano
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Ejecutor de importaciones CSV
+     * Pocos hilos a propósito: cada importación ya escribe en chunks grandes
+     * y no queremos que varias importaciones saturen la base de datos
+     */
+    @Bean(name = "importTaskExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor importTaskExecutor(
+            @Value("${tienda.import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+            @Value("${tienda.import.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentJobs);
+        executor.setMaxPoolSize(maxConcurrentJobs);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("csv-import-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Ejecutor de los suscriptores asíncronos del bus de invalidación
+     * Hilos virtuales: cada tarea espera sobre todo a la base de datos (recargas por ID)
+     */
+    @Bean(name = "invalidationExecutor", destroyMethod = "shutdown")
+    public ExecutorService invalidationExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
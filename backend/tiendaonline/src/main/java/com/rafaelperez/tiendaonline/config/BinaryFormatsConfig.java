@@ -0,0 +1,37 @@
+package com.rafaelperez.tiendaonline.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Negociación de contenido binaria: Smile y CBOR con los mismos DTOs que JSON
+ *
+ * FLUJO:
+ * 1. Cada converter usa un ObjectMapper del builder de Spring Boot (misma configuración
+ *    spring.jackson.* y módulos que el JSON) con la factoría binaria correspondiente
+ * 2. Spring Boot los registra junto al converter JSON: Accept elige el formato de la
+ *    respuesta y Content-Type el del cuerpo de POST/PUT
+ *
+ * NOTA: Sin Accept explícito o con comodín (navegadores, clientes actuales) se sigue respondiendo JSON
+ */
+@Configuration
+public class BinaryFormatsConfig {
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+    public static final String CBOR_VALUE = MediaType.APPLICATION_CBOR_VALUE;
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,39 @@
+package com.rafaelperez.tiendaonline.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuración de las alertas de stock bajo (tienda.alerts.low-stock.*)
+ *
+ * Umbral de un producto: el suyo (products.{id}), si no el de su vendedor
+ * (sellers.{id}), si no default-threshold.
+ * - Alerta abierta:  stock <= umbral
+ * - Alerta resuelta: stock > umbral + hysteresis (evita abrir/cerrar en cada venta)
+ */
+@Component
+@ConfigurationProperties(prefix = "tienda.alerts.low-stock")
+@Getter
+@Setter
+public class LowStockAlertProperties {
+    private boolean enabled = false;
+
+    private int defaultThreshold = 5;
+
+    // Unidades por encima del umbral necesarias para resolver la alerta
+    private int hysteresis = 5;
+
+    // Transiciones recientes que se conservan para GET /events
+    private int eventCapacity = 1000;
+
+    // ID de vendedor -> umbral
+    private Map<Long, Integer> sellers = new HashMap<>();
+
+    // ID de producto -> umbral
+    private Map<Long, Integer> products = new HashMap<>();
+}
@@ -0,0 +1,12 @@
+package com.rafaelperez.tiendaonline.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Registra los hints de la imagen nativa (se usan solo durante el procesamiento AOT)
+ */
+@Configuration
+@ImportRuntimeHints(NativeRuntimeHints.class)
+public class NativeConfig {
+}
@@ -0,0 +1,71 @@
+package com.rafaelperez.tiendaonline.config;
+
+import com.rafaelperez.tiendaonline.business.dto.CatalogItemDTO;
+import com.rafaelperez.tiendaonline.business.dto.ChangeEventDTO;
+import com.rafaelperez.tiendaonline.business.dto.ChangeFeedDTO;
+import com.rafaelperez.tiendaonline.business.dto.ImportJobDTO;
+import com.rafaelperez.tiendaonline.business.dto.InventoryValuationDTO;
+import com.rafaelperez.tiendaonline.business.dto.LowStockAlertDTO;
+import com.rafaelperez.tiendaonline.business.dto.LowStockAlertEventDTO;
+import com.rafaelperez.tiendaonline.business.dto.PricePercentilesDTO;
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.dto.ProductStockUpdateDTO;
+import com.rafaelperez.tiendaonline.business.dto.SellerDTO;
+import com.rafaelperez.tiendaonline.business.dto.StockDistributionDTO;
+import com.rafaelperez.tiendaonline.business.idempotency.IdempotentResponse;
+import com.rafaelperez.tiendaonline.persistenceLayer.entity.ProductEntity;
+import com.rafaelperez.tiendaonline.persistenceLayer.entity.SellerEntity;
+import com.rafaelperez.tiendaonline.presentationLayer.controller.OpenApiSpecController;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * Hints de reflexión para la imagen nativa de GraalVM (./gradlew nativeCompile)
+ *
+ * Spring AOT ya cubre los beans (incluidos los mappers de MapStruct), los tipos de
+ * @RequestBody/@ResponseBody y las entidades JPA. Aquí se registra lo que se usa por
+ * reflexión fuera de esos casos:
+ * - DTOs: Jackson los (de)serializa también desde el outbox, la caché JSON y el
+ *   almacén de idempotencia; springdoc lee sus @Schema
+ * - Entidades: Hibernate accede a campos y constructores por reflexión
+ * - Arrow: carga su gestor de memoria por nombre y lee Buffer.address
+ * - Recursos: la especificación OpenAPI generada en el build
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final List<Class<?>> JSON_TYPES = List.of(
+            ProductDTO.class, SellerDTO.class, CatalogItemDTO.class, ChangeEventDTO.class, ChangeFeedDTO.class,
+            ImportJobDTO.class, ProductStockUpdateDTO.class, InventoryValuationDTO.class,
+            InventoryValuationDTO.SellerValuation.class, StockDistributionDTO.class, StockDistributionDTO.Bucket.class,
+            PricePercentilesDTO.class, LowStockAlertDTO.class, LowStockAlertEventDTO.class,
+            IdempotentResponse.class);
+
+    static final List<Class<?>> ENTITY_TYPES = List.of(ProductEntity.class, SellerEntity.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> type : JSON_TYPES) {
+            hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+        for (Class<?> type : ENTITY_TYPES) {
+            hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+
+        hints.reflection().registerType(TypeReference.of("org.apache.arrow.memory.unsafe.DefaultAllocationManagerFactory"),
+                MemberCategory.DECLARED_FIELDS);
+        hints.reflection().registerType(TypeReference.of("java.nio.Buffer"),
+                builder -> builder.withField("address"));
+
+        hints.resources().registerPattern(OpenApiSpecController.SPEC_LOCATION);
+    }
+}
@@ -9,10 +9,13 @@ import io.swagger.v3.oas.annotations.servers.Server;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.security.SecurityScheme;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
     @Configuration  // Le dice a Spring que esta es una clase de configuración
+    // springdoc solo está en desarrollo y tests; en producción se sirve /openapi.json (OpenApiSpecController)
+    @ConditionalOnClass(name = "org.springdoc.core.configuration.SpringDocConfiguration")
     @OpenAPIDefinition(  // Define la información general de tu API
             info = @Info(
                     title = "Tienda Virtual API",  // Nombre que aparece en Swagger
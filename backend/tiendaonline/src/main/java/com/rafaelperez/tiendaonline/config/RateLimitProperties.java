@@ -0,0 +1,54 @@
+package com.rafaelperez.tiendaonline.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración del rate limiting por cliente (tienda.rate-limit.*)
+ *
+ * Cada regla aplica a unos métodos HTTP y una ruta:
+ * - "/api/v1/products"    -> solo esa ruta exacta
+ * - "/api/v1/products/**" -> la ruta y todo lo que cuelga de ella
+ * Gana la primera regla que coincide; sin regla, la petición no se limita.
+ */
+@Component
+@ConfigurationProperties(prefix = "tienda.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+    private boolean enabled = true;
+
+    // Header con la API key del partner; sin header (o con una clave desconocida) se usa la IP
+    private String apiKeyHeader = "X-API-Key";
+
+    // API keys de partners con bucket propio (secretas: se pasan por entorno, TIENDA_RATELIMIT_APIKEYS)
+    private List<String> apiKeys = new ArrayList<>();
+
+    // Header con la IP real que pone nginx (X-Real-IP); vacío = remoteAddr
+    private String clientIpHeader = "X-Real-IP";
+
+    // Proxies (IP o CIDR) a los que se les cree clientIpHeader; vacío = siempre remoteAddr
+    private List<String> trustedProxies = new ArrayList<>();
+
+    // Máximo de clientes con bucket propio por regla (el resto comparte uno)
+    private int maxClientsPerRule = 100000;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Rule {
+        // Métodos HTTP (vacío = todos)
+        private List<String> methods = new ArrayList<>();
+        private String path;
+        // Ráfaga máxima permitida
+        private int capacity;
+        // Peticiones por segundo sostenidas
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,13 @@
+package com.rafaelperez.tiendaonline.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita tareas programadas (@Scheduled)
+ * Usado por: compactación del outbox
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
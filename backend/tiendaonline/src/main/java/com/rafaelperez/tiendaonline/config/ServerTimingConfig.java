@@ -0,0 +1,24 @@
+package com.rafaelperez.tiendaonline.config;
+
+import com.rafaelperez.tiendaonline.business.timing.StatementCountingInspector;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de Server-Timing: conteo de sentencias SQL por petición
+ *
+ * NOTA: Con tienda.server-timing.enabled=false no se registra nada
+ * (ni filtro, ni aspecto, ni inspector)
+ */
+@Configuration
+@ConditionalOnProperty(name = "tienda.server-timing.enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountingInspector());
+    }
+}
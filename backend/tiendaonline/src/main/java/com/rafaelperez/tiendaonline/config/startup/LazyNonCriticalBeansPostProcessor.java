@@ -0,0 +1,63 @@
+package com.rafaelperez.tiendaonline.config.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Perfil "lazy": marca como lazy los beans que no hacen falta para atender tráfico
+ *
+ * NO CRÍTICOS: springdoc/swagger (la documentación se construye en la primera petición
+ * a /api-docs o /docs) y OpenApiConfig con sus @Bean
+ *
+ * NOTA: Un bean lazy del que depende uno eager se crea igual; por eso solo se marcan
+ * grupos completos (las rutas de springdoc se registran por nombre, sin instanciarlas)
+ */
+@Component
+@Profile("lazy")
+@Slf4j
+public class LazyNonCriticalBeansPostProcessor implements BeanFactoryPostProcessor {
+    static final List<String> NON_CRITICAL_PREFIXES = List.of("org.springdoc.", "io.swagger.");
+    static final List<String> NON_CRITICAL_BEANS = List.of("openApiConfig");
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        int marked = 0;
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.getRole() != BeanDefinition.ROLE_INFRASTRUCTURE && isNonCritical(name, definition)) {
+                definition.setLazyInit(true);
+                marked++;
+            }
+        }
+        log.info("Perfil lazy: {} beans no críticos se crearán al primer uso", marked);
+    }
+
+    static boolean isNonCritical(String name, BeanDefinition definition) {
+        // List.of(...).contains(null) lanza NPE: la mayoría de beans no tienen factoryBeanName
+        String factoryBeanName = definition.getFactoryBeanName();
+        return NON_CRITICAL_BEANS.contains(name)
+                || (factoryBeanName != null && NON_CRITICAL_BEANS.contains(factoryBeanName))
+                || startsWithAny(name)
+                || startsWithAny(definition.getBeanClassName())
+                || startsWithAny(factoryBeanName);
+    }
+
+    private static boolean startsWithAny(String value) {
+        if (value == null) {
+            return false;
+        }
+        for (String prefix : NON_CRITICAL_PREFIXES) {
+            if (value.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
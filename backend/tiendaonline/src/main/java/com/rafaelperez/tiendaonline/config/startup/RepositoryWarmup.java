@@ -0,0 +1,66 @@
+package com.rafaelperez.tiendaonline.config.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Perfil "lazy": calentamiento de repositorios DESPUÉS de aceptar tráfico
+ *
+ * Con spring.data.jpa.repositories.bootstrap-mode=lazy los repositorios (y sus consultas
+ * derivadas) se crean en su primer uso. Este componente los crea en segundo plano en
+ * cuanto la aplicación está lista, junto con una conexión del pool, para que la primera
+ * petición real no pague ese coste.
+ */
+@Component
+@Profile("lazy")
+@Slf4j
+public class RepositoryWarmup {
+    private final ListableBeanFactory beanFactory;
+    private final DataSource dataSource;
+    private final boolean enabled;
+
+    public RepositoryWarmup(ListableBeanFactory beanFactory,
+                            DataSource dataSource,
+                            @Value("${tienda.startup.warmup.enabled:true}") boolean enabled) {
+        this.beanFactory = beanFactory;
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+    }
+
+    @EventListener
+    public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+        if (enabled && event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+            Thread.ofVirtual().name("repository-warmup").start(this::warmUp);
+        }
+    }
+
+    void warmUp() {
+        long start = System.currentTimeMillis();
+        // allowEagerInit=false: obtener los nombres no crea ningún bean
+        String[] repositories = beanFactory.getBeanNamesForType(Repository.class, true, false);
+        for (String name : repositories) {
+            try {
+                beanFactory.getBean(name);
+            } catch (RuntimeException e) {
+                log.warn("No se pudo inicializar el repositorio {}: {}", name, e.getMessage());
+            }
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            connection.isValid(1);
+        } catch (Exception e) {
+            log.warn("No se pudo abrir la conexión de calentamiento: {}", e.getMessage());
+        }
+        log.info("Calentamiento tras readiness: {} repositorios en {} ms",
+                repositories.length, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,149 @@
+package com.rafaelperez.tiendaonline.config.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rafaelperez.tiendaonline.business.dto.StartupReportDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Análisis de la línea de tiempo del arranque (BufferingApplicationStartup)
+ *
+ * FLUJO (en ApplicationReadyEvent):
+ * 1. Leer los pasos registrados (sin vaciar el buffer: /actuator/startup sigue disponible)
+ * 2. Tiempo propio de cada bean = su duración - la de los pasos hijos
+ *    (las dependencias se crean anidadas dentro del bean que las pide)
+ * 3. JPA = creación de entityManagerFactory; OpenAPI = beans de springdoc/swagger
+ * 4. Registrar los más lentos en el log y, si tienda.startup.dump-file está definido,
+ *    escribir el resumen en JSON
+ *
+ * NOTA: Sin BufferingApplicationStartup (tests, otro main) no hay informe
+ */
+@Component
+@Slf4j
+public class StartupReport {
+    static final String BEAN_STEP = "spring.beans.instantiate";
+    static final String JPA_BEAN = "entityManagerFactory";
+    static final Pattern OPENAPI_BEAN = Pattern.compile("(?i).*(springdoc|swagger|openapi).*");
+
+    private final ObjectProvider<BufferingApplicationStartup> applicationStartup;
+    private final ObjectMapper objectMapper;
+    private final int topBeans;
+    private final String dumpFile;
+
+    private volatile StartupReportDTO report;
+
+    public StartupReport(ObjectProvider<BufferingApplicationStartup> applicationStartup,
+                         ObjectMapper objectMapper,
+                         @Value("${tienda.startup.top-beans:20}") int topBeans,
+                         @Value("${tienda.startup.dump-file:}") String dumpFile) {
+        this.applicationStartup = applicationStartup;
+        this.objectMapper = objectMapper;
+        this.topBeans = topBeans;
+        this.dumpFile = dumpFile;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        BufferingApplicationStartup startup = applicationStartup.getIfAvailable();
+        if (startup == null) {
+            return;
+        }
+        Duration ready = event.getTimeTaken() != null ? event.getTimeTaken() : Duration.ZERO;
+        report = analyze(startup.getBufferedTimeline(), ready, topBeans);
+
+        log.info("Arranque listo en {} ms (JPA {} ms, OpenAPI {} ms, {} pasos)", report.getReadyMillis(),
+                report.getJpaBootstrapMillis(), report.getOpenApiMillis(), report.getRecordedSteps());
+        report.getSlowestBeans().stream().limit(5).forEach(bean ->
+                log.info("  bean lento: {} - {} ms propios ({} ms total)",
+                        bean.getBeanName(), bean.getSelfMillis(), bean.getTotalMillis()));
+        writeDump();
+    }
+
+    public Optional<StartupReportDTO> getReport() {
+        return Optional.ofNullable(report);
+    }
+
+    /**
+     * Resumir una línea de tiempo (estático para poder probarlo con pasos sintéticos)
+     */
+    static StartupReportDTO analyze(StartupTimeline timeline, Duration ready, int topBeans) {
+        List<StartupTimeline.TimelineEvent> events = timeline.getEvents();
+        Map<Long, Long> childNanos = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            Long parentId = event.getStartupStep().getParentId();
+            if (parentId != null) {
+                childNanos.merge(parentId, event.getDuration().toNanos(), Long::sum);
+            }
+        }
+
+        List<StartupReportDTO.BeanTiming> beans = new ArrayList<>();
+        long jpaNanos = 0;
+        long openApiNanos = 0;
+        for (StartupTimeline.TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            if (!BEAN_STEP.equals(step.getName())) {
+                continue;
+            }
+            String beanName = tag(step, "beanName");
+            long total = event.getDuration().toNanos();
+            long self = Math.max(0, total - childNanos.getOrDefault(step.getId(), 0L));
+            beans.add(new StartupReportDTO.BeanTiming(beanName, Duration.ofNanos(self).toMillis(),
+                    Duration.ofNanos(total).toMillis()));
+            if (JPA_BEAN.equals(beanName)) {
+                jpaNanos = total;
+            }
+            if (beanName != null && OPENAPI_BEAN.matcher(beanName).matches()) {
+                openApiNanos += self;
+            }
+        }
+        beans.sort(Comparator.comparingLong(StartupReportDTO.BeanTiming::getSelfMillis).reversed());
+
+        return new StartupReportDTO(ready.toMillis(), Duration.ofNanos(jpaNanos).toMillis(),
+                Duration.ofNanos(openApiNanos).toMillis(), events.size(),
+                List.copyOf(beans.subList(0, Math.min(topBeans, beans.size()))));
+    }
+
+    private static String tag(StartupStep step, String key) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (key.equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void writeDump() {
+        if (dumpFile.isBlank()) {
+            return;
+        }
+        try {
+            Path path = Path.of(dumpFile);
+            if (path.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            }
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+            log.info("Informe de arranque escrito en {}", path.toAbsolutePath());
+        } catch (IOException e) {
+            log.warn("No se pudo escribir el informe de arranque en {}: {}", dumpFile, e.getMessage());
+        }
+    }
+}
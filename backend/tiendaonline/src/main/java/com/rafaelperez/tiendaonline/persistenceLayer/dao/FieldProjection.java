@@ -0,0 +1,75 @@
+package com.rafaelperez.tiendaonline.persistenceLayer.dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consultas con proyección de columnas para ?fields= (Criteria API, resultado Tuple)
+ *
+ * FLUJO:
+ * 1. Cada campo del DTO se traduce a una ruta de la entidad (p. ej. sellerId -> sellerEntity.id)
+ * 2. SELECT solo de esas columnas (sin cargar entidades ni el contexto de persistencia)
+ * 3. Cada fila -> Map campo -> valor en el orden pedido (Jackson lo serializa como el DTO)
+ *
+ * NOTA: sellerEntity.id se resuelve con la FK de la tabla, sin JOIN
+ */
+final class FieldProjection {
+
+    private FieldProjection() {
+    }
+
+    /**
+     * @param paths  campo del DTO -> ruta de atributos de la entidad (separada por puntos)
+     * @param fields campos ya validados (FieldSelection)
+     * @param id     null = todas las filas; si no, solo la fila con ese ID
+     */
+    static <E> List<Map<String, Object>> select(EntityManager entityManager, Class<E> entityType,
+                                                 Map<String, String> paths, List<String> fields, Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entityType);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            String path = paths.get(field);
+            if (path == null) {
+                throw new IllegalArgumentException("Campo sin columna asociada: " + field);
+            }
+            selections.add(resolve(root, path).alias(field));
+        }
+        query.multiselect(selections);
+        if (id != null) {
+            query.where(cb.equal(root.get("id"), id));
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String field : fields) {
+                values.put(field, row.get(field));
+            }
+            result.add(values);
+        }
+        return result;
+    }
+
+    private static Path<?> resolve(Root<?> root, String path) {
+        Path<?> current = root;
+        for (String attribute : path.split("\\.")) {
+            current = current.get(attribute);
+        }
+        return current;
+    }
+}
@@ -0,0 +1,73 @@
+package com.rafaelperez.tiendaonline.persistenceLayer.dao;
+
+import com.rafaelperez.tiendaonline.persistenceLayer.entity.IdempotencyKeyEntity;
+import com.rafaelperez.tiendaonline.persistenceLayer.repository.IdempotencyKeyRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyDAO {
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * CREATE - Reservar una clave (INSERT puro, sin merge)
+     *
+     * NOTA: persist + flush en transacción propia -> si la clave ya existe,
+     * la violación de PK se lanza aquí (DataIntegrityViolationException)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void insertReservation(String key, String fingerprint, LocalDateTime expiresAt) {
+        entityManager.persist(new IdempotencyKeyEntity(key, fingerprint, "IN_PROGRESS", null, null, null, null, expiresAt));
+        entityManager.flush();
+    }
+
+    /**
+     * READ - Buscar clave
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public Optional<IdempotencyKeyEntity> findByKey(String key) {
+        return idempotencyKeyRepository.findById(key);
+    }
+
+    /**
+     * UPDATE - Guardar la respuesta de una clave reservada
+     *
+     * NOTA: expiresAt pasa del lease de IN_PROGRESS al TTL de la respuesta guardada
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void complete(String key, int status, String contentType, String location, byte[] body,
+                         LocalDateTime expiresAt) {
+        idempotencyKeyRepository.findById(key).ifPresent(entity -> {
+            entity.setStatus("COMPLETED");
+            entity.setResponseStatus(status);
+            entity.setContentType(contentType);
+            entity.setLocation(location);
+            entity.setBody(body);
+            entity.setExpiresAt(expiresAt);
+        });
+    }
+
+    /**
+     * DELETE - Liberar clave
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void deleteByKey(String key) {
+        idempotencyKeyRepository.deleteById(key);
+    }
+
+    /**
+     * DELETE - Purgar claves expiradas
+     */
+    @Transactional
+    public int deleteExpired() {
+        return idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,179 @@
+package com.rafaelperez.tiendaonline.persistenceLayer.dao;
+
+import com.rafaelperez.tiendaonline.business.dto.ImportJobDTO;
+import com.rafaelperez.tiendaonline.persistenceLayer.entity.ImportJobEntity;
+import com.rafaelperez.tiendaonline.persistenceLayer.mapper.ImportJobMapper;
+import com.rafaelperez.tiendaonline.persistenceLayer.repository.ImportJobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Repository
+@RequiredArgsConstructor
+public class ImportJobDAO {
+    // Máximo de errores por fila que se guardan (muestra para diagnóstico)
+    private static final int MAX_STORED_ERRORS = 50;
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobMapper importJobMapper;
+
+    /**
+     * CREATE - Registrar un nuevo trabajo en estado PENDING, ya con dueño y lease
+     */
+    public ImportJobDTO create(String originalFileName, String filePath, Long sellerId, int chunkSize,
+                               String ownerNode, LocalDateTime leaseExpiresAt) {
+        LocalDateTime now = LocalDateTime.now();
+        ImportJobEntity entity = new ImportJobEntity(null, originalFileName, filePath, sellerId, chunkSize,
+                "PENDING", null, 0L, 0L, 0L, null, null, ownerNode, leaseExpiresAt, now, now);
+        return importJobMapper.toDTO(importJobRepository.save(entity));
+    }
+
+    /**
+     * READ - Buscar trabajo por ID
+     */
+    public Optional<ImportJobDTO> findById(Long id) {
+        return importJobRepository.findById(id)
+                .map(importJobMapper::toDTO);
+    }
+
+    /**
+     * READ - Trabajos en alguno de los estados dados
+     */
+    public List<ImportJobDTO> findByStatusIn(Collection<String> statuses) {
+        return importJobMapper.toDTOList(importJobRepository.findByStatusIn(statuses));
+    }
+
+    /**
+     * READ - Trabajos en un estado sin cambios desde la fecha de corte
+     */
+    public List<ImportJobDTO> findByStatusUpdatedBefore(String status, LocalDateTime cutoff) {
+        return importJobMapper.toDTOList(importJobRepository.findByStatusAndUpdatedAtBefore(status, cutoff));
+    }
+
+    /**
+     * UPDATE - Tomar un trabajo FAILED para reanudarlo en este nodo (pasa a PENDING)
+     *
+     * @return false si otro nodo lo tomó antes o ya no está FAILED
+     */
+    @Transactional
+    public boolean claim(Long id, String ownerNode, LocalDateTime leaseExpiresAt) {
+        return importJobRepository.claimFailed(id, ownerNode, leaseExpiresAt, LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * UPDATE - Renovar el lease de un trabajo PENDING/RUNNING de este nodo
+     *
+     * @return false si el trabajo ya no es de este nodo (lease vencido y tomado por otro)
+     */
+    @Transactional
+    public boolean renewLease(Long id, String ownerNode, LocalDateTime leaseExpiresAt) {
+        return importJobRepository.renewLease(id, ownerNode, leaseExpiresAt) == 1;
+    }
+
+    /**
+     * UPDATE - Marcar FAILED un trabajo PENDING/RUNNING abandonado
+     *
+     * @param restartedNode nodo recién arrancado (sus trabajos se interrumpieron); null = solo leases vencidos
+     * @return true si se marcó
+     */
+    @Transactional
+    public boolean failIfAbandoned(Long id, String restartedNode, String errorMessage) {
+        return importJobRepository.failIfAbandoned(id, restartedNode, LocalDateTime.now(), errorMessage) == 1;
+    }
+
+    /**
+     * UPDATE - Cambiar estado de un trabajo que sigue siendo de este nodo
+     *
+     * NOTA: Fila bloqueada durante la comprobación; si el lease se perdió (otro nodo
+     * lo marcó FAILED o lo reanudó) no se toca y devuelve false
+     */
+    @Transactional
+    public boolean updateOwnedStatus(Long id, String ownerNode, String status, Long totalRows, String errorMessage) {
+        return modifyOwned(id, ownerNode, entity -> {
+            entity.setStatus(status);
+            if (totalRows != null) {
+                entity.setTotalRows(totalRows);
+            }
+            entity.setErrorMessage(errorMessage);
+        });
+    }
+
+    /**
+     * UPDATE - Cambiar estado (y opcionalmente total de filas / mensaje de error)
+     */
+    public void updateStatus(Long id, String status, Long totalRows, String errorMessage) {
+        modify(id, entity -> {
+            entity.setStatus(status);
+            if (totalRows != null) {
+                entity.setTotalRows(totalRows);
+            }
+            entity.setErrorMessage(errorMessage);
+        });
+    }
+
+    /**
+     * UPDATE - Registrar el progreso de un chunk confirmado
+     *
+     * NOTA: Debe llamarse en la misma transacción que inserta los productos del chunk.
+     * La fila del trabajo queda bloqueada hasta el commit: si ya no es de este nodo
+     * lanza IllegalStateException y el chunk entero se revierte (sin filas duplicadas)
+     */
+    @Transactional
+    public void recordChunk(Long id, String ownerNode, int rows, int imported, List<String> rowErrors) {
+        boolean owned = modifyOwned(id, ownerNode, entity -> {
+            entity.setCommittedRows(entity.getCommittedRows() + rows);
+            entity.setImportedRows(entity.getImportedRows() + imported);
+            entity.setFailedRows(entity.getFailedRows() + rowErrors.size());
+            entity.setErrors(appendErrors(entity.getErrors(), rowErrors));
+        });
+        if (!owned) {
+            throw new IllegalStateException("La importación ID: " + id + " ya no pertenece al nodo " + ownerNode);
+        }
+    }
+
+    private void modify(Long id, Consumer<ImportJobEntity> change) {
+        ImportJobEntity entity = importJobRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Importación no encontrada con ID: " + id));
+        change.accept(entity);
+        entity.setUpdatedAt(LocalDateTime.now());
+        importJobRepository.save(entity);
+    }
+
+    private boolean modifyOwned(Long id, String ownerNode, Consumer<ImportJobEntity> change) {
+        ImportJobEntity entity = importJobRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new RuntimeException("Importación no encontrada con ID: " + id));
+        boolean active = "PENDING".equals(entity.getStatus()) || "RUNNING".equals(entity.getStatus());
+        if (!active || !ownerNode.equals(entity.getOwnerNode())) {
+            return false;
+        }
+        change.accept(entity);
+        entity.setUpdatedAt(LocalDateTime.now());
+        importJobRepository.save(entity);
+        return true;
+    }
+
+    private static String appendErrors(String stored, List<String> rowErrors) {
+        if (rowErrors.isEmpty()) {
+            return stored;
+        }
+        int count = stored == null || stored.isEmpty() ? 0 : stored.split("\n").length;
+        StringBuilder sb = new StringBuilder(stored == null ? "" : stored);
+        for (String error : rowErrors) {
+            if (count >= MAX_STORED_ERRORS) {
+                break;
+            }
+            if (sb.length() > 0) {
+                sb.append('\n');
+            }
+            sb.append(error.replace('\n', ' '));
+            count++;
+        }
+        return sb.toString();
+    }
+}
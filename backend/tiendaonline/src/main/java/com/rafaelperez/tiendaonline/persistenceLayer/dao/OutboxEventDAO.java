@@ -0,0 +1,68 @@
+package com.rafaelperez.tiendaonline.persistenceLayer.dao;
+
+import com.rafaelperez.tiendaonline.business.dto.ChangeEventDTO;
+import com.rafaelperez.tiendaonline.persistenceLayer.entity.OutboxEventEntity;
+import com.rafaelperez.tiendaonline.persistenceLayer.mapper.OutboxEventMapper;
+import com.rafaelperez.tiendaonline.persistenceLayer.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxEventDAO {
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventMapper outboxEventMapper;
+
+    /**
+     * CREATE - Agregar un evento al outbox
+     *
+     * NOTA: Debe llamarse dentro de la transacción de la escritura original,
+     * así el evento existe si y solo si el cambio se confirmó
+     *
+     * @return cursor asignado al evento
+     */
+    public Long append(String aggregateType, Long aggregateId, String eventType, String payload) {
+        OutboxEventEntity entity = new OutboxEventEntity(
+                null, aggregateType, aggregateId, eventType, payload, LocalDateTime.now());
+        return outboxEventRepository.save(entity).getId();
+    }
+
+    /**
+     * READ - Eventos con cursor mayor a 'since', ordenados por cursor
+     */
+    public List<ChangeEventDTO> findSince(Long since, int limit) {
+        List<OutboxEventEntity> entities =
+                outboxEventRepository.findByIdGreaterThanOrderByIdAsc(since, PageRequest.of(0, limit));
+        return outboxEventMapper.toDTOList(entities);
+    }
+
+    /**
+     * READ - Eventos con los cursores indicados (los que no existen se omiten)
+     */
+    public List<ChangeEventDTO> findByCursors(Collection<Long> cursors) {
+        return outboxEventMapper.toDTOList(outboxEventRepository.findByIdInOrderByIdAsc(cursors));
+    }
+
+    /**
+     * READ - Cursor del último evento (0 si el outbox está vacío)
+     */
+    public Long findLatestCursor() {
+        return outboxEventRepository.findTopByOrderByIdDesc()
+                .map(OutboxEventEntity::getId)
+                .orElse(0L);
+    }
+
+    /**
+     * DELETE - Compactar eventos anteriores a la fecha de corte
+     *
+     * @return cantidad de eventos eliminados
+     */
+    public int deleteOlderThan(LocalDateTime cutoff) {
+        return outboxEventRepository.deleteCreatedBefore(cutoff);
+    }
+}
@@ -1,20 +1,54 @@
 package com.rafaelperez.tiendaonline.persistenceLayer.dao;
 
+import com.rafaelperez.tiendaonline.business.concurrency.SingleFlight;
 import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
 import com.rafaelperez.tiendaonline.persistenceLayer.entity.ProductEntity;
 import com.rafaelperez.tiendaonline.persistenceLayer.mapper.ProductMapper;
 import com.rafaelperez.tiendaonline.persistenceLayer.repository.ProductRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
-@RequiredArgsConstructor
 public class ProductDAO {
+    // Campo de ProductDTO -> atributo de ProductEntity (proyecciones ?fields=)
+    static final Map<String, String> PROJECTION_PATHS = Map.of(
+            "id", "id",
+            "name", "name",
+            "description", "description",
+            "price", "price",
+            "stock", "stock",
+            "sellerId", "sellerEntity.id",
+            "createdAt", "createdAt",
+            "updatedAt", "updatedAt");
+
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final EntityManager entityManager;
+    private final SingleFlight<Long, Optional<ProductDTO>> findByIdFlight;
+    private final boolean coalescingEnabled;
+
+    public ProductDAO(ProductRepository productRepository,
+                      ProductMapper productMapper,
+                      EntityManager entityManager,
+                      MeterRegistry meterRegistry,
+                      @Value("${tienda.singleflight.enabled:true}") boolean coalescingEnabled,
+                      @Value("${tienda.singleflight.timeout:PT2S}") Duration coalescingTimeout) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.entityManager = entityManager;
+        this.coalescingEnabled = coalescingEnabled;
+        this.findByIdFlight = new SingleFlight<>("product.findById", coalescingTimeout, meterRegistry);
+    }
 
     /**
      * CREATE - Crear un nuevo producto
@@ -35,25 +69,82 @@ public class ProductDAO {
         return productMapper.toDTO(savedEntity);
     }
 
+    /**
+     * CREATE BATCH - Crear varios productos en la transacción actual
+     *
+     * Usado por la importación CSV (un chunk por transacción)
+     */
+    public List<ProductDTO> saveAll(List<ProductDTO> productDTOs) {
+        List<ProductEntity> entities = productDTOs.stream()
+                .map(productMapper::toEntity)
+                .toList();
+        return productMapper.toDTOList(productRepository.saveAll(entities));
+    }
+
     /**
      * READ - Buscar producto por ID
      *
+     * NOTA: Lecturas concurrentes del mismo ID fuera de una transacción comparten
+     * un único SELECT (SingleFlight). Dentro de una transacción se consulta
+     * directamente para respetar su aislamiento.
+     *
      * @return Optional<ProductDTO> - empty si no existe
      */
     public Optional<ProductDTO> findById(Long id) {
-        return productRepository.findById(id)
-                .map(productMapper::toDTO);
+        if (!coalescingEnabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loadById(id);
+        }
+        return findByIdFlight.execute(id, () -> loadById(id));
+    }
+
+    private Optional<ProductDTO> loadById(Long id) {
+        return productRepository.findDtoById(id);
     }
 
     /**
      * READ ALL - Buscar todos los productos
      *
-     * NOTA: Lista completa de products -> DTOs
+     * NOTA: Lista completa de products -> DTOs (proyección, sin entidades gestionadas)
      * En aplicaciones grandes considerar paginación
      */
     public List<ProductDTO> findAll() {
-        List<ProductEntity> entities = productRepository.findAll();
-        return productMapper.toDTOList(entities);
+        return productRepository.findAllDtos();
+    }
+
+    /**
+     * READ PAGE - Productos con ID mayor a 'afterId', ordenados por ID
+     *
+     * USO: recorrer el catálogo completo por páginas sin cargarlo entero en memoria
+     */
+    public List<ProductDTO> findPageAfter(Long afterId, int size) {
+        return productRepository.findDtoPageAfter(afterId, PageRequest.of(0, size));
+    }
+
+    /**
+     * READ PROJECTION - Todos los productos, solo con los campos pedidos (?fields=)
+     *
+     * NOTA: El SELECT lee únicamente esas columnas (p. ej. sin description)
+     */
+    public List<Map<String, Object>> findAllFields(List<String> fields) {
+        return FieldProjection.select(entityManager, ProductEntity.class, PROJECTION_PATHS, fields, null);
+    }
+
+    /**
+     * READ PROJECTION - Un producto, solo con los campos pedidos (?fields=)
+     */
+    public Optional<Map<String, Object>> findFieldsById(Long id, List<String> fields) {
+        return FieldProjection.select(entityManager, ProductEntity.class, PROJECTION_PATHS, fields, id)
+                .stream().findFirst();
+    }
+
+    /**
+     * READ BATCH - Buscar varios productos por ID en una sola consulta
+     *
+     * NOTA: Genera un único SELECT ... WHERE id IN (...)
+     * El orden del resultado no está garantizado
+     */
+    public List<ProductDTO> findAllById(Collection<Long> ids) {
+        return productRepository.findDtosByIdIn(ids);
     }
 
     /**
@@ -70,6 +161,8 @@ public class ProductDAO {
      * - Campos null en ProductDTO se ignoran (IGNORE strategy)
      * - sellerId se ignora (no se puede cambiar vendedor)
      * - id, timestamps se ignoran automáticamente
+     * - La entidad se carga sin description (LAZY): solo se lee al construir
+     *   la respuesta si el DTO no la trae, y el flush escribe las columnas modificadas
      */
     public Optional<ProductDTO> update(Long id, ProductDTO productDTO) {
         return productRepository.findById(id)
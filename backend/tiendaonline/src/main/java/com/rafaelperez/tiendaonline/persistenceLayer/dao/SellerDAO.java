@@ -1,20 +1,64 @@
 package com.rafaelperez.tiendaonline.persistenceLayer.dao;
 
+import com.rafaelperez.tiendaonline.business.concurrency.BatchLoader;
 import com.rafaelperez.tiendaonline.business.dto.SellerDTO;
 import com.rafaelperez.tiendaonline.persistenceLayer.entity.SellerEntity;
 import com.rafaelperez.tiendaonline.persistenceLayer.mapper.SellerMapper;
 import com.rafaelperez.tiendaonline.persistenceLayer.repository.SellerRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
-@RequiredArgsConstructor
 public class SellerDAO {
+    // Campo de SellerDTO -> atributo de SellerEntity (proyecciones ?fields=)
+    static final Map<String, String> PROJECTION_PATHS = Map.of(
+            "id", "id",
+            "name", "name",
+            "email", "email",
+            "phone", "phone",
+            "address", "address",
+            "createdAt", "createdAt",
+            "updatedAt", "updatedAt");
+
     private final SellerRepository sellerRepository;
     private final SellerMapper sellerMapper;
+    private final EntityManager entityManager;
+    private final BatchLoader<Long, SellerDTO> findByIdLoader;
+    private final boolean batchingEnabled;
+
+    public SellerDAO(SellerRepository sellerRepository,
+                     SellerMapper sellerMapper,
+                     EntityManager entityManager,
+                     MeterRegistry meterRegistry,
+                     @Value("${tienda.batch.seller.enabled:true}") boolean batchingEnabled,
+                     @Value("${tienda.batch.seller.window:PT0.002S}") Duration window,
+                     @Value("${tienda.batch.seller.max-size:100}") int maxBatchSize,
+                     @Value("${tienda.batch.seller.timeout:PT2S}") Duration timeout) {
+        this.sellerRepository = sellerRepository;
+        this.sellerMapper = sellerMapper;
+        this.entityManager = entityManager;
+        this.batchingEnabled = batchingEnabled;
+        this.findByIdLoader = new BatchLoader<>("seller.findById", this::findAllByIdAsMap,
+                maxBatchSize, window, timeout, meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        findByIdLoader.close();
+    }
 
     /**
      * CREATE - Crear un nuevo vendedor
@@ -38,11 +82,31 @@ public class SellerDAO {
     /**
      * READ - Buscar vendedor por ID
      *
+     * NOTA: Fuera de una transacción, las búsquedas concurrentes se agrupan en
+     * ventanas de pocos ms y se resuelven con un único SELECT ... WHERE id IN (...).
+     * Dentro de una transacción se consulta directamente: esa petición ya retiene
+     * una conexión y esperar al lote (que necesita otra) podría agotar el pool.
+     * Por eso los servicios que escriben verifican el vendedor antes de abrir su
+     * transacción (ProductServiceImpl.createProduct).
+     *
      * @return Optional<SellerDTO> - empty si no existe
      */
     public Optional<SellerDTO> findById(Long id) {
-        return sellerRepository.findById(id)
-                .map(sellerMapper::toDTO);
+        if (!batchingEnabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return sellerRepository.findById(id)
+                    .map(sellerMapper::toDTO);
+        }
+        return Optional.ofNullable(findByIdLoader.load(id));
+    }
+
+    /**
+     * READ BATCH - Buscar varios vendedores por ID en una sola consulta
+     *
+     * @return Map id -> SellerDTO (los IDs inexistentes no aparecen)
+     */
+    public Map<Long, SellerDTO> findAllByIdAsMap(Collection<Long> ids) {
+        return sellerMapper.toDTOList(sellerRepository.findAllById(ids)).stream()
+                .collect(Collectors.toMap(SellerDTO::getId, Function.identity()));
     }
 
     /**
@@ -55,6 +119,31 @@ public class SellerDAO {
         return sellerMapper.toDTOList(entities);
     }
 
+    /**
+     * READ PAGE - Vendedores con ID mayor a 'afterId', ordenados por ID
+     *
+     * USO: recorrer todos los vendedores por páginas sin cargarlos enteros en memoria
+     */
+    public List<SellerDTO> findPageAfter(Long afterId, int size) {
+        return sellerMapper.toDTOList(
+                sellerRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, size)));
+    }
+
+    /**
+     * READ PROJECTION - Todos los vendedores, solo con los campos pedidos (?fields=)
+     */
+    public List<Map<String, Object>> findAllFields(List<String> fields) {
+        return FieldProjection.select(entityManager, SellerEntity.class, PROJECTION_PATHS, fields, null);
+    }
+
+    /**
+     * READ PROJECTION - Un vendedor, solo con los campos pedidos (?fields=)
+     */
+    public Optional<Map<String, Object>> findFieldsById(Long id, List<String> fields) {
+        return FieldProjection.select(entityManager, SellerEntity.class, PROJECTION_PATHS, fields, id)
+                .stream().findFirst();
+    }
+
     /**
      * UPDATE - Actualizar vendedor existente usando @MappingTarget
      *
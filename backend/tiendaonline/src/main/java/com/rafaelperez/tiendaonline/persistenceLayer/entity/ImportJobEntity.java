@@ -0,0 +1,80 @@
+package com.rafaelperez.tiendaonline.persistenceLayer.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa la tabla product_import_jobs
+ *
+ * Guarda el progreso de una importación CSV. committedRows se actualiza en la
+ * MISMA transacción que cada chunk de productos, así es el punto exacto desde
+ * el cual reanudar una importación fallida.
+ */
+@Entity
+@Table(name = "product_import_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "original_file_name")
+    private String originalFileName;
+
+    // Ruta del CSV subido (local al nodo que lo recibió, salvo storage-dir compartido)
+    @Column(name = "file_path", nullable = false, length = 500)
+    private String filePath;
+
+    // Vendedor por defecto para filas sin columna sellerId
+    @Column(name = "seller_id")
+    private Long sellerId;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    // PENDING, RUNNING, COMPLETED, FAILED, EXPIRED
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "total_rows")
+    private Long totalRows;
+
+    @Column(name = "committed_rows", nullable = false)
+    private Long committedRows;
+
+    @Column(name = "imported_rows", nullable = false)
+    private Long importedRows;
+
+    @Column(name = "failed_rows", nullable = false)
+    private Long failedRows;
+
+    // Muestra de errores por fila, uno por línea
+    @Lob
+    @Column(columnDefinition = "TEXT")
+    private String errors;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    // Nodo que ejecuta el trabajo (tienda.import.node-id); solo él confirma chunks
+    @Column(name = "owner_node", length = 100)
+    private String ownerNode;
+
+    // Vencimiento del lease del dueño: lo renueva su heartbeat mientras el trabajo
+    // está PENDING/RUNNING; vencido, cualquier nodo puede marcarlo FAILED
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,49 @@
+package com.rafaelperez.tiendaonline.persistenceLayer.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa la tabla catalog_outbox
+ *
+ * Cada fila es un cambio (CREATED/UPDATED/DELETED) de un producto o vendedor,
+ * insertado en la MISMA transacción que la escritura que lo originó.
+ * El id (autoincremental) es el cursor del change feed.
+ */
+@Entity
+@Table(
+        name = "catalog_outbox",
+        indexes = @Index(name = "idx_catalog_outbox_created_at", columnList = "created_at")
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // PRODUCT o SELLER
+    @Column(name = "aggregate_type", nullable = false, length = 20)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    // CREATED, UPDATED o DELETED
+    @Column(name = "event_type", nullable = false, length = 20)
+    private String eventType;
+
+    // JSON del DTO después del cambio (null en DELETED)
+    @Lob
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -3,11 +3,21 @@ package com.rafaelperez.tiendaonline.persistenceLayer.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * Entidad que representa la tabla products
+ *
+ * NOTA:
+ * - description es LAZY (requiere la mejora de bytecode de Hibernate, ver build.gradle):
+ *   se lee con un SELECT propio la primera vez que se accede a ella
+ * - Las lecturas a DTO no cargan la entidad (ProductRepository.DTO_SELECT)
+ */
 @Entity
 @Table(name = "products")
 @Data
@@ -21,6 +31,10 @@ public class ProductEntity {
 
     private String name;
 
+    // Fuera de toString/equals/hashCode para no forzar su carga
+    @Basic(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String description;
 
     private BigDecimal price;
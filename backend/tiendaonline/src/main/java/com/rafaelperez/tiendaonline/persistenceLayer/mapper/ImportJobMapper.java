@@ -0,0 +1,49 @@
+package com.rafaelperez.tiendaonline.persistenceLayer.mapper;
+
+import com.rafaelperez.tiendaonline.business.dto.ImportJobDTO;
+import com.rafaelperez.tiendaonline.persistenceLayer.entity.ImportJobEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mapper de trabajos de importación -> DTO de estado
+ * Solo lectura: las entities se modifican en ImportJobDAO
+ */
+@Mapper(
+        componentModel = "spring",
+        unmappedTargetPolicy = ReportingPolicy.WARN
+)
+public interface ImportJobMapper {
+
+    @Mapping(target = "remainingRows", expression = "java(remainingRows(entity))")
+    @Mapping(target = "errors", source = "errors", qualifiedByName = "splitErrors")
+    ImportJobDTO toDTO(ImportJobEntity entity);
+
+    List<ImportJobDTO> toDTOList(List<ImportJobEntity> entities);
+
+    /**
+     * Método auxiliar: filas pendientes (null mientras no se conoce el total)
+     */
+    default Long remainingRows(ImportJobEntity entity) {
+        if (entity.getTotalRows() == null) {
+            return null;
+        }
+        return Math.max(0, entity.getTotalRows() - entity.getCommittedRows());
+    }
+
+    /**
+     * Método auxiliar: errores guardados uno por línea -> lista
+     */
+    @Named("splitErrors")
+    default List<String> splitErrors(String errors) {
+        if (errors == null || errors.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.asList(errors.split("\n"));
+    }
+}
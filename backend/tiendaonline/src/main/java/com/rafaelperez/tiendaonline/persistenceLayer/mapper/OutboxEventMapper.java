@@ -0,0 +1,30 @@
+package com.rafaelperez.tiendaonline.persistenceLayer.mapper;
+
+import com.rafaelperez.tiendaonline.business.dto.ChangeEventDTO;
+import com.rafaelperez.tiendaonline.persistenceLayer.entity.OutboxEventEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+/**
+ * Mapper de eventos del outbox -> DTO del change feed
+ * Solo lectura: los eventos se crean en OutboxEventDAO.append()
+ */
+@Mapper(
+        componentModel = "spring",
+        unmappedTargetPolicy = ReportingPolicy.WARN
+)
+public interface OutboxEventMapper {
+
+    @Mapping(target = "cursor", source = "id")
+    @Mapping(target = "aggregateType", source = "aggregateType")
+    @Mapping(target = "aggregateId", source = "aggregateId")
+    @Mapping(target = "eventType", source = "eventType")
+    @Mapping(target = "payload", source = "payload")
+    @Mapping(target = "createdAt", source = "createdAt")
+    ChangeEventDTO toDTO(OutboxEventEntity entity);
+
+    List<ChangeEventDTO> toDTOList(List<OutboxEventEntity> entities);
+}
@@ -0,0 +1,52 @@
+package com.rafaelperez.tiendaonline.persistenceLayer.repository;
+
+import com.rafaelperez.tiendaonline.persistenceLayer.entity.ImportJobEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio para los trabajos de importación CSV
+ */
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJobEntity, Long> {
+
+    List<ImportJobEntity> findByStatusIn(Collection<String> statuses);
+
+    List<ImportJobEntity> findByStatusAndUpdatedAtBefore(String status, LocalDateTime cutoff);
+
+    // Fila bloqueada hasta el fin de la transacción (cambios que exigen ser el dueño)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM ImportJobEntity j WHERE j.id = :id")
+    Optional<ImportJobEntity> findByIdForUpdate(@Param("id") Long id);
+
+    // Reanudar: solo un nodo consigue pasar el trabajo de FAILED a PENDING
+    @Modifying
+    @Query("UPDATE ImportJobEntity j SET j.status = 'PENDING', j.ownerNode = :owner, j.leaseExpiresAt = :lease, "
+            + "j.errorMessage = NULL, j.updatedAt = :now WHERE j.id = :id AND j.status = 'FAILED'")
+    int claimFailed(@Param("id") Long id, @Param("owner") String owner,
+                    @Param("lease") LocalDateTime lease, @Param("now") LocalDateTime now);
+
+    // Heartbeat: extender el lease mientras el trabajo siga siendo de este nodo
+    @Modifying
+    @Query("UPDATE ImportJobEntity j SET j.leaseExpiresAt = :lease "
+            + "WHERE j.id = :id AND j.ownerNode = :owner AND j.status IN ('PENDING', 'RUNNING')")
+    int renewLease(@Param("id") Long id, @Param("owner") String owner, @Param("lease") LocalDateTime lease);
+
+    // Abandonado: el dueño es el nodo que acaba de arrancar o su lease venció
+    @Modifying
+    @Query("UPDATE ImportJobEntity j SET j.status = 'FAILED', j.errorMessage = :message, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.status IN ('PENDING', 'RUNNING') "
+            + "AND (j.ownerNode = :owner OR j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now)")
+    int failIfAbandoned(@Param("id") Long id, @Param("owner") String owner,
+                        @Param("now") LocalDateTime now, @Param("message") String message);
+}
@@ -0,0 +1,35 @@
+package com.rafaelperez.tiendaonline.persistenceLayer.repository;
+
+import com.rafaelperez.tiendaonline.persistenceLayer.entity.OutboxEventEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio para la tabla outbox del catálogo (change feed)
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    // Eventos posteriores al cursor, en orden de cursor (usa la PK, O(cambios))
+    List<OutboxEventEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Eventos concretos por cursor (re-escaneo de huecos)
+    List<OutboxEventEntity> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    // Último evento (cabeza del feed)
+    Optional<OutboxEventEntity> findTopByOrderByIdDesc();
+
+    // Compactación: borrado masivo sin cargar entities
+    @Modifying
+    @Query("DELETE FROM OutboxEventEntity e WHERE e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,13 +1,16 @@
 package com.rafaelperez.tiendaonline.persistenceLayer.repository;
 
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
 import com.rafaelperez.tiendaonline.persistenceLayer.entity.ProductEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio para operaciones de base de datos con productos
@@ -18,4 +21,23 @@ public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
     // - findById(id) - READ
     // - findAll() - READ ALL
     // - deleteById(id) - DELETE
+
+    // Lecturas a DTO en un solo SELECT (incluida description, que en la entidad es LAZY):
+    // sin entidades gestionadas ni un SELECT extra por fila para description
+    String DTO_SELECT = "select new com.rafaelperez.tiendaonline.business.dto.ProductDTO("
+            + "p.id, p.name, p.description, p.price, p.stock, p.sellerEntity.id, p.createdAt, p.updatedAt) "
+            + "from ProductEntity p";
+
+    @Query(DTO_SELECT + " where p.id = :id")
+    Optional<ProductDTO> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + " order by p.id")
+    List<ProductDTO> findAllDtos();
+
+    @Query(DTO_SELECT + " where p.id in :ids")
+    List<ProductDTO> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Recorrido paginado por PK (keyset): cada página es O(tamaño de página)
+    @Query(DTO_SELECT + " where p.id > :id order by p.id")
+    List<ProductDTO> findDtoPageAfter(@Param("id") Long id, Pageable pageable);
 }
\ No newline at end of file
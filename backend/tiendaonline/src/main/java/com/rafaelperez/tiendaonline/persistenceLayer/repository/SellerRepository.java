@@ -1,6 +1,7 @@
 package com.rafaelperez.tiendaonline.persistenceLayer.repository;
 
 import com.rafaelperez.tiendaonline.persistenceLayer.entity.SellerEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,4 +19,7 @@ public interface SellerRepository extends JpaRepository<SellerEntity, Long> {
     // - findById(id) - READ
     // - findAll() - READ ALL
     // - deleteById(id) - DELETE
+
+    // Recorrido paginado por PK (keyset): cada página es O(tamaño de página)
+    List<SellerEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
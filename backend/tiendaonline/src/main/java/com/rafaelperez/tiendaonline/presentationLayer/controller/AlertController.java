@@ -0,0 +1,85 @@
+package com.rafaelperez.tiendaonline.presentationLayer.controller;
+
+import com.rafaelperez.tiendaonline.business.alert.LowStockAlertEngine;
+import com.rafaelperez.tiendaonline.business.dto.LowStockAlertDTO;
+import com.rafaelperez.tiendaonline.business.dto.LowStockAlertEventDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador de alertas operativas
+ *
+ * ENDPOINTS:
+ * - GET /api/v1/alerts/low-stock?sellerId=&limit=       - Alertas de stock bajo abiertas
+ * - GET /api/v1/alerts/low-stock/events?since=&limit=   - Aperturas y resoluciones recientes
+ *
+ * NOTA: Solo existe con tienda.alerts.low-stock.enabled=true
+ */
+@RestController
+@RequestMapping("/api/v1/alerts")
+@ConditionalOnProperty(name = "tienda.alerts.low-stock.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Alertas", description = "Alertas de stock bajo detectadas en cada cambio de producto")
+@CrossOrigin(origins = "*")
+public class AlertController {
+    private final LowStockAlertEngine lowStockAlertEngine;
+
+    @GetMapping("/low-stock")
+    @Operation(summary = "Alertas de stock bajo abiertas", description = "Ordenadas del menor stock al mayor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Alertas obtenidas",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = LowStockAlertDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Límite inválido")
+    })
+    public ResponseEntity<List<LowStockAlertDTO>> getLowStock(
+            @Parameter(description = "Filtrar por vendedor", example = "1") @RequestParam(required = false) Long sellerId,
+            @Parameter(description = "Máximo de alertas (1-1000)", example = "100")
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        log.debug("GET /api/v1/alerts/low-stock?sellerId={}&limit={}", sellerId, limit);
+        try {
+            return ResponseEntity.ok(lowStockAlertEngine.getOpenAlerts(sellerId, limit));
+        } catch (IllegalArgumentException e) {
+            log.warn("Parámetros inválidos en alertas: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/low-stock/events")
+    @Operation(summary = "Transiciones de alertas de stock bajo",
+            description = "Aperturas y resoluciones con secuencia mayor a ?since= (cola acotada de este nodo)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Eventos obtenidos",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = LowStockAlertEventDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Límite inválido")
+    })
+    public ResponseEntity<List<LowStockAlertEventDTO>> getLowStockEvents(
+            @Parameter(description = "Última secuencia recibida", example = "0") @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Máximo de eventos (1-1000)", example = "100")
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        log.debug("GET /api/v1/alerts/low-stock/events?since={}&limit={}", since, limit);
+        try {
+            return ResponseEntity.ok(lowStockAlertEngine.getEvents(since, limit));
+        } catch (IllegalArgumentException e) {
+            log.warn("Parámetros inválidos en alertas: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
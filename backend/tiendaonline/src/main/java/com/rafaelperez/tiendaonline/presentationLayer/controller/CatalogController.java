@@ -0,0 +1,117 @@
+package com.rafaelperez.tiendaonline.presentationLayer.controller;
+
+import com.rafaelperez.tiendaonline.business.dto.CatalogItemDTO;
+import com.rafaelperez.tiendaonline.business.readmodel.CatalogReadModel;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Controlador de navegación del catálogo (servido desde el read model en memoria)
+ *
+ * ENDPOINTS:
+ * - GET /api/v1/catalog/products/by-price?min=&max=&limit=  - Rango de precio
+ * - GET /api/v1/catalog/products/top?sort=price|stock&order=asc|desc&limit= - Top-N
+ * - GET /api/v1/catalog/sellers/{sellerId}/products?limit=  - Productos de un vendedor
+ *
+ * NOTA: Solo existe con tienda.readmodel.enabled=true; ninguna consulta toca la base de datos
+ */
+@RestController
+@RequestMapping("/api/v1/catalog")
+@ConditionalOnProperty(name = "tienda.readmodel.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Catálogo", description = "Consultas de navegación sobre el read model en memoria")
+@CrossOrigin(origins = "*")
+public class CatalogController {
+    private final CatalogReadModel catalogReadModel;
+
+    @GetMapping("/products/by-price")
+    @Operation(summary = "Productos por rango de precio", description = "Ordenados del más barato al más caro")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Productos obtenidos",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = CatalogItemDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Rango o límite inválidos"),
+            @ApiResponse(responseCode = "503", description = "Read model no disponible (construyéndose o sin memoria)")
+    })
+    public ResponseEntity<List<CatalogItemDTO>> getByPriceRange(
+            @Parameter(description = "Precio mínimo", example = "100000") @RequestParam BigDecimal min,
+            @Parameter(description = "Precio máximo", example = "3000000") @RequestParam BigDecimal max,
+            @Parameter(description = "Máximo de productos (1-1000)", example = "50")
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        log.debug("GET /api/v1/catalog/products/by-price?min={}&max={}&limit={}", min, max, limit);
+        return query(() -> catalogReadModel.findByPriceRange(min, max, limit));
+    }
+
+    @GetMapping("/products/top")
+    @Operation(summary = "Top-N productos por precio o stock",
+            description = "sort=price|stock, order=asc (menor primero) o desc (mayor primero)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Productos obtenidos",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = CatalogItemDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Parámetros inválidos"),
+            @ApiResponse(responseCode = "503", description = "Read model no disponible")
+    })
+    public ResponseEntity<List<CatalogItemDTO>> getTop(
+            @Parameter(description = "Campo de orden", example = "price") @RequestParam(defaultValue = "price") String sort,
+            @Parameter(description = "asc o desc", example = "asc") @RequestParam(defaultValue = "asc") String order,
+            @Parameter(description = "Máximo de productos (1-1000)", example = "10")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        log.debug("GET /api/v1/catalog/products/top?sort={}&order={}&limit={}", sort, order, limit);
+        boolean ascending = !"desc".equalsIgnoreCase(order);
+        return switch (sort.toLowerCase()) {
+            case "price" -> query(() -> catalogReadModel.findTopByPrice(ascending, limit));
+            case "stock" -> query(() -> catalogReadModel.findTopByStock(ascending, limit));
+            default -> ResponseEntity.badRequest().build();
+        };
+    }
+
+    @GetMapping("/sellers/{sellerId}/products")
+    @Operation(summary = "Productos de un vendedor", description = "Ordenados por ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Productos obtenidos",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = CatalogItemDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Límite inválido"),
+            @ApiResponse(responseCode = "503", description = "Read model no disponible")
+    })
+    public ResponseEntity<List<CatalogItemDTO>> getBySeller(
+            @Parameter(description = "ID del vendedor", required = true, example = "1") @PathVariable Long sellerId,
+            @Parameter(description = "Máximo de productos (1-1000)", example = "100")
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        log.debug("GET /api/v1/catalog/sellers/{}/products?limit={}", sellerId, limit);
+        return query(() -> catalogReadModel.findBySeller(sellerId, limit));
+    }
+
+    private ResponseEntity<List<CatalogItemDTO>> query(Supplier<List<CatalogItemDTO>> query) {
+        if (!catalogReadModel.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        try {
+            return ResponseEntity.ok(query.get());
+        } catch (IllegalArgumentException e) {
+            log.warn("Parámetros inválidos en catálogo: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
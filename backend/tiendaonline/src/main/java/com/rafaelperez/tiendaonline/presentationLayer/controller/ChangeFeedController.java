@@ -0,0 +1,70 @@
+package com.rafaelperez.tiendaonline.presentationLayer.controller;
+
+import com.rafaelperez.tiendaonline.business.dto.ChangeFeedDTO;
+import com.rafaelperez.tiendaonline.business.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST del change feed del catálogo
+ *
+ * ENDPOINTS:
+ * - GET /api/v1/changes?since={cursor}&limit={n} - Cambios posteriores al cursor
+ *
+ * USO: reemplaza re-consultar GET /api/v1/products completo para detectar cambios
+ */
+@RestController
+@RequestMapping("/api/v1/changes")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Cambios", description = "Sincronización incremental de productos y vendedores")
+@CrossOrigin(origins = "*")
+public class ChangeFeedController {
+    private final ChangeFeedService changeFeedService;
+
+    @GetMapping
+    @Operation(
+            summary = "Obtener cambios desde un cursor",
+            description = "Devuelve los cambios (creación, actualización, eliminación) de productos y vendedores " +
+                    "posteriores al cursor indicado, en orden. Usar nextCursor como 'since' en la siguiente llamada. " +
+                    "Si el cursor es más antiguo que la ventana de retención, hacer una sincronización completa."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Cambios obtenidos exitosamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ChangeFeedDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Cursor o límite inválidos"
+            )
+    })
+    public ResponseEntity<ChangeFeedDTO> getChanges(
+            @Parameter(description = "Último cursor procesado (0 = desde el inicio)", example = "0")
+            @RequestParam(defaultValue = "0") Long since,
+            @Parameter(description = "Máximo de cambios a devolver (1-1000)", example = "100")
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        log.debug("GET /api/v1/changes?since={}&limit={}", since, limit);
+
+        try {
+            return ResponseEntity.ok(changeFeedService.getChanges(since, limit));
+        } catch (IllegalArgumentException e) {
+            log.warn("Parámetros inválidos en change feed: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
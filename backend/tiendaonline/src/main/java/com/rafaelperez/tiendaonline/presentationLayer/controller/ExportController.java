@@ -0,0 +1,98 @@
+package com.rafaelperez.tiendaonline.presentationLayer.controller;
+
+import com.rafaelperez.tiendaonline.business.export.CatalogArrowExporter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Controlador de exportación del catálogo en formato columnar (Apache Arrow)
+ *
+ * ENDPOINTS:
+ * - GET /api/v1/exports/products.arrow - Todos los productos
+ * - GET /api/v1/exports/sellers.arrow  - Todos los vendedores
+ *
+ * NOTA: La respuesta se genera en streaming (memoria acotada); lectura con
+ * pyarrow.ipc.open_file / pandas.read_feather / DuckDB
+ */
+@RestController
+@RequestMapping("/api/v1/exports")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Exportación", description = "Descarga del catálogo en archivos columnares Apache Arrow")
+@CrossOrigin(origins = "*")
+public class ExportController {
+    private final CatalogArrowExporter catalogArrowExporter;
+
+    @GetMapping("/products.arrow")
+    @Operation(summary = "Exportar productos",
+            description = "Archivo Arrow IPC: id, name, description, price decimal(38,2), stock, seller_id, created_at, updated_at")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Archivo Arrow en streaming"),
+            @ApiResponse(responseCode = "503", description = "Demasiadas exportaciones simultáneas")
+    })
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        log.info("GET /api/v1/exports/products.arrow");
+        return stream("products.arrow", catalogArrowExporter::exportProducts);
+    }
+
+    @GetMapping("/sellers.arrow")
+    @Operation(summary = "Exportar vendedores",
+            description = "Archivo Arrow IPC: id, name, email, phone, address, created_at, updated_at")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Archivo Arrow en streaming"),
+            @ApiResponse(responseCode = "503", description = "Demasiadas exportaciones simultáneas")
+    })
+    public ResponseEntity<StreamingResponseBody> exportSellers() {
+        log.info("GET /api/v1/exports/sellers.arrow");
+        return stream("sellers.arrow", catalogArrowExporter::exportSellers);
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        long to(OutputStream out) throws IOException;
+    }
+
+    /**
+     * MÉTODO PRIVADO: Reservar turno y devolver el cuerpo en streaming
+     *
+     * NOTA: Un error a mitad de la descarga ya no puede cambiar el status (200 enviado);
+     * el archivo queda sin footer y los lectores Arrow lo rechazan
+     */
+    private ResponseEntity<StreamingResponseBody> stream(String fileName, Export export) {
+        if (!catalogArrowExporter.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        StreamingResponseBody body = out -> {
+            try {
+                long rows = export.to(out);
+                log.info("Exportación {} completada: {} filas", fileName, rows);
+            } catch (IOException | RuntimeException e) {
+                log.error("Error exportando {}: {}", fileName, e.getMessage(), e);
+                throw e;
+            } finally {
+                catalogArrowExporter.release();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(CatalogArrowExporter.MEDIA_TYPE))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+}
@@ -1,5 +1,9 @@
 package com.rafaelperez.tiendaonline.presentationLayer.controller;
 
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -10,17 +14,31 @@ import java.util.Map;
 
 /**
  * Controlador de prueba para verificar que el backend funciona
+ *
+ * NOTA: /health refleja la readiness de la aplicación: responde 503 (WARMING_UP)
+ * hasta que termina el arranque, incluido el calentamiento JIT (tienda.warmup.enabled)
  */
 @RestController
 @RequestMapping("/api")
 public class HealthController {
+    private final ApplicationAvailability applicationAvailability;
+
+    public HealthController(ApplicationAvailability applicationAvailability) {
+        this.applicationAvailability = applicationAvailability;
+    }
+
     @GetMapping("/health")
-    public Map<String, Object> health() {
+    public ResponseEntity<Map<String, Object>> health() {
         Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        if (applicationAvailability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            response.put("status", "WARMING_UP");
+            response.put("message", "Backend arrancando, todavía no acepta tráfico");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
         response.put("status", "UP");
         response.put("message", "Backend funcionando correctamente");
-        response.put("timestamp", LocalDateTime.now());
-        return response;
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/hello")
@@ -0,0 +1,86 @@
+package com.rafaelperez.tiendaonline.presentationLayer.controller;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Especificación OpenAPI precalculada (generada en el build por generateOpenApiDocs)
+ *
+ * FLUJO:
+ * 1. Al crear el bean se lee classpath:openapi/openapi.json una sola vez
+ * 2. GET /openapi.json devuelve esos bytes con Cache-Control público y ETag
+ *    (hash del contenido): las revalidaciones responden 304 sin cuerpo
+ *
+ * NOTA: El JAR de producción no incluye springdoc; en desarrollo (bootRun) sigue
+ * disponible la especificación dinámica en /api-docs y Swagger UI
+ */
+@RestController
+@Hidden
+@Slf4j
+public class OpenApiSpecController {
+    public static final String SPEC_LOCATION = "openapi/openapi.json";
+
+    private final byte[] spec;
+    private final String etag;
+    private final CacheControl cacheControl;
+
+    public OpenApiSpecController(@Value("${tienda.openapi.cache-max-age:P1D}") Duration cacheMaxAge) {
+        this.spec = readSpec();
+        this.etag = spec == null ? null : "\"" + sha256(spec) + "\"";
+        this.cacheControl = CacheControl.maxAge(cacheMaxAge).cachePublic();
+    }
+
+    @GetMapping(value = "/openapi.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getSpec(WebRequest request) {
+        if (spec == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(etag)) {
+            return null;  // 304 ya preparado por checkNotModified
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(spec);
+    }
+
+    /**
+     * MÉTODO PRIVADO: Sin el recurso (ejecución desde el IDE sin build) se responde 404
+     */
+    private static byte[] readSpec() {
+        ClassPathResource resource = new ClassPathResource(SPEC_LOCATION);
+        if (!resource.exists()) {
+            log.warn("No se encontró {} en el classpath; ejecutar ./gradlew generateOpenApiDocs", SPEC_LOCATION);
+            return null;
+        }
+        try (InputStream input = resource.getInputStream()) {
+            return input.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo leer " + SPEC_LOCATION, e);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
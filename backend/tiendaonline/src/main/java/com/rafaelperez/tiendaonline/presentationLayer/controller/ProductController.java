@@ -1,7 +1,10 @@
 package com.rafaelperez.tiendaonline.presentationLayer.controller;
 
+import com.rafaelperez.tiendaonline.business.cache.ProductJsonCache;
 import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
 import com.rafaelperez.tiendaonline.business.service.ProductService;
+import com.rafaelperez.tiendaonline.business.validation.FieldSelection;
+import com.rafaelperez.tiendaonline.config.BinaryFormatsConfig;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,13 +12,17 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controlador REST simplificado para operaciones CRUD básicas de productos
@@ -24,8 +31,12 @@ import java.util.List;
  * - POST /api/v1/products - Crear producto
  * - GET /api/v1/products/{id} - Obtener producto por ID
  * - GET /api/v1/products - Obtener todos los productos
+ *   (?fields=id,name,... en ambos GET: solo esos campos y columnas)
  * - PUT /api/v1/products/{id} - Actualizar producto
  * - DELETE /api/v1/products/{id} - Eliminar producto
+ *
+ * NOTA: Las lecturas (GET) se sirven desde ProductJsonCache (bytes JSON ya serializados);
+ * con Accept Smile/CBOR (BinaryFormatsConfig) se serializan los DTOs en binario
  */
 
 @RestController
@@ -36,6 +47,7 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class ProductController {
     private final ProductService productService;
+    private final ProductJsonCache productJsonCache;
 
     /**
      * CREATE - Crear un nuevo producto
@@ -91,6 +103,8 @@ public class ProductController {
 
     /**
      * READ - Obtener producto por ID
+     *
+     * RESPUESTA: bytes JSON del caché (ByteArrayHttpMessageConverter los copia tal cual)
      */
     @GetMapping("/{id}")
     @Operation(
@@ -111,15 +125,77 @@ public class ProductController {
                     description = "Producto no encontrado"
             )
     })
-    public ResponseEntity<ProductDTO> getProductById(
+    public ResponseEntity<byte[]> getProductById(
             @Parameter(description = "ID del producto", required = true, example = "1")
             @PathVariable Long id
     ) {
         log.debug("GET /api/v1/products/{} - Buscando producto", id);
 
         try {
-            ProductDTO product = productService.getProductById(id);
-            return ResponseEntity.ok(product);
+            byte[] product = productJsonCache.getProductJson(id, productService::getProductById);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .contentLength(product.length)
+                    .body(product);
+        } catch (RuntimeException e) {
+            log.warn("Producto no encontrado con ID: {}", id);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * READ - Obtener producto por ID en formato binario (Accept: Smile o CBOR)
+     *
+     * NOTA: No pasa por ProductJsonCache (guarda bytes JSON); los converters binarios
+     * serializan el mismo ProductDTO
+     */
+    @GetMapping(value = "/{id}", produces = {BinaryFormatsConfig.SMILE_VALUE, BinaryFormatsConfig.CBOR_VALUE})
+    @Operation(
+            summary = "Buscar producto por ID (Smile/CBOR)",
+            description = "Misma respuesta que el JSON, codificada en application/x-jackson-smile o application/cbor"
+    )
+    public ResponseEntity<ProductDTO> getProductByIdBinary(
+            @Parameter(description = "ID del producto", required = true, example = "1")
+            @PathVariable Long id
+    ) {
+        log.debug("GET /api/v1/products/{} - Buscando producto (binario)", id);
+
+        try {
+            return ResponseEntity.ok(productService.getProductById(id));
+        } catch (RuntimeException e) {
+            log.warn("Producto no encontrado con ID: {}", id);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * READ - Obtener producto por ID con solo algunos campos (?fields=id,name,...)
+     *
+     * NOTA: El SELECT lee solo esas columnas; campos fuera de ProductDTO -> 400
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    @Operation(
+            summary = "Buscar producto por ID (campos seleccionados)",
+            description = "Devuelve solo los campos de ProductDTO indicados en fields"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Producto encontrado"),
+            @ApiResponse(responseCode = "400", description = "Campos inválidos: {error, allowedFields}"),
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado")
+    })
+    public ResponseEntity<?> getProductFieldsById(
+            @Parameter(description = "ID del producto", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Campos separados por comas: id, name, description, price, stock, sellerId, createdAt, updatedAt", required = true, example = "id,name")
+            @RequestParam String fields
+    ) {
+        log.debug("GET /api/v1/products/{}?fields={}", id, fields);
+
+        try {
+            return ResponseEntity.ok(productService.getProductFields(id, fields));
+        } catch (IllegalArgumentException e) {
+            log.warn("Campos inválidos en /api/v1/products/{}: {}", id, e.getMessage());
+            return invalidFields(e);
         } catch (RuntimeException e) {
             log.warn("Producto no encontrado con ID: {}", id);
             return ResponseEntity.notFound().build();
@@ -128,6 +204,8 @@ public class ProductController {
 
     /**
      * READ ALL - Obtener todos los productos
+     *
+     * RESPUESTA: fragmentos JSON del caché concatenados directo al stream de salida
      */
     @GetMapping
     @Operation(
@@ -142,12 +220,63 @@ public class ProductController {
                     schema = @Schema(implementation = ProductDTO.class)
             )
     )
-    public ResponseEntity<List<ProductDTO>> getAllProducts() {
+    public void getAllProducts(HttpServletResponse response) throws IOException {
         log.debug("GET /api/v1/products - Obteniendo todos los productos");
 
-        List<ProductDTO> products = productService.getAllProducts();
-        log.debug("Se encontraron {} productos", products.size());
-        return ResponseEntity.ok(products);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        productJsonCache.writeProductList(
+                response.getOutputStream(),
+                productService::getAllProducts,
+                productService::getProductsByIds
+        );
+    }
+
+    /**
+     * READ ALL - Obtener todos los productos en formato binario (Accept: Smile o CBOR)
+     *
+     * USO: consumidores servicio a servicio que leen el catálogo completo
+     */
+    @GetMapping(produces = {BinaryFormatsConfig.SMILE_VALUE, BinaryFormatsConfig.CBOR_VALUE})
+    @Operation(
+            summary = "Listar todos los productos (Smile/CBOR)",
+            description = "Misma lista que el JSON, codificada en application/x-jackson-smile o application/cbor"
+    )
+    public ResponseEntity<List<ProductDTO>> getAllProductsBinary() {
+        log.debug("GET /api/v1/products - Obteniendo todos los productos (binario)");
+        return ResponseEntity.ok(productService.getAllProducts());
+    }
+
+    /**
+     * READ ALL - Obtener todos los productos con solo algunos campos (?fields=id,name,...)
+     *
+     * USO: vistas de lista (p. ej. app móvil) que no necesitan todas las columnas
+     *
+     * NOTA: No pasa por el caché JSON: proyectar desde él obligaría a parsear cada
+     * fragmento, y con pocos campos un SELECT de esas columnas es más barato.
+     * A cambio, cada petición va a BD
+     */
+    @GetMapping(params = "fields")
+    @Operation(
+            summary = "Listar todos los productos (campos seleccionados)",
+            description = "Devuelve solo los campos de ProductDTO indicados en fields, ordenados por ID"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de productos obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Campos inválidos: {error, allowedFields}")
+    })
+    public ResponseEntity<?> getAllProductsFields(
+            @Parameter(description = "Campos separados por comas: id, name, description, price, stock, sellerId, createdAt, updatedAt", required = true, example = "id,name")
+            @RequestParam String fields
+    ) {
+        log.debug("GET /api/v1/products?fields={}", fields);
+
+        try {
+            return ResponseEntity.ok(productService.getAllProductFields(fields));
+        } catch (IllegalArgumentException e) {
+            log.warn("Campos inválidos en /api/v1/products: {}", e.getMessage());
+            return invalidFields(e);
+        }
     }
 
     /**
@@ -234,4 +363,15 @@ public class ProductController {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    /**
+     * MÉTODO PRIVADO: 400 con el motivo y los campos que admite ?fields=
+     */
+    private ResponseEntity<Map<String, Object>> invalidFields(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of(
+                "error", e.getMessage(),
+                "allowedFields", FieldSelection.allowedFields(ProductDTO.class)));
+    }
+}
@@ -0,0 +1,182 @@
+package com.rafaelperez.tiendaonline.presentationLayer.controller;
+
+import com.rafaelperez.tiendaonline.business.dto.ImportJobDTO;
+import com.rafaelperez.tiendaonline.business.service.ProductImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Controlador REST para importación masiva de productos desde CSV
+ *
+ * ENDPOINTS:
+ * - POST /api/v1/products/import - Subir CSV e iniciar importación (202)
+ * - GET /api/v1/products/import/{jobId} - Consultar progreso
+ * - POST /api/v1/products/import/{jobId}/resume - Reanudar importación fallida
+ */
+@RestController
+@RequestMapping("/api/v1/products/import")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Importación", description = "Carga masiva de productos desde archivos CSV")
+@CrossOrigin(origins = "*")
+public class ProductImportController {
+    private final ProductImportService productImportService;
+
+    /**
+     * CREATE - Subir CSV e iniciar importación en segundo plano
+     *
+     * FORMATO: encabezado name,description,price,stock,sellerId
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+            summary = "Importar productos desde CSV",
+            description = "Sube un CSV con encabezado name,description,price,stock,sellerId y lo procesa en segundo plano. " +
+                    "Las filas se validan con las mismas reglas que la creación individual y se confirman por chunks."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Importación aceptada",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ImportJobDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Archivo vacío, vendedor inexistente o chunkSize inválido"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Cola de importaciones llena"
+            )
+    })
+    public ResponseEntity<ImportJobDTO> startImport(
+            @Parameter(description = "Archivo CSV", required = true)
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Vendedor por defecto para filas sin sellerId", example = "1")
+            @RequestParam(required = false) Long sellerId,
+            @Parameter(description = "Filas por transacción (1-5000)", example = "500")
+            @RequestParam(required = false) Integer chunkSize
+    ) {
+        log.info("POST /api/v1/products/import - Archivo: {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try (InputStream csv = file.getInputStream()) {
+            ImportJobDTO job = productImportService.startImport(csv, file.getOriginalFilename(), sellerId, chunkSize);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalArgumentException e) {
+            log.warn("Importación rechazada: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException | RejectedExecutionException e) {
+            // TaskRejectedException (cola llena) extiende RejectedExecutionException
+            log.warn("Importación no encolada: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (IOException | RuntimeException e) {
+            log.error("Error al iniciar importación: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * READ - Progreso de la importación
+     */
+    @GetMapping("/{jobId}")
+    @Operation(
+            summary = "Consultar importación",
+            description = "Devuelve filas importadas, fallidas y pendientes de una importación"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Estado de la importación",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ImportJobDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Importación no encontrada"
+            )
+    })
+    public ResponseEntity<ImportJobDTO> getJob(
+            @Parameter(description = "ID de la importación", required = true, example = "1")
+            @PathVariable Long jobId
+    ) {
+        try {
+            return ResponseEntity.ok(productImportService.getJob(jobId));
+        } catch (RuntimeException e) {
+            log.warn("Importación no encontrada con ID: {}", jobId);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * UPDATE - Reanudar importación fallida desde el último chunk confirmado
+     */
+    @PostMapping("/{jobId}/resume")
+    @Operation(
+            summary = "Reanudar importación",
+            description = "Reanuda una importación en estado FAILED desde su último chunk confirmado"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Importación reanudada",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ImportJobDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Importación no encontrada"
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "La importación no está en estado FAILED, otro nodo ya la reanudó o su archivo no está en este nodo (expiró o se subió a otro)"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Cola de importaciones llena"
+            )
+    })
+    public ResponseEntity<ImportJobDTO> resumeImport(
+            @Parameter(description = "ID de la importación", required = true, example = "1")
+            @PathVariable Long jobId
+    ) {
+        log.info("POST /api/v1/products/import/{}/resume", jobId);
+
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(productImportService.resumeImport(jobId));
+        } catch (RejectedExecutionException e) {
+            log.warn("Importación ID {} no encolada: {}", jobId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (IllegalStateException e) {
+            log.warn("No se puede reanudar importación ID {}: {}", jobId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            log.warn("Importación no encontrada con ID: {}", jobId);
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
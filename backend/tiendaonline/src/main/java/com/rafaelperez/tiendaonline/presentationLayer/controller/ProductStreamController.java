@@ -0,0 +1,82 @@
+package com.rafaelperez.tiendaonline.presentationLayer.controller;
+
+import com.rafaelperez.tiendaonline.business.dto.ProductStockUpdateDTO;
+import com.rafaelperez.tiendaonline.presentationLayer.stream.ProductUpdateBroadcaster;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Controlador SSE para actualizaciones en vivo de precio y stock
+ *
+ * ENDPOINTS:
+ * - GET /api/v1/products/stream - Stream de cambios (text/event-stream)
+ *   Filtros opcionales: ?productIds=1,2&sellerIds=3
+ */
+@RestController
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Productos", description = "Operaciones CRUD para gestión de productos e inventario")
+@CrossOrigin(origins = "*")
+public class ProductStreamController {
+    private final ProductUpdateBroadcaster productUpdateBroadcaster;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream de precio y stock en vivo",
+            description = "Abre un stream Server-Sent Events con eventos 'product' cada vez que cambia el precio " +
+                    "o el stock de un producto (o se elimina). Sin filtros se reciben todos los productos."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream abierto",
+                    content = @Content(
+                            mediaType = "text/event-stream",
+                            schema = @Schema(implementation = ProductStockUpdateDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Máximo de suscriptores alcanzado"
+            )
+    })
+    public SseEmitter streamProductUpdates(
+            @Parameter(description = "IDs de productos a seguir", example = "1,2")
+            @RequestParam(required = false) List<Long> productIds,
+            @Parameter(description = "IDs de vendedores a seguir", example = "1")
+            @RequestParam(required = false) List<Long> sellerIds,
+            HttpServletResponse response
+    ) {
+        log.debug("GET /api/v1/products/stream - productos={}, vendedores={}", productIds, sellerIds);
+
+        // Evita que nginx (frontend) acumule el stream en su buffer
+        response.setHeader("X-Accel-Buffering", "no");
+
+        try {
+            return productUpdateBroadcaster.subscribe(
+                    productIds == null ? Set.of() : Set.copyOf(productIds),
+                    sellerIds == null ? Set.of() : Set.copyOf(sellerIds)
+            );
+        } catch (IllegalStateException e) {
+            log.warn("Suscripción SSE rechazada: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+}
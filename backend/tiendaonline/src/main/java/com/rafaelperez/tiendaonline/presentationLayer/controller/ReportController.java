@@ -0,0 +1,109 @@
+package com.rafaelperez.tiendaonline.presentationLayer.controller;
+
+import com.rafaelperez.tiendaonline.business.dto.InventoryValuationDTO;
+import com.rafaelperez.tiendaonline.business.dto.PricePercentilesDTO;
+import com.rafaelperez.tiendaonline.business.dto.StockDistributionDTO;
+import com.rafaelperez.tiendaonline.business.report.InventoryReports;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.function.Supplier;
+
+/**
+ * Controlador de reportes de inventario (servidos desde la copia columnar en memoria)
+ *
+ * ENDPOINTS:
+ * - GET /api/v1/reports/inventory/valuation?limit=            - Valoración total y por vendedor
+ * - GET /api/v1/reports/inventory/stock-distribution?bounds=  - Histograma de stock
+ * - GET /api/v1/reports/inventory/price-percentiles?p=        - Percentiles de precio
+ *
+ * NOTA: Solo existe con tienda.reports.enabled=true; ninguna consulta toca la tabla products
+ */
+@RestController
+@RequestMapping("/api/v1/reports/inventory")
+@ConditionalOnProperty(name = "tienda.reports.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Reportes", description = "Analítica de inventario sobre la copia columnar en memoria")
+@CrossOrigin(origins = "*")
+public class ReportController {
+    private final InventoryReports inventoryReports;
+
+    @GetMapping("/valuation")
+    @Operation(summary = "Valoración del inventario", description = "Suma de precio * stock, total y por vendedor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Valoración calculada",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = InventoryValuationDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Límite inválido"),
+            @ApiResponse(responseCode = "503", description = "Columnas de inventario no disponibles (construyéndose)")
+    })
+    public ResponseEntity<InventoryValuationDTO> getValuation(
+            @Parameter(description = "Máximo de vendedores (1-1000)", example = "50")
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        log.debug("GET /api/v1/reports/inventory/valuation?limit={}", limit);
+        return report(() -> inventoryReports.valuation(limit));
+    }
+
+    @GetMapping("/stock-distribution")
+    @Operation(summary = "Distribución del stock",
+            description = "Productos por rango de stock [bounds[i], bounds[i+1]); el último rango es abierto")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Distribución calculada",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StockDistributionDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Rangos inválidos"),
+            @ApiResponse(responseCode = "503", description = "Columnas de inventario no disponibles")
+    })
+    public ResponseEntity<StockDistributionDTO> getStockDistribution(
+            @Parameter(description = "Límites de los rangos, empezando en 0", example = "0,1,10,50,100,500")
+            @RequestParam(defaultValue = "0,1,10,50,100,500,1000") int[] bounds
+    ) {
+        log.debug("GET /api/v1/reports/inventory/stock-distribution?bounds={}", bounds);
+        return report(() -> inventoryReports.stockDistribution(bounds));
+    }
+
+    @GetMapping("/price-percentiles")
+    @Operation(summary = "Percentiles de precio", description = "Método del rango más cercano")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Percentiles calculados",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PricePercentilesDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Percentil fuera de (0, 100]"),
+            @ApiResponse(responseCode = "503", description = "Columnas de inventario no disponibles")
+    })
+    public ResponseEntity<PricePercentilesDTO> getPricePercentiles(
+            @Parameter(description = "Percentiles a calcular", example = "50,90,99")
+            @RequestParam(name = "p", defaultValue = "25,50,75,90,99") double[] percentiles
+    ) {
+        log.debug("GET /api/v1/reports/inventory/price-percentiles?p={}", percentiles);
+        return report(() -> inventoryReports.pricePercentiles(percentiles));
+    }
+
+    private <T> ResponseEntity<T> report(Supplier<T> report) {
+        if (!inventoryReports.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        try {
+            return ResponseEntity.ok(report.get());
+        } catch (IllegalArgumentException e) {
+            log.warn("Parámetros inválidos en reporte: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error calculando reporte de inventario: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
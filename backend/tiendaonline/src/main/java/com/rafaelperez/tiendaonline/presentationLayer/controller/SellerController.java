@@ -2,6 +2,7 @@ package com.rafaelperez.tiendaonline.presentationLayer.controller;
 
 import com.rafaelperez.tiendaonline.business.dto.SellerDTO;
 import com.rafaelperez.tiendaonline.business.service.SellerService;
+import com.rafaelperez.tiendaonline.business.validation.FieldSelection;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controlador REST para operaciones CRUD básicas de vendedores
@@ -24,8 +26,11 @@ import java.util.List;
  * - POST /api/v1/sellers - Crear vendedor
  * - GET /api/v1/sellers/{id} - Obtener vendedor por ID
  * - GET /api/v1/sellers - Obtener todos los vendedores
+ *   (?fields=id,name,... en ambos GET: solo esos campos y columnas)
  * - PUT /api/v1/sellers/{id} - Actualizar vendedor
  * - DELETE /api/v1/sellers/{id} - Eliminar vendedor
+ *
+ * NOTA: Además de JSON acepta y responde Smile/CBOR según Content-Type/Accept (BinaryFormatsConfig)
  */
 
 @RestController
@@ -124,6 +129,40 @@ public class SellerController {
         }
     }
 
+    /**
+     * READ - Obtener vendedor por ID con solo algunos campos (?fields=id,name,...)
+     *
+     * NOTA: El SELECT lee solo esas columnas; campos fuera de SellerDTO -> 400
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    @Operation(
+            summary = "Buscar vendedor por ID (campos seleccionados)",
+            description = "Devuelve solo los campos de SellerDTO indicados en fields"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Vendedor encontrado"),
+            @ApiResponse(responseCode = "400", description = "Campos inválidos: {error, allowedFields}"),
+            @ApiResponse(responseCode = "404", description = "Vendedor no encontrado")
+    })
+    public ResponseEntity<?> getSellerFieldsById(
+            @Parameter(description = "ID del vendedor", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Campos separados por comas: id, name, email, phone, address, createdAt, updatedAt", required = true, example = "id,name")
+            @RequestParam String fields
+    ) {
+        log.debug("GET /api/v1/sellers/{}?fields={}", id, fields);
+
+        try {
+            return ResponseEntity.ok(sellerService.getSellerFields(id, fields));
+        } catch (IllegalArgumentException e) {
+            log.warn("Campos inválidos en /api/v1/sellers/{}: {}", id, e.getMessage());
+            return invalidFields(e);
+        } catch (RuntimeException e) {
+            log.warn("Vendedor no encontrado con ID: {}", id);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * READ ALL - Obtener todos los vendedores
      */
@@ -148,6 +187,34 @@ public class SellerController {
         return ResponseEntity.ok(sellers);
     }
 
+    /**
+     * READ ALL - Obtener todos los vendedores con solo algunos campos (?fields=id,name,...)
+     *
+     * USO: vistas de lista (p. ej. app móvil) que no necesitan todas las columnas
+     */
+    @GetMapping(params = "fields")
+    @Operation(
+            summary = "Listar todos los vendedores (campos seleccionados)",
+            description = "Devuelve solo los campos de SellerDTO indicados en fields, ordenados por ID"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de vendedores obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Campos inválidos: {error, allowedFields}")
+    })
+    public ResponseEntity<?> getAllSellersFields(
+            @Parameter(description = "Campos separados por comas: id, name, email, phone, address, createdAt, updatedAt", required = true, example = "id,name")
+            @RequestParam String fields
+    ) {
+        log.debug("GET /api/v1/sellers?fields={}", fields);
+
+        try {
+            return ResponseEntity.ok(sellerService.getAllSellerFields(fields));
+        } catch (IllegalArgumentException e) {
+            log.warn("Campos inválidos en /api/v1/sellers: {}", e.getMessage());
+            return invalidFields(e);
+        }
+    }
+
     /**
      * UPDATE - Actualizar vendedor existente
      *
@@ -245,4 +312,15 @@ public class SellerController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    /**
+     * MÉTODO PRIVADO: 400 con el motivo y los campos que admite ?fields=
+     */
+    private ResponseEntity<Map<String, Object>> invalidFields(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of(
+                "error", e.getMessage(),
+                "allowedFields", FieldSelection.allowedFields(SellerDTO.class)));
+    }
 }
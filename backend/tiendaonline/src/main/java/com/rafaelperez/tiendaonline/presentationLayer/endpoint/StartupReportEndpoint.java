@@ -0,0 +1,28 @@
+package com.rafaelperez.tiendaonline.presentationLayer.endpoint;
+
+import com.rafaelperez.tiendaonline.business.dto.StartupReportDTO;
+import com.rafaelperez.tiendaonline.config.startup.StartupReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint de actuator con el resumen del arranque
+ *
+ * - GET /tienda/actuator/startupreport - beans más lentos, JPA y OpenAPI
+ * - GET /tienda/actuator/startup       - línea de tiempo completa (actuator estándar)
+ *
+ * NOTA: Devuelve 404 mientras la aplicación no ha terminado de arrancar
+ */
+@Component
+@Endpoint(id = "startupreport")
+@RequiredArgsConstructor
+public class StartupReportEndpoint {
+    private final StartupReport startupReport;
+
+    @ReadOperation
+    public StartupReportDTO report() {
+        return startupReport.getReport().orElse(null);
+    }
+}
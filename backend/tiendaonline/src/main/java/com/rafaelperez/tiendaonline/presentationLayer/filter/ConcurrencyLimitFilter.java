@@ -0,0 +1,76 @@
+package com.rafaelperez.tiendaonline.presentationLayer.filter;
+
+import com.rafaelperez.tiendaonline.business.concurrency.AdaptiveConcurrencyLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Filtro de load shedding con límite de concurrencia adaptativo
+ *
+ * FLUJO:
+ * 1. Solo aplica a /api/**, excepto:
+ *    - /api/health (healthcheck de docker-compose y readiness): un nodo sobrecargado
+ *      debe degradarse, no ser reiniciado ni sacado de rotación (/actuator ya queda fuera)
+ *    - rutas de larga duración (SSE, exportaciones Arrow, subida de CSV): ocuparían
+ *      un hueco del límite durante minutos y falsearían la latencia medida
+ * 2. Sin hueco en el límite -> 503 inmediato con Retry-After, sin encolar
+ * 3. Con hueco -> ejecutar y registrar la latencia para ajustar el límite
+ *
+ * NOTA: se hace en un filtro y no en un aspecto sobre los servicios porque los
+ * controladores convierten cualquier RuntimeException en 400/404
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 200)
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    static final List<String> ALWAYS_EXCLUDED = List.of("/api/health");
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final List<String> excludedPaths;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter,
+                                  @Value("${tienda.concurrency.exclude-paths:/api/v1/products/stream,/api/v1/products/import,"
+                                          + "/api/v1/exports/products.arrow,/api/v1/exports/sellers.arrow}") List<String> excludedPaths) {
+        this.limiter = limiter;
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/api/") || ALWAYS_EXCLUDED.contains(path) || excludedPaths.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod())
+                || "OPTIONS".equals(request.getMethod()));
+        long start = limiter.tryAcquire(write);
+        if (start < 0) {
+            log.debug("Petición descartada por sobrecarga: {} {} (límite {})",
+                    request.getMethod(), request.getRequestURI(), limiter.getLimit());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Servicio sobrecargado");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release(start);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.rafaelperez.tiendaonline.presentationLayer.filter;
+
+import com.rafaelperez.tiendaonline.business.idempotency.IdempotencyStore;
+import com.rafaelperez.tiendaonline.business.idempotency.IdempotentResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Filtro de idempotencia para los POST de creación (header Idempotency-Key)
+ *
+ * FLUJO:
+ * 1. Sin header o ruta no configurada -> la petición pasa sin cambios
+ * 2. Reservar la clave (método + ruta + clave) con el hash del cuerpo
+ * 3. RESERVED: ejecutar, capturar la respuesta y guardarla (solo si no es 5xx)
+ * 4. COMPLETED: re-enviar la respuesta guardada byte a byte
+ * 5. IN_PROGRESS: si la ejecuta este nodo, esperar su resultado (colapsa
+ *    duplicados concurrentes); si no, 409 + Retry-After
+ * 6. MISMATCH: misma clave con otro cuerpo -> 422
+ *
+ * NOTA: Primero se registra en 'inFlight' una petición pendiente (putIfAbsent) y
+ * después se consulta el almacén, fuera de cualquier lock del mapa: la E/S a BD
+ * no bloquea a otras claves del mismo bin. Un duplicado de este nodo que llega
+ * mientras tanto espera el desenlace de la pendiente: la respuesta si se ejecutó,
+ * o lo que devolvió el almacén (guardada, en curso en otro nodo, etc.)
+ */
+@Component
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 200;
+
+    private final IdempotencyStore idempotencyStore;
+    private final List<String> paths;
+    private final long waitTimeoutMillis;
+
+    // Peticiones en ejecución en ESTE nodo: los duplicados esperan este resultado
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore,
+                             @Value("${tienda.idempotency.paths:/api/v1/products,/api/v1/sellers}") List<String> paths,
+                             @Value("${tienda.idempotency.wait-timeout:PT30S}") Duration waitTimeout) {
+        this.idempotencyStore = idempotencyStore;
+        this.paths = paths;
+        this.waitTimeoutMillis = waitTimeout.toMillis();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !paths.contains(pathWithinApplication(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String clientKey = request.getHeader(HEADER).trim();
+        if (clientKey.isEmpty() || clientKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Idempotency-Key inválida");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        String key = "POST " + pathWithinApplication(request) + " " + clientKey;
+        String fingerprint = sha256(body);
+
+        // Solo se consulta el almacén si ninguna petición de este nodo tiene ya la clave
+        InFlight pending = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight local = inFlight.putIfAbsent(key, pending);
+        if (local != null) {
+            if (!local.fingerprint().equals(fingerprint)) {
+                sendMismatch(response);
+            } else {
+                respond(awaitInFlight(key, local), key, local, new CachedBodyRequest(request, body), response, chain);
+            }
+            return;
+        }
+
+        IdempotencyStore.Lookup lookup;
+        try {
+            lookup = idempotencyStore.reserve(key, fingerprint);
+        } catch (RuntimeException e) {
+            inFlight.remove(key, pending);
+            pending.result().completeExceptionally(e);
+            throw e;
+        }
+        if (lookup == null || lookup.state() != IdempotencyStore.State.RESERVED) {
+            // No se ejecuta aquí: los duplicados locales responden lo mismo que esta petición
+            inFlight.remove(key, pending);
+            pending.result().complete(lookup);
+        }
+        respond(lookup, key, pending, new CachedBodyRequest(request, body), response, chain);
+    }
+
+    /**
+     * MÉTODO PRIVADO: Responder según el desenlace de la clave
+     *
+     * @param lookup null si el almacén está lleno (se ejecuta sin idempotencia)
+     */
+    private void respond(IdempotencyStore.Lookup lookup, String key, InFlight owned, HttpServletRequest request,
+                         HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        if (lookup == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        switch (lookup.state()) {
+            case COMPLETED -> replay(lookup.response(), response);
+            case MISMATCH -> sendMismatch(response);
+            case IN_PROGRESS -> sendInProgress(response);   // la ejecuta otro nodo
+            case RESERVED -> execute(key, owned, request, response, chain);
+        }
+    }
+
+    /**
+     * MÉTODO PRIVADO: Ejecuta la petición dueña de la clave y guarda su respuesta
+     */
+    private void execute(String key, InFlight owned, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain chain) throws ServletException, IOException {
+        CompletableFuture<IdempotencyStore.Lookup> future = owned.result();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+
+            IdempotentResponse captured = new IdempotentResponse(wrapper.getStatus(), wrapper.getContentType(),
+                    wrapper.getHeader(HttpHeaders.LOCATION), wrapper.getContentAsByteArray());
+            if (captured.getStatus() >= 500) {
+                // Error transitorio: no se guarda, el cliente puede reintentar con la misma clave
+                idempotencyStore.release(key);
+            } else {
+                idempotencyStore.complete(key, captured);
+            }
+            future.complete(new IdempotencyStore.Lookup(IdempotencyStore.State.COMPLETED, captured));
+            wrapper.copyBodyToResponse();
+        } catch (ServletException | IOException | RuntimeException e) {
+            idempotencyStore.release(key);
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, owned);
+        }
+    }
+
+    /**
+     * MÉTODO PRIVADO: Duplicado concurrente en este nodo -> esperar el desenlace de la original
+     *
+     * @return el de la original (nunca RESERVED); IN_PROGRESS si no llega a tiempo o falló
+     */
+    private IdempotencyStore.Lookup awaitInFlight(String key, InFlight original) {
+        try {
+            return original.result().get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("Petición original con clave {} no disponible: {}", key, e.getMessage());
+        }
+        return IdempotencyStore.Lookup.of(IdempotencyStore.State.IN_PROGRESS);
+    }
+
+    private static void sendInProgress(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.sendError(HttpStatus.CONFLICT.value(), "Petición con la misma Idempotency-Key en curso");
+    }
+
+    private static void sendMismatch(HttpServletResponse response) throws IOException {
+        response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), "Idempotency-Key ya usada con un cuerpo diferente");
+    }
+
+    private static void replay(IdempotentResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.getStatus());
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        if (stored.getLocation() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.getLocation());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private static String pathWithinApplication(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Petición de este nodo con una clave: hash del cuerpo y desenlace a compartir
+     * (COMPLETED con la respuesta si se ejecutó, o lo que devolvió el almacén)
+     */
+    private record InFlight(String fingerprint, CompletableFuture<IdempotencyStore.Lookup> result) {
+    }
+
+    /**
+     * Request con el cuerpo ya leído (para poder calcular su hash y seguir la cadena)
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * Lectura asíncrona (Servlet 3.1): el cuerpo ya está en memoria, así que
+                 * todo está disponible de inmediato y se notifica sin esperar
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.rafaelperez.tiendaonline.presentationLayer.filter;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Rango de direcciones IP en notación CIDR ("172.28.0.10", "10.0.0.0/8", "::1")
+ *
+ * USO: proxies de confianza del rate limiting (solo a ellos se les cree X-Real-IP)
+ */
+final class IpRange {
+    private final byte[] network;
+    private final int prefixLength;
+
+    private IpRange(byte[] network, int prefixLength) {
+        this.network = network;
+        this.prefixLength = prefixLength;
+    }
+
+    /**
+     * @throws IllegalArgumentException si la dirección o el prefijo no son válidos
+     */
+    static IpRange parse(String cidr) {
+        String value = cidr.trim();
+        int slash = value.indexOf('/');
+        byte[] address = toBytes(slash < 0 ? value : value.substring(0, slash));
+        int bits = address.length * 8;
+        int prefix;
+        try {
+            prefix = slash < 0 ? bits : Integer.parseInt(value.substring(slash + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Prefijo CIDR inválido: " + cidr, e);
+        }
+        if (prefix < 0 || prefix > bits) {
+            throw new IllegalArgumentException("Prefijo CIDR inválido: " + cidr);
+        }
+        return new IpRange(address, prefix);
+    }
+
+    /**
+     * @param address IP literal (p. ej. request.getRemoteAddr())
+     */
+    boolean contains(String address) {
+        byte[] candidate;
+        try {
+            candidate = toBytes(address);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (candidate.length != network.length) {
+            return false;
+        }
+        int fullBytes = prefixLength / 8;
+        for (int i = 0; i < fullBytes; i++) {
+            if (candidate[i] != network[i]) {
+                return false;
+            }
+        }
+        int remainingBits = prefixLength % 8;
+        if (remainingBits == 0) {
+            return true;
+        }
+        int mask = (0xFF << (8 - remainingBits)) & 0xFF;
+        return (candidate[fullBytes] & mask) == (network[fullBytes] & mask);
+    }
+
+    private static byte[] toBytes(String literal) {
+        // Solo literales: sin resolución DNS en cada petición
+        if (literal.isEmpty() || !(literal.indexOf(':') >= 0 || Character.digit(literal.charAt(0), 16) >= 0)) {
+            throw new IllegalArgumentException("Dirección IP inválida: " + literal);
+        }
+        try {
+            return InetAddress.getByName(literal).getAddress();
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("Dirección IP inválida: " + literal, e);
+        }
+    }
+}
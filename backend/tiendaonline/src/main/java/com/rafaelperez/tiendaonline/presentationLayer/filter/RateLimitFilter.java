@@ -0,0 +1,93 @@
+package com.rafaelperez.tiendaonline.presentationLayer.filter;
+
+import com.rafaelperez.tiendaonline.business.ratelimit.RateLimiter;
+import com.rafaelperez.tiendaonline.config.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro de rate limiting por cliente
+ *
+ * FLUJO:
+ * 1. Identificar al cliente:
+ *    - API key (header) solo si es una de las configuradas: una clave inventada
+ *      no da un bucket nuevo (rotar claves aleatorias no esquiva el límite)
+ *    - si no, IP del cliente: X-Real-IP solo si la conexión viene de un proxy de
+ *      confianza (nginx); el puerto 8080 está publicado y cualquiera puede enviar
+ *      ese header, así que en otro caso se usa remoteAddr
+ * 2. Consumir un token del bucket de la regla que coincide (ruta + método)
+ * 3. Sin token -> 429 con Retry-After (segundos hasta el siguiente token)
+ *
+ * NOTA: se ejecuta antes que el resto de filtros de la aplicación para
+ * rechazar el exceso sin leer el cuerpo ni tocar la base de datos
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final RateLimiter rateLimiter;
+    private final String apiKeyHeader;
+    private final Set<String> apiKeys;
+    private final String clientIpHeader;
+    private final List<IpRange> trustedProxies;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.apiKeyHeader = properties.getApiKeyHeader();
+        this.apiKeys = Set.copyOf(properties.getApiKeys());
+        this.clientIpHeader = properties.getClientIpHeader();
+        this.trustedProxies = properties.getTrustedProxies().stream()
+                .filter(value -> !value.isBlank())
+                .map(IpRange::parse)
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        long waitNanos = rateLimiter.tryAcquire(request.getMethod(), path, clientId(request));
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            log.debug("Rate limit excedido: {} {} (reintentar en {}s)", request.getMethod(), path, retryAfter);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Demasiadas peticiones");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String apiKey = request.getHeader(apiKeyHeader);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + clientIp(request);
+    }
+
+    /**
+     * MÉTODO PRIVADO: IP del cliente, creyendo el header solo a los proxies de confianza
+     */
+    private String clientIp(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (clientIpHeader.isEmpty() || trustedProxies.stream().noneMatch(range -> range.contains(remoteAddr))) {
+            return remoteAddr;
+        }
+        String forwarded = request.getHeader(clientIpHeader);
+        return forwarded != null && !forwarded.isBlank() ? forwarded.trim() : remoteAddr;
+    }
+}
@@ -0,0 +1,105 @@
+package com.rafaelperez.tiendaonline.presentationLayer.filter;
+
+import com.rafaelperez.tiendaonline.business.timing.RequestTimer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Filtro que añade la cabecera Server-Timing a las peticiones /api/**
+ *
+ * FLUJO:
+ * 1. Solo mide si tienda.server-timing.all-requests=true (nunca en producción) o si
+ *    la petición trae la cabecera de depuración (X-Debug-Timing por defecto) y está
+ *    autorizada: su valor es el token secreto configurado o viene de una red de confianza
+ *    (la cabecera sola no basta: bufferizar respuestas enteras y exponer tiempos y
+ *    número de SQL a cualquiera sería una vía de agotar memoria y filtrar información)
+ * 2. Abre el RequestTimer del hilo y bufferiza la respuesta
+ * 3. Al terminar la cadena (serialización incluida) escribe Server-Timing y el cuerpo
+ *
+ * NOTA:
+ * - La respuesta se bufferiza porque la cabecera debe ir antes del cuerpo;
+ *   por eso se excluyen las rutas de streaming (SSE, exportaciones Arrow)
+ * - Es el primer filtro: total incluye rate limit, concurrencia e idempotencia
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 50)
+@ConditionalOnProperty(name = "tienda.server-timing.enabled", havingValue = "true")
+public class ServerTimingFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Server-Timing";
+
+    private final boolean allRequests;
+    private final String debugHeader;
+    private final byte[] token;
+    private final List<IpRange> trustedNetworks;
+    private final List<String> excludedPaths;
+
+    public ServerTimingFilter(@Value("${tienda.server-timing.all-requests:false}") boolean allRequests,
+                              @Value("${tienda.server-timing.debug-header:X-Debug-Timing}") String debugHeader,
+                              @Value("${tienda.server-timing.token:}") String token,
+                              @Value("${tienda.server-timing.trusted-networks:}") List<String> trustedNetworks,
+                              @Value("${tienda.server-timing.exclude-paths:/api/v1/products/stream,/api/v1/exports/products.arrow,/api/v1/exports/sellers.arrow}") List<String> excludedPaths) {
+        this.allRequests = allRequests;
+        this.debugHeader = debugHeader;
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+        this.trustedNetworks = trustedNetworks.stream()
+                .filter(value -> !value.isBlank())
+                .map(IpRange::parse)
+                .toList();
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!allRequests && !isAuthorizedDebugRequest(request)) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/api/") || excludedPaths.contains(path);
+    }
+
+    /**
+     * MÉTODO PRIVADO: Cabecera de depuración con el token o desde una red de confianza
+     */
+    private boolean isAuthorizedDebugRequest(HttpServletRequest request) {
+        String value = debugHeader.isBlank() ? null : request.getHeader(debugHeader);
+        if (value == null) {
+            return false;
+        }
+        // Comparación en tiempo constante (el token no se puede adivinar por latencia)
+        if (token.length > 0 && MessageDigest.isEqual(token, value.getBytes(StandardCharsets.UTF_8))) {
+            return true;
+        }
+        String remoteAddr = request.getRemoteAddr();
+        return trustedNetworks.stream().anyMatch(range -> range.contains(remoteAddr));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTimer timer = RequestTimer.start();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            RequestTimer.clear();
+            if (!response.isCommitted()) {
+                response.setHeader(HEADER, timer.toHeader());
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+}
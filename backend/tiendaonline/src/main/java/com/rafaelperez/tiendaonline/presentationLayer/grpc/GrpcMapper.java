@@ -0,0 +1,64 @@
+package com.rafaelperez.tiendaonline.presentationLayer.grpc;
+
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.dto.SellerDTO;
+import com.rafaelperez.tiendaonline.grpc.v1.Product;
+import com.rafaelperez.tiendaonline.grpc.v1.Seller;
+
+import java.time.LocalDateTime;
+
+/**
+ * Conversión DTO -> mensajes protobuf (catalog.proto)
+ *
+ * NOTA: Los builders de protobuf no aceptan null: los campos opcionales del DTO
+ * solo se asignan si tienen valor (en el cliente, hasX() == false equivale a null)
+ */
+final class GrpcMapper {
+
+    private GrpcMapper() {
+    }
+
+    static Product toProto(ProductDTO dto) {
+        Product.Builder builder = Product.newBuilder()
+                .setId(dto.getId())
+                .setName(dto.getName())
+                .setPrice(dto.getPrice().toPlainString())
+                .setStock(dto.getStock())
+                .setSellerId(dto.getSellerId());
+        if (dto.getDescription() != null) {
+            builder.setDescription(dto.getDescription());
+        }
+        if (dto.getCreatedAt() != null) {
+            builder.setCreatedAt(format(dto.getCreatedAt()));
+        }
+        if (dto.getUpdatedAt() != null) {
+            builder.setUpdatedAt(format(dto.getUpdatedAt()));
+        }
+        return builder.build();
+    }
+
+    static Seller toProto(SellerDTO dto) {
+        Seller.Builder builder = Seller.newBuilder()
+                .setId(dto.getId())
+                .setName(dto.getName())
+                .setEmail(dto.getEmail());
+        if (dto.getPhone() != null) {
+            builder.setPhone(dto.getPhone());
+        }
+        if (dto.getAddress() != null) {
+            builder.setAddress(dto.getAddress());
+        }
+        if (dto.getCreatedAt() != null) {
+            builder.setCreatedAt(format(dto.getCreatedAt()));
+        }
+        if (dto.getUpdatedAt() != null) {
+            builder.setUpdatedAt(format(dto.getUpdatedAt()));
+        }
+        return builder.build();
+    }
+
+    // Mismo formato que Jackson para LocalDateTime (ISO-8601 sin zona)
+    private static String format(LocalDateTime dateTime) {
+        return dateTime.toString();
+    }
+}
@@ -0,0 +1,104 @@
+package com.rafaelperez.tiendaonline.presentationLayer.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servidor gRPC junto a la API REST (puerto propio, tienda.grpc.port)
+ *
+ * FLUJO:
+ * 1. Arranca con el contexto (SmartLifecycle) con todos los servicios gRPC del contexto
+ * 2. Cada llamada se ejecuta en un hilo virtual: los servicios hacen consultas
+ *    bloqueantes a la base de datos sin agotar un pool fijo
+ * 3. Al cerrar: deja de aceptar llamadas, espera las activas hasta shutdown-timeout
+ *    y después las cancela
+ *
+ * NOTA: No pasa por los filtros HTTP (rate limiting, idempotencia, concurrencia):
+ * es un puerto interno que no debe exponerse fuera de la red de servicios
+ */
+@Component
+@ConditionalOnProperty(name = "tienda.grpc.enabled", havingValue = "true")
+@Slf4j
+public class GrpcServer implements SmartLifecycle {
+    private final List<BindableService> services;
+    private final int port;
+    private final Duration shutdownTimeout;
+    private final int maxInboundMessageSize;
+
+    private ExecutorService executor;
+    private volatile Server server;
+
+    public GrpcServer(List<BindableService> services,
+                      @Value("${tienda.grpc.port:9090}") int port,
+                      @Value("${tienda.grpc.shutdown-timeout:PT10S}") Duration shutdownTimeout,
+                      @Value("${tienda.grpc.max-inbound-message-size:4194304}") int maxInboundMessageSize) {
+        this.services = services;
+        this.port = port;
+        this.shutdownTimeout = shutdownTimeout;
+        this.maxInboundMessageSize = maxInboundMessageSize;
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        ServerBuilder<?> builder = ServerBuilder.forPort(port)
+                .executor(executor)
+                .maxInboundMessageSize(maxInboundMessageSize);
+        services.forEach(builder::addService);
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            executor.shutdownNow();
+            throw new UncheckedIOException("No se pudo abrir el puerto gRPC " + port, e);
+        }
+        log.info("Servidor gRPC escuchando en el puerto {} ({} servicios)", server.getPort(), services.size());
+    }
+
+    @Override
+    public void stop() {
+        Server current = server;
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Llamadas gRPC activas tras {}; se cancelan", shutdownTimeout);
+                current.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            current.shutdownNow();
+        } finally {
+            executor.shutdownNow();
+            server = null;
+        }
+        log.info("Servidor gRPC detenido");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Puerto real (útil con tienda.grpc.port=0 en tests)
+     */
+    public int getPort() {
+        return server != null ? server.getPort() : -1;
+    }
+}
@@ -0,0 +1,90 @@
+package com.rafaelperez.tiendaonline.presentationLayer.grpc;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Envío de un recorrido keyset (id > cursor) como stream de servidor con control de flujo
+ *
+ * FLUJO:
+ * 1. Cada vez que el transporte está listo (onReadyHandler) se envían mensajes
+ *    mientras isReady() sea true
+ * 2. Al vaciar la página en memoria se lee la siguiente (findPageAfter(último id))
+ * 3. Página vacía -> onCompleted; cancelación del cliente -> se deja de leer
+ *
+ * NOTA: Como mucho hay una página en memoria por llamada, sin importar el tamaño
+ * del catálogo ni la velocidad del cliente
+ */
+@Slf4j
+final class KeysetStreamer<T, P> {
+    static final int DEFAULT_PAGE_SIZE = 500;
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final ServerCallStreamObserver<P> call;
+    private final BiFunction<Long, Integer, List<T>> pageAfter;
+    private final ToLongFunction<T> idOf;
+    private final Function<T, P> toProto;
+    private final int pageSize;
+
+    private final ArrayDeque<T> buffer = new ArrayDeque<>();
+    private long cursor;
+    private boolean finished;
+
+    private KeysetStreamer(ServerCallStreamObserver<P> call, BiFunction<Long, Integer, List<T>> pageAfter,
+                           ToLongFunction<T> idOf, Function<T, P> toProto, long afterId, int pageSize) {
+        this.call = call;
+        this.pageAfter = pageAfter;
+        this.idOf = idOf;
+        this.toProto = toProto;
+        this.cursor = afterId;
+        this.pageSize = pageSize;
+    }
+
+    static <T, P> void start(ServerCallStreamObserver<P> call, BiFunction<Long, Integer, List<T>> pageAfter,
+                             ToLongFunction<T> idOf, Function<T, P> toProto, long afterId, int pageSize) {
+        KeysetStreamer<T, P> streamer = new KeysetStreamer<>(call, pageAfter, idOf, toProto, afterId, pageSize);
+        call.setOnCancelHandler(streamer::cancel);
+        call.setOnReadyHandler(streamer::drain);
+    }
+
+    // page_size de ListRequest: 0 = por defecto, acotado al máximo
+    static int pageSize(int requested) {
+        return requested <= 0 ? DEFAULT_PAGE_SIZE : Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    private synchronized void drain() {
+        try {
+            while (!finished && call.isReady()) {
+                if (buffer.isEmpty()) {
+                    List<T> page = pageAfter.apply(cursor, pageSize);
+                    if (page.isEmpty()) {
+                        finished = true;
+                        call.onCompleted();
+                        return;
+                    }
+                    buffer.addAll(page);
+                    cursor = idOf.applyAsLong(page.get(page.size() - 1));
+                }
+                call.onNext(toProto.apply(buffer.poll()));
+            }
+        } catch (RuntimeException e) {
+            log.error("Error en el stream gRPC tras el id {}: {}", cursor, e.getMessage());
+            finished = true;
+            buffer.clear();
+            call.onError(Status.INTERNAL.withDescription("Error leyendo el catálogo").asRuntimeException());
+        }
+    }
+
+    private synchronized void cancel() {
+        log.debug("Stream gRPC cancelado por el cliente tras el id {}", cursor);
+        finished = true;
+        buffer.clear();
+    }
+}
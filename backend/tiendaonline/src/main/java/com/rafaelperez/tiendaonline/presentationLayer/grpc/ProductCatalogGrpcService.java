@@ -0,0 +1,92 @@
+package com.rafaelperez.tiendaonline.presentationLayer.grpc;
+
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.service.ProductService;
+import com.rafaelperez.tiendaonline.grpc.v1.BatchGetProductsResponse;
+import com.rafaelperez.tiendaonline.grpc.v1.BatchGetRequest;
+import com.rafaelperez.tiendaonline.grpc.v1.GetByIdRequest;
+import com.rafaelperez.tiendaonline.grpc.v1.ListRequest;
+import com.rafaelperez.tiendaonline.grpc.v1.Product;
+import com.rafaelperez.tiendaonline.grpc.v1.ProductCatalogGrpc;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Servicio gRPC de productos (tienda.catalog.v1.ProductCatalog)
+ *
+ * OPERACIONES:
+ * - GetProduct: ProductService.getProductById (NOT_FOUND si no existe, INTERNAL ante cualquier otro error)
+ * - BatchGetProducts: ProductService.getProductsByIds, una sola consulta IN
+ * - ListProducts: stream por páginas keyset (ProductService.getProductsPage) con control de flujo
+ *
+ * NOTA: Mismas reglas y mismos DTOs que ProductController; solo cambia el transporte
+ */
+@Component
+@ConditionalOnProperty(name = "tienda.grpc.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCatalogGrpcService extends ProductCatalogGrpc.ProductCatalogImplBase {
+    static final int MAX_BATCH = 1000;
+
+    private final ProductService productService;
+
+    @Override
+    public void getProduct(GetByIdRequest request, StreamObserver<Product> responseObserver) {
+        ProductDTO product;
+        try {
+            product = productService.getProductById(request.getId());
+        } catch (NoSuchElementException e) {
+            responseObserver.onError(Status.NOT_FOUND
+                    .withDescription("Producto no encontrado con ID: " + request.getId()).asRuntimeException());
+            return;
+        } catch (RuntimeException e) {
+            log.error("gRPC GetProduct {} falló: {}", request.getId(), e.getMessage(), e);
+            responseObserver.onError(Status.INTERNAL
+                    .withDescription("Error interno al buscar el producto " + request.getId()).withCause(e).asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(GrpcMapper.toProto(product));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void batchGetProducts(BatchGetRequest request, StreamObserver<BatchGetProductsResponse> responseObserver) {
+        if (request.getIdsCount() > MAX_BATCH) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Máximo " + MAX_BATCH + " IDs por llamada").asRuntimeException());
+            return;
+        }
+
+        List<Long> ids = request.getIdsList();
+        BatchGetProductsResponse.Builder response = BatchGetProductsResponse.newBuilder();
+        Set<Long> found = new HashSet<>();
+        if (!ids.isEmpty()) {
+            for (ProductDTO product : productService.getProductsByIds(ids)) {
+                response.addProducts(GrpcMapper.toProto(product));
+                found.add(product.getId());
+            }
+        }
+        ids.stream().distinct().filter(id -> !found.contains(id)).forEach(response::addMissingIds);
+
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void listProducts(ListRequest request, StreamObserver<Product> responseObserver) {
+        log.debug("gRPC ListProducts desde el id {}", request.getAfterId());
+        KeysetStreamer.start((ServerCallStreamObserver<Product>) responseObserver,
+                productService::getProductsPage, ProductDTO::getId, GrpcMapper::toProto,
+                request.getAfterId(), KeysetStreamer.pageSize(request.getPageSize()));
+    }
+}
@@ -0,0 +1,92 @@
+package com.rafaelperez.tiendaonline.presentationLayer.grpc;
+
+import com.rafaelperez.tiendaonline.business.dto.SellerDTO;
+import com.rafaelperez.tiendaonline.business.service.SellerService;
+import com.rafaelperez.tiendaonline.grpc.v1.BatchGetRequest;
+import com.rafaelperez.tiendaonline.grpc.v1.BatchGetSellersResponse;
+import com.rafaelperez.tiendaonline.grpc.v1.GetByIdRequest;
+import com.rafaelperez.tiendaonline.grpc.v1.ListRequest;
+import com.rafaelperez.tiendaonline.grpc.v1.Seller;
+import com.rafaelperez.tiendaonline.grpc.v1.SellerCatalogGrpc;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Servicio gRPC de vendedores (tienda.catalog.v1.SellerCatalog)
+ *
+ * OPERACIONES:
+ * - GetSeller: SellerService.getSellerById (NOT_FOUND si no existe, INTERNAL ante cualquier otro error)
+ * - BatchGetSellers: SellerService.getSellersByIds, una sola consulta IN
+ * - ListSellers: stream por páginas keyset (SellerService.getSellersPage) con control de flujo
+ *
+ * NOTA: Mismas reglas y mismos DTOs que SellerController; solo cambia el transporte
+ */
+@Component
+@ConditionalOnProperty(name = "tienda.grpc.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class SellerCatalogGrpcService extends SellerCatalogGrpc.SellerCatalogImplBase {
+    static final int MAX_BATCH = 1000;
+
+    private final SellerService sellerService;
+
+    @Override
+    public void getSeller(GetByIdRequest request, StreamObserver<Seller> responseObserver) {
+        SellerDTO seller;
+        try {
+            seller = sellerService.getSellerById(request.getId());
+        } catch (NoSuchElementException e) {
+            responseObserver.onError(Status.NOT_FOUND
+                    .withDescription("Vendedor no encontrado con ID: " + request.getId()).asRuntimeException());
+            return;
+        } catch (RuntimeException e) {
+            log.error("gRPC GetSeller {} falló: {}", request.getId(), e.getMessage(), e);
+            responseObserver.onError(Status.INTERNAL
+                    .withDescription("Error interno al buscar el vendedor " + request.getId()).withCause(e).asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(GrpcMapper.toProto(seller));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void batchGetSellers(BatchGetRequest request, StreamObserver<BatchGetSellersResponse> responseObserver) {
+        if (request.getIdsCount() > MAX_BATCH) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Máximo " + MAX_BATCH + " IDs por llamada").asRuntimeException());
+            return;
+        }
+
+        List<Long> ids = request.getIdsList();
+        BatchGetSellersResponse.Builder response = BatchGetSellersResponse.newBuilder();
+        Set<Long> found = new HashSet<>();
+        if (!ids.isEmpty()) {
+            for (SellerDTO seller : sellerService.getSellersByIds(ids)) {
+                response.addSellers(GrpcMapper.toProto(seller));
+                found.add(seller.getId());
+            }
+        }
+        ids.stream().distinct().filter(id -> !found.contains(id)).forEach(response::addMissingIds);
+
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void listSellers(ListRequest request, StreamObserver<Seller> responseObserver) {
+        log.debug("gRPC ListSellers desde el id {}", request.getAfterId());
+        KeysetStreamer.start((ServerCallStreamObserver<Seller>) responseObserver,
+                sellerService::getSellersPage, SellerDTO::getId, GrpcMapper::toProto,
+                request.getAfterId(), KeysetStreamer.pageSize(request.getPageSize()));
+    }
+}
@@ -0,0 +1,242 @@
+package com.rafaelperez.tiendaonline.presentationLayer.stream;
+
+import com.rafaelperez.tiendaonline.business.dto.CatalogItemDTO;
+import com.rafaelperez.tiendaonline.business.dto.ProductStockUpdateDTO;
+import com.rafaelperez.tiendaonline.business.invalidation.ProductChangeStream;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fan-out de cambios de precio/stock a suscriptores SSE
+ *
+ * DISEÑO:
+ * - Los cambios llegan por el ProductChangeStream (después del commit, de cualquier
+ *   nodo con transport=database): un cliente conectado a un nodo ve también las
+ *   escrituras hechas en los demás. El producto llega ya recargado por ID, la misma
+ *   carga que usan las demás vistas en memoria
+ * - Cada suscriptor es un SseEmitter (request asíncrona): un suscriptor
+ *   inactivo NO ocupa ningún hilo, solo su conexión
+ * - Cada suscriptor tiene un buffer acotado que COALESCE por producto:
+ *   varias actualizaciones del mismo producto se reducen a la última
+ * - El envío se hace en virtual threads: un cliente lento solo bloquea
+ *   su propio virtual thread, nunca el commit ni a otros clientes
+ * - Si un cliente acumula más de maxPending productos sin leer, se cierra
+ *   su stream (deberá reconectar); así la memoria queda acotada
+ * - El registro del último valor difundido (para no repetir pushes) es un LRU
+ *   de maxTracked productos: olvidar uno solo cuesta un push redundante. También
+ *   absorbe la entrega doble del bus por outbox (desalojo local + poll)
+ */
+@Component
+@Slf4j
+public class ProductUpdateBroadcaster {
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Último precio/stock difundido por producto (LRU acotado): evita pushes si no cambió ninguno
+    private final Map<Long, ProductStockUpdateDTO> lastBroadcast;
+
+    private final int maxSubscribers;
+    private final int maxPending;
+    private final long timeoutMillis;
+
+    public ProductUpdateBroadcaster(ProductChangeStream changeStream,
+                                    @Value("${tienda.stream.max-subscribers:50000}") int maxSubscribers,
+                                    @Value("${tienda.stream.max-pending-per-subscriber:1000}") int maxPending,
+                                    @Value("${tienda.stream.timeout:PT30M}") Duration timeout,
+                                    @Value("${tienda.stream.max-tracked-products:100000}") int maxTracked) {
+        this.maxSubscribers = maxSubscribers;
+        this.maxPending = maxPending;
+        this.timeoutMillis = timeout.toMillis();
+        this.lastBroadcast = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ProductStockUpdateDTO> eldest) {
+                return size() > maxTracked;
+            }
+        });
+        changeStream.subscribe(this::onProductChanged);
+    }
+
+    /**
+     * SUSCRIBIR - Crear un stream filtrado por productos y/o vendedores
+     *
+     * @param productIds IDs de producto a seguir (vacío = todos)
+     * @param sellerIds  IDs de vendedor a seguir (vacío = todos)
+     * @throws IllegalStateException si se alcanzó el máximo de suscriptores
+     */
+    public SseEmitter subscribe(Set<Long> productIds, Set<Long> sellerIds) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Se alcanzó el máximo de suscriptores: " + maxSubscribers);
+        }
+
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, productIds, sellerIds);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        log.debug("Nuevo suscriptor SSE (productos={}, vendedores={}), total: {}",
+                productIds, sellerIds, subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * PUBLICAR - Cambio confirmado de un producto (stream: solo tras el commit, en
+     * orden por producto), así nunca se difunden cambios revertidos
+     *
+     * @param item estado recargado; null si el producto se eliminó
+     */
+    public void onProductChanged(Long productId, CatalogItemDTO item) {
+        ProductStockUpdateDTO update = item == null
+                ? new ProductStockUpdateDTO(productId, null, null, null, true)
+                : new ProductStockUpdateDTO(productId, item.getSellerId(), item.getPrice(), item.getStock(), false);
+
+        // La eliminación queda registrada (lápida) para no difundirla dos veces
+        ProductStockUpdateDTO previous = lastBroadcast.put(productId, update);
+        if (previous != null && previous.isDeleted() == update.isDeleted()
+                && Objects.equals(previous.getStock(), update.getStock())
+                && samePrice(previous, update)) {
+            return; // Cambió otro campo (nombre, descripción) o entrega repetida: nada que difundir
+        }
+        broadcast(update);
+    }
+
+    public void broadcast(ProductStockUpdateDTO update) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(update)) {
+                subscriber.offer(update);
+            }
+        }
+    }
+
+    /**
+     * HEARTBEAT - Comentario SSE periódico para detectar clientes desconectados
+     * y mantener abiertas conexiones a través de proxies (nginx)
+     */
+    @Scheduled(fixedDelayString = "${tienda.stream.heartbeat-interval:PT30S}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            sender.execute(() -> subscriber.heartbeat());
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Punto de extensión para tests (emisor sin request real)
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        sender.shutdownNow();
+    }
+
+    private static boolean samePrice(ProductStockUpdateDTO a, ProductStockUpdateDTO b) {
+        return a.getPrice() == null ? b.getPrice() == null
+                : b.getPrice() != null && a.getPrice().compareTo(b.getPrice()) == 0;
+    }
+
+    /**
+     * Suscriptor con buffer coalescente (productId -> última actualización)
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Long> productIds;
+        private final Set<Long> sellerIds;
+        private final ConcurrentHashMap<Long, ProductStockUpdateDTO> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Set<Long> productIds, Set<Long> sellerIds) {
+            this.emitter = emitter;
+            this.productIds = productIds;
+            this.sellerIds = sellerIds;
+        }
+
+        private boolean matches(ProductStockUpdateDTO update) {
+            if (!productIds.isEmpty() && !productIds.contains(update.getProductId())) {
+                return false;
+            }
+            // Un producto eliminado no trae vendedor: se entrega si pasó el filtro de producto
+            return sellerIds.isEmpty() || update.getSellerId() == null || sellerIds.contains(update.getSellerId());
+        }
+
+        private void offer(ProductStockUpdateDTO update) {
+            if (pending.size() >= maxPending && !pending.containsKey(update.getProductId())) {
+                log.warn("Suscriptor SSE demasiado lento ({} pendientes), cerrando stream", pending.size());
+                subscribers.remove(this);
+                emitter.complete();
+                return;
+            }
+            pending.put(update.getProductId(), update);
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        /**
+         * Envía todo lo pendiente; al terminar re-chequea para no perder
+         * actualizaciones que llegaron entre el último envío y liberar el flag
+         */
+        private void drain() {
+            do {
+                try {
+                    for (Long productId : pending.keySet()) {
+                        ProductStockUpdateDTO update = pending.remove(productId);
+                        if (update != null) {
+                            emitter.send(SseEmitter.event()
+                                    .name("product")
+                                    .id(String.valueOf(productId))
+                                    .data(update, MediaType.APPLICATION_JSON));
+                        }
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Suscriptor SSE desconectado: {}", e.getMessage());
+                    disconnect(e);
+                    return;
+                } finally {
+                    draining.set(false);
+                }
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void heartbeat() {
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                disconnect(e);
+            }
+        }
+
+        /**
+         * Quitar al suscriptor y cerrar la request asíncrona con el error
+         * (sin esto el contenedor la mantiene abierta hasta el timeout)
+         */
+        private void disconnect(Exception e) {
+            subscribers.remove(this);
+            pending.clear();
+            emitter.completeWithError(e);
+        }
+    }
+}
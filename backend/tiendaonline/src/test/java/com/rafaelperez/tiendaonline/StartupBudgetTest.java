@@ -0,0 +1,50 @@
+package com.rafaelperez.tiendaonline;
+
+import com.rafaelperez.tiendaonline.business.dto.StartupReportDTO;
+import com.rafaelperez.tiendaonline.config.startup.StartupReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Presupuesto de arranque con el perfil lazy
+ *
+ * OBJETIVO: Detectar regresiones de tiempo de arranque. Arranca la aplicación completa
+ * sin base de datos (perfil training) y con el perfil lazy, y comprueba que está lista
+ * dentro del presupuesto (-Dtienda.startup.budget=PT10S para endurecerlo en CI)
+ */
+@DisabledInNativeImage
+@DisplayName("Startup budget - Integration Tests")
+class StartupBudgetTest {
+
+    private static final Duration BUDGET = Duration.parse(System.getProperty("tienda.startup.budget", "PT20S"));
+
+    @Test
+    @DisplayName("LAZY - Lista dentro del presupuesto y con la documentación sin instanciar")
+    void lazyProfile_ShouldStartWithinBudget() {
+        // ARRANGE
+        SpringApplication application = new SpringApplication(TiendaonlineApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(TiendaonlineApplication.STARTUP_STEPS_CAPACITY));
+
+        // ACT
+        try (ConfigurableApplicationContext context = application.run(
+                "--spring.profiles.active=training,lazy",
+                "--server.port=0",
+                "--tienda.startup.warmup.enabled=false")) {
+
+            // ASSERT
+            StartupReportDTO report = context.getBean(StartupReport.class).getReport().orElseThrow();
+            assertThat(Duration.ofMillis(report.getReadyMillis())).isLessThan(BUDGET);
+            assertThat(report.getRecordedSteps()).isPositive();
+            assertThat(context.getBeanFactory().getBeanDefinition("openApiConfig").isLazyInit()).isTrue();
+            assertThat(context.getBeanFactory().containsSingleton("openApiConfig")).isFalse();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.rafaelperez.tiendaonline.business;
+
+import com.rafaelperez.tiendaonline.business.dto.ChangeEventDTO;
+import com.rafaelperez.tiendaonline.business.dto.ChangeFeedDTO;
+import com.rafaelperez.tiendaonline.business.service.impl.ChangeFeedServiceImpl;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.OutboxEventDAO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para ChangeFeedServiceImpl
+ *
+ * OBJETIVO: Verificar paginación por cursor y manejo de huecos del outbox
+ */
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+@DisplayName("ChangeFeedService - Unit Tests")
+public class ChangeFeedServiceTest {
+
+    @Mock
+    private OutboxEventDAO outboxEventDAO;
+
+    private ChangeFeedServiceImpl changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        changeFeedService = new ChangeFeedServiceImpl(outboxEventDAO, Duration.ofDays(7), Duration.ofSeconds(5));
+    }
+
+    private ChangeEventDTO event(long cursor, LocalDateTime createdAt) {
+        return new ChangeEventDTO(cursor, "PRODUCT", 1L, "UPDATED", "{}", createdAt);
+    }
+
+    @Test
+    @DisplayName("READ - Eventos contiguos se entregan y avanzan el cursor")
+    void getChanges_ContiguousEvents_ShouldAdvanceCursor() {
+        // ARRANGE
+        LocalDateTime now = LocalDateTime.now();
+        when(outboxEventDAO.findSince(10L, 3)).thenReturn(List.of(event(11, now), event(12, now), event(13, now)));
+
+        // ACT
+        ChangeFeedDTO result = changeFeedService.getChanges(10L, 2);
+
+        // ASSERT
+        assertThat(result.getEvents()).extracting("cursor").containsExactly(11L, 12L);
+        assertThat(result.getNextCursor()).isEqualTo(12L);
+        assertThat(result.isHasMore()).isTrue();
+    }
+
+    @Test
+    @DisplayName("READ - Hueco reciente detiene la página (transacción en curso)")
+    void getChanges_RecentGap_ShouldStopBeforeGap() {
+        // ARRANGE - falta el cursor 12 y el 13 es de hace un instante
+        LocalDateTime now = LocalDateTime.now();
+        when(outboxEventDAO.findSince(10L, 101)).thenReturn(List.of(event(11, now), event(13, now)));
+
+        // ACT
+        ChangeFeedDTO result = changeFeedService.getChanges(10L, 100);
+
+        // ASSERT
+        assertThat(result.getEvents()).extracting("cursor").containsExactly(11L);
+        assertThat(result.getNextCursor()).isEqualTo(11L);
+        assertThat(result.isHasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("READ - Hueco antiguo (rollback) se salta")
+    void getChanges_OldGap_ShouldSkipGap() {
+        // ARRANGE
+        LocalDateTime old = LocalDateTime.now().minusMinutes(1);
+        when(outboxEventDAO.findSince(10L, 101)).thenReturn(List.of(event(11, old), event(15, old)));
+
+        // ACT
+        ChangeFeedDTO result = changeFeedService.getChanges(10L, 100);
+
+        // ASSERT
+        assertThat(result.getEvents()).extracting("cursor").containsExactly(11L, 15L);
+        assertThat(result.getNextCursor()).isEqualTo(15L);
+    }
+
+    @Test
+    @DisplayName("READ - Re-escaneo de huecos devuelve los eventos que aparecieron")
+    void getChangesAt_ShouldReturnExistingEvents() {
+        // ARRANGE - el 12 confirmó tarde, el 14 fue un rollback
+        LocalDateTime old = LocalDateTime.now().minusMinutes(1);
+        when(outboxEventDAO.findByCursors(List.of(12L, 14L))).thenReturn(List.of(event(12, old)));
+
+        // ACT
+        List<ChangeEventDTO> result = changeFeedService.getChangesAt(List.of(12L, 14L));
+
+        // ASSERT
+        assertThat(result).extracting("cursor").containsExactly(12L);
+        assertThat(changeFeedService.getChangesAt(List.of())).isEmpty();
+        verify(outboxEventDAO, times(1)).findByCursors(anyCollection());
+    }
+
+    @Test
+    @DisplayName("READ - Sin cambios debe devolver el mismo cursor")
+    void getChanges_NoEvents_ShouldKeepCursor() {
+        // ARRANGE
+        when(outboxEventDAO.findSince(42L, 101)).thenReturn(List.of());
+
+        // ACT
+        ChangeFeedDTO result = changeFeedService.getChanges(42L, 100);
+
+        // ASSERT
+        assertThat(result.getEvents()).isEmpty();
+        assertThat(result.getNextCursor()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("READ - Límite fuera de rango debe lanzar IllegalArgumentException")
+    void getChanges_InvalidLimit_ShouldThrowException() {
+        assertThatThrownBy(() -> changeFeedService.getChanges(0L, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> changeFeedService.getChanges(0L, ChangeFeedServiceImpl.MAX_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(outboxEventDAO, never()).findSince(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("COMPACT - Debe borrar eventos anteriores a la retención")
+    void compactOldEvents_ShouldDeleteBeforeRetention() {
+        // ARRANGE
+        when(outboxEventDAO.deleteOlderThan(any(LocalDateTime.class))).thenReturn(5);
+
+        // ACT
+        int deleted = changeFeedService.compactOldEvents();
+
+        // ASSERT
+        assertThat(deleted).isEqualTo(5);
+        verify(outboxEventDAO).deleteOlderThan(argThat(cutoff ->
+                cutoff.isBefore(LocalDateTime.now().minusDays(6))));
+    }
+}
@@ -0,0 +1,460 @@
+package com.rafaelperez.tiendaonline.business;
+
+import com.rafaelperez.tiendaonline.business.dto.ImportJobDTO;
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.service.impl.ProductImportServiceImpl;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.ImportJobDAO;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.ProductDAO;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.SellerDAO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para ProductImportServiceImpl
+ *
+ * OBJETIVO: Verificar progreso por chunks, fallas, reanudación sin repetir filas,
+ * limpieza del CSV guardado y el dueño/lease de cada trabajo entre nodos
+ * - El ejecutor corre el trabajo en el mismo hilo
+ * - ImportJobDAO es un doble en memoria para seguir el progreso real
+ */
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+@DisplayName("ProductImportService - Unit Tests")
+public class ProductImportServiceTest {
+    private static final String HEADER = "name,description,price,stock,sellerId\n";
+    private static final String NODE = "nodo-a";
+    private static final String OTHER_NODE = "nodo-b";
+
+    @Mock
+    private ProductDAO productDAO;
+
+    @Mock
+    private SellerDAO sellerDAO;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path storageDir;
+
+    private InMemoryImportJobDAO importJobDAO;
+    private ProductImportServiceImpl importService;
+    private List<String> savedNames;
+
+    @BeforeEach
+    void setUp() {
+        importJobDAO = new InMemoryImportJobDAO();
+        importService = service(Runnable::run);
+        savedNames = new ArrayList<>();
+    }
+
+    private ProductImportServiceImpl service(TaskExecutor executor) {
+        return new ProductImportServiceImpl(importJobDAO, productDAO, sellerDAO, eventPublisher,
+                transactionManager, executor, storageDir, 500, Duration.ofDays(1), NODE, Duration.ofMinutes(2));
+    }
+
+    private ImportJobDTO upload(String rows, int chunkSize) {
+        return importService.startImport(
+                new ByteArrayInputStream((HEADER + rows).getBytes(StandardCharsets.UTF_8)), "catalogo.csv", null, chunkSize);
+    }
+
+    // saveAll "inserta" y registra los nombres guardados
+    private List<ProductDTO> save(List<ProductDTO> products) {
+        AtomicLong ids = new AtomicLong(savedNames.size());
+        for (ProductDTO product : products) {
+            product.setId(ids.incrementAndGet());
+            savedNames.add(product.getName());
+        }
+        return products;
+    }
+
+    @Test
+    @DisplayName("PROGRESO - Filas válidas se importan por chunks y las inválidas se cuentan")
+    void startImport_ValidAndInvalidRows_ShouldCompleteWithProgress() {
+        // ARRANGE
+        when(sellerDAO.existsById(1L)).thenReturn(true);
+        when(productDAO.saveAll(anyList())).thenAnswer(inv -> save(inv.getArgument(0)));
+
+        // ACT
+        ImportJobDTO job = upload("A,,10,1,1\nB,,-5,1,1\nC,,10,1,1\nD,,10,1,1\nE,,10,1,1\n", 2);
+
+        // ASSERT
+        ImportJobDTO result = importService.getJob(job.getId());
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.getTotalRows()).isEqualTo(5L);
+        assertThat(result.getCommittedRows()).isEqualTo(5L);
+        assertThat(result.getImportedRows()).isEqualTo(4L);
+        assertThat(result.getFailedRows()).isEqualTo(1L);
+        assertThat(result.getErrors()).singleElement().asString().startsWith("Fila 2:");
+        assertThat(savedNames).containsExactly("A", "C", "D", "E");
+        verify(productDAO, times(3)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("ARCHIVOS - El CSV se borra al completar")
+    void startImport_Completed_ShouldDeleteFile() {
+        // ARRANGE
+        when(sellerDAO.existsById(1L)).thenReturn(true);
+        when(productDAO.saveAll(anyList())).thenAnswer(inv -> save(inv.getArgument(0)));
+
+        // ACT
+        ImportJobDTO job = upload("A,,10,1,1\n", 10);
+
+        // ASSERT
+        assertThat(importService.getJob(job.getId()).getStatus()).isEqualTo("COMPLETED");
+        assertThat(Path.of(job.getFilePath())).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("RESTRICCIÓN - Una fila rechazada por la BD no bloquea el chunk ni el avance")
+    void startImport_ConstraintViolation_ShouldRetryRowByRow() {
+        // ARRANGE - la BD rechaza cualquier lote que contenga "DUPLICADO"
+        when(sellerDAO.existsById(1L)).thenReturn(true);
+        when(productDAO.saveAll(anyList())).thenAnswer(inv -> {
+            List<ProductDTO> products = inv.getArgument(0);
+            if (products.stream().anyMatch(p -> "DUPLICADO".equals(p.getName()))) {
+                throw new DataIntegrityViolationException("unique_product_name");
+            }
+            return save(products);
+        });
+
+        // ACT
+        ImportJobDTO job = upload("A,,10,1,1\nDUPLICADO,,10,1,1\nC,,10,1,1\nD,,10,1,1\n", 3);
+
+        // ASSERT
+        ImportJobDTO result = importService.getJob(job.getId());
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.getCommittedRows()).isEqualTo(4L);
+        assertThat(result.getImportedRows()).isEqualTo(3L);
+        assertThat(result.getFailedRows()).isEqualTo(1L);
+        assertThat(result.getErrors()).singleElement().asString()
+                .startsWith("Fila 2: rechazada por la base de datos");
+        assertThat(savedNames).containsExactly("A", "C", "D");
+    }
+
+    @Test
+    @DisplayName("FALLA - Un error de BD deja el trabajo FAILED en el último chunk confirmado")
+    void startImport_DatabaseDown_ShouldFailAndKeepFile() {
+        // ARRANGE - el segundo chunk falla
+        when(sellerDAO.existsById(1L)).thenReturn(true);
+        when(productDAO.saveAll(anyList()))
+                .thenAnswer(inv -> save(inv.getArgument(0)))
+                .thenThrow(new DataAccessResourceFailureException("Conexión perdida"));
+
+        // ACT
+        ImportJobDTO job = upload("A,,10,1,1\nB,,10,1,1\nC,,10,1,1\nD,,10,1,1\n", 2);
+
+        // ASSERT
+        ImportJobDTO result = importService.getJob(job.getId());
+        assertThat(result.getStatus()).isEqualTo("FAILED");
+        assertThat(result.getErrorMessage()).contains("Conexión perdida");
+        assertThat(result.getCommittedRows()).isEqualTo(2L);
+        assertThat(Path.of(job.getFilePath())).exists();
+    }
+
+    @Test
+    @DisplayName("REANUDAR - Continúa desde committedRows sin repetir filas")
+    void resumeImport_AfterFailure_ShouldContinueFromCheckpoint() {
+        // ARRANGE
+        when(sellerDAO.existsById(1L)).thenReturn(true);
+        when(productDAO.saveAll(anyList()))
+                .thenAnswer(inv -> save(inv.getArgument(0)))
+                .thenThrow(new DataAccessResourceFailureException("Conexión perdida"))
+                .thenAnswer(inv -> save(inv.getArgument(0)));
+        ImportJobDTO job = upload("A,,10,1,1\nB,,10,1,1\nC,,10,1,1\nD,,10,1,1\nE,,10,1,1\n", 2);
+
+        // ACT
+        importService.resumeImport(job.getId());
+
+        // ASSERT
+        ImportJobDTO result = importService.getJob(job.getId());
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.getCommittedRows()).isEqualTo(5L);
+        assertThat(result.getImportedRows()).isEqualTo(5L);
+        assertThat(savedNames).containsExactly("A", "B", "C", "D", "E");
+    }
+
+    @Test
+    @DisplayName("REANUDAR - Solo se reanudan trabajos FAILED con su archivo disponible")
+    void resumeImport_InvalidState_ShouldThrowIllegalStateException() {
+        // ARRANGE
+        when(sellerDAO.existsById(1L)).thenReturn(true);
+        when(productDAO.saveAll(anyList())).thenAnswer(inv -> save(inv.getArgument(0)));
+        ImportJobDTO completed = upload("A,,10,1,1\n", 10);
+        ImportJobDTO failedWithoutFile = importJobDAO.create("viejo.csv", storageDir.resolve("no-existe.csv").toString(), null, 10,
+                NODE, LocalDateTime.now());
+        importJobDAO.updateStatus(failedWithoutFile.getId(), "FAILED", null, "Error");
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> importService.resumeImport(completed.getId()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("COMPLETED");
+        assertThatThrownBy(() -> importService.resumeImport(failedWithoutFile.getId()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("ya no está disponible");
+    }
+
+    @Test
+    @DisplayName("COLA LLENA - El rechazo del ejecutor se propaga y borra el CSV")
+    void startImport_QueueFull_ShouldFailJobAndDeleteFile() {
+        // ARRANGE
+        importService = service(task -> {
+            throw new TaskRejectedException("Cola llena");
+        });
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> upload("A,,10,1,1\n", 10))
+                .isInstanceOf(TaskRejectedException.class);
+        ImportJobDTO job = importJobDAO.findById(1L).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo("FAILED");
+        assertThat(Path.of(job.getFilePath())).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("EXPIRAR - Trabajos FAILED vencidos pierden su archivo y pasan a EXPIRED")
+    void expireFailedJobs_ShouldDeleteFileAndMarkExpired() throws Exception {
+        // ARRANGE
+        Path file = Files.writeString(storageDir.resolve("viejo.csv"), HEADER);
+        ImportJobDTO job = importJobDAO.create("viejo.csv", file.toString(), null, 10, NODE, LocalDateTime.now());
+        importJobDAO.updateStatus(job.getId(), "FAILED", null, "Conexión perdida");
+        importJobDAO.jobs.get(job.getId()).setUpdatedAt(LocalDateTime.now().minusDays(2));
+
+        // ACT
+        importService.expireFailedJobs();
+
+        // ASSERT
+        assertThat(file).doesNotExist();
+        assertThat(importService.getJob(job.getId()).getStatus()).isEqualTo("EXPIRED");
+    }
+
+    @Test
+    @DisplayName("NODOS - Al arrancar solo se marcan FAILED los trabajos propios o con lease vencido")
+    void markInterruptedJobs_ShouldOnlyFailOwnOrExpiredJobs() {
+        // ARRANGE
+        LocalDateTime later = LocalDateTime.now().plusMinutes(1);
+        ImportJobDTO own = importJobDAO.create("a.csv", "a.csv", null, 10, NODE, later);
+        ImportJobDTO otherAlive = importJobDAO.create("b.csv", "b.csv", null, 10, OTHER_NODE, later);
+        ImportJobDTO otherDead = importJobDAO.create("c.csv", "c.csv", null, 10, OTHER_NODE, LocalDateTime.now().minusMinutes(1));
+        importJobDAO.updateStatus(otherAlive.getId(), "RUNNING", 100L, null);
+
+        // ACT
+        importService.markInterruptedJobs();
+
+        // ASSERT
+        assertThat(importService.getJob(own.getId()).getStatus()).isEqualTo("FAILED");
+        assertThat(importService.getJob(own.getId()).getErrorMessage()).contains("reinicio");
+        assertThat(importService.getJob(otherAlive.getId()).getStatus()).isEqualTo("RUNNING");
+        assertThat(importService.getJob(otherDead.getId()).getStatus()).isEqualTo("FAILED");
+        assertThat(importService.getJob(otherDead.getId()).getErrorMessage()).contains(OTHER_NODE);
+    }
+
+    @Test
+    @DisplayName("NODOS - El heartbeat renueva el lease de los trabajos de este nodo")
+    void heartbeat_ShouldRenewLeaseOfLocalJobs() {
+        // ARRANGE - el trabajo queda encolado (en runningJobs) sin ejecutarse
+        List<Runnable> queued = new ArrayList<>();
+        importService = service(queued::add);
+        ImportJobDTO job = upload("A,,10,1,1\n", 10);
+        importJobDAO.jobs.get(job.getId()).setLeaseExpiresAt(LocalDateTime.now().plusSeconds(1));
+
+        // ACT
+        importService.heartbeat();
+
+        // ASSERT
+        assertThat(importService.getJob(job.getId()).getLeaseExpiresAt()).isAfter(LocalDateTime.now().plusSeconds(60));
+        assertThat(importService.getJob(job.getId()).getStatus()).isEqualTo("PENDING");
+        assertThat(queued).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("NODOS - Si otro nodo toma el trabajo, este no confirma más chunks ni cambia su estado")
+    void startImport_LeaseLost_ShouldStopWithoutTouchingJob() {
+        // ARRANGE - tras el primer chunk el lease vence y otro nodo reanuda el trabajo
+        when(sellerDAO.existsById(1L)).thenReturn(true);
+        when(productDAO.saveAll(anyList()))
+                .thenAnswer(inv -> save(inv.getArgument(0)))
+                .thenAnswer(inv -> {
+                    ImportJobDTO stolen = importJobDAO.jobs.get(1L);
+                    stolen.setOwnerNode(OTHER_NODE);
+                    stolen.setStatus("RUNNING");
+                    return save(inv.getArgument(0));
+                });
+
+        // ACT
+        ImportJobDTO job = upload("A,,10,1,1\nB,,10,1,1\nC,,10,1,1\nD,,10,1,1\n", 2);
+
+        // ASSERT - el segundo chunk se rechaza (en BD se revierte) y el estado sigue siendo del otro nodo
+        ImportJobDTO result = importService.getJob(job.getId());
+        assertThat(result.getCommittedRows()).isEqualTo(2L);
+        assertThat(result.getStatus()).isEqualTo("RUNNING");
+        assertThat(result.getOwnerNode()).isEqualTo(OTHER_NODE);
+        verify(productDAO, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("NODOS - Reanudar en un nodo sin el archivo se rechaza indicando el nodo dueño")
+    void resumeImport_FileOnOtherNode_ShouldPointToOwner() {
+        // ARRANGE
+        ImportJobDTO job = importJobDAO.create("a.csv", storageDir.resolve("en-otro-nodo.csv").toString(), null, 10,
+                OTHER_NODE, LocalDateTime.now());
+        importJobDAO.updateStatus(job.getId(), "FAILED", null, "Conexión perdida");
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> importService.resumeImport(job.getId()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(OTHER_NODE)
+                .hasMessageContaining("storage-dir");
+        assertThat(importService.getJob(job.getId()).getStatus()).isEqualTo("FAILED");
+    }
+
+    /**
+     * Doble en memoria de ImportJobDAO (mismo contrato, sin base de datos)
+     */
+    private static class InMemoryImportJobDAO extends ImportJobDAO {
+        private final Map<Long, ImportJobDTO> jobs = new HashMap<>();
+
+        InMemoryImportJobDAO() {
+            super(null, null);
+        }
+
+        @Override
+        public ImportJobDTO create(String originalFileName, String filePath, Long sellerId, int chunkSize,
+                                   String ownerNode, LocalDateTime leaseExpiresAt) {
+            LocalDateTime now = LocalDateTime.now();
+            ImportJobDTO job = new ImportJobDTO((long) jobs.size() + 1, originalFileName, filePath, sellerId, chunkSize,
+                    "PENDING", null, 0L, 0L, 0L, null, new ArrayList<>(), null, ownerNode, leaseExpiresAt, now, now);
+            jobs.put(job.getId(), job);
+            return copy(job);
+        }
+
+        @Override
+        public Optional<ImportJobDTO> findById(Long id) {
+            return Optional.ofNullable(jobs.get(id)).map(InMemoryImportJobDAO::copy);
+        }
+
+        @Override
+        public List<ImportJobDTO> findByStatusIn(Collection<String> statuses) {
+            return jobs.values().stream().filter(job -> statuses.contains(job.getStatus())).map(InMemoryImportJobDAO::copy).toList();
+        }
+
+        @Override
+        public List<ImportJobDTO> findByStatusUpdatedBefore(String status, LocalDateTime cutoff) {
+            return jobs.values().stream()
+                    .filter(job -> job.getStatus().equals(status) && job.getUpdatedAt().isBefore(cutoff))
+                    .map(InMemoryImportJobDAO::copy).toList();
+        }
+
+        @Override
+        public void updateStatus(Long id, String status, Long totalRows, String errorMessage) {
+            ImportJobDTO job = jobs.get(id);
+            job.setStatus(status);
+            if (totalRows != null) {
+                job.setTotalRows(totalRows);
+            }
+            job.setErrorMessage(errorMessage);
+            job.setUpdatedAt(LocalDateTime.now());
+        }
+
+        @Override
+        public boolean claim(Long id, String ownerNode, LocalDateTime leaseExpiresAt) {
+            ImportJobDTO job = jobs.get(id);
+            if (!"FAILED".equals(job.getStatus())) {
+                return false;
+            }
+            job.setStatus("PENDING");
+            job.setOwnerNode(ownerNode);
+            job.setLeaseExpiresAt(leaseExpiresAt);
+            job.setErrorMessage(null);
+            return true;
+        }
+
+        @Override
+        public boolean renewLease(Long id, String ownerNode, LocalDateTime leaseExpiresAt) {
+            ImportJobDTO job = jobs.get(id);
+            if (!isActive(job) || !ownerNode.equals(job.getOwnerNode())) {
+                return false;
+            }
+            job.setLeaseExpiresAt(leaseExpiresAt);
+            return true;
+        }
+
+        @Override
+        public boolean failIfAbandoned(Long id, String restartedNode, String errorMessage) {
+            ImportJobDTO job = jobs.get(id);
+            boolean abandoned = (restartedNode != null && restartedNode.equals(job.getOwnerNode()))
+                    || job.getLeaseExpiresAt() == null || job.getLeaseExpiresAt().isBefore(LocalDateTime.now());
+            if (!isActive(job) || !abandoned) {
+                return false;
+            }
+            updateStatus(id, "FAILED", null, errorMessage);
+            return true;
+        }
+
+        @Override
+        public boolean updateOwnedStatus(Long id, String ownerNode, String status, Long totalRows, String errorMessage) {
+            ImportJobDTO job = jobs.get(id);
+            if (!isActive(job) || !ownerNode.equals(job.getOwnerNode())) {
+                return false;
+            }
+            updateStatus(id, status, totalRows, errorMessage);
+            return true;
+        }
+
+        @Override
+        public void recordChunk(Long id, String ownerNode, int rows, int imported, List<String> rowErrors) {
+            ImportJobDTO job = jobs.get(id);
+            if (!isActive(job) || !ownerNode.equals(job.getOwnerNode())) {
+                throw new IllegalStateException("La importación ID: " + id + " ya no pertenece al nodo " + ownerNode);
+            }
+            job.setCommittedRows(job.getCommittedRows() + rows);
+            job.setImportedRows(job.getImportedRows() + imported);
+            job.setFailedRows(job.getFailedRows() + rowErrors.size());
+            job.getErrors().addAll(rowErrors);
+            job.setUpdatedAt(LocalDateTime.now());
+        }
+
+        private static boolean isActive(ImportJobDTO job) {
+            return "PENDING".equals(job.getStatus()) || "RUNNING".equals(job.getStatus());
+        }
+
+        private static ImportJobDTO copy(ImportJobDTO job) {
+            return new ImportJobDTO(job.getId(), job.getOriginalFileName(), job.getFilePath(), job.getSellerId(),
+                    job.getChunkSize(), job.getStatus(), job.getTotalRows(), job.getCommittedRows(),
+                    job.getImportedRows(), job.getFailedRows(), null, new ArrayList<>(job.getErrors()),
+                    job.getErrorMessage(), job.getOwnerNode(), job.getLeaseExpiresAt(), job.getCreatedAt(), job.getUpdatedAt());
+        }
+    }
+}
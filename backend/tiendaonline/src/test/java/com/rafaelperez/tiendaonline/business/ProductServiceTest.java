@@ -2,21 +2,30 @@ package com.rafaelperez.tiendaonline.business;
 
 import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
 import com.rafaelperez.tiendaonline.business.dto.SellerDTO;
+import com.rafaelperez.tiendaonline.business.event.ProductChangedEvent;
 import com.rafaelperez.tiendaonline.business.service.SellerService;
 import com.rafaelperez.tiendaonline.business.service.impl.ProductServiceImpl;
 import com.rafaelperez.tiendaonline.persistenceLayer.dao.ProductDAO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -33,6 +42,7 @@ import static org.mockito.Mockito.*;
  * - Ejecución rápida
  */
 @ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
 @DisplayName("ProductService - Unit Tests")
 public class ProductServiceTest {
     // DEPENDENCIAS MOCKEADAS
@@ -42,6 +52,13 @@ public class ProductServiceTest {
     @Mock
     private SellerService sellerService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    // Ejecuta el callback sin transacción real (spy: se puede verificar el orden)
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
+
     // CLASE BAJO PRUEBA (System Under Test)
     @InjectMocks
     private ProductServiceImpl productService;
@@ -126,6 +143,44 @@ public class ProductServiceTest {
         verify(productDAO, times(1)).save(any(ProductDTO.class));
     }
 
+    @Test
+    @DisplayName("CREATE - Producto válido debe publicar ProductChangedEvent CREATED")
+    void createProduct_ValidData_ShouldPublishCreatedEvent() {
+        // ARRANGE
+        ProductDTO savedProduct = new ProductDTO(validProductId, "Laptop Test", "Descripción de prueba",
+                BigDecimal.valueOf(1500.00), 10, validSellerId, null, null);
+        when(sellerService.getSellerById(validSellerId)).thenReturn(validSellerDTO);
+        when(productDAO.save(any(ProductDTO.class))).thenReturn(savedProduct);
+
+        // ACT
+        productService.createProduct(validProductDTO);
+
+        // ASSERT
+        ArgumentCaptor<ProductChangedEvent> captor = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().getType()).isEqualTo(ProductChangedEvent.Type.CREATED);
+        assertThat(captor.getValue().getProductId()).isEqualTo(validProductId);
+        assertThat(captor.getValue().getProduct()).isSameAs(savedProduct);
+    }
+
+    @Test
+    @DisplayName("CREATE - El vendedor se verifica antes de abrir la transacción de escritura")
+    void createProduct_ValidData_ShouldCheckSellerBeforeWriteTransaction() {
+        // ARRANGE
+        when(sellerService.getSellerById(validSellerId)).thenReturn(validSellerDTO);
+        when(productDAO.save(any(ProductDTO.class))).thenReturn(validProductDTO);
+
+        // ACT
+        productService.createProduct(validProductDTO);
+
+        // ASSERT - búsqueda (agrupable) -> transacción -> INSERT + evento dentro de ella
+        InOrder inOrder = inOrder(sellerService, transactionOperations, productDAO, eventPublisher);
+        inOrder.verify(sellerService).getSellerById(validSellerId);
+        inOrder.verify(transactionOperations).execute(any());
+        inOrder.verify(productDAO).save(validProductDTO);
+        inOrder.verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
+    }
+
     @Test
     @DisplayName("CREATE - Nombre null debe lanzar IllegalArgumentException")
     void createProduct_NullName_ShouldThrowException() {
@@ -239,8 +294,9 @@ public class ProductServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Vendedor no encontrado");
 
-        // Verificar que NO se llamó al DAO
+        // Verificar que NO se llamó al DAO ni se abrió la transacción
         verify(productDAO, never()).save(any(ProductDTO.class));
+        verify(transactionOperations, never()).execute(any());
     }
 
     // ==================== READ PRODUCT TESTS ====================
@@ -310,17 +366,31 @@ public class ProductServiceTest {
         verify(productDAO, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("READ BATCH - Debe delegar en una sola consulta al DAO")
+    void getProductsByIds_ShouldUseSingleDaoCall() {
+        // ARRANGE
+        List<Long> ids = List.of(1L, 2L);
+        when(productDAO.findAllById(ids)).thenReturn(List.of(
+                new ProductDTO(1L, "Product 1", "Desc 1", BigDecimal.valueOf(100), 5, 1L, null, null),
+                new ProductDTO(2L, "Product 2", "Desc 2", BigDecimal.valueOf(200), 10, 1L, null, null)
+        ));
+
+        // ACT
+        List<ProductDTO> result = productService.getProductsByIds(ids);
+
+        // ASSERT
+        assertThat(result).extracting("id").containsExactly(1L, 2L);
+        verify(productDAO, times(1)).findAllById(ids);
+        verify(productDAO, never()).findById(anyLong());
+    }
+
     // ==================== UPDATE PRODUCT TESTS ====================
 
     @Test
     @DisplayName("UPDATE - Datos válidos debe retornar producto actualizado")
     void updateProduct_ValidData_ShouldReturnUpdatedProduct() {
         // ARRANGE
-        ProductDTO existingProduct = new ProductDTO(
-                validProductId, "Old Name", "Old Desc",
-                BigDecimal.valueOf(1000), 5, validSellerId, null, null
-        );
-
         ProductDTO updateData = new ProductDTO(
                 validProductId, "New Name", null,
                 BigDecimal.valueOf(1500), null, null, null, null
@@ -331,8 +401,6 @@ public class ProductServiceTest {
                 BigDecimal.valueOf(1500), 5, validSellerId, null, null
         );
 
-        when(productDAO.findById(validProductId))
-                .thenReturn(Optional.of(existingProduct));
         when(productDAO.update(eq(validProductId), any(ProductDTO.class)))
                 .thenReturn(Optional.of(updatedProduct));
 
@@ -345,19 +413,22 @@ public class ProductServiceTest {
         assertThat(result.getStock()).isEqualTo(5); // No cambió
 
         verify(productDAO, times(1)).update(eq(validProductId), any(ProductDTO.class));
+        verify(productDAO, never()).findById(anyLong()); // sin lectura previa (incluiría description)
     }
 
     @Test
-    @DisplayName("UPDATE - Producto inexistente debe lanzar RuntimeException")
+    @DisplayName("UPDATE - Producto inexistente debe lanzar NoSuchElementException")
     void updateProduct_NonExistentId_ShouldThrowException() {
         // ARRANGE
         Long nonExistentId = 999L;
-        when(productDAO.findById(nonExistentId))
+        when(productDAO.update(eq(nonExistentId), any(ProductDTO.class)))
                 .thenReturn(Optional.empty());
 
         // ACT & ASSERT
         assertThatThrownBy(() -> productService.updateProduct(nonExistentId, validProductDTO))
-                .isInstanceOf(RuntimeException.class);
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessageContaining("no encontrado");
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     // ==================== DELETE PRODUCT TESTS ====================
@@ -375,6 +446,22 @@ public class ProductServiceTest {
         verify(productDAO, times(1)).deleteById(validProductId);
     }
 
+    @Test
+    @DisplayName("DELETE - Debe publicar ProductChangedEvent DELETED")
+    void deleteProduct_ExistingId_ShouldPublishDeletedEvent() {
+        // ARRANGE
+        when(productDAO.deleteById(validProductId)).thenReturn(true);
+
+        // ACT
+        productService.deleteProduct(validProductId);
+
+        // ASSERT
+        ArgumentCaptor<ProductChangedEvent> captor = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().getType()).isEqualTo(ProductChangedEvent.Type.DELETED);
+        assertThat(captor.getValue().getProductId()).isEqualTo(validProductId);
+    }
+
     @Test
     @DisplayName("DELETE - Producto inexistente debe lanzar RuntimeException")
     void deleteProduct_NonExistentId_ShouldThrowException() {
@@ -387,4 +474,42 @@ public class ProductServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Producto no encontrado con ID: " + nonExistentId);
     }
+
+    // ========== TESTS PARA GET FIELDS (?fields=) ==========
+
+    @Test
+    @DisplayName("GET FIELDS - Campos validados y en el orden del DTO")
+    void getAllProductFields_ValidFields_ShouldQueryProjection() {
+        // ARRANGE
+        List<Map<String, Object>> rows = List.of(Map.of("id", 1L, "name", "Laptop"));
+        when(productDAO.findAllFields(List.of("id", "name", "price", "stock"))).thenReturn(rows);
+
+        // ACT
+        List<Map<String, Object>> result = productService.getAllProductFields("stock, price,id,name,id");
+
+        // ASSERT
+        assertThat(result).isSameAs(rows);
+    }
+
+    @Test
+    @DisplayName("GET FIELDS - Campo desconocido lanza excepción sin consultar")
+    void getAllProductFields_UnknownField_ShouldThrowException() {
+        // ACT & ASSERT
+        assertThatThrownBy(() -> productService.getAllProductFields("id,password"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("password");
+        verifyNoInteractions(productDAO);
+    }
+
+    @Test
+    @DisplayName("GET FIELDS BY ID - Producto inexistente lanza excepción")
+    void getProductFields_NonExistentId_ShouldThrowException() {
+        // ARRANGE
+        when(productDAO.findFieldsById(99L, List.of("id", "name"))).thenReturn(Optional.empty());
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> productService.getProductFields(99L, "name,id"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Producto no encontrado con ID: 99");
+    }
 }
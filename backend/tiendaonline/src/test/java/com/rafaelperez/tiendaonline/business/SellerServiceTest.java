@@ -1,16 +1,19 @@
 package com.rafaelperez.tiendaonline.business;
 
 import com.rafaelperez.tiendaonline.business.dto.SellerDTO;
+import com.rafaelperez.tiendaonline.business.event.SellerChangedEvent;
 import com.rafaelperez.tiendaonline.business.service.impl.SellerServiceImpl;
 import com.rafaelperez.tiendaonline.persistenceLayer.dao.SellerDAO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -30,12 +33,16 @@ import static org.mockito.Mockito.*;
  * - Ejecución rápida
  */
 @ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
 @DisplayName("SellerService - Unit Tests")
 public class SellerServiceTest {
 
     @Mock
     private SellerDAO sellerDAO;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private SellerServiceImpl sellerService;
 
@@ -270,6 +277,24 @@ public class SellerServiceTest {
         verify(sellerDAO, times(1)).deleteById(validSellerId);
     }
 
+    @Test
+    @DisplayName("DELETE - vendedor eliminado publica SellerChangedEvent DELETED")
+    void deleteSeller_existing_publishesDeletedEvent() {
+        // Arrange
+        when(sellerDAO.findById(validSellerId)).thenReturn(Optional.of(validSellerDTO));
+        when(sellerDAO.deleteById(validSellerId)).thenReturn(true);
+
+        // Act
+        sellerService.deleteSeller(validSellerId);
+
+        // Assert
+        ArgumentCaptor<SellerChangedEvent> captor = ArgumentCaptor.forClass(SellerChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertThat(captor.getValue().getType()).isEqualTo(SellerChangedEvent.Type.DELETED);
+        assertThat(captor.getValue().getSellerId()).isEqualTo(validSellerId);
+        assertThat(captor.getValue().getSeller()).isNull();
+    }
+
     @Test
     @DisplayName("DELETE - vendedor no existente lanza RuntimeException")
     void deleteSeller_notFound_throws() {
@@ -0,0 +1,169 @@
+package com.rafaelperez.tiendaonline.business.alert;
+
+import com.rafaelperez.tiendaonline.business.dto.CatalogItemDTO;
+import com.rafaelperez.tiendaonline.business.dto.LowStockAlertDTO;
+import com.rafaelperez.tiendaonline.business.dto.LowStockAlertEventDTO;
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.event.OutboxEventListener;
+import com.rafaelperez.tiendaonline.business.invalidation.InMemoryInvalidationBus;
+import com.rafaelperez.tiendaonline.business.invalidation.ProductChangeStream;
+import com.rafaelperez.tiendaonline.config.LowStockAlertProperties;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.ProductDAO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para LowStockAlertEngine
+ *
+ * OBJETIVO: Verificar umbrales, histéresis, de-duplicación y la cola de eventos
+ * - ProductDAO simulado, bus en memoria
+ */
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+@DisplayName("LowStockAlertEngine - Unit Tests")
+class LowStockAlertEngineTest {
+
+    @Mock
+    private ProductDAO productDAO;
+
+    private InMemoryInvalidationBus bus;
+    private ProductChangeStream changeStream;
+    private LowStockAlertProperties properties;
+    private LowStockAlertEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        bus = new InMemoryInvalidationBus();
+        properties = new LowStockAlertProperties();
+        properties.setDefaultThreshold(5);
+        properties.setHysteresis(3);
+        changeStream = new ProductChangeStream(productDAO, bus, Optional.empty());
+        engine = new LowStockAlertEngine(changeStream, properties, new SimpleMeterRegistry(),
+                Clock.fixed(Instant.parse("2026-10-19T08:00:00Z"), ZoneOffset.UTC));
+    }
+
+    private ProductDTO product(Long id, int stock, Long sellerId) {
+        return new ProductDTO(id, "Producto " + id, "Desc", new BigDecimal("10"), stock, sellerId, null, null);
+    }
+
+    private CatalogItemDTO item(Long id, int stock, Long sellerId) {
+        return CatalogItemDTO.from(product(id, stock, sellerId));
+    }
+
+    @Test
+    @DisplayName("HISTÉRESIS - Abre en el umbral y solo resuelve por encima de umbral + histéresis")
+    void evaluate_ShouldApplyHysteresis() {
+        // ACT & ASSERT
+        engine.evaluate(item(1L, 6, 1L));
+        assertThat(engine.getOpenAlerts(null, 10)).isEmpty();
+
+        engine.evaluate(item(1L, 5, 1L));
+        assertThat(engine.getOpenAlerts(null, 10)).extracting(LowStockAlertDTO::getStock).containsExactly(5);
+
+        engine.evaluate(item(1L, 8, 1L));
+        assertThat(engine.getOpenAlerts(null, 10)).extracting(LowStockAlertDTO::getStock).containsExactly(8);
+
+        engine.evaluate(item(1L, 9, 1L));
+        assertThat(engine.getOpenAlerts(null, 10)).isEmpty();
+
+        assertThat(engine.getEvents(0, 10)).extracting(LowStockAlertEventDTO::getType)
+                .containsExactly(LowStockAlertEventDTO.Type.OPENED, LowStockAlertEventDTO.Type.RESOLVED);
+    }
+
+    @Test
+    @DisplayName("DE-DUPLICACIÓN - Bajadas sucesivas bajo el umbral no generan nuevos eventos")
+    void evaluate_RepeatedLowStock_ShouldEmitSingleEvent() {
+        // ACT
+        engine.evaluate(item(1L, 4, 1L));
+        engine.evaluate(item(1L, 3, 1L));
+        engine.evaluate(item(1L, 0, 1L));
+
+        // ASSERT
+        assertThat(engine.getEvents(0, 10)).hasSize(1);
+        assertThat(engine.getOpenAlerts(null, 10).get(0).getStock()).isZero();
+    }
+
+    @Test
+    @DisplayName("UMBRALES - Producto > vendedor > default")
+    void evaluate_ShouldResolveThresholdByPriority() {
+        // ARRANGE
+        properties.getSellers().put(2L, 20);
+        properties.getProducts().put(3L, 1);
+
+        // ACT
+        engine.evaluate(item(1L, 15, 2L)); // umbral del vendedor (20)
+        engine.evaluate(item(3L, 4, 2L));  // umbral propio (1)
+        engine.evaluate(item(4L, 5, 9L));  // default (5)
+
+        // ASSERT
+        assertThat(engine.getOpenAlerts(null, 10)).extracting(LowStockAlertDTO::getProductId)
+                .containsExactly(4L, 1L);
+        assertThat(engine.getOpenAlerts(2L, 10)).extracting(LowStockAlertDTO::getThreshold).containsExactly(20);
+    }
+
+    @Test
+    @DisplayName("BUS - Los cambios y borrados recibidos se evalúan recargando solo ese producto")
+    void onInvalidation_ShouldReloadSingleProduct() {
+        // ARRANGE
+        when(productDAO.findById(1L)).thenReturn(Optional.of(product(1L, 2, 1L)));
+
+        // ACT
+        bus.publish(OutboxEventListener.AGGREGATE_PRODUCT, 1L, "UPDATED");
+        bus.publish(OutboxEventListener.AGGREGATE_PRODUCT, 1L, "DELETED");
+
+        // ASSERT
+        assertThat(engine.getOpenAlerts(null, 10)).isEmpty();
+        List<LowStockAlertEventDTO> events = engine.getEvents(0, 10);
+        assertThat(events).extracting(LowStockAlertEventDTO::getType)
+                .containsExactly(LowStockAlertEventDTO.Type.OPENED, LowStockAlertEventDTO.Type.RESOLVED);
+        assertThat(events.get(1).getStock()).isNull();
+        verify(productDAO, times(1)).findById(1L);
+        verify(productDAO, never()).findPageAfter(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("COLA - Acotada a event-capacity y consultable por secuencia")
+    void events_ShouldBeBoundedAndCursorBased() {
+        // ARRANGE
+        properties.setEventCapacity(2);
+
+        // ACT
+        engine.evaluate(item(1L, 1, 1L));
+        engine.evaluate(item(2L, 1, 1L));
+        engine.evaluate(item(3L, 1, 1L));
+
+        // ASSERT
+        assertThat(engine.getEvents(0, 10)).extracting(LowStockAlertEventDTO::getSequence).containsExactly(2L, 3L);
+        assertThat(engine.getEvents(2, 10)).extracting(LowStockAlertEventDTO::getProductId).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("ARRANQUE - Reconstruye las alertas abiertas con una pasada por el catálogo")
+    void initialize_ShouldRebuildOpenAlerts() {
+        // ARRANGE
+        when(productDAO.findPageAfter(eq(0L), anyInt())).thenReturn(List.of(product(1L, 0, 1L), product(2L, 50, 1L)));
+
+        // ACT
+        changeStream.initialize();
+
+        // ASSERT
+        assertThat(engine.getOpenAlerts(null, 10)).extracting(LowStockAlertDTO::getProductId).containsExactly(1L);
+    }
+}
@@ -0,0 +1,168 @@
+package com.rafaelperez.tiendaonline.business.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.event.OutboxEventListener;
+import com.rafaelperez.tiendaonline.business.invalidation.InMemoryInvalidationBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para ProductJsonCache
+ *
+ * OBJETIVO: Verificar hits, invalidación y ensamblado del listado
+ * - No requiere Spring Context (ObjectMapper creado a mano)
+ */
+@DisplayName("ProductJsonCache - Unit Tests")
+public class ProductJsonCacheTest {
+
+    private InMemoryInvalidationBus bus;
+    private ProductJsonCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        bus = new InMemoryInvalidationBus();
+        cache = new ProductJsonCache(new ObjectMapper().findAndRegisterModules(), bus, true, 100);
+        loads = new AtomicInteger();
+    }
+
+    private ProductDTO product(Long id, String name) {
+        return new ProductDTO(id, name, "Desc", BigDecimal.valueOf(100), 5, 1L, null, null);
+    }
+
+    @Test
+    @DisplayName("GET - Segundo acceso debe servirse desde caché sin cargar")
+    void getProductJson_SecondCall_ShouldHitCache() {
+        // ACT
+        byte[] first = cache.getProductJson(1L, id -> { loads.incrementAndGet(); return product(id, "Laptop"); });
+        byte[] second = cache.getProductJson(1L, id -> { loads.incrementAndGet(); return product(id, "Laptop"); });
+
+        // ASSERT
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first, StandardCharsets.UTF_8)).contains("\"name\":\"Laptop\"");
+    }
+
+    @Test
+    @DisplayName("INVALIDACIÓN - Mensaje UPDATED del bus debe forzar recarga del fragmento")
+    void onInvalidation_Updated_ShouldEvictFragment() {
+        // ARRANGE
+        cache.getProductJson(1L, id -> product(id, "Viejo"));
+
+        // ACT
+        bus.publish(OutboxEventListener.AGGREGATE_PRODUCT, 1L, "UPDATED");
+        byte[] json = cache.getProductJson(1L, id -> product(id, "Nuevo"));
+
+        // ASSERT
+        assertThat(new String(json, StandardCharsets.UTF_8)).contains("Nuevo");
+    }
+
+    @Test
+    @DisplayName("INVALIDACIÓN - Carga iniciada antes de invalidar no debe quedar cacheada")
+    void getProductJson_InvalidatedDuringLoad_ShouldNotCacheStaleData() {
+        // ACT - La invalidación ocurre mientras el loader está ejecutando
+        cache.getProductJson(1L, id -> {
+            cache.invalidate(id);
+            return product(id, "Obsoleto");
+        });
+
+        // ASSERT
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("LIST - Debe concatenar fragmentos y recargar solo los faltantes")
+    void writeProductList_ShouldReuseFragments() throws Exception {
+        // ARRANGE
+        List<ProductDTO> all = List.of(product(1L, "A"), product(2L, "B"));
+        cache.writeProductList(new ByteArrayOutputStream(), () -> all, ids -> List.of());
+        cache.invalidate(2L);
+
+        // ACT
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.writeProductList(out,
+                () -> { throw new AssertionError("No debe recargar el listado completo"); },
+                ids -> { loads.incrementAndGet(); return List.of(product(2L, "B2")); });
+
+        // ASSERT
+        String json = out.toString(StandardCharsets.UTF_8);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(json).startsWith("[{").endsWith("}]").contains("\"A\"").contains("\"B2\"");
+        assertThat(new ObjectMapper().readTree(json).size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("TAMAÑO - Superado maxEntries se desalojan fragmentos y se siguen cacheando los nuevos")
+    void getProductJson_BeyondMaxEntries_ShouldEvictAndKeepCaching() {
+        // ARRANGE - caché de 100 fragmentos
+        for (long id = 1; id <= 250; id++) {
+            cache.getProductJson(id, key -> product(key, "P" + key));
+        }
+
+        // ACT - un producto nuevo después de llenarla
+        cache.getProductJson(500L, id -> { loads.incrementAndGet(); return product(id, "Nuevo"); });
+        cache.getProductJson(500L, id -> { loads.incrementAndGet(); return product(id, "Nuevo"); });
+
+        // ASSERT
+        assertThat(cache.size()).isEqualTo(100);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("TAMAÑO - Un fragmento leído entre barridos sobrevive al desalojo (reloj)")
+    void getProductJson_HotFragment_ShouldSurviveEviction() {
+        // ARRANGE
+        cache.getProductJson(1L, id -> product(id, "Caliente"));
+
+        // ACT - el producto 1 se sigue leyendo mientras entran otros 1000
+        for (long id = 2; id <= 1000; id++) {
+            cache.getProductJson(id, key -> product(key, "P" + key));
+            cache.getProductJson(1L, key -> { loads.incrementAndGet(); return product(key, "Caliente"); });
+        }
+
+        // ASSERT
+        assertThat(loads.get()).isZero();
+        assertThat(cache.size()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("LIST - Listado mayor que la caché debe devolverse completo")
+    void writeProductList_BeyondMaxEntries_ShouldWriteAllProducts() throws Exception {
+        // ARRANGE
+        List<ProductDTO> all = LongStream.rangeClosed(1, 300).mapToObj(id -> product(id, "P" + id)).toList();
+        cache.writeProductList(new ByteArrayOutputStream(), () -> all, ids -> List.of());
+
+        // ACT - los desalojados se recargan por IN
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.writeProductList(out,
+                () -> { throw new AssertionError("No debe recargar el listado completo"); },
+                ids -> { loads.incrementAndGet(); return ids.stream().map(id -> product(id, "P" + id)).toList(); });
+
+        // ASSERT
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(new ObjectMapper().readTree(out.toString(StandardCharsets.UTF_8)).size()).isEqualTo(300);
+        assertThat(cache.size()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("LIST - Listado vacío debe escribir []")
+    void writeProductList_Empty_ShouldWriteEmptyArray() throws Exception {
+        // ACT
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.writeProductList(out, List::of, ids -> List.of());
+
+        // ASSERT
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+    }
+}
@@ -0,0 +1,133 @@
+package com.rafaelperez.tiendaonline.business.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para AdaptiveConcurrencyLimiter
+ *
+ * OBJETIVO: Verificar prioridad lectura/escritura y adaptación del límite a la latencia
+ * - Reloj simulado: cada "ventana" son N peticiones concurrentes con una latencia fija
+ */
+@DisplayName("AdaptiveConcurrencyLimiter - Unit Tests")
+public class AdaptiveConcurrencyLimiterTest {
+
+    private AtomicLong clock;
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(meterRegistry, true, 20, 5, 100, 1.5, 0.2,
+                Duration.ofMillis(100), clock::get);
+    }
+
+    /**
+     * Simula una ventana: 'concurrency' escrituras en paralelo que tardan 'latencyMs'
+     */
+    private void window(int concurrency, long latencyMs) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        long[] starts = new long[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            starts[i] = limiter.tryAcquire(true);
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMs));
+        for (long start : starts) {
+            if (start >= 0) {
+                limiter.release(start);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("PRIORIDAD - Las lecturas se rechazan antes que las escrituras")
+    void tryAcquire_ReadsShedBeforeWrites() {
+        // ARRANGE - las lecturas solo pueden ocupar el 80% de 20 = 16
+        for (int i = 0; i < 16; i++) {
+            assertThat(limiter.tryAcquire(false)).isNotNegative();
+        }
+
+        // ACT & ASSERT
+        assertThat(limiter.tryAcquire(false)).isNegative();
+        assertThat(limiter.tryAcquire(true)).isNotNegative();
+        assertThat(meterRegistry.get("tienda.concurrency.rejected").tag("priority", "read").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("RELEASE - Liberar devuelve el hueco")
+    void release_ShouldFreeSlot() {
+        // ARRANGE
+        long[] starts = new long[20];
+        for (int i = 0; i < 20; i++) {
+            starts[i] = limiter.tryAcquire(true);
+        }
+        assertThat(limiter.tryAcquire(true)).isNegative();
+
+        // ACT
+        limiter.release(starts[0]);
+
+        // ASSERT
+        assertThat(limiter.getInFlight()).isEqualTo(19);
+        assertThat(limiter.tryAcquire(true)).isNotNegative();
+    }
+
+    @Test
+    @DisplayName("ADAPTACIÓN - Con latencia estable y demanda, el límite crece")
+    void limit_HealthyLatency_ShouldGrow() {
+        // ACT
+        for (int i = 0; i < 20; i++) {
+            window(limiter.getLimit(), 10);
+        }
+
+        // ASSERT
+        assertThat(limiter.getLimit()).isGreaterThan(20);
+        assertThat(meterRegistry.get("tienda.concurrency.limit").gauge().value())
+                .isEqualTo(limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("ADAPTACIÓN - Si la latencia se dispara, el límite baja hasta el mínimo")
+    void limit_LatencySpike_ShouldShrink() {
+        // ARRANGE
+        for (int i = 0; i < 20; i++) {
+            window(limiter.getLimit(), 10);
+        }
+        int healthy = limiter.getLimit();
+
+        // ACT - MySQL lento
+        for (int i = 0; i < 50; i++) {
+            window(limiter.getLimit(), 200);
+        }
+
+        // ASSERT
+        assertThat(limiter.getLimit()).isLessThan(healthy).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("ADAPTACIÓN - Sin demanda suficiente el límite no cambia")
+    void limit_LowDemand_ShouldStayUnchanged() {
+        // ACT
+        for (int i = 0; i < 20; i++) {
+            window(12, 10);
+        }
+        for (int i = 0; i < 5; i++) {
+            window(3, 10);
+        }
+
+        // ASSERT - con 3 en vuelo (menos de la mitad del límite) la latencia no lo mueve
+        int afterDemand = limiter.getLimit();
+        window(3, 500);
+        assertThat(limiter.getLimit()).isEqualTo(afterDemand);
+    }
+}
@@ -0,0 +1,125 @@
+package com.rafaelperez.tiendaonline.business.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para BatchLoader
+ *
+ * OBJETIVO: Verificar que cargas concurrentes se agrupan en una sola llamada,
+ * que cada llamada recibe su valor y que los errores llegan a todas
+ */
+@DisplayName("BatchLoader - Unit Tests")
+public class BatchLoaderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+    private List<Set<Long>> batches;
+    private BatchLoader<Long, String> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(10);
+        batches = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        if (loader != null) {
+            loader.close();
+        }
+    }
+
+    private BatchLoader<Long, String> newLoader(int maxBatchSize, Duration window,
+                                                Function<Set<Long>, Map<Long, String>> function) {
+        return new BatchLoader<>("test", ids -> {
+            batches.add(new HashSet<>(ids));
+            return function.apply(ids);
+        }, maxBatchSize, window, Duration.ofSeconds(5), meterRegistry);
+    }
+
+    private List<Future<String>> loadConcurrently(List<Long> ids) {
+        List<Future<String>> results = new ArrayList<>();
+        for (Long id : ids) {
+            results.add(executor.submit(() -> loader.load(id)));
+        }
+        return results;
+    }
+
+    @Test
+    @DisplayName("LOTE - Cargas dentro de la ventana se resuelven con una sola llamada")
+    void load_WithinWindow_ShouldBatch() throws Exception {
+        // ARRANGE - los IDs pares existen
+        loader = newLoader(100, Duration.ofMillis(200), ids -> ids.stream()
+                .filter(id -> id % 2 == 0)
+                .collect(Collectors.toMap(id -> id, id -> "vendedor-" + id)));
+
+        // ACT
+        List<Future<String>> results = loadConcurrently(List.of(1L, 2L, 3L, 4L, 4L));
+
+        // ASSERT
+        assertThat(results.get(0).get(5, TimeUnit.SECONDS)).isNull();
+        assertThat(results.get(1).get(5, TimeUnit.SECONDS)).isEqualTo("vendedor-2");
+        assertThat(results.get(3).get(5, TimeUnit.SECONDS)).isEqualTo("vendedor-4");
+        assertThat(results.get(4).get(5, TimeUnit.SECONDS)).isEqualTo("vendedor-4");
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(meterRegistry.get("tienda.batchloader.batch.size").summary().max()).isEqualTo(4.0);
+    }
+
+    @Test
+    @DisplayName("LOTE - Al llegar al tamaño máximo se despacha sin esperar la ventana")
+    void load_MaxBatchSize_ShouldDispatchImmediately() throws Exception {
+        // ARRANGE - ventana muy larga: solo el tamaño puede cerrar el lote
+        loader = newLoader(3, Duration.ofMinutes(10), ids -> ids.stream()
+                .collect(Collectors.toMap(id -> id, id -> "v" + id)));
+
+        // ACT
+        List<Future<String>> results = loadConcurrently(List.of(1L, 2L, 3L));
+
+        // ASSERT
+        for (int i = 0; i < 3; i++) {
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS)).isEqualTo("v" + (i + 1));
+        }
+        assertThat(batches).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("ERRORES - Un fallo del lote llega a todas las llamadas")
+    void load_BatchFails_ShouldPropagateToAll() {
+        // ARRANGE
+        RuntimeException failure = new IllegalStateException("BD caída");
+        loader = newLoader(100, Duration.ofMillis(100), ids -> {
+            throw failure;
+        });
+
+        // ACT
+        List<Future<String>> results = loadConcurrently(List.of(1L, 2L));
+
+        // ASSERT
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        }
+    }
+}
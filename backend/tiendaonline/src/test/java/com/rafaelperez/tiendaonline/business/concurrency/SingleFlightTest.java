@@ -0,0 +1,158 @@
+package com.rafaelperez.tiendaonline.business.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para SingleFlight
+ *
+ * OBJETIVO: Verificar que cargas concurrentes de la misma clave se ejecutan una vez,
+ * que los errores llegan a todos y que el timeout no deja a nadie sin respuesta
+ */
+@DisplayName("SingleFlight - Unit Tests")
+public class SingleFlightTest {
+    private static final int WAITERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+    private AtomicInteger loads;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(WAITERS);
+        loads = new AtomicInteger();
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("tienda.singleflight.loads").tag("result", result).counter().count();
+    }
+
+    /**
+     * Lanza WAITERS llamadas y espera a que todas estén dentro antes de liberar la carga
+     */
+    private List<Future<String>> runConcurrently(SingleFlight<Long, String> flight, RuntimeException failure)
+            throws Exception {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < WAITERS; i++) {
+            results.add(executor.submit(() -> flight.execute(1L, () -> {
+                loads.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+                return "producto-1";
+            })));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("coalesced") < WAITERS - 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        return results;
+    }
+
+    @Test
+    @DisplayName("COALESCENCIA - Llamadas concurrentes comparten una sola carga")
+    void execute_ConcurrentSameKey_ShouldLoadOnce() throws Exception {
+        // ARRANGE
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+
+        // ACT
+        List<Future<String>> results = runConcurrently(flight, null);
+
+        // ASSERT
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("producto-1");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(count("executed")).isEqualTo(1.0);
+        assertThat(count("coalesced")).isEqualTo(WAITERS - 1.0);
+        assertThat(flight.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("ERRORES - La excepción del líder llega a todas las esperas")
+    void execute_LoaderFails_ShouldPropagateToAllWaiters() throws Exception {
+        // ARRANGE
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+        RuntimeException failure = new RuntimeException("Producto no encontrado con ID: 1");
+
+        // ACT
+        List<Future<String>> results = runConcurrently(flight, failure);
+
+        // ASSERT
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        }
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("SECUENCIAL - Sin concurrencia no hay caché: cada llamada carga")
+    void execute_Sequential_ShouldLoadEachTime() {
+        // ARRANGE
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+
+        // ACT
+        flight.execute(1L, () -> "v" + loads.incrementAndGet());
+        String second = flight.execute(1L, () -> "v" + loads.incrementAndGet());
+
+        // ASSERT
+        assertThat(second).isEqualTo("v2");
+        assertThat(count("coalesced")).isZero();
+    }
+
+    @Test
+    @DisplayName("TIMEOUT - La espera que excede el timeout carga por su cuenta")
+    void execute_WaitTimesOut_ShouldLoadDirectly() throws Exception {
+        // ARRANGE - un líder bloqueado
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", Duration.ofMillis(50), meterRegistry);
+        Future<String> leader = executor.submit(() -> flight.execute(1L, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "lento";
+        }));
+        while (flight.inFlightCount() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // ACT
+        String result = flight.execute(1L, () -> "directo");
+
+        // ASSERT
+        assertThat(result).isEqualTo("directo");
+        assertThat(count("timeout")).isEqualTo(1.0);
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("lento");
+    }
+}
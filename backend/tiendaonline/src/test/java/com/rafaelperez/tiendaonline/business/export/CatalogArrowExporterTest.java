@@ -0,0 +1,177 @@
+package com.rafaelperez.tiendaonline.business.export;
+
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.ProductDAO;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.SellerDAO;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para CatalogArrowExporter
+ *
+ * OBJETIVO: El archivo Arrow generado se puede leer y conserva tipos, nulos y lotes
+ */
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+@DisplayName("CatalogArrowExporter - Unit Tests")
+class CatalogArrowExporterTest {
+
+    @Mock
+    private ProductDAO productDAO;
+
+    @Mock
+    private SellerDAO sellerDAO;
+
+    private CatalogArrowExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        // Lotes de 2 filas para forzar varios record batches
+        exporter = new CatalogArrowExporter(productDAO, sellerDAO, 2, DataSize.ofMegabytes(4),
+                DataSize.ofMegabytes(16), Path.of("unused"), 1);
+    }
+
+    @Test
+    @DisplayName("PRODUCTOS - Tipos columnares, nulos y lotes se conservan")
+    void exportProducts_ShouldWriteReadableArrowFile() throws IOException {
+        // ARRANGE
+        LocalDateTime created = LocalDateTime.of(2026, 1, 15, 10, 30, 0, 123_456_000);
+        when(productDAO.findPageAfter(eq(0L), anyInt())).thenReturn(List.of(
+                new ProductDTO(1L, "Teclado", "Mecánico", new BigDecimal("199900.5"), 10, 3L, created, created),
+                new ProductDTO(2L, "Mouse", null, new BigDecimal("49900.00"), 0, null, created, null),
+                new ProductDTO(3L, "Monitor", "27\"", new BigDecimal("1200000.00"), 4, 3L, null, null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // ACT
+        long rows = exporter.exportProducts(out);
+
+        // ASSERT
+        assertThat(rows).isEqualTo(3);
+        try (RootAllocator allocator = new RootAllocator();
+             ArrowFileReader reader = new ArrowFileReader(
+                     new ByteArrayReadableSeekableByteChannel(out.toByteArray()), allocator)) {
+            assertThat(reader.getRecordBlocks()).hasSize(2);
+            assertThat(reader.getVectorSchemaRoot().getSchema()).isEqualTo(CatalogArrowExporter.PRODUCT_SCHEMA);
+
+            assertThat(reader.loadNextBatch()).isTrue();
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            assertThat(root.getRowCount()).isEqualTo(2);
+            assertThat(((BigIntVector) root.getVector("id")).get(0)).isEqualTo(1L);
+            assertThat(((VarCharVector) root.getVector("name")).getObject(0).toString()).isEqualTo("Teclado");
+            assertThat(((DecimalVector) root.getVector("price")).getObject(0)).isEqualTo(new BigDecimal("199900.50"));
+            assertThat(((IntVector) root.getVector("stock")).get(0)).isEqualTo(10);
+            assertThat(((TimeStampMicroVector) root.getVector("created_at")).getObject(0)).isEqualTo(created);
+            assertThat(root.getVector("description").isNull(1)).isTrue();
+            assertThat(root.getVector("seller_id").isNull(1)).isTrue();
+            assertThat(root.getVector("updated_at").isNull(1)).isTrue();
+
+            assertThat(reader.loadNextBatch()).isTrue();
+            assertThat(reader.getVectorSchemaRoot().getRowCount()).isEqualTo(1);
+            assertThat(((BigIntVector) reader.getVectorSchemaRoot().getVector("id")).get(0)).isEqualTo(3L);
+        }
+    }
+
+    @Test
+    @DisplayName("PRODUCTOS - Textos largos cortan el lote por bytes antes que por filas")
+    void exportProducts_LargeRows_ShouldSplitBatchesByBytes() throws IOException {
+        // ARRANGE - 20 filas de ~100 KB con lotes de hasta 65536 filas y 512 KB
+        exporter = new CatalogArrowExporter(productDAO, sellerDAO, 65536, DataSize.ofKilobytes(512),
+                DataSize.ofMegabytes(16), Path.of("unused"), 1);
+        String description = "x".repeat(100_000);
+        List<ProductDTO> products = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            products.add(new ProductDTO(id, "Producto " + id, description, BigDecimal.TEN, 1, 1L, null, null));
+        }
+        when(productDAO.findPageAfter(eq(0L), anyInt())).thenReturn(products);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // ACT
+        long rows = exporter.exportProducts(out);
+
+        // ASSERT - varios lotes y ninguna fila perdida
+        assertThat(rows).isEqualTo(20);
+        try (RootAllocator allocator = new RootAllocator();
+             ArrowFileReader reader = new ArrowFileReader(
+                     new ByteArrayReadableSeekableByteChannel(out.toByteArray()), allocator)) {
+            assertThat(reader.getRecordBlocks()).hasSizeGreaterThan(1);
+            long read = 0;
+            while (reader.loadNextBatch()) {
+                read += reader.getVectorSchemaRoot().getRowCount();
+            }
+            assertThat(read).isEqualTo(20);
+        }
+    }
+
+    @Test
+    @DisplayName("MEMORIA - batch-bytes se acota a max-memory / 4")
+    void constructor_BatchBytesAboveLimit_ShouldBeClamped() throws IOException {
+        // ARRANGE - lotes de 64 MB pedidos con un allocator de 1 MB y filas de ~100 KB
+        exporter = new CatalogArrowExporter(productDAO, sellerDAO, 65536, DataSize.ofMegabytes(64),
+                DataSize.ofMegabytes(1), Path.of("unused"), 1);
+        List<ProductDTO> products = new ArrayList<>();
+        for (long id = 1; id <= 30; id++) {
+            products.add(new ProductDTO(id, "Producto " + id, "x".repeat(100_000), BigDecimal.TEN, 1, 1L, null, null));
+        }
+        when(productDAO.findPageAfter(eq(0L), anyInt())).thenReturn(products);
+
+        // ACT & ASSERT - sin el acote el allocator se agotaría a mitad del stream
+        assertThat(exporter.exportProducts(new ByteArrayOutputStream())).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("VENDEDORES - Tabla vacía produce un archivo válido sin filas")
+    void exportSellers_Empty_ShouldWriteEmptyFile() throws IOException {
+        // ARRANGE
+        when(sellerDAO.findPageAfter(eq(0L), anyInt())).thenReturn(List.of());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // ACT
+        long rows = exporter.exportSellers(out);
+
+        // ASSERT
+        assertThat(rows).isZero();
+        try (RootAllocator allocator = new RootAllocator();
+             ArrowFileReader reader = new ArrowFileReader(
+                     new ByteArrayReadableSeekableByteChannel(out.toByteArray()), allocator)) {
+            assertThat(reader.getVectorSchemaRoot().getSchema()).isEqualTo(CatalogArrowExporter.SELLER_SCHEMA);
+            assertThat(reader.loadNextBatch()).isTrue();
+            assertThat(reader.getVectorSchemaRoot().getRowCount()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("CONCURRENCIA - No se reservan más turnos que tienda.export.max-concurrent")
+    void tryAcquire_ShouldLimitConcurrentExports() {
+        assertThat(exporter.tryAcquire()).isTrue();
+        assertThat(exporter.tryAcquire()).isFalse();
+        exporter.release();
+        assertThat(exporter.tryAcquire()).isTrue();
+    }
+}
@@ -0,0 +1,102 @@
+package com.rafaelperez.tiendaonline.business.idempotency;
+
+import com.rafaelperez.tiendaonline.business.idempotency.IdempotencyStore.State;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.IdempotencyKeyDAO;
+import com.rafaelperez.tiendaonline.persistenceLayer.entity.IdempotencyKeyEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para DatabaseIdempotencyStore
+ *
+ * OBJETIVO: Verificar el lease corto de IN_PROGRESS frente al TTL de la respuesta
+ */
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+@DisplayName("DatabaseIdempotencyStore - Unit Tests")
+public class DatabaseIdempotencyStoreTest {
+
+    @Mock
+    private IdempotencyKeyDAO idempotencyKeyDAO;
+
+    private DatabaseIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new DatabaseIdempotencyStore(idempotencyKeyDAO, Duration.ofHours(24), Duration.ofMinutes(2));
+    }
+
+    @Test
+    @DisplayName("RESERVE - La reserva expira con el lease, no con el TTL")
+    void reserve_ShouldUseInProgressLease() {
+        // ACT
+        State state = store.reserve("k1", "hash").state();
+
+        // ASSERT
+        ArgumentCaptor<LocalDateTime> expiresAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(idempotencyKeyDAO).insertReservation(eq("k1"), eq("hash"), expiresAt.capture());
+        assertThat(state).isEqualTo(State.RESERVED);
+        assertThat(expiresAt.getValue()).isBefore(LocalDateTime.now().plusMinutes(3));
+    }
+
+    @Test
+    @DisplayName("COMPLETE - La respuesta guardada vive el TTL completo")
+    void complete_ShouldExtendToTtl() {
+        // ACT
+        store.complete("k1", new IdempotentResponse(201, "application/json", null, new byte[0]));
+
+        // ASSERT
+        ArgumentCaptor<LocalDateTime> expiresAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(idempotencyKeyDAO).complete(eq("k1"), eq(201), eq("application/json"), isNull(), any(),
+                expiresAt.capture());
+        assertThat(expiresAt.getValue()).isAfter(LocalDateTime.now().plusHours(23));
+    }
+
+    @Test
+    @DisplayName("RESERVE - IN_PROGRESS de un nodo caído (lease vencido) se vuelve a reservar")
+    void reserve_StaleInProgress_ShouldReserveAgain() {
+        // ARRANGE
+        IdempotencyKeyEntity stale = new IdempotencyKeyEntity("k1", "hash", "IN_PROGRESS", null, null, null, null,
+                LocalDateTime.now().minusSeconds(1));
+        doThrow(new DataIntegrityViolationException("duplicada")).doNothing()
+                .when(idempotencyKeyDAO).insertReservation(eq("k1"), eq("hash"), any());
+        when(idempotencyKeyDAO.findByKey("k1")).thenReturn(Optional.of(stale));
+
+        // ACT
+        State state = store.reserve("k1", "hash").state();
+
+        // ASSERT
+        assertThat(state).isEqualTo(State.RESERVED);
+        verify(idempotencyKeyDAO).deleteByKey("k1");
+    }
+
+    @Test
+    @DisplayName("RESERVE - IN_PROGRESS con lease vigente sigue en curso")
+    void reserve_ActiveInProgress_ShouldBeInProgress() {
+        // ARRANGE
+        IdempotencyKeyEntity active = new IdempotencyKeyEntity("k1", "hash", "IN_PROGRESS", null, null, null, null,
+                LocalDateTime.now().plusMinutes(1));
+        doThrow(new DataIntegrityViolationException("duplicada"))
+                .when(idempotencyKeyDAO).insertReservation(eq("k1"), eq("hash"), any());
+        when(idempotencyKeyDAO.findByKey("k1")).thenReturn(Optional.of(active));
+
+        // ACT & ASSERT
+        assertThat(store.reserve("k1", "hash").state()).isEqualTo(State.IN_PROGRESS);
+        verify(idempotencyKeyDAO, never()).deleteByKey(any());
+    }
+}
@@ -0,0 +1,113 @@
+package com.rafaelperez.tiendaonline.business.idempotency;
+
+import com.rafaelperez.tiendaonline.business.idempotency.IdempotencyStore.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para InMemoryIdempotencyStore
+ *
+ * OBJETIVO: Verificar reserva, re-envío, conflicto de cuerpo y límites
+ * - No requiere Spring Context
+ */
+@DisplayName("InMemoryIdempotencyStore - Unit Tests")
+public class InMemoryIdempotencyStoreTest {
+
+    private InMemoryIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryIdempotencyStore(Duration.ofHours(1), 2);
+    }
+
+    private IdempotentResponse created() {
+        return new IdempotentResponse(201, "application/json", null,
+                "{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("RESERVE - Primera petición reserva la clave")
+    void reserve_NewKey_ShouldReserve() {
+        // ACT & ASSERT
+        assertThat(store.reserve("k1", "hash").state()).isEqualTo(State.RESERVED);
+    }
+
+    @Test
+    @DisplayName("RESERVE - Duplicado mientras se ejecuta debe devolver IN_PROGRESS")
+    void reserve_Duplicate_BeforeComplete_ShouldBeInProgress() {
+        // ARRANGE
+        store.reserve("k1", "hash");
+
+        // ACT & ASSERT
+        assertThat(store.reserve("k1", "hash").state()).isEqualTo(State.IN_PROGRESS);
+    }
+
+    @Test
+    @DisplayName("RESERVE - Duplicado completado debe devolver la respuesta guardada")
+    void reserve_Duplicate_AfterComplete_ShouldReturnStoredResponse() {
+        // ARRANGE
+        IdempotentResponse response = created();
+        store.reserve("k1", "hash");
+        store.complete("k1", response);
+
+        // ACT
+        IdempotencyStore.Lookup lookup = store.reserve("k1", "hash");
+
+        // ASSERT
+        assertThat(lookup.state()).isEqualTo(State.COMPLETED);
+        assertThat(lookup.response()).isSameAs(response);
+    }
+
+    @Test
+    @DisplayName("RESERVE - Misma clave con otro cuerpo debe devolver MISMATCH")
+    void reserve_DifferentFingerprint_ShouldBeMismatch() {
+        // ARRANGE
+        store.reserve("k1", "hash");
+        store.complete("k1", created());
+
+        // ACT & ASSERT
+        assertThat(store.reserve("k1", "otro").state()).isEqualTo(State.MISMATCH);
+    }
+
+    @Test
+    @DisplayName("RELEASE - Clave liberada (5xx) debe poder reservarse de nuevo")
+    void release_ShouldAllowRetry() {
+        // ARRANGE
+        store.reserve("k1", "hash");
+
+        // ACT
+        store.release("k1");
+
+        // ASSERT
+        assertThat(store.reserve("k1", "hash").state()).isEqualTo(State.RESERVED);
+    }
+
+    @Test
+    @DisplayName("LÍMITE - Almacén lleno debe devolver null (ejecutar sin idempotencia)")
+    void reserve_StoreFull_ShouldReturnNull() {
+        // ARRANGE
+        store.reserve("k1", "hash");
+        store.reserve("k2", "hash");
+
+        // ACT & ASSERT
+        assertThat(store.reserve("k3", "hash")).isNull();
+    }
+
+    @Test
+    @DisplayName("TTL - Clave expirada debe reservarse de nuevo")
+    void reserve_ExpiredKey_ShouldReserveAgain() {
+        // ARRANGE
+        InMemoryIdempotencyStore shortLived = new InMemoryIdempotencyStore(Duration.ofMillis(-1), 10);
+        shortLived.reserve("k1", "hash");
+        shortLived.complete("k1", created());
+
+        // ACT & ASSERT
+        assertThat(shortLived.reserve("k1", "otro").state()).isEqualTo(State.RESERVED);
+    }
+}
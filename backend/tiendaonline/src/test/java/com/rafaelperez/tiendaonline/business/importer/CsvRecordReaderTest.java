@@ -0,0 +1,78 @@
+package com.rafaelperez.tiendaonline.business.importer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para CsvRecordReader
+ */
+@DisplayName("CsvRecordReader - Unit Tests")
+public class CsvRecordReaderTest {
+
+    @Test
+    @DisplayName("READ - Campos simples separados por coma")
+    void next_SimpleFields_ShouldSplitByComma() throws Exception {
+        // ARRANGE
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("name,price,stock\nLaptop,1500.00,10\n"));
+
+        // ACT & ASSERT
+        assertThat(reader.next()).containsExactly("name", "price", "stock");
+        assertThat(reader.next()).containsExactly("Laptop", "1500.00", "10");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("READ - Comillas con coma, comillas escapadas y salto de línea")
+    void next_QuotedFields_ShouldKeepContent() throws Exception {
+        // ARRANGE
+        String csv = "\"Laptop, 15\"\"\",\"Línea 1\nLínea 2\",10\n";
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(csv));
+
+        // ACT & ASSERT
+        assertThat(reader.next()).containsExactly("Laptop, 15\"", "Línea 1\nLínea 2", "10");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("READ - Campos vacíos y líneas en blanco")
+    void next_EmptyFieldsAndBlankLines_ShouldBeHandled() throws Exception {
+        // ARRANGE
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,,c\n\n\n,b,\n"));
+
+        // ACT & ASSERT
+        assertThat(reader.next()).containsExactly("a", "", "c");
+        assertThat(reader.next()).containsExactly("", "b", "");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("SKIP - Debe saltar registros para reanudar")
+    void skip_ShouldSkipRecords() throws Exception {
+        // ARRANGE
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("h\n1\n2\n3\n"));
+
+        // ACT
+        long skipped = reader.skip(3);
+
+        // ASSERT
+        assertThat(skipped).isEqualTo(3);
+        assertThat(reader.next()).containsExactly("3");
+        assertThat(reader.skip(10)).isZero();
+    }
+
+    @Test
+    @DisplayName("READ - Comillas sin cerrar debe lanzar IllegalArgumentException")
+    void next_UnclosedQuote_ShouldThrowException() {
+        // ARRANGE
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\"abierto,1\n"));
+
+        // ACT & ASSERT
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Comillas sin cerrar");
+    }
+}
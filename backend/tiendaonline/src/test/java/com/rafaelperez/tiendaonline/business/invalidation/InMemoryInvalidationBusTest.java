@@ -0,0 +1,107 @@
+package com.rafaelperez.tiendaonline.business.invalidation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para InMemoryInvalidationBus
+ *
+ * OBJETIVO: Verificar que los suscriptores asíncronos no corren en el hilo
+ * que publica y que se respetan en orden por entidad
+ */
+@DisplayName("InMemoryInvalidationBus - Unit Tests")
+public class InMemoryInvalidationBusTest {
+
+    // Ejecutor manual: las tareas quedan encoladas hasta run()
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private InMemoryInvalidationBus bus;
+    private List<String> received;
+
+    @BeforeEach
+    void setUp() {
+        bus = new InMemoryInvalidationBus(tasks::add);
+        received = new ArrayList<>();
+    }
+
+    private void runPending() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    @Test
+    @DisplayName("SYNC - Los suscriptores síncronos reciben en el hilo que publica")
+    void publish_SyncSubscriber_ShouldReceiveImmediately() {
+        // ARRANGE
+        bus.subscribe("PRODUCT", inv -> received.add("sync-" + inv.entityId()));
+
+        // ACT
+        bus.publish("PRODUCT", 1L, "UPDATED");
+
+        // ASSERT
+        assertThat(received).containsExactly("sync-1");
+        assertThat(tasks).isEmpty();
+        assertThat(bus.lastDeliveredVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("ASYNC - La publicación no espera a los suscriptores asíncronos")
+    void publish_AsyncSubscriber_ShouldRunOnExecutor() {
+        // ARRANGE
+        bus.subscribeAsync("PRODUCT", inv -> received.add("async-" + inv.entityId()));
+
+        // ACT
+        bus.publish("PRODUCT", 1L, "UPDATED");
+
+        // ASSERT
+        assertThat(received).isEmpty();
+        runPending();
+        assertThat(received).containsExactly("async-1");
+    }
+
+    @Test
+    @DisplayName("ORDEN - Cambios de la misma entidad se aplican uno detrás de otro")
+    void publish_SameEntity_ShouldRunInOrderAndNotConcurrently() {
+        // ARRANGE
+        bus.subscribeAsync("PRODUCT", inv -> received.add(inv.entityId() + ":" + inv.changeType()));
+
+        // ACT
+        bus.publish("PRODUCT", 1L, "UPDATED");
+        bus.publish("PRODUCT", 1L, "DELETED");
+        bus.publish("PRODUCT", 2L, "UPDATED");
+
+        // ASSERT - el segundo cambio del producto 1 espera al primero; el producto 2 no espera
+        assertThat(tasks).hasSize(2);
+        runPending();
+        assertThat(received).containsExactly("1:UPDATED", "2:UPDATED", "1:DELETED");
+    }
+
+    @Test
+    @DisplayName("ERRORES - Un suscriptor que falla no bloquea la cola de la entidad")
+    void publish_FailingSubscriber_ShouldNotBlockNextChange() {
+        // ARRANGE
+        bus.subscribeAsync("PRODUCT", inv -> {
+            if ("UPDATED".equals(inv.changeType())) {
+                throw new IllegalStateException("BD no disponible");
+            }
+            received.add(inv.changeType());
+        });
+
+        // ACT
+        bus.publish("PRODUCT", 1L, "UPDATED");
+        bus.publish("PRODUCT", 1L, "DELETED");
+        runPending();
+
+        // ASSERT
+        assertThat(received).containsExactly("DELETED");
+    }
+}
@@ -0,0 +1,177 @@
+package com.rafaelperez.tiendaonline.business.invalidation;
+
+import com.rafaelperez.tiendaonline.business.dto.ChangeEventDTO;
+import com.rafaelperez.tiendaonline.business.dto.ChangeFeedDTO;
+import com.rafaelperez.tiendaonline.business.service.ChangeFeedService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para OutboxPollingInvalidationBus
+ *
+ * OBJETIVO: Verificar entrega en orden, descarte de mensajes repetidos
+ * y que un error de lectura o una transacción lenta no pierden eventos
+ */
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+@DisplayName("OutboxPollingInvalidationBus - Unit Tests")
+public class OutboxPollingInvalidationBusTest {
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    private OutboxPollingInvalidationBus bus;
+    private List<Invalidation> received;
+
+    @BeforeEach
+    void setUp() {
+        bus = new OutboxPollingInvalidationBus(changeFeedService, Runnable::run, 100, Duration.ofMinutes(5), 1000);
+        received = new ArrayList<>();
+        bus.subscribe("PRODUCT", received::add);
+        when(changeFeedService.getLatestCursor()).thenReturn(10L);
+        bus.start();
+    }
+
+    private ChangeEventDTO event(long cursor, String type, long id, String eventType) {
+        return new ChangeEventDTO(cursor, type, id, eventType, null, LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("POLL - Entrega los eventos nuevos del tipo suscrito, en orden")
+    void poll_NewEvents_ShouldDeliverInOrder() {
+        // ARRANGE
+        when(changeFeedService.getChanges(10L, 100)).thenReturn(new ChangeFeedDTO(List.of(
+                event(11, "PRODUCT", 1, "UPDATED"),
+                event(12, "SELLER", 7, "UPDATED"),
+                event(13, "PRODUCT", 2, "DELETED")), 13L, false));
+
+        // ACT
+        bus.poll();
+
+        // ASSERT
+        assertThat(received).extracting(Invalidation::entityId).containsExactly(1L, 2L);
+        assertThat(received.get(1).membershipChanged()).isTrue();
+        assertThat(bus.lastDeliveredVersion()).isEqualTo(13L);
+    }
+
+    @Test
+    @DisplayName("ORDEN - Un mensaje con versión ya entregada se descarta")
+    void poll_ReplayedEvent_ShouldBeDropped() {
+        // ARRANGE
+        when(changeFeedService.getChanges(10L, 100))
+                .thenReturn(new ChangeFeedDTO(List.of(event(12, "PRODUCT", 1, "UPDATED")), 12L, false));
+        when(changeFeedService.getChanges(12L, 100))
+                .thenReturn(new ChangeFeedDTO(List.of(event(11, "PRODUCT", 1, "UPDATED")), 12L, false));
+
+        // ACT
+        bus.poll();
+        bus.poll();
+
+        // ASSERT
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0).version()).isEqualTo(12L);
+    }
+
+    @Test
+    @DisplayName("ERRORES - Si falla la lectura el cursor no avanza")
+    void poll_ReadFails_ShouldRetryFromSameCursor() {
+        // ARRANGE
+        when(changeFeedService.getChanges(10L, 100))
+                .thenThrow(new RuntimeException("BD no disponible"))
+                .thenReturn(new ChangeFeedDTO(List.of(event(11, "PRODUCT", 1, "UPDATED")), 11L, false));
+
+        // ACT
+        bus.poll();
+        bus.poll();
+
+        // ASSERT
+        assertThat(received).hasSize(1);
+        verify(changeFeedService, times(2)).getChanges(eq(10L), anyInt());
+    }
+
+    @Test
+    @DisplayName("LOCAL - publish desaloja al instante sin esperar el poll")
+    void publish_ShouldDeliverLocallyWithoutVersion() {
+        // ACT
+        bus.publish("PRODUCT", 5L, "UPDATED");
+
+        // ASSERT
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0).version()).isZero();
+        assertThat(bus.lastDeliveredVersion()).isZero();
+        verify(changeFeedService, never()).getChanges(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("HUECOS - Un evento que confirma tarde se entrega en el siguiente poll")
+    void poll_LateCommitInGap_ShouldDeliverLateEvent() {
+        // ARRANGE - el cursor 12 falta (transacción lenta) y el feed ya lo saltó
+        when(changeFeedService.getChanges(10L, 100)).thenReturn(new ChangeFeedDTO(List.of(
+                event(11, "PRODUCT", 1, "UPDATED"),
+                event(13, "PRODUCT", 3, "UPDATED")), 13L, false));
+        when(changeFeedService.getChanges(13L, 100)).thenReturn(new ChangeFeedDTO(List.of(), 13L, false));
+        when(changeFeedService.getChangesAt(List.of(12L)))
+                .thenReturn(List.of(event(12, "PRODUCT", 2, "UPDATED")));
+
+        // ACT
+        bus.poll();
+        assertThat(bus.pendingGapCount()).isEqualTo(1);
+        bus.poll();
+
+        // ASSERT
+        assertThat(received).extracting(Invalidation::entityId).containsExactly(1L, 3L, 2L);
+        assertThat(bus.pendingGapCount()).isZero();
+        assertThat(bus.lastDeliveredVersion()).isEqualTo(13L);
+    }
+
+    @Test
+    @DisplayName("HUECOS - Un hueco vacío tras la ventana se da por rollback y se olvida")
+    void poll_GapOlderThanWindow_ShouldBeForgotten() {
+        // ARRANGE
+        bus = new OutboxPollingInvalidationBus(changeFeedService, Runnable::run, 100, Duration.ZERO, 1000);
+        bus.start();
+        when(changeFeedService.getChanges(10L, 100)).thenReturn(new ChangeFeedDTO(List.of(
+                event(13, "PRODUCT", 3, "UPDATED")), 13L, false));
+        when(changeFeedService.getChanges(13L, 100)).thenReturn(new ChangeFeedDTO(List.of(), 13L, false));
+        when(changeFeedService.getChangesAt(List.of(11L, 12L))).thenReturn(List.of());
+
+        // ACT
+        bus.poll();
+        bus.poll();
+        bus.poll();
+
+        // ASSERT - se consultó una vez y luego se olvidó
+        assertThat(bus.pendingGapCount()).isZero();
+        verify(changeFeedService, times(1)).getChangesAt(anyCollection());
+    }
+
+    @Test
+    @DisplayName("HUECOS - La cantidad de huecos vigilados está acotada")
+    void poll_HugeGap_ShouldTrackAtMostMaxPendingGaps() {
+        // ARRANGE
+        bus = new OutboxPollingInvalidationBus(changeFeedService, Runnable::run, 100, Duration.ofMinutes(5), 3);
+        bus.start();
+        when(changeFeedService.getChanges(10L, 100)).thenReturn(new ChangeFeedDTO(List.of(
+                event(1000, "PRODUCT", 3, "UPDATED")), 1000L, false));
+
+        // ACT
+        bus.poll();
+
+        // ASSERT
+        assertThat(bus.pendingGapCount()).isEqualTo(3);
+    }
+}
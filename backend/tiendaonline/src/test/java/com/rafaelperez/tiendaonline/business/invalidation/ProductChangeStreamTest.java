@@ -0,0 +1,208 @@
+package com.rafaelperez.tiendaonline.business.invalidation;
+
+import com.rafaelperez.tiendaonline.business.dto.CatalogItemDTO;
+import com.rafaelperez.tiendaonline.business.dto.ChangeEventDTO;
+import com.rafaelperez.tiendaonline.business.dto.ChangeFeedDTO;
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.event.OutboxEventListener;
+import com.rafaelperez.tiendaonline.business.service.ChangeFeedService;
+import com.rafaelperez.tiendaonline.business.snapshot.CatalogSnapshotFile;
+import com.rafaelperez.tiendaonline.business.snapshot.CatalogSnapshotService;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.ProductDAO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para ProductChangeStream
+ *
+ * OBJETIVO: Verificar que cada cambio se carga una sola vez para todas las vistas
+ * y que la carga inicial es una sola (snapshot o una pasada por la BD)
+ * - ProductDAO simulado, bus en memoria (entrega en el mismo hilo)
+ */
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+@DisplayName("ProductChangeStream - Unit Tests")
+class ProductChangeStreamTest {
+
+    @Mock
+    private ProductDAO productDAO;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @TempDir
+    Path dir;
+
+    private InMemoryInvalidationBus bus;
+    private ProductChangeStream changeStream;
+
+    @BeforeEach
+    void setUp() {
+        bus = new InMemoryInvalidationBus();
+        changeStream = new ProductChangeStream(productDAO, bus, Optional.empty());
+    }
+
+    private ProductDTO product(Long id, int stock) {
+        return new ProductDTO(id, "Producto " + id, "Desc", new BigDecimal("10"), stock, 1L, null, null);
+    }
+
+    // Vista de prueba: anota lo que recibe en orden
+    private static final class RecordingListener implements ProductChangeListener {
+        private final List<String> received = new ArrayList<>();
+
+        @Override
+        public void onProductChanged(Long productId, CatalogItemDTO item) {
+            received.add(item == null ? "deleted:" + productId : "changed:" + productId + "=" + item.getStock());
+        }
+
+        @Override
+        public void onLoadStarted() {
+            received.add("started");
+        }
+
+        @Override
+        public void onLoad(List<CatalogItemDTO> items) {
+            items.forEach(item -> received.add("load:" + item.getId() + "=" + item.getStock()));
+        }
+
+        @Override
+        public void onLoadCompleted() {
+            received.add("completed");
+        }
+    }
+
+    @Test
+    @DisplayName("FAN-OUT - Un cambio se recarga una sola vez y llega igual a todas las vistas")
+    void onInvalidation_ShouldLoadOnceForAllListeners() {
+        // ARRANGE
+        List<CatalogItemDTO> first = new ArrayList<>();
+        List<CatalogItemDTO> second = new ArrayList<>();
+        changeStream.subscribe((id, item) -> first.add(item));
+        changeStream.subscribeWithInitialLoad((id, item) -> second.add(item));
+        when(productDAO.findById(1L)).thenReturn(Optional.of(product(1L, 7)));
+
+        // ACT
+        bus.publish(OutboxEventListener.AGGREGATE_PRODUCT, 1L, "UPDATED");
+
+        // ASSERT
+        verify(productDAO, times(1)).findById(1L);
+        assertThat(first).hasSize(1);
+        assertThat(second).containsExactly(first.get(0));
+        assertThat(first.get(0).getStock()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("FAN-OUT - Un borrado se entrega sin consultar la BD y un consumidor que falla no afecta a los demás")
+    void onInvalidation_Deleted_ShouldNotLoadAndIsolateFailures() {
+        // ARRANGE
+        RecordingListener listener = new RecordingListener();
+        changeStream.subscribe((id, item) -> {
+            throw new IllegalStateException("vista rota");
+        });
+        changeStream.subscribe(listener);
+
+        // ACT
+        bus.publish(OutboxEventListener.AGGREGATE_PRODUCT, 3L, "DELETED");
+
+        // ASSERT
+        assertThat(listener.received).containsExactly("deleted:3");
+        verify(productDAO, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("ARRANQUE - Una sola pasada por la BD para todas las vistas")
+    void initialize_ShouldScanOnceForAllLoadListeners() {
+        // ARRANGE
+        RecordingListener readModel = new RecordingListener();
+        RecordingListener reports = new RecordingListener();
+        changeStream.subscribeWithInitialLoad(readModel);
+        changeStream.subscribeWithInitialLoad(reports);
+        when(productDAO.findPageAfter(eq(0L), anyInt())).thenReturn(List.of(product(1L, 5), product(2L, 0)));
+
+        // ACT
+        changeStream.initialize();
+
+        // ASSERT
+        verify(productDAO, times(1)).findPageAfter(anyLong(), anyInt());
+        assertThat(readModel.received).containsExactly("started", "load:1=5", "load:2=0", "completed");
+        assertThat(reports.received).isEqualTo(readModel.received);
+    }
+
+    @Test
+    @DisplayName("ARRANQUE - Sin vistas que necesiten la carga inicial no se recorre la BD")
+    void initialize_OnlyChangeListeners_ShouldNotScan() {
+        // ARRANGE
+        changeStream.subscribe(new RecordingListener());
+
+        // ACT
+        changeStream.initialize();
+
+        // ASSERT
+        verifyNoInteractions(productDAO);
+    }
+
+    @Test
+    @DisplayName("ARRANQUE - Un cambio durante la carga omite la fila ya leída y se recarga al terminar")
+    void initialize_ChangeDuringLoad_ShouldSkipStaleRowAndReload() {
+        // ARRANGE - la escritura confirma mientras se lee la página
+        RecordingListener listener = new RecordingListener();
+        changeStream.subscribeWithInitialLoad(listener);
+        when(productDAO.findPageAfter(eq(0L), anyInt())).thenAnswer(invocation -> {
+            bus.publish(OutboxEventListener.AGGREGATE_PRODUCT, 1L, "UPDATED");
+            return List.of(product(1L, 5), product(2L, 3));
+        });
+        when(productDAO.findById(1L)).thenReturn(Optional.of(product(1L, 4)));
+
+        // ACT
+        changeStream.initialize();
+
+        // ASSERT
+        assertThat(listener.received).containsExactly("started", "load:2=3", "changed:1=4", "completed");
+        verify(productDAO, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("ARRANQUE - Desde el snapshot + cambios posteriores a su cursor, sin recorrer la BD")
+    void initialize_WithSnapshot_ShouldRestoreAndReloadDeltas() throws IOException {
+        // ARRANGE
+        Path file = dir.resolve("catalog.snapshot");
+        try (CatalogSnapshotFile.Writer writer = CatalogSnapshotFile.create(file, 40L, Instant.now())) {
+            writer.append(new CatalogItemDTO(1L, "Teclado", new BigDecimal("49.90"), 10, 1L, null));
+            writer.append(new CatalogItemDTO(2L, "Mouse", new BigDecimal("19.90"), 8, 1L, null));
+            writer.commit();
+        }
+        CatalogSnapshotService snapshotService = new CatalogSnapshotService(changeFeedService, file, Duration.ofDays(7));
+        changeStream = new ProductChangeStream(productDAO, bus, Optional.of(snapshotService));
+        RecordingListener listener = new RecordingListener();
+        changeStream.subscribeWithInitialLoad(listener);
+        ChangeEventDTO delta = new ChangeEventDTO(41L, OutboxEventListener.AGGREGATE_PRODUCT, 2L, "UPDATED", "{}", null);
+        when(changeFeedService.getChanges(40L, 1000)).thenReturn(new ChangeFeedDTO(List.of(delta), 41L, false));
+        when(productDAO.findById(2L)).thenReturn(Optional.of(product(2L, 1)));
+
+        // ACT
+        changeStream.initialize();
+
+        // ASSERT
+        assertThat(listener.received).containsExactly("started", "load:1=10", "load:2=8", "changed:2=1", "completed");
+        verify(productDAO, never()).findPageAfter(anyLong(), anyInt());
+    }
+}
@@ -0,0 +1,145 @@
+package com.rafaelperez.tiendaonline.business.ratelimit;
+
+import com.rafaelperez.tiendaonline.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para RateLimiter
+ *
+ * OBJETIVO: Verificar ráfaga, recarga, reglas por ruta/método y aislamiento por cliente
+ * - Reloj simulado (sin sleeps)
+ */
+@DisplayName("RateLimiter - Unit Tests")
+public class RateLimiterTest {
+
+    private AtomicLong clock;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(
+                rule(List.of("GET"), "/api/v1/products", 2, 1),
+                rule(List.of(), "/api/v1/**", 5, 10)));
+        properties.setMaxClientsPerRule(3);
+        rateLimiter = new RateLimiter(properties, clock::get);
+    }
+
+    private RateLimitProperties.Rule rule(List<String> methods, String path, int capacity, double refillPerSecond) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setMethods(methods);
+        rule.setPath(path);
+        rule.setCapacity(capacity);
+        rule.setRefillPerSecond(refillPerSecond);
+        return rule;
+    }
+
+    @Test
+    @DisplayName("RÁFAGA - Permite 'capacity' peticiones y luego devuelve espera")
+    void tryAcquire_BurstExhausted_ShouldReturnWait() {
+        // ACT
+        long first = rateLimiter.tryAcquire("GET", "/api/v1/products", "ip:1");
+        long second = rateLimiter.tryAcquire("GET", "/api/v1/products", "ip:1");
+        long third = rateLimiter.tryAcquire("GET", "/api/v1/products", "ip:1");
+
+        // ASSERT
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    @DisplayName("RECARGA - Tras el intervalo vuelve a haber token")
+    void tryAcquire_AfterRefill_ShouldAllow() {
+        // ARRANGE
+        rateLimiter.tryAcquire("GET", "/api/v1/products", "ip:1");
+        rateLimiter.tryAcquire("GET", "/api/v1/products", "ip:1");
+        long wait = rateLimiter.tryAcquire("GET", "/api/v1/products", "ip:1");
+
+        // ACT
+        clock.addAndGet(wait);
+
+        // ASSERT
+        assertThat(rateLimiter.tryAcquire("GET", "/api/v1/products", "ip:1")).isZero();
+    }
+
+    @Test
+    @DisplayName("CLIENTES - Cada cliente tiene su propio bucket")
+    void tryAcquire_DifferentClients_ShouldBeIndependent() {
+        // ARRANGE
+        rateLimiter.tryAcquire("GET", "/api/v1/products", "ip:1");
+        rateLimiter.tryAcquire("GET", "/api/v1/products", "ip:1");
+
+        // ACT & ASSERT
+        assertThat(rateLimiter.tryAcquire("GET", "/api/v1/products", "ip:1")).isPositive();
+        assertThat(rateLimiter.tryAcquire("GET", "/api/v1/products", "key:partner")).isZero();
+    }
+
+    @Test
+    @DisplayName("REGLAS - Ruta exacta y prefijo /** aplican reglas distintas")
+    void tryAcquire_RuleSelection_ShouldMatchPathAndMethod() {
+        // ARRANGE - agota la regla del listado
+        rateLimiter.tryAcquire("GET", "/api/v1/products", "ip:1");
+        rateLimiter.tryAcquire("GET", "/api/v1/products", "ip:1");
+
+        // ACT & ASSERT - GET por id y POST usan la regla general
+        assertThat(rateLimiter.tryAcquire("GET", "/api/v1/products/7", "ip:1")).isZero();
+        assertThat(rateLimiter.tryAcquire("POST", "/api/v1/products", "ip:1")).isZero();
+        // Rutas fuera de /api/v1 no se limitan
+        for (int i = 0; i < 100; i++) {
+            assertThat(rateLimiter.tryAcquire("GET", "/api/v1health", "ip:1")).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("MEMORIA - Buckets llenos se purgan y el exceso de clientes comparte bucket")
+    void purgeIdleBuckets_ShouldBoundMemory() {
+        // ARRANGE
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire("GET", "/api/v1/products", "ip:" + i);
+        }
+        assertThat(rateLimiter.bucketCount()).isLessThanOrEqualTo(4); // 3 + desbordamiento
+
+        // ACT
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        rateLimiter.purgeIdleBuckets();
+
+        // ASSERT
+        assertThat(rateLimiter.bucketCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("MEMORIA - Con la regla llena un cliente nuevo va al bucket compartido sin purgar en la petición")
+    void tryAcquire_RuleFull_ShouldUseOverflowWithoutInlinePurge() {
+        // ARRANGE - regla llena con clientes ya inactivos (buckets llenos)
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("GET", "/api/v1/products", "ip:" + i);
+        }
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        // ACT - los nuevos comparten el bucket de desbordamiento (capacidad 2)
+        long first = rateLimiter.tryAcquire("GET", "/api/v1/products", "ip:new-1");
+        long second = rateLimiter.tryAcquire("GET", "/api/v1/products", "ip:new-2");
+        long third = rateLimiter.tryAcquire("GET", "/api/v1/products", "ip:new-3");
+
+        // ASSERT - nada se purgó en la petición: 3 inactivos + desbordamiento
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isPositive();
+        assertThat(rateLimiter.bucketCount()).isEqualTo(4);
+
+        // La purga programada libera sitio y el cliente vuelve a tener bucket propio
+        rateLimiter.purgeIdleBuckets();
+        assertThat(rateLimiter.tryAcquire("GET", "/api/v1/products", "ip:new-3")).isZero();
+        assertThat(rateLimiter.bucketCount()).isEqualTo(2); // ip:new-3 + desbordamiento aún sin llenar
+    }
+}
@@ -0,0 +1,159 @@
+package com.rafaelperez.tiendaonline.business.readmodel;
+
+import com.rafaelperez.tiendaonline.business.dto.CatalogItemDTO;
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.event.OutboxEventListener;
+import com.rafaelperez.tiendaonline.business.invalidation.InMemoryInvalidationBus;
+import com.rafaelperez.tiendaonline.business.invalidation.ProductChangeStream;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.ProductDAO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para CatalogReadModel
+ *
+ * OBJETIVO: Verificar construcción, consultas por índice y mantenimiento vía bus
+ * - ProductDAO simulado, bus en memoria y ProductChangeStream real (carga y recargas)
+ */
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+@DisplayName("CatalogReadModel - Unit Tests")
+public class CatalogReadModelTest {
+
+    @Mock
+    private ProductDAO productDAO;
+
+    private InMemoryInvalidationBus bus;
+    private ProductChangeStream changeStream;
+    private CatalogReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        bus = new InMemoryInvalidationBus();
+        changeStream = new ProductChangeStream(productDAO, bus, Optional.empty());
+        readModel = new CatalogReadModel(changeStream, Optional.empty(), DataSize.ofMegabytes(1));
+    }
+
+    private ProductDTO product(Long id, String price, int stock, Long sellerId) {
+        return new ProductDTO(id, "Producto " + id, "Desc", new BigDecimal(price), stock, sellerId, null, null);
+    }
+
+    private void build(ProductDTO... products) {
+        when(productDAO.findPageAfter(eq(0L), anyInt())).thenReturn(List.of(products));
+        changeStream.initialize();
+    }
+
+    @Test
+    @DisplayName("BUILD - Carga el catálogo y queda disponible")
+    void rebuild_ShouldLoadAllProducts() {
+        // ACT
+        build(product(1L, "100", 5, 1L), product(2L, "50", 0, 2L));
+
+        // ASSERT
+        assertThat(readModel.isReady()).isTrue();
+        assertThat(readModel.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("CONSULTAS - Rango de precio, top-N y por vendedor usan los índices")
+    void queries_ShouldUseSortedIndexes() {
+        // ARRANGE
+        build(product(1L, "100", 5, 1L), product(2L, "50", 0, 2L),
+                product(3L, "75", 9, 1L), product(4L, "300", 2, 1L));
+
+        // ACT & ASSERT
+        assertThat(readModel.findByPriceRange(new BigDecimal("60"), new BigDecimal("100"), 10))
+                .extracting(CatalogItemDTO::getId).containsExactly(3L, 1L);
+        assertThat(readModel.findTopByPrice(false, 2))
+                .extracting(CatalogItemDTO::getId).containsExactly(4L, 1L);
+        assertThat(readModel.findTopByStock(true, 2))
+                .extracting(CatalogItemDTO::getId).containsExactly(2L, 4L);
+        assertThat(readModel.findBySeller(1L, 10))
+                .extracting(CatalogItemDTO::getId).containsExactly(1L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("BUS - Un UPDATED recarga el producto y lo mueve en los índices")
+    void onInvalidation_Updated_ShouldReindex() {
+        // ARRANGE
+        build(product(1L, "100", 5, 1L), product(2L, "50", 0, 2L));
+        when(productDAO.findById(1L)).thenReturn(Optional.of(product(1L, "10", 5, 1L)));
+
+        // ACT
+        bus.publish(OutboxEventListener.AGGREGATE_PRODUCT, 1L, "UPDATED");
+
+        // ASSERT - ahora es el más barato, y aparece una sola vez
+        assertThat(readModel.findTopByPrice(true, 10))
+                .extracting(CatalogItemDTO::getId).containsExactly(1L, 2L);
+        assertThat(readModel.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("BUS - Un DELETED elimina el producto de todos los índices")
+    void onInvalidation_Deleted_ShouldRemove() {
+        // ARRANGE
+        build(product(1L, "100", 5, 1L), product(2L, "50", 0, 2L));
+
+        // ACT
+        bus.publish(OutboxEventListener.AGGREGATE_PRODUCT, 2L, "DELETED");
+
+        // ASSERT
+        assertThat(readModel.findTopByStock(true, 10)).extracting(CatalogItemDTO::getId).containsExactly(1L);
+        assertThat(readModel.findBySeller(2L, 10)).isEmpty();
+        verify(productDAO, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("SNAPSHOT - Copia los productos en memoria solo si está listo")
+    void snapshotItems_ShouldCopyItemsWhenReady() {
+        // ARRANGE
+        assertThat(readModel.snapshotItems()).isEmpty();
+        build(product(1L, "100", 5, 1L), product(2L, "50", 0, 2L));
+
+        // ACT
+        List<CatalogItemDTO> items = readModel.snapshotItems().orElseThrow();
+
+        // ASSERT
+        assertThat(items).extracting(CatalogItemDTO::getId).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("MEMORIA - Superar el presupuesto desactiva el read model")
+    void rebuild_OverBudget_ShouldDisable() {
+        // ARRANGE
+        changeStream = new ProductChangeStream(productDAO, bus, Optional.empty());
+        readModel = new CatalogReadModel(changeStream, Optional.empty(), DataSize.ofBytes(500));
+
+        // ACT
+        build(product(1L, "100", 5, 1L), product(2L, "50", 0, 2L));
+
+        // ASSERT
+        assertThat(readModel.isReady()).isFalse();
+        assertThat(readModel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("VALIDACIÓN - Rango invertido lanza IllegalArgumentException")
+    void findByPriceRange_InvalidRange_Throws() {
+        // ARRANGE
+        build(product(1L, "100", 5, 1L));
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> readModel.findByPriceRange(BigDecimal.TEN, BigDecimal.ONE, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
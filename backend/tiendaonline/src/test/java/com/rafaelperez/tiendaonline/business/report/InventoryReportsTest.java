@@ -0,0 +1,176 @@
+package com.rafaelperez.tiendaonline.business.report;
+
+import com.rafaelperez.tiendaonline.business.dto.InventoryValuationDTO;
+import com.rafaelperez.tiendaonline.business.dto.PricePercentilesDTO;
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.dto.StockDistributionDTO;
+import com.rafaelperez.tiendaonline.business.event.OutboxEventListener;
+import com.rafaelperez.tiendaonline.business.invalidation.InMemoryInvalidationBus;
+import com.rafaelperez.tiendaonline.business.invalidation.ProductChangeStream;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.ProductDAO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para InventoryColumnStore + InventoryReports
+ *
+ * OBJETIVO: Verificar las agregaciones columnares y su mantenimiento incremental
+ * - ProductDAO simulado, bus en memoria
+ */
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+@DisplayName("InventoryReports - Unit Tests")
+class InventoryReportsTest {
+
+    @Mock
+    private ProductDAO productDAO;
+
+    private InMemoryInvalidationBus bus;
+    private ProductChangeStream changeStream;
+    private InventoryColumnStore store;
+    private InventoryReports reports;
+
+    @BeforeEach
+    void setUp() {
+        bus = new InMemoryInvalidationBus();
+        changeStream = new ProductChangeStream(productDAO, bus, Optional.empty());
+        store = new InventoryColumnStore(changeStream);
+        reports = new InventoryReports(store);
+    }
+
+    private ProductDTO product(Long id, String price, int stock, Long sellerId) {
+        return new ProductDTO(id, "Producto " + id, "Desc", new BigDecimal(price), stock, sellerId, null, null);
+    }
+
+    private void build(List<ProductDTO> products) {
+        when(productDAO.findPageAfter(eq(0L), anyInt())).thenReturn(products);
+        changeStream.initialize();
+    }
+
+    @Test
+    @DisplayName("VALUATION - Suma precio * stock por vendedor, de mayor a menor")
+    void valuation_ShouldAggregateBySeller() {
+        // ARRANGE
+        build(List.of(product(1L, "10.50", 2, 1L), product(2L, "100", 1, 2L),
+                product(3L, "5", 4, 1L), product(4L, "7.25", 0, null)));
+
+        // ACT
+        InventoryValuationDTO result = reports.valuation(10);
+
+        // ASSERT
+        assertThat(result.getProductCount()).isEqualTo(4);
+        assertThat(result.getTotalUnits()).isEqualTo(7);
+        assertThat(result.getTotalValuation()).isEqualByComparingTo("141.00");
+        assertThat(result.getSellers()).extracting(InventoryValuationDTO.SellerValuation::getSellerId)
+                .containsExactly(2L, 1L, null);
+        assertThat(result.getSellers().get(1).getValuation()).isEqualByComparingTo("41.00");
+        assertThat(result.getSellers().get(1).getProductCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("VALUATION - Muchas filas (varios bloques en paralelo) dan el total exacto")
+    void valuation_ManyRows_ShouldMatchSequentialSum() {
+        // ARRANGE
+        List<ProductDTO> products = new ArrayList<>();
+        long expectedMinor = 0;
+        for (long id = 1; id <= 300_000; id++) {
+            int stock = (int) (id % 17);
+            products.add(product(id, "1.01", stock, id % 50));
+            expectedMinor += 101L * stock;
+        }
+        when(productDAO.findPageAfter(anyLong(), anyInt())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            int size = invocation.getArgument(1);
+            return products.subList((int) after, (int) Math.min(after + size, products.size()));
+        });
+        changeStream.initialize();
+
+        // ACT
+        InventoryValuationDTO result = reports.valuation(1000);
+
+        // ASSERT
+        assertThat(result.getProductCount()).isEqualTo(300_000);
+        assertThat(result.getTotalValuation()).isEqualByComparingTo(BigDecimal.valueOf(expectedMinor, 2));
+        assertThat(result.getSellers()).hasSize(50);
+    }
+
+    @Test
+    @DisplayName("DISTRIBUTION - Cuenta productos por rango de stock")
+    void stockDistribution_ShouldCountByBucket() {
+        // ARRANGE
+        build(List.of(product(1L, "1", 0, 1L), product(2L, "1", 5, 1L),
+                product(3L, "1", 10, 1L), product(4L, "1", 999, 1L)));
+
+        // ACT
+        StockDistributionDTO result = reports.stockDistribution(new int[]{0, 1, 10, 100});
+
+        // ASSERT
+        assertThat(result.getBuckets()).extracting(StockDistributionDTO.Bucket::getCount)
+                .containsExactly(1L, 1L, 1L, 1L);
+        assertThat(result.getBuckets().get(3).getTo()).isNull();
+        assertThat(result.getTotalUnits()).isEqualTo(1014);
+    }
+
+    @Test
+    @DisplayName("DISTRIBUTION - Rangos que no empiezan en 0 o no crecen se rechazan")
+    void stockDistribution_InvalidBounds_ShouldThrow() {
+        assertThatThrownBy(() -> reports.stockDistribution(new int[]{1, 10}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> reports.stockDistribution(new int[]{0, 10, 10}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("PERCENTILES - Rango más cercano sobre los precios ordenados")
+    void pricePercentiles_ShouldUseNearestRank() {
+        // ARRANGE
+        List<ProductDTO> products = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            products.add(product(id, String.valueOf(101 - id), 1, 1L));
+        }
+        build(products);
+
+        // ACT
+        PricePercentilesDTO result = reports.pricePercentiles(new double[]{50, 99.5, 100});
+
+        // ASSERT
+        assertThat(result.getMin()).isEqualByComparingTo("1");
+        assertThat(result.getMax()).isEqualByComparingTo("100");
+        assertThat(result.getPercentiles()).containsOnlyKeys("p50", "p99.5", "p100");
+        assertThat(result.getPercentiles().get("p50")).isEqualByComparingTo("50");
+        assertThat(result.getPercentiles().get("p99.5")).isEqualByComparingTo("100");
+    }
+
+    @Test
+    @DisplayName("BUS - Actualizaciones y borrados se reflejan sin reconstruir")
+    void invalidations_ShouldUpdateColumnsIncrementally() {
+        // ARRANGE
+        build(List.of(product(1L, "10", 1, 1L), product(2L, "20", 1, 1L), product(3L, "30", 1, 2L)));
+        when(productDAO.findById(3L)).thenReturn(Optional.of(product(3L, "30", 5, 2L)));
+
+        // ACT
+        bus.publish(OutboxEventListener.AGGREGATE_PRODUCT, 1L, "DELETED");
+        bus.publish(OutboxEventListener.AGGREGATE_PRODUCT, 3L, "UPDATED");
+        bus.publish(OutboxEventListener.AGGREGATE_PRODUCT, 1L, "DELETED");
+
+        // ASSERT
+        InventoryValuationDTO result = reports.valuation(10);
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(result.getTotalValuation()).isEqualByComparingTo("170");
+        assertThat(reports.pricePercentiles(new double[]{1}).getMin()).isEqualByComparingTo("20");
+    }
+}
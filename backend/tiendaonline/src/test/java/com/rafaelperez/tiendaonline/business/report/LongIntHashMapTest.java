@@ -0,0 +1,46 @@
+package com.rafaelperez.tiendaonline.business.report;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para LongIntHashMap
+ *
+ * OBJETIVO: El borrado por desplazamiento no debe perder entradas de una misma cadena
+ */
+@DisplayName("LongIntHashMap - Unit Tests")
+class LongIntHashMapTest {
+
+    @Test
+    @DisplayName("OPERACIONES - Coincide con HashMap tras inserciones y borrados aleatorios")
+    void randomOperations_ShouldMatchHashMap() {
+        // ARRANGE
+        LongIntHashMap map = new LongIntHashMap(16);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // ACT
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertThat(map.remove(key)).isEqualTo(removed == null ? LongIntHashMap.MISSING : removed);
+            } else {
+                map.put(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        // ASSERT
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = 0; key < 5_000; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.getOrDefault(key, LongIntHashMap.MISSING));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.rafaelperez.tiendaonline.business.snapshot;
+
+import com.rafaelperez.tiendaonline.business.dto.CatalogItemDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para CatalogSnapshotFile
+ *
+ * OBJETIVO: formato binario, publicación atómica y validación del snapshot
+ */
+@DisplayName("CatalogSnapshotFile - Unit Tests")
+class CatalogSnapshotFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("WRITE/READ - los productos se recuperan idénticos, incluidos nulos")
+    void roundTrip_preservesItems() throws IOException {
+        // ARRANGE
+        Path file = dir.resolve("catalog.snapshot");
+        Instant createdAt = Instant.parse("2026-10-19T10:00:00Z");
+        List<CatalogItemDTO> items = List.of(
+                new CatalogItemDTO(1L, "Teclado ñandú", new BigDecimal("49.90"), 10, 3L,
+                        LocalDateTime.of(2026, 10, 1, 12, 30, 15, 123456789)),
+                new CatalogItemDTO(2L, null, null, null, null, null));
+
+        // ACT
+        try (CatalogSnapshotFile.Writer writer = CatalogSnapshotFile.create(file, 42L, createdAt)) {
+            for (CatalogItemDTO item : items) {
+                writer.append(item);
+            }
+            writer.commit();
+        }
+        CatalogSnapshotFile.Snapshot snapshot = CatalogSnapshotFile.open(file);
+        List<CatalogItemDTO> restored = new ArrayList<>();
+        snapshot.forEach(restored::add);
+
+        // ASSERT
+        assertThat(snapshot.cursor()).isEqualTo(42L);
+        assertThat(snapshot.createdAt()).isEqualTo(createdAt);
+        assertThat(snapshot.itemCount()).isEqualTo(2);
+        assertThat(restored).containsExactlyElementsOf(items);
+    }
+
+    @Test
+    @DisplayName("WRITE - sin commit() no se publica ni queda el temporal")
+    void close_withoutCommit_leavesNothing() throws IOException {
+        // ARRANGE
+        Path file = dir.resolve("catalog.snapshot");
+
+        // ACT
+        try (CatalogSnapshotFile.Writer writer = CatalogSnapshotFile.create(file, 1L, Instant.now())) {
+            writer.append(new CatalogItemDTO(1L, "A", BigDecimal.ONE, 1, 1L, null));
+        }
+
+        // ASSERT
+        try (var files = Files.list(dir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("READ - un byte corrupto en el payload se detecta por CRC")
+    void open_corruptedPayload_throws() throws IOException {
+        // ARRANGE
+        Path file = writeSingleItem();
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[CatalogSnapshotFile.HEADER_SIZE + 3] ^= 0x01;
+        Files.write(file, bytes);
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> CatalogSnapshotFile.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("CRC");
+    }
+
+    @Test
+    @DisplayName("READ - un archivo truncado se rechaza")
+    void open_truncated_throws() throws IOException {
+        // ARRANGE
+        Path file = writeSingleItem();
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 5));
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> CatalogSnapshotFile.open(file))
+                .isInstanceOf(IOException.class);
+    }
+
+    private Path writeSingleItem() throws IOException {
+        Path file = dir.resolve("catalog.snapshot");
+        try (CatalogSnapshotFile.Writer writer = CatalogSnapshotFile.create(file, 7L, Instant.now())) {
+            writer.append(new CatalogItemDTO(1L, "Mouse", new BigDecimal("19.99"), 5, 2L, LocalDateTime.now()));
+            writer.commit();
+        }
+        return file;
+    }
+}
@@ -0,0 +1,96 @@
+package com.rafaelperez.tiendaonline.business.snapshot;
+
+import com.rafaelperez.tiendaonline.business.dto.CatalogItemDTO;
+import com.rafaelperez.tiendaonline.business.dto.ChangeFeedDTO;
+import com.rafaelperez.tiendaonline.business.service.ChangeFeedService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para CatalogSnapshotService
+ *
+ * OBJETIVO: el snapshot se escribe desde el read model (sin recorrer la BD)
+ * con el cursor de la pasada anterior
+ */
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+@DisplayName("CatalogSnapshotService - Unit Tests")
+class CatalogSnapshotServiceTest {
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private CatalogSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve("catalog.snapshot");
+        snapshotService = new CatalogSnapshotService(changeFeedService, file, Duration.ofDays(7));
+    }
+
+    private static ChangeFeedDTO head(long cursor) {
+        return new ChangeFeedDTO(List.of(), cursor, false);
+    }
+
+    @Test
+    @DisplayName("WRITE - Usa los productos del read model y el cursor de la pasada anterior")
+    void writeSnapshot_ShouldUseReadModelItemsAndPreviousCursor() throws IOException {
+        // ARRANGE
+        List<CatalogItemDTO> items = List.of(
+                new CatalogItemDTO(1L, "Teclado", new BigDecimal("49.90"), 10, 3L, null),
+                new CatalogItemDTO(2L, "Mouse", new BigDecimal("19.90"), 0, 3L, null));
+        snapshotService.setItemSource(() -> Optional.of(items));
+        when(changeFeedService.getLatestCursor()).thenReturn(1500L);
+        when(changeFeedService.getChanges(500L, 1000)).thenReturn(head(1490L));
+        when(changeFeedService.getChanges(1490L, 1000)).thenReturn(head(1600L));
+
+        // ACT - la primera pasada solo registra el cursor
+        snapshotService.writeSnapshot();
+        assertThat(file).doesNotExist();
+        snapshotService.writeSnapshot();
+
+        // ASSERT
+        CatalogSnapshotFile.Snapshot snapshot = snapshotService.openLatest().orElseThrow();
+        List<CatalogItemDTO> restored = new ArrayList<>();
+        snapshot.forEach(restored::add);
+        assertThat(snapshot.cursor()).isEqualTo(1490L);
+        assertThat(restored).containsExactlyElementsOf(items);
+    }
+
+    @Test
+    @DisplayName("WRITE - Sin read model listo no se escribe nada")
+    void writeSnapshot_ReadModelNotReady_ShouldSkip() {
+        // ARRANGE
+        when(changeFeedService.getLatestCursor()).thenReturn(10L);
+        when(changeFeedService.getChanges(0L, 1000)).thenReturn(head(10L));
+        when(changeFeedService.getChanges(10L, 1000)).thenReturn(head(10L));
+
+        // ACT
+        snapshotService.writeSnapshot();
+        snapshotService.writeSnapshot();
+
+        // ASSERT
+        assertThat(file).doesNotExist();
+    }
+}
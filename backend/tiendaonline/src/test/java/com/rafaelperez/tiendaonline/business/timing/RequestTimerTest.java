@@ -0,0 +1,107 @@
+package com.rafaelperez.tiendaonline.business.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para RequestTimer
+ *
+ * OBJETIVO: Verificar fases, anidamiento, conteo de SQL y formato Server-Timing
+ * - Reloj simulado (sin sleeps)
+ */
+@DisplayName("RequestTimer - Unit Tests")
+class RequestTimerTest {
+
+    private AtomicLong clock;
+    private RequestTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+        timer = new RequestTimer(clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestTimer.clear();
+    }
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    @DisplayName("HEADER - Fases en orden de entrada con duración, llamadas y SQL")
+    void toHeader_ShouldListPhasesWithStatements() throws Throwable {
+        // ACT
+        timer.time("controller", () -> timer.time("service", () -> {
+            advanceMillis(1);
+            return timer.time("ProductDAO.findById", () -> {
+                timer.statementPrepared();
+                advanceMillis(2);
+                return null;
+            });
+        }));
+        timer.markResponseStart();
+        advanceMillis(3);
+
+        // ASSERT
+        assertThat(timer.toHeader()).isEqualTo("total;dur=6.00"
+                + ", controller;dur=3.00;desc=\"1 llamada, 1 SQL\""
+                + ", service;dur=3.00;desc=\"1 llamada, 1 SQL\""
+                + ", ProductDAO.findById;dur=2.00;desc=\"1 llamada, 1 SQL\""
+                + ", serialization;dur=3.00"
+                + ", sql;desc=\"1 SQL\"");
+    }
+
+    @Test
+    @DisplayName("ANIDADO - Una fase dentro de sí misma se mide una sola vez")
+    void time_NestedSamePhase_ShouldNotDoubleCount() throws Throwable {
+        // ACT
+        timer.time("service", () -> timer.time("service", () -> {
+            advanceMillis(4);
+            return null;
+        }));
+        timer.time("service", () -> {
+            advanceMillis(1);
+            return null;
+        });
+
+        // ASSERT
+        assertThat(timer.toHeader()).contains("service;dur=5.00;desc=\"2 llamadas\"");
+    }
+
+    @Test
+    @DisplayName("EXCEPCIÓN - La fase se registra aunque el trabajo falle")
+    void time_Failure_ShouldStillRecordPhase() {
+        // ACT & ASSERT
+        assertThatThrownBy(() -> timer.time("SellerDAO.update", () -> {
+            advanceMillis(2);
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(timer.toHeader()).contains("SellerDAO.update;dur=2.00;desc=\"1 llamada\"");
+    }
+
+    @Test
+    @DisplayName("THREADLOCAL - Sin start() no hay temporizador y el inspector no falla")
+    void current_WithoutStart_ShouldBeNull() {
+        // ARRANGE
+        StatementCountingInspector inspector = new StatementCountingInspector();
+
+        // ACT & ASSERT
+        assertThat(RequestTimer.current()).isNull();
+        assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+
+        RequestTimer started = RequestTimer.start();
+        inspector.inspect("select 1");
+        assertThat(RequestTimer.current()).isSameAs(started);
+        assertThat(started.getStatements()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,54 @@
+package com.rafaelperez.tiendaonline.business.validation;
+
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.dto.SellerDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para FieldSelection
+ *
+ * OBJETIVO: ?fields= se valida contra el esquema del DTO y se normaliza
+ */
+@DisplayName("FieldSelection - Unit Tests")
+class FieldSelectionTest {
+
+    @Test
+    @DisplayName("PARSE - Orden del DTO, sin duplicados ni espacios")
+    void parse_ShouldNormalizeFields() {
+        // ACT & ASSERT
+        assertThat(FieldSelection.parse(" stock,price ,, id,name,id", ProductDTO.class))
+                .containsExactly("id", "name", "price", "stock");
+    }
+
+    @Test
+    @DisplayName("PARSE - Campo desconocido o de otro DTO -> IllegalArgumentException")
+    void parse_UnknownField_ShouldThrowException() {
+        // ACT & ASSERT
+        assertThatThrownBy(() -> FieldSelection.parse("id,email", ProductDTO.class))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'email'")
+                .hasMessageContaining("sellerId");
+        assertThat(FieldSelection.parse("id,email", SellerDTO.class)).containsExactly("id", "email");
+    }
+
+    @Test
+    @DisplayName("PARSE - Vacío o solo comas -> IllegalArgumentException")
+    void parse_EmptyFields_ShouldThrowException() {
+        // ACT & ASSERT
+        assertThatThrownBy(() -> FieldSelection.parse(" ", ProductDTO.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FieldSelection.parse(",,", ProductDTO.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("SCHEMA - Campos permitidos = campos de instancia del DTO")
+    void allowedFields_ShouldMirrorDto() {
+        // ACT & ASSERT
+        assertThat(FieldSelection.allowedFields(ProductDTO.class)).containsExactly(
+                "id", "name", "description", "price", "stock", "sellerId", "createdAt", "updatedAt");
+    }
+}
@@ -0,0 +1,93 @@
+package com.rafaelperez.tiendaonline.business.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.ProductDAO;
+import com.rafaelperez.tiendaonline.persistenceLayer.mapper.ProductMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para JitWarmup
+ *
+ * OBJETIVO: Verificar los límites (iteraciones / tiempo), las consultas de solo lectura
+ * y las métricas registradas
+ * - ProductDAO simulado, mapper y ObjectMapper reales
+ */
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+@DisplayName("JitWarmup - Unit Tests")
+class JitWarmupTest {
+
+    @Mock
+    private ProductDAO productDAO;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JitWarmup warmup(int iterations, Duration maxDuration, int queryEvery) {
+        return new JitWarmup(Mappers.getMapper(ProductMapper.class), productDAO,
+                new ObjectMapper().findAndRegisterModules(), meterRegistry, iterations, maxDuration, queryEvery);
+    }
+
+    @Test
+    @DisplayName("RUN - Ejecuta las iteraciones configuradas y registra las métricas")
+    void run_ShouldExerciseIterationsAndRecordMetrics() {
+        // ARRANGE
+        when(productDAO.findPageAfter(0L, 20)).thenReturn(List.of());
+
+        // ACT
+        JitWarmup.WarmupResult result = warmup(200, Duration.ofMinutes(1), 10).run();
+
+        // ASSERT
+        assertThat(result.iterations()).isEqualTo(200);
+        assertThat(result.queriesEnabled()).isTrue();
+        verify(productDAO, times(20)).findPageAfter(0L, 20);
+        assertThat(meterRegistry.get("tienda.warmup.iteration").tag("phase", "cold").timer().count())
+                .isEqualTo(JitWarmup.SAMPLE_SIZE);
+        assertThat(meterRegistry.get("tienda.warmup.iteration").tag("phase", "warm").timer().count())
+                .isEqualTo(JitWarmup.SAMPLE_SIZE);
+        assertThat(meterRegistry.get("tienda.warmup.duration").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("tienda.warmup.iterations").counter().count()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("RUN - Sin base de datos sigue solo con datos sintéticos")
+    void run_WhenDatabaseFails_ShouldStopQuerying() {
+        // ARRANGE
+        when(productDAO.findPageAfter(anyLong(), anyInt())).thenThrow(new DataAccessResourceFailureException("sin conexión"));
+
+        // ACT
+        JitWarmup.WarmupResult result = warmup(100, Duration.ofMinutes(1), 5).run();
+
+        // ASSERT
+        assertThat(result.iterations()).isEqualTo(100);
+        assertThat(result.queriesEnabled()).isFalse();
+        verify(productDAO, times(1)).findPageAfter(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("RUN - El tiempo máximo corta el calentamiento")
+    void run_ShouldStopAtMaxDuration() {
+        // ACT
+        JitWarmup.WarmupResult result = warmup(Integer.MAX_VALUE, Duration.ofMillis(200), 0).run();
+
+        // ASSERT
+        assertThat(result.iterations()).isPositive().isLessThan(Integer.MAX_VALUE);
+        assertThat(result.duration()).isLessThan(Duration.ofSeconds(5));
+        assertThat(result.warmMicros()).isPositive();
+        verifyNoInteractions(productDAO);
+    }
+}
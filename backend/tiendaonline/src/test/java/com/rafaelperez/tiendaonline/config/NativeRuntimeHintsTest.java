@@ -0,0 +1,42 @@
+package com.rafaelperez.tiendaonline.config;
+
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.persistenceLayer.entity.ProductEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para NativeRuntimeHints
+ *
+ * OBJETIVO: Los tipos usados por reflexión quedan registrados para native-image
+ */
+@DisplayName("NativeRuntimeHints - Unit Tests")
+class NativeRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    @DisplayName("HINTS - DTOs, entidades y Arrow registrados para reflexión")
+    void registerHints_ShouldCoverReflectiveTypes() {
+        // ACT
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // ASSERT
+        for (Class<?> type : NativeRuntimeHints.JSON_TYPES) {
+            assertThat(RuntimeHintsPredicates.reflection().onType(type)
+                    .withMemberCategory(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+        }
+        assertThat(RuntimeHintsPredicates.reflection().onType(ProductDTO.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ProductEntity.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_METHODS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(
+                TypeReference.of("org.apache.arrow.memory.unsafe.DefaultAllocationManagerFactory"))).accepts(hints);
+    }
+}
@@ -0,0 +1,127 @@
+package com.rafaelperez.tiendaonline.config.startup;
+
+import com.rafaelperez.tiendaonline.business.dto.StartupReportDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para StartupReport y LazyNonCriticalBeansPostProcessor
+ *
+ * OBJETIVO: El tiempo propio descuenta los beans anidados y se agrupan JPA y OpenAPI
+ */
+@DisabledInNativeImage
+@DisplayName("StartupReport - Unit Tests")
+class StartupReportTest {
+
+    private final List<StartupTimeline.TimelineEvent> events = new ArrayList<>();
+
+    @Test
+    @DisplayName("ANALYZE - Tiempo propio = duración - pasos hijos")
+    void analyze_ShouldSubtractNestedBeans() {
+        // ARRANGE: productServiceImpl (100 ms) crea productDAO (60 ms) que crea entityManagerFactory (50 ms)
+        event(1, null, "productServiceImpl", 100);
+        event(2, 1L, "productDAO", 60);
+        event(3, 2L, StartupReport.JPA_BEAN, 50);
+
+        // ACT
+        StartupReportDTO report = StartupReport.analyze(timeline(), Duration.ofMillis(900), 10);
+
+        // ASSERT
+        assertThat(report.getReadyMillis()).isEqualTo(900);
+        assertThat(report.getJpaBootstrapMillis()).isEqualTo(50);
+        assertThat(report.getRecordedSteps()).isEqualTo(3);
+        assertThat(report.getSlowestBeans())
+                .extracting(StartupReportDTO.BeanTiming::getBeanName, StartupReportDTO.BeanTiming::getSelfMillis,
+                        StartupReportDTO.BeanTiming::getTotalMillis)
+                .containsExactly(
+                        tuple(StartupReport.JPA_BEAN, 50L, 50L),
+                        tuple("productServiceImpl", 40L, 100L),
+                        tuple("productDAO", 10L, 60L));
+    }
+
+    @Test
+    @DisplayName("ANALYZE - OpenAPI suma los beans de springdoc y se limita el top")
+    void analyze_ShouldSumOpenApiBeansAndLimitTop() {
+        // ARRANGE
+        event(1, null, "openApiConfig", 30);
+        event(2, null, "org.springdoc.core.configuration.SpringDocConfiguration", 20);
+        event(3, null, "sellerServiceImpl", 5);
+        events.add(timelineEvent(stepMock(4, null, "spring.context.refresh", null), 1000));
+
+        // ACT
+        StartupReportDTO report = StartupReport.analyze(timeline(), Duration.ofSeconds(1), 2);
+
+        // ASSERT: el paso de refresh no es un bean
+        assertThat(report.getOpenApiMillis()).isEqualTo(50);
+        assertThat(report.getRecordedSteps()).isEqualTo(4);
+        assertThat(report.getSlowestBeans()).hasSize(2)
+                .extracting(StartupReportDTO.BeanTiming::getBeanName)
+                .containsExactly("openApiConfig", "org.springdoc.core.configuration.SpringDocConfiguration");
+    }
+
+    @Test
+    @DisplayName("LAZY - springdoc/swagger y OpenApiConfig se difieren, los servicios no")
+    void isNonCritical_ShouldMatchDocumentationBeans() {
+        // ARRANGE
+        RootBeanDefinition springdoc = new RootBeanDefinition();
+        springdoc.setBeanClassName("org.springdoc.webmvc.api.OpenApiWebMvcResource");
+        RootBeanDefinition service = new RootBeanDefinition();
+        service.setBeanClassName("com.rafaelperez.tiendaonline.business.service.impl.ProductServiceImpl");
+        RootBeanDefinition openApiBean = new RootBeanDefinition();
+        openApiBean.setFactoryBeanName("openApiConfig");
+        openApiBean.setFactoryMethodName("customOpenAPI");
+
+        // ACT & ASSERT
+        assertThat(LazyNonCriticalBeansPostProcessor.isNonCritical("openApiResource", springdoc)).isTrue();
+        assertThat(LazyNonCriticalBeansPostProcessor.isNonCritical("openApiConfig", new RootBeanDefinition())).isTrue();
+        assertThat(LazyNonCriticalBeansPostProcessor.isNonCritical("customOpenAPI", openApiBean)).isTrue();
+        // Sin factoryBeanName (la mayoría de beans): no debe lanzar NPE
+        assertThat(LazyNonCriticalBeansPostProcessor.isNonCritical("productServiceImpl", service)).isFalse();
+    }
+
+    private void event(long id, Long parentId, String beanName, long millis) {
+        events.add(timelineEvent(stepMock(id, parentId, StartupReport.BEAN_STEP, beanName), millis));
+    }
+
+    private StartupTimeline timeline() {
+        StartupTimeline timeline = mock(StartupTimeline.class);
+        when(timeline.getEvents()).thenReturn(events);
+        return timeline;
+    }
+
+    private static StartupTimeline.TimelineEvent timelineEvent(StartupStep step, long millis) {
+        StartupTimeline.TimelineEvent event = mock(StartupTimeline.TimelineEvent.class);
+        when(event.getStartupStep()).thenReturn(step);
+        when(event.getDuration()).thenReturn(Duration.ofMillis(millis));
+        return event;
+    }
+
+    private static StartupStep stepMock(long id, Long parentId, String name, String beanName) {
+        StartupStep step = mock(StartupStep.class);
+        when(step.getId()).thenReturn(id);
+        when(step.getParentId()).thenReturn(parentId);
+        when(step.getName()).thenReturn(name);
+        StartupStep.Tags tags = mock(StartupStep.Tags.class);
+        List<StartupStep.Tag> tagList = new ArrayList<>();
+        if (beanName != null) {
+            StartupStep.Tag tag = mock(StartupStep.Tag.class);
+            when(tag.getKey()).thenReturn("beanName");
+            when(tag.getValue()).thenReturn(beanName);
+            tagList.add(tag);
+        }
+        when(tags.iterator()).thenAnswer(invocation -> tagList.iterator());
+        when(step.getTags()).thenReturn(tags);
+        return step;
+    }
+}
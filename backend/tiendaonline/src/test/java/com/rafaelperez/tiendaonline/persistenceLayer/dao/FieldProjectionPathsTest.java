@@ -0,0 +1,36 @@
+package com.rafaelperez.tiendaonline.persistenceLayer.dao;
+
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.dto.SellerDTO;
+import com.rafaelperez.tiendaonline.business.validation.FieldSelection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests de las rutas de proyección de ProductDAO y SellerDAO
+ *
+ * OBJETIVO: Todo campo que acepta ?fields= tiene una columna que leer
+ * (si se añade un campo al DTO sin ruta, este test falla antes que la petición)
+ */
+@DisplayName("FieldProjection paths - Unit Tests")
+class FieldProjectionPathsTest {
+
+    @Test
+    @DisplayName("PRODUCT - Cada campo de ProductDTO tiene ruta en ProductEntity")
+    void productPaths_ShouldCoverDtoSchema() {
+        // ACT & ASSERT
+        assertThat(ProductDAO.PROJECTION_PATHS.keySet())
+                .containsExactlyInAnyOrderElementsOf(FieldSelection.allowedFields(ProductDTO.class));
+        assertThat(ProductDAO.PROJECTION_PATHS).containsEntry("sellerId", "sellerEntity.id");
+    }
+
+    @Test
+    @DisplayName("SELLER - Cada campo de SellerDTO tiene ruta en SellerEntity")
+    void sellerPaths_ShouldCoverDtoSchema() {
+        // ACT & ASSERT
+        assertThat(SellerDAO.PROJECTION_PATHS.keySet())
+                .containsExactlyInAnyOrderElementsOf(FieldSelection.allowedFields(SellerDTO.class));
+    }
+}
@@ -0,0 +1,57 @@
+package com.rafaelperez.tiendaonline.persistenceLayer.entity;
+
+import org.hibernate.engine.spi.ManagedEntity;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests de la mejora de bytecode de Hibernate (plugin org.hibernate.orm)
+ *
+ * OBJETIVO: Si el build deja de mejorar las entidades, description vuelve a
+ * cargarse siempre y el flush vuelve a comparar snapshots: este test lo detecta
+ */
+@DisplayName("Entity enhancement - Unit Tests")
+class EntityEnhancementTest {
+
+    @Test
+    @DisplayName("BUILD - Las entidades están mejoradas (lazy + dirty tracking)")
+    void entities_ShouldBeEnhanced() {
+        // ACT & ASSERT
+        assertThat(ManagedEntity.class.isAssignableFrom(ProductEntity.class)).isTrue();
+        assertThat(ManagedEntity.class.isAssignableFrom(SellerEntity.class)).isTrue();
+        assertThat(PersistentAttributeInterceptable.class.isAssignableFrom(ProductEntity.class)).isTrue();
+        assertThat(SelfDirtinessTracker.class.isAssignableFrom(ProductEntity.class)).isTrue();
+        assertThat(SelfDirtinessTracker.class.isAssignableFrom(SellerEntity.class)).isTrue();
+    }
+
+    @Test
+    @DisplayName("DIRTY - Solo los atributos modificados quedan marcados")
+    void setter_ShouldTrackOnlyChangedAttributes() {
+        // ARRANGE
+        ProductEntity product = new ProductEntity();
+        SelfDirtinessTracker tracker = (SelfDirtinessTracker) product;
+        tracker.$$_hibernate_clearDirtyAttributes();
+
+        // ACT
+        product.setStock(7);
+
+        // ASSERT
+        assertThat(tracker.$$_hibernate_getDirtyAttributes()).containsExactly("stock");
+    }
+
+    @Test
+    @DisplayName("TOSTRING - description no participa (no fuerza la carga LAZY)")
+    void toString_ShouldNotIncludeDescription() {
+        // ARRANGE
+        ProductEntity product = new ProductEntity();
+        product.setName("Teclado");
+        product.setDescription("Texto largo");
+
+        // ACT & ASSERT
+        assertThat(product.toString()).contains("Teclado").doesNotContain("Texto largo");
+    }
+}
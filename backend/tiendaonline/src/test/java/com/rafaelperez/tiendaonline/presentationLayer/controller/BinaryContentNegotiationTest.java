@@ -0,0 +1,138 @@
+package com.rafaelperez.tiendaonline.presentationLayer.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rafaelperez.tiendaonline.business.cache.ProductJsonCache;
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.service.ProductService;
+import com.rafaelperez.tiendaonline.config.BinaryFormatsConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit Tests de la negociación de contenido Smile/CBOR en ProductController
+ *
+ * OBJETIVO: Accept elige el formato (JSON sigue siendo el de por defecto) y los
+ * cuerpos binarios se leen como el mismo ProductDTO
+ * - ProductService y ProductJsonCache simulados, converters reales
+ */
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+@DisplayName("Binary content negotiation - Unit Tests")
+class BinaryContentNegotiationTest {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private ProductJsonCache productJsonCache;
+
+    private final BinaryFormatsConfig config = new BinaryFormatsConfig();
+    private final ObjectMapper smileMapper = config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+    private final ObjectMapper cborMapper = config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProductController(productService, productJsonCache))
+                .setMessageConverters(
+                        new ByteArrayHttpMessageConverter(),
+                        new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build()),
+                        config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()),
+                        config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()))
+                .build();
+    }
+
+    private ProductDTO product(Long id) {
+        return new ProductDTO(id, "Producto " + id, "Desc", new BigDecimal("10.50"), 7, 1L,
+                LocalDateTime.of(2026, 10, 19, 8, 0), null);
+    }
+
+    @Test
+    @DisplayName("GET BY ID - Accept CBOR responde el mismo DTO en CBOR")
+    void getById_WithCborAccept_ShouldReturnCbor() throws Exception {
+        // ARRANGE
+        when(productService.getProductById(1L)).thenReturn(product(1L));
+
+        // ACT
+        byte[] body = mockMvc.perform(get("/api/v1/products/1").accept(BinaryFormatsConfig.CBOR_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryFormatsConfig.CBOR_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // ASSERT
+        assertThat(cborMapper.readValue(body, ProductDTO.class)).isEqualTo(product(1L));
+        verifyNoInteractions(productJsonCache);
+    }
+
+    @Test
+    @DisplayName("GET ALL - Accept Smile responde la lista en Smile")
+    void getAll_WithSmileAccept_ShouldReturnSmile() throws Exception {
+        // ARRANGE
+        when(productService.getAllProducts()).thenReturn(List.of(product(1L), product(2L)));
+
+        // ACT
+        byte[] body = mockMvc.perform(get("/api/v1/products").accept(BinaryFormatsConfig.SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryFormatsConfig.SMILE_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // ASSERT
+        assertThat(smileMapper.readValue(body, ProductDTO[].class)).containsExactly(product(1L), product(2L));
+    }
+
+    @Test
+    @DisplayName("GET BY ID - Sin Accept o con comodín se sigue sirviendo el JSON del caché")
+    void getById_WithWildcardAccept_ShouldServeJson() throws Exception {
+        // ARRANGE
+        when(productJsonCache.getProductJson(eq(1L), any())).thenReturn("{\"id\":1}".getBytes());
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/api/v1/products/1").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string("{\"id\":1}"));
+        verify(productService, never()).getProductById(any());
+    }
+
+    @Test
+    @DisplayName("POST - Cuerpo Smile, respuesta CBOR")
+    void create_WithSmileBody_ShouldReadSameDto() throws Exception {
+        // ARRANGE
+        ProductDTO request = product(null);
+        when(productService.createProduct(request)).thenReturn(product(5L));
+
+        // ACT
+        byte[] body = mockMvc.perform(post("/api/v1/products")
+                        .contentType(BinaryFormatsConfig.SMILE_VALUE)
+                        .content(smileMapper.writeValueAsBytes(request))
+                        .accept(BinaryFormatsConfig.CBOR_VALUE))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // ASSERT
+        assertThat(cborMapper.readValue(body, ProductDTO.class).getId()).isEqualTo(5L);
+    }
+}
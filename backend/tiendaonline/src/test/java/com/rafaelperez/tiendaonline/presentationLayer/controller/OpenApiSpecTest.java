@@ -0,0 +1,132 @@
+package com.rafaelperez.tiendaonline.presentationLayer.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de la especificación OpenAPI precalculada
+ *
+ * OBJETIVO: La especificación servida en /openapi.json (generada en el build) documenta
+ * todos los endpoints de los controladores y coincide con la que generaría springdoc
+ * sobre el código actual. Arranca sin base de datos (perfil training)
+ *
+ * NOTA: se ejecuta en la tarea openApiSpecTest (check), que genera antes la especificación;
+ * sin ella los tests fallan (el JAR respondería 404 en /openapi.json)
+ */
+@DisabledInNativeImage
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("training")
+@DisplayName("OpenAPI spec - Integration Tests")
+class OpenApiSpecTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Test
+    @DisplayName("SPEC - Cada endpoint /api de los controladores está documentado")
+    void servedSpec_ShouldCoverEveryControllerEndpoint() throws Exception {
+        // ARRANGE
+        JsonNode paths = servedSpec().path("paths");
+
+        // ACT
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMapping.getHandlerMethods().entrySet()) {
+            if (!isDocumented(entry.getValue())) {
+                continue;
+            }
+            for (String pattern : entry.getKey().getPatternValues()) {
+                for (RequestMethod method : entry.getKey().getMethodsCondition().getMethods()) {
+                    if (!paths.path(pattern).has(method.name().toLowerCase())) {
+                        missing.add(method + " " + pattern);
+                    }
+                }
+            }
+        }
+
+        // ASSERT
+        assertThat(missing).as("endpoints sin documentar (regenerar con ./gradlew generateOpenApiDocs)").isEmpty();
+    }
+
+    @Test
+    @DisplayName("SPEC - La especificación generada coincide con la de springdoc")
+    void servedSpec_ShouldMatchRuntimeGeneration() throws Exception {
+        // ACT
+        JsonNode served = servedSpec();
+        JsonNode runtime = objectMapper.readTree(mockMvc.perform(get("/api-docs"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+
+        // ASSERT
+        assertThat(served).isEqualTo(runtime);
+    }
+
+    @Test
+    @DisplayName("CACHE - Cache-Control público y 304 con el mismo ETag")
+    void servedSpec_ShouldBeCacheable() throws Exception {
+        // ARRANGE
+        assertSpecGenerated();
+        MvcResult first = mockMvc.perform(get("/openapi.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, public"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // ACT & ASSERT
+        assertThat(etag).isNotBlank();
+        mockMvc.perform(get("/openapi.json").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    private JsonNode servedSpec() throws Exception {
+        assertSpecGenerated();
+        return objectMapper.readTree(mockMvc.perform(get("/openapi.json"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+
+    // Desde el IDE: ejecutar antes ./gradlew generateOpenApiDocs
+    private static void assertSpecGenerated() {
+        assertThat(new ClassPathResource(OpenApiSpecController.SPEC_LOCATION).exists())
+                .as("especificación generada en el classpath (ejecutar ./gradlew generateOpenApiDocs)")
+                .isTrue();
+    }
+
+    private static boolean isDocumented(HandlerMethod handler) {
+        return handler.getBeanType().getPackageName().startsWith("com.rafaelperez.tiendaonline.presentationLayer")
+                && !handler.getBeanType().isAnnotationPresent(Hidden.class)
+                && !handler.hasMethodAnnotation(Hidden.class);
+    }
+}
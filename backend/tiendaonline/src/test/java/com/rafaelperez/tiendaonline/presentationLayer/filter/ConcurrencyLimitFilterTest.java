@@ -0,0 +1,71 @@
+package com.rafaelperez.tiendaonline.presentationLayer.filter;
+
+import com.rafaelperez.tiendaonline.business.concurrency.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para ConcurrencyLimitFilter
+ *
+ * OBJETIVO: Bajo sobrecarga se descarta /api/**, pero nunca las sondas de salud
+ * ni las rutas de larga duración
+ * - Límite 1 ya ocupado: cualquier petición limitada recibe 503
+ */
+@DisplayName("ConcurrencyLimitFilter - Unit Tests")
+class ConcurrencyLimitFilterTest {
+
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), true,
+                1, 1, 10, 1.5, 0.2, Duration.ofMillis(100));
+        filter = new ConcurrencyLimitFilter(limiter, List.of("/api/v1/products/stream", "/api/v1/products/import"));
+        assertThat(limiter.tryAcquire(true)).isNotNegative();
+    }
+
+    private MockHttpServletResponse perform(String method, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/tienda" + path);
+        request.setContextPath("/tienda");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    @DisplayName("GET - Ruta /api sin hueco -> 503 con Retry-After")
+    void overloaded_ShouldShedApiRequest() throws Exception {
+        // ACT
+        MockHttpServletResponse response = perform("GET", "/api/v1/products");
+
+        // ASSERT
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("GET - /api/health y /actuator nunca se descartan")
+    void overloaded_ShouldNotShedHealthProbes() throws Exception {
+        // ACT & ASSERT
+        assertThat(perform("GET", "/api/health").getStatus()).isEqualTo(200);
+        assertThat(perform("GET", "/actuator/health/readiness").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("POST - Rutas de larga duración configuradas no ocupan hueco")
+    void overloaded_ShouldNotShedExcludedPaths() throws Exception {
+        // ACT & ASSERT
+        assertThat(perform("POST", "/api/v1/products/import").getStatus()).isEqualTo(200);
+        assertThat(perform("GET", "/api/v1/products/stream").getStatus()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,228 @@
+package com.rafaelperez.tiendaonline.presentationLayer.filter;
+
+import com.rafaelperez.tiendaonline.business.idempotency.IdempotencyStore;
+import com.rafaelperez.tiendaonline.business.idempotency.IdempotentResponse;
+import com.rafaelperez.tiendaonline.business.idempotency.InMemoryIdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para IdempotencyFilter
+ *
+ * OBJETIVO: Verificar re-envío, conflicto de cuerpo, colapso de duplicados
+ * concurrentes y que el controlador puede leer el cuerpo ya consumido
+ * - Almacén en memoria real; la cadena simula un POST de creación (201 + Location)
+ */
+@DisplayName("IdempotencyFilter - Unit Tests")
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"name\":\"Teclado\"}";
+
+    private IdempotencyFilter filter;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(new InMemoryIdempotencyStore(Duration.ofHours(1), 100),
+                List.of("/api/v1/products"), Duration.ofSeconds(5));
+        executions = new AtomicInteger();
+    }
+
+    private static MockHttpServletRequest post(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tienda/api/v1/products");
+        request.setContextPath("/tienda");
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    // "Controlador": lee el cuerpo y responde 201 con él
+    private FilterChain createChain(CountDownLatch started, CountDownLatch proceed) {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            String body = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+            if (started != null) {
+                started.countDown();
+                try {
+                    proceed.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setStatus(201);
+            http.setContentType("application/json");
+            http.setHeader(HttpHeaders.LOCATION, "/tienda/api/v1/products/" + executions.get());
+            http.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    @DisplayName("POST - Reintento con la misma clave re-envía la primera respuesta sin ejecutar")
+    void retry_SameKey_ShouldReplayStoredResponse() throws Exception {
+        // ARRANGE
+        FilterChain chain = createChain(null, null);
+        MockHttpServletResponse first = perform(post("k1", BODY), chain);
+
+        // ACT
+        MockHttpServletResponse replayed = perform(post("k1", BODY), chain);
+
+        // ASSERT
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(replayed.getStatus()).isEqualTo(201);
+        assertThat(replayed.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(replayed.getHeader(HttpHeaders.LOCATION)).isEqualTo(first.getHeader(HttpHeaders.LOCATION));
+        assertThat(replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("POST - Misma clave con otro cuerpo -> 422")
+    void retry_DifferentBody_ShouldReturn422() throws Exception {
+        // ARRANGE
+        FilterChain chain = createChain(null, null);
+        perform(post("k1", BODY), chain);
+
+        // ACT
+        MockHttpServletResponse response = perform(post("k1", "{\"name\":\"Ratón\"}"), chain);
+
+        // ASSERT
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("POST - El controlador lee el cuerpo completo (getInputStream y getReader)")
+    void chain_ShouldReadCachedBody() throws Exception {
+        // ARRANGE
+        StringBuilder read = new StringBuilder();
+        FilterChain chain = (request, response) -> {
+            read.append(StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8));
+            read.append('|').append(request.getReader().readLine());
+        };
+
+        // ACT
+        perform(post("k1", BODY), chain);
+
+        // ASSERT
+        assertThat(read.toString()).isEqualTo(BODY + "|" + BODY);
+    }
+
+    @Test
+    @DisplayName("POST - Duplicado concurrente espera a la original y recibe su respuesta")
+    void concurrentDuplicate_ShouldCollapseIntoOriginal() throws Exception {
+        // ARRANGE - la original se queda dentro del controlador
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        FilterChain chain = createChain(started, proceed);
+        CompletableFuture<MockHttpServletResponse> original =
+                CompletableFuture.supplyAsync(() -> performUnchecked(post("k1", BODY), chain));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // ACT - el duplicado llega mientras la original se ejecuta
+        CompletableFuture<MockHttpServletResponse> duplicate =
+                CompletableFuture.supplyAsync(() -> performUnchecked(post("k1", BODY), chain));
+        awaitUntilWaiting(duplicate);
+        proceed.countDown();
+
+        // ASSERT
+        MockHttpServletResponse first = original.get(5, TimeUnit.SECONDS);
+        MockHttpServletResponse second = duplicate.get(5, TimeUnit.SECONDS);
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(second.getStatus()).isEqualTo(201);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("POST - Una reserva lenta en el almacén no bloquea otras claves y su duplicado la espera")
+    void slowReserve_ShouldNotBlockOtherKeys() throws Exception {
+        // ARRANGE - el almacén tarda en reservar la clave "lenta" (E/S a BD)
+        CountDownLatch reserving = new CountDownLatch(1);
+        CountDownLatch releaseReserve = new CountDownLatch(1);
+        IdempotencyStore memory = new InMemoryIdempotencyStore(Duration.ofHours(1), 100);
+        filter = new IdempotencyFilter(new IdempotencyStore() {
+            @Override
+            public Lookup reserve(String key, String fingerprint) {
+                if (key.endsWith("lenta")) {
+                    reserving.countDown();
+                    try {
+                        releaseReserve.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return memory.reserve(key, fingerprint);
+            }
+
+            @Override
+            public void complete(String key, IdempotentResponse response) {
+                memory.complete(key, response);
+            }
+
+            @Override
+            public void release(String key) {
+                memory.release(key);
+            }
+        }, List.of("/api/v1/products"), Duration.ofSeconds(5));
+        FilterChain chain = createChain(null, null);
+        CompletableFuture<MockHttpServletResponse> slow =
+                CompletableFuture.supplyAsync(() -> performUnchecked(post("lenta", BODY), chain));
+        assertThat(reserving.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // ACT - otra clave se atiende mientras tanto; el duplicado de la lenta espera
+        MockHttpServletResponse other = perform(post("rapida", BODY), chain);
+        CompletableFuture<MockHttpServletResponse> duplicate =
+                CompletableFuture.supplyAsync(() -> performUnchecked(post("lenta", BODY), chain));
+        awaitUntilWaiting(duplicate);
+        releaseReserve.countDown();
+
+        // ASSERT
+        assertThat(other.getStatus()).isEqualTo(201);
+        MockHttpServletResponse first = slow.get(5, TimeUnit.SECONDS);
+        MockHttpServletResponse second = duplicate.get(5, TimeUnit.SECONDS);
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    private MockHttpServletResponse performUnchecked(MockHttpServletRequest request, FilterChain chain) {
+        try {
+            return perform(request, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // El duplicado no responde (ni 409) mientras la original sigue en curso
+    private static void awaitUntilWaiting(CompletableFuture<MockHttpServletResponse> duplicate) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+        while (System.nanoTime() < deadline) {
+            assertThat(duplicate).isNotDone();
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.rafaelperez.tiendaonline.presentationLayer.filter;
+
+import com.rafaelperez.tiendaonline.business.ratelimit.RateLimiter;
+import com.rafaelperez.tiendaonline.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para RateLimitFilter
+ *
+ * OBJETIVO: La identidad del cliente no se puede falsificar con headers
+ * - Regla GET /api/v1/products con ráfaga de 1 y recarga lenta: la 2ª petición del mismo cliente es 429
+ */
+@DisplayName("RateLimitFilter - Unit Tests")
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setMethods(List.of("GET"));
+        rule.setPath("/api/v1/products");
+        rule.setCapacity(1);
+        rule.setRefillPerSecond(0.001);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(rule));
+        properties.setApiKeys(List.of("partner-key"));
+        properties.setTrustedProxies(List.of("172.28.0.10", "10.0.0.0/8"));
+        filter = new RateLimitFilter(new RateLimiter(properties), properties);
+    }
+
+    private int perform(String remoteAddr, String header, String value) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tienda/api/v1/products");
+        request.setContextPath("/tienda");
+        request.setRemoteAddr(remoteAddr);
+        if (header != null) {
+            request.addHeader(header, value);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    @Test
+    @DisplayName("API KEY - Rotar claves desconocidas no da buckets nuevos")
+    void unknownApiKeys_ShouldShareIpBucket() throws Exception {
+        // ACT & ASSERT
+        assertThat(perform("203.0.113.5", "X-API-Key", "random-1")).isEqualTo(200);
+        assertThat(perform("203.0.113.5", "X-API-Key", "random-2")).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("API KEY - Una clave configurada tiene bucket propio")
+    void knownApiKey_ShouldHaveOwnBucket() throws Exception {
+        // ACT & ASSERT
+        assertThat(perform("203.0.113.5", null, null)).isEqualTo(200);
+        assertThat(perform("203.0.113.5", "X-API-Key", "partner-key")).isEqualTo(200);
+        assertThat(perform("203.0.113.5", "X-API-Key", "partner-key")).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("IP - X-Real-IP de una conexión directa se ignora")
+    void forwardedIpFromUntrustedClient_ShouldBeIgnored() throws Exception {
+        // ACT & ASSERT
+        assertThat(perform("203.0.113.5", "X-Real-IP", "198.51.100.1")).isEqualTo(200);
+        assertThat(perform("203.0.113.5", "X-Real-IP", "198.51.100.2")).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("IP - X-Real-IP de un proxy de confianza (IP o CIDR) identifica al cliente")
+    void forwardedIpFromTrustedProxy_ShouldBeUsed() throws Exception {
+        // ACT & ASSERT
+        assertThat(perform("172.28.0.10", "X-Real-IP", "198.51.100.1")).isEqualTo(200);
+        assertThat(perform("10.1.2.3", "X-Real-IP", "198.51.100.2")).isEqualTo(200);
+        assertThat(perform("172.28.0.10", "X-Real-IP", "198.51.100.1")).isEqualTo(429);
+    }
+}
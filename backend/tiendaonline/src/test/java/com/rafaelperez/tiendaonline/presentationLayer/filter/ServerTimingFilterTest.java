@@ -0,0 +1,123 @@
+package com.rafaelperez.tiendaonline.presentationLayer.filter;
+
+import com.rafaelperez.tiendaonline.business.timing.RequestTimer;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para ServerTimingFilter
+ *
+ * OBJETIVO: La cabecera solo aparece cuando se pide con autorización y no altera el cuerpo
+ */
+@DisplayName("ServerTimingFilter - Unit Tests")
+class ServerTimingFilterTest {
+
+    private final ServerTimingFilter filter = new ServerTimingFilter(false, "X-Debug-Timing", "s3cret",
+            List.of("10.0.0.0/8"), List.of("/api/v1/products/stream"));
+
+    // Simula un controlador: mide una fase y escribe el cuerpo
+    private final FilterChain chain = (request, response) -> {
+        try {
+            RequestTimer.current().time("controller", () -> null);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+        response.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        response.flushBuffer();
+    };
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tienda" + path);
+        request.setContextPath("/tienda");
+        return request;
+    }
+
+    @Test
+    @DisplayName("GET - Cabecera de depuración con el token -> Server-Timing antes del cuerpo")
+    void debugHeader_ShouldAddServerTiming() throws Exception {
+        // ARRANGE
+        MockHttpServletRequest request = request("/api/v1/products/1");
+        request.addHeader("X-Debug-Timing", "s3cret");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // ACT
+        filter.doFilter(request, response, chain);
+
+        // ASSERT
+        assertThat(response.getHeader(ServerTimingFilter.HEADER))
+                .startsWith("total;dur=")
+                .contains("controller;dur=")
+                .endsWith("sql;desc=\"0 SQL\"");
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(RequestTimer.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("GET - Sin cabecera de depuración -> sin Server-Timing ni temporizador")
+    void noDebugHeader_ShouldPassThrough() throws Exception {
+        // ARRANGE
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // ACT
+        filter.doFilter(request("/api/v1/products/1"), response,
+                (req, res) -> assertThat(RequestTimer.current()).isNull());
+
+        // ASSERT
+        assertThat(response.getHeader(ServerTimingFilter.HEADER)).isNull();
+    }
+
+    @Test
+    @DisplayName("GET - Cabecera sin token válido desde fuera -> ignorada (sin buffer ni tiempos)")
+    void unauthorizedDebugHeader_ShouldPassThrough() throws Exception {
+        // ARRANGE
+        MockHttpServletRequest request = request("/api/v1/products");
+        request.setRemoteAddr("203.0.113.5");
+        request.addHeader("X-Debug-Timing", "1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // ACT
+        filter.doFilter(request, response, (req, res) -> assertThat(RequestTimer.current()).isNull());
+
+        // ASSERT
+        assertThat(response.getHeader(ServerTimingFilter.HEADER)).isNull();
+    }
+
+    @Test
+    @DisplayName("GET - Cabecera desde una red de confianza -> Server-Timing sin token")
+    void trustedNetwork_ShouldAddServerTiming() throws Exception {
+        // ARRANGE
+        MockHttpServletRequest request = request("/api/v1/products/1");
+        request.setRemoteAddr("10.0.0.7");
+        request.addHeader("X-Debug-Timing", "1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // ACT
+        filter.doFilter(request, response, chain);
+
+        // ASSERT
+        assertThat(response.getHeader(ServerTimingFilter.HEADER)).startsWith("total;dur=");
+    }
+
+    @Test
+    @DisplayName("GET - Ruta de streaming excluida aunque se pida")
+    void excludedPath_ShouldPassThrough() throws Exception {
+        // ARRANGE
+        MockHttpServletRequest request = request("/api/v1/products/stream");
+        request.addHeader("X-Debug-Timing", "s3cret");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // ACT
+        filter.doFilter(request, response, (req, res) -> assertThat(RequestTimer.current()).isNull());
+
+        // ASSERT
+        assertThat(response.getHeader(ServerTimingFilter.HEADER)).isNull();
+    }
+}
@@ -0,0 +1,229 @@
+package com.rafaelperez.tiendaonline.presentationLayer.grpc;
+
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.dto.SellerDTO;
+import com.rafaelperez.tiendaonline.business.service.ProductService;
+import com.rafaelperez.tiendaonline.business.service.SellerService;
+import com.rafaelperez.tiendaonline.grpc.v1.BatchGetProductsResponse;
+import com.rafaelperez.tiendaonline.grpc.v1.BatchGetRequest;
+import com.rafaelperez.tiendaonline.grpc.v1.GetByIdRequest;
+import com.rafaelperez.tiendaonline.grpc.v1.ListRequest;
+import com.rafaelperez.tiendaonline.grpc.v1.Product;
+import com.rafaelperez.tiendaonline.grpc.v1.ProductCatalogGrpc;
+import com.rafaelperez.tiendaonline.grpc.v1.Seller;
+import com.rafaelperez.tiendaonline.grpc.v1.SellerCatalogGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de los servicios gRPC del catálogo sobre un canal in-process
+ *
+ * OBJETIVO: Verificar el mapeo a protobuf, los códigos de estado, el batch con IDs
+ * faltantes y el stream keyset (paginación y cancelación)
+ * - ProductService y SellerService simulados (los servicios gRPC no tocan los DAOs)
+ */
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+@DisplayName("Catalog gRPC - Unit Tests")
+class CatalogGrpcServiceTest {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private SellerService sellerService;
+
+    private Server server;
+    private ManagedChannel channel;
+    private ProductCatalogGrpc.ProductCatalogBlockingStub products;
+    private SellerCatalogGrpc.SellerCatalogBlockingStub sellers;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(new ProductCatalogGrpcService(productService))
+                .addService(new SellerCatalogGrpcService(sellerService))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        products = ProductCatalogGrpc.newBlockingStub(channel);
+        sellers = SellerCatalogGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private ProductDTO product(long id) {
+        return new ProductDTO(id, "Producto " + id, null, new BigDecimal("2150000.00"), 15, 3L,
+                LocalDateTime.of(2026, 10, 19, 8, 30), null);
+    }
+
+    private List<ProductDTO> range(long fromInclusive, long toInclusive) {
+        return LongStream.rangeClosed(fromInclusive, toInclusive).mapToObj(this::product).toList();
+    }
+
+    @Test
+    @DisplayName("GET - Mapea el DTO con campos opcionales ausentes")
+    void getProduct_ShouldMapDto() {
+        // ARRANGE
+        when(productService.getProductById(7L)).thenReturn(product(7L));
+
+        // ACT
+        Product response = products.getProduct(GetByIdRequest.newBuilder().setId(7L).build());
+
+        // ASSERT
+        assertThat(response.getId()).isEqualTo(7L);
+        assertThat(response.getPrice()).isEqualTo("2150000.00");
+        assertThat(response.getSellerId()).isEqualTo(3L);
+        assertThat(response.getCreatedAt()).isEqualTo("2026-10-19T08:30");
+        assertThat(response.hasDescription()).isFalse();
+        assertThat(response.hasUpdatedAt()).isFalse();
+    }
+
+    @Test
+    @DisplayName("GET - Producto inexistente -> NOT_FOUND")
+    void getProduct_WhenMissing_ShouldReturnNotFound() {
+        // ARRANGE
+        when(productService.getProductById(99L)).thenThrow(new NoSuchElementException("Producto no encontrado con ID: 99"));
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> products.getProduct(GetByIdRequest.newBuilder().setId(99L).build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND));
+    }
+
+    @Test
+    @DisplayName("GET - Otro error del servicio -> INTERNAL (no NOT_FOUND)")
+    void getProduct_WhenServiceFails_ShouldReturnInternal() {
+        // ARRANGE
+        when(productService.getProductById(7L)).thenThrow(new IllegalStateException("Pool de conexiones agotado"));
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> products.getProduct(GetByIdRequest.newBuilder().setId(7L).build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INTERNAL));
+    }
+
+    @Test
+    @DisplayName("BATCH - Una consulta y los IDs faltantes en missing_ids")
+    void batchGetProducts_ShouldReportMissingIds() {
+        // ARRANGE
+        when(productService.getProductsByIds(List.of(1L, 2L, 3L))).thenReturn(List.of(product(1L), product(3L)));
+
+        // ACT
+        BatchGetProductsResponse response = products.batchGetProducts(
+                BatchGetRequest.newBuilder().addAllIds(List.of(1L, 2L, 3L)).build());
+
+        // ASSERT
+        assertThat(response.getProductsList()).extracting(Product::getId).containsExactly(1L, 3L);
+        assertThat(response.getMissingIdsList()).containsExactly(2L);
+        verify(productService, times(1)).getProductsByIds(anyList());
+    }
+
+    @Test
+    @DisplayName("BATCH - Más de 1000 IDs -> INVALID_ARGUMENT")
+    void batchGetProducts_WhenTooManyIds_ShouldRejectRequest() {
+        // ARRANGE
+        BatchGetRequest request = BatchGetRequest.newBuilder()
+                .addAllIds(LongStream.rangeClosed(1, ProductCatalogGrpcService.MAX_BATCH + 1).boxed().toList())
+                .build();
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> products.batchGetProducts(request))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    @DisplayName("LIST - Stream completo por páginas keyset desde after_id")
+    void listProducts_ShouldStreamAllPages() {
+        // ARRANGE: páginas de 2 tras el id 10
+        when(productService.getProductsPage(10L, 2)).thenReturn(range(11, 12));
+        when(productService.getProductsPage(12L, 2)).thenReturn(range(13, 14));
+        when(productService.getProductsPage(14L, 2)).thenReturn(range(15, 15));
+        when(productService.getProductsPage(15L, 2)).thenReturn(List.of());
+
+        // ACT
+        List<Long> ids = new ArrayList<>();
+        products.listProducts(ListRequest.newBuilder().setAfterId(10L).setPageSize(2).build())
+                .forEachRemaining(product -> ids.add(product.getId()));
+
+        // ASSERT
+        assertThat(ids).containsExactly(11L, 12L, 13L, 14L, 15L);
+    }
+
+    @Test
+    @DisplayName("LIST - Cancelar el stream deja de leer páginas")
+    void listProducts_WhenCancelled_ShouldStopReading() {
+        // ARRANGE
+        when(productService.getProductsPage(anyLong(), anyInt()))
+                .thenAnswer(invocation -> range((Long) invocation.getArgument(0) + 1, (Long) invocation.getArgument(0) + 2));
+
+        // ACT: leer 3 mensajes y cerrar el canal
+        Iterator<Product> stream = products.listProducts(ListRequest.newBuilder().setPageSize(2).build());
+        for (int i = 0; i < 3; i++) {
+            stream.next();
+        }
+        channel.shutdownNow();
+
+        // ASSERT: el catálogo "infinito" no se recorre entero
+        verify(productService, atMost(100)).getProductsPage(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("SELLERS - Get, batch y stream usan SellerService")
+    void sellerCatalog_ShouldMirrorProductOperations() {
+        // ARRANGE
+        SellerDTO seller = new SellerDTO(4L, "María González Tech", "maria@techstore.com", null,
+                "Bogotá", LocalDateTime.of(2026, 1, 1, 0, 0), null);
+        when(sellerService.getSellerById(4L)).thenReturn(seller);
+        when(sellerService.getSellersByIds(List.of(4L, 5L))).thenReturn(List.of(seller));
+        when(sellerService.getSellersPage(0L, KeysetStreamer.DEFAULT_PAGE_SIZE)).thenReturn(List.of(seller));
+        when(sellerService.getSellersPage(4L, KeysetStreamer.DEFAULT_PAGE_SIZE)).thenReturn(List.of());
+
+        // ACT
+        Seller single = sellers.getSeller(GetByIdRequest.newBuilder().setId(4L).build());
+        List<Long> missing = sellers.batchGetSellers(BatchGetRequest.newBuilder().addIds(4L).addIds(5L).build())
+                .getMissingIdsList();
+        List<Seller> streamed = new ArrayList<>();
+        sellers.listSellers(ListRequest.getDefaultInstance()).forEachRemaining(streamed::add);
+
+        // ASSERT
+        assertThat(single.getEmail()).isEqualTo("maria@techstore.com");
+        assertThat(single.hasPhone()).isFalse();
+        assertThat(single.getAddress()).isEqualTo("Bogotá");
+        assertThat(missing).containsExactly(5L);
+        assertThat(streamed).extracting(Seller::getId).containsExactly(4L);
+    }
+}
@@ -0,0 +1,226 @@
+package com.rafaelperez.tiendaonline.presentationLayer.stream;
+
+import com.rafaelperez.tiendaonline.business.dto.ProductDTO;
+import com.rafaelperez.tiendaonline.business.event.OutboxEventListener;
+import com.rafaelperez.tiendaonline.business.invalidation.InMemoryInvalidationBus;
+import com.rafaelperez.tiendaonline.business.invalidation.InvalidationBus;
+import com.rafaelperez.tiendaonline.business.invalidation.ProductChangeStream;
+import com.rafaelperez.tiendaonline.persistenceLayer.dao.ProductDAO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para ProductUpdateBroadcaster
+ *
+ * OBJETIVO: Verificar deduplicación de pushes, filtros por producto/vendedor
+ * y limpieza de suscriptores desconectados
+ * - Los cambios llegan por un InvalidationBus en memoria (como los de otro nodo)
+ *   y el ProductChangeStream recarga el producto desde un ProductDAO simulado
+ * - Los emisores son mocks (sin request HTTP real)
+ * - El envío es asíncrono: se verifica con timeout
+ */
+@DisabledInNativeImage
+@DisplayName("ProductUpdateBroadcaster - Unit Tests")
+public class ProductUpdateBroadcasterTest {
+    private static final long WAIT_MS = 2000;
+
+    private ProductDAO productDAO;
+    private InvalidationBus invalidationBus;
+    private ProductChangeStream changeStream;
+    private ProductUpdateBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        productDAO = mock(ProductDAO.class);
+        invalidationBus = new InMemoryInvalidationBus();
+        changeStream = new ProductChangeStream(productDAO, invalidationBus, Optional.empty());
+        broadcaster = broadcaster(100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    private ProductUpdateBroadcaster broadcaster(int maxTracked) {
+        return new ProductUpdateBroadcaster(changeStream, 100, 1000, Duration.ofMinutes(30), maxTracked) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                return mock(SseEmitter.class);
+            }
+        };
+    }
+
+    // completeWithError es synchronized: un verify con timeout retiene el monitor del mock
+    // mientras espera y bloquea al hilo que cierra el emisor. Se espera con un latch
+    private CountDownLatch closedLatch(SseEmitter emitter) {
+        CountDownLatch closed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            closed.countDown();
+            return null;
+        }).when(emitter).completeWithError(any());
+        return closed;
+    }
+
+    // Confirma el cambio "en BD" (lo que devolverá la recarga) y lo publica en el bus
+    private void updated(long productId, long sellerId, String price, int stock) {
+        ProductDTO product = new ProductDTO();
+        product.setId(productId);
+        product.setSellerId(sellerId);
+        product.setPrice(new BigDecimal(price));
+        product.setStock(stock);
+        when(productDAO.findById(productId)).thenReturn(Optional.of(product));
+        invalidationBus.publish(OutboxEventListener.AGGREGATE_PRODUCT, productId, "UPDATED");
+    }
+
+    @Test
+    @DisplayName("DEDUP - Sin cambio de precio ni stock no se repite el push")
+    void onInvalidation_SamePriceAndStock_ShouldPushOnce() throws IOException {
+        // ARRANGE
+        SseEmitter emitter = broadcaster.subscribe(Set.of(), Set.of());
+
+        // ACT
+        updated(1, 1, "10.00", 5);
+        verify(emitter, timeout(WAIT_MS).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        updated(1, 1, "10.0", 5); // misma escala distinta: mismo precio
+
+        // ASSERT
+        verify(emitter, after(200).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+
+        // ACT - cambia el stock
+        updated(1, 1, "10.00", 4);
+
+        // ASSERT
+        verify(emitter, timeout(WAIT_MS).times(2)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    @DisplayName("DEDUP - El registro de últimos valores está acotado (LRU)")
+    void onInvalidation_BeyondMaxTracked_ShouldForgetOldestAndPushAgain() throws IOException {
+        // ARRANGE - solo se recuerdan 2 productos
+        broadcaster.shutdown();
+        broadcaster = broadcaster(2);
+        SseEmitter emitter = broadcaster.subscribe(Set.of(1L), Set.of());
+
+        // ACT - el producto 1 se olvida al difundir 2 y 3; repetirlo vuelve a enviarse
+        updated(1, 1, "10.00", 5);
+        verify(emitter, timeout(WAIT_MS).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        updated(2, 1, "10.00", 5);
+        updated(3, 1, "10.00", 5);
+        updated(1, 1, "10.00", 5);
+
+        // ASSERT
+        verify(emitter, timeout(WAIT_MS).times(2)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    @DisplayName("FILTROS - Solo se entregan los productos y vendedores suscritos")
+    void onInvalidation_Filters_ShouldOnlyDeliverMatches() throws IOException {
+        // ARRANGE
+        SseEmitter byProduct = broadcaster.subscribe(Set.of(1L), Set.of());
+        SseEmitter bySeller = broadcaster.subscribe(Set.of(), Set.of(7L));
+
+        // ACT
+        updated(1, 3, "10.00", 5);
+        updated(2, 7, "20.00", 1);
+
+        // ASSERT
+        verify(byProduct, timeout(WAIT_MS).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(bySeller, timeout(WAIT_MS).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(byProduct, after(200).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(bySeller, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    @DisplayName("FILTROS - Un producto eliminado llega a quien filtra por vendedor")
+    void onInvalidation_Deleted_ShouldReachSellerSubscribers() throws IOException {
+        // ARRANGE
+        SseEmitter bySeller = broadcaster.subscribe(Set.of(), Set.of(7L));
+
+        // ACT
+        invalidationBus.publish(OutboxEventListener.AGGREGATE_PRODUCT, 2L, "DELETED");
+
+        // ASSERT
+        verify(bySeller, timeout(WAIT_MS).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(productDAO, never()).findById(anyLong()); // una eliminación no se recarga
+    }
+
+    @Test
+    @DisplayName("BUS - Una eliminación repetida (desalojo local + poll del outbox) se difunde una vez")
+    void onInvalidation_RepeatedDelete_ShouldPushOnce() throws IOException {
+        // ARRANGE
+        SseEmitter emitter = broadcaster.subscribe(Set.of(), Set.of());
+
+        // ACT
+        invalidationBus.publish(OutboxEventListener.AGGREGATE_PRODUCT, 2L, "DELETED");
+        invalidationBus.publish(OutboxEventListener.AGGREGATE_PRODUCT, 2L, "DELETED");
+
+        // ASSERT
+        verify(emitter, after(200).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    @DisplayName("BUS - Un producto que ya no existe al recargarlo se difunde como eliminado")
+    void onInvalidation_ProductGoneOnReload_ShouldPushDeletion() throws IOException {
+        // ARRANGE
+        SseEmitter emitter = broadcaster.subscribe(Set.of(5L), Set.of());
+        when(productDAO.findById(5L)).thenReturn(Optional.empty());
+
+        // ACT
+        invalidationBus.publish(OutboxEventListener.AGGREGATE_PRODUCT, 5L, "UPDATED");
+
+        // ASSERT
+        verify(emitter, timeout(WAIT_MS).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    @DisplayName("DESCONEXIÓN - Un error de envío quita al suscriptor y cierra el emisor con el error")
+    void onInvalidation_SendFails_ShouldRemoveAndCompleteWithError() throws Exception {
+        // ARRANGE
+        SseEmitter emitter = broadcaster.subscribe(Set.of(), Set.of());
+        IOException broken = new IOException("Broken pipe");
+        doThrow(broken).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        CountDownLatch closed = closedLatch(emitter);
+
+        // ACT
+        updated(1, 1, "10.00", 5);
+
+        // ASSERT
+        assertThat(closed.await(WAIT_MS, TimeUnit.MILLISECONDS)).isTrue();
+        verify(emitter).completeWithError(broken);
+        assertThat(broadcaster.subscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("DESCONEXIÓN - Un heartbeat fallido también cierra el emisor")
+    void sendHeartbeats_SendFails_ShouldRemoveAndCompleteWithError() throws Exception {
+        // ARRANGE
+        SseEmitter emitter = broadcaster.subscribe(Set.of(), Set.of());
+        doThrow(new IOException("Broken pipe")).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        CountDownLatch closed = closedLatch(emitter);
+
+        // ACT
+        broadcaster.sendHeartbeats();
+
+        // ASSERT
+        assertThat(closed.await(WAIT_MS, TimeUnit.MILLISECONDS)).isTrue();
+        verify(emitter).completeWithError(any(IOException.class));
+        assertThat(broadcaster.subscriberCount()).isZero();
+    }
+}